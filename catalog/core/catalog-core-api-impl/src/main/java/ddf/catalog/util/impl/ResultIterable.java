@@ -14,6 +14,9 @@
 package ddf.catalog.util.impl;
 
 import static com.google.common.collect.Iterators.limit;
+import static ddf.catalog.Constants.QUERY_CURSOR_KEY;
+import static ddf.catalog.Constants.QUERY_CURSOR_START;
+import static ddf.catalog.Constants.QUERY_NEXT_CURSOR_KEY;
 import static org.apache.commons.lang.Validate.isTrue;
 import static org.apache.commons.lang.Validate.notNull;
 
@@ -28,11 +31,14 @@
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
@@ -50,6 +56,11 @@
  *
  * <p>Since the class may use the page size provided in the {@link Query} to fetch the results, its
  * value should be carefully set to avoid any memory or performance issues.
+ *
+ * <p>When a request starting at the first result is sent to a single source that supports cursors
+ * (see {@link ddf.catalog.Constants#QUERY_CURSOR_KEY}), the results are paged with the cursors
+ * returned by the source instead of start indexes, so that each page costs the same regardless of
+ * how deep into the results it is. Otherwise, the class falls back to paging with start indexes.
  */
 public class ResultIterable implements Iterable<Result> {
   public static final int DEFAULT_PAGE_SIZE = 64;
@@ -157,6 +168,7 @@ private static class ResultIterator implements Iterator<Result> {
     private final QueryFunction queryFunction;
     private final Set<String> foundIds = new HashSet<>(2048);
     private int currentIndex;
+    private String cursor;
     private QueryImpl queryCopy;
     private QueryRequestImpl queryRequestCopy;
     private Iterator<Result> results = Collections.emptyIterator();
@@ -207,13 +219,37 @@ public Result next() {
 
     @SuppressWarnings("squid:CommentedOutCodeLine")
     private void fetchNextResults() {
-      queryCopy.setStartIndex(currentIndex);
+      if (cursor == null) {
+        queryCopy.setStartIndex(currentIndex);
+      }
 
       try {
         SourceResponse response = queryFunction.query(queryRequestCopy);
 
         final List<Result> resultList = response.getResults();
 
+        if (cursor != null) {
+          Serializable nextCursor =
+              Optional.ofNullable(response.getProperties())
+                  .map(m -> m.get(QUERY_NEXT_CURSOR_KEY))
+                  .orElse(null);
+          if (nextCursor instanceof String) {
+            handleCursorPage(response, resultList, (String) nextCursor);
+            return;
+          }
+
+          // The source does not support cursors. The first page is the same in both modes, so
+          // continue by start index from here. A later page was not read from currentIndex, so it
+          // is queried again by start index.
+          boolean firstPage = QUERY_CURSOR_START.equals(cursor);
+          cursor = null;
+          queryRequestCopy.getProperties().remove(QUERY_CURSOR_KEY);
+          if (!firstPage) {
+            fetchNextResults();
+            return;
+          }
+        }
+
         // Because some of the results may be filtered out by the catalog framework's
         // plugins, we need a way to know the actual page size and increment currentIndex based
         // on that number instead of using the result list size.
@@ -225,12 +261,7 @@ private void fetchNextResults() {
         // this should not happen, as queries will run through the QueryOperations.query() method;
         // however, should a user ever construct a QueryFunction that does NOT rely on that method,
         // there is no guarantee that this property will be properly set.
-        int actualResultSize =
-            Optional.ofNullable(response.getProperties())
-                .map(m -> m.get("actualResultSize"))
-                .filter(Integer.class::isInstance)
-                .map(Integer.class::cast)
-                .orElse(resultList.size());
+        int actualResultSize = getActualResultSize(response, resultList);
 
         if (actualResultSize == 0) {
           finished = true;
@@ -259,6 +290,38 @@ private void fetchNextResults() {
       }
     }
 
+    /**
+     * Results read with a cursor are unique, so they are not tracked in {@link #foundIds}. The
+     * source signals the last page by returning the cursor it was given.
+     */
+    private void handleCursorPage(
+        SourceResponse response, List<Result> resultList, String nextCursor) {
+      List<Result> pageResults = new ArrayList<>(resultList.size());
+      for (Result result : resultList) {
+        if (result != null) {
+          pageResults.add(result);
+        }
+      }
+      this.results = pageResults.iterator();
+
+      currentIndex += getActualResultSize(response, resultList);
+      if (nextCursor.equals(cursor)
+          || (response.getHits() >= 0 && currentIndex > response.getHits())) {
+        finished = true;
+      }
+
+      cursor = nextCursor;
+      queryRequestCopy.getProperties().put(QUERY_CURSOR_KEY, cursor);
+    }
+
+    private int getActualResultSize(SourceResponse response, List<Result> resultList) {
+      return Optional.ofNullable(response.getProperties())
+          .map(m -> m.get("actualResultSize"))
+          .filter(Integer.class::isInstance)
+          .map(Integer.class::cast)
+          .orElse(resultList.size());
+    }
+
     private boolean isDistinctResult(@Nullable Result result) {
       return result != null
           && (result.getMetacard() == null
@@ -281,12 +344,35 @@ private void copyQueryRequestAndQuery(QueryRequest queryRequest) {
               // always get the hit count
               query.getTimeoutMillis());
 
+      Map<String, Serializable> properties = new HashMap<>();
+      if (queryRequest.getProperties() != null) {
+        properties.putAll(queryRequest.getProperties());
+      }
+      if (canUseCursor(queryRequest, properties)) {
+        cursor = QUERY_CURSOR_START;
+        properties.put(QUERY_CURSOR_KEY, cursor);
+      }
+
       this.queryRequestCopy =
           new QueryRequestImpl(
               queryCopy,
               queryRequest.isEnterprise(),
               queryRequest.getSourceIds(),
-              queryRequest.getProperties());
+              properties);
+    }
+
+    /**
+     * Cursors start at the first result and cannot be merged across sources, so they are only asked
+     * for by requests that start at the first result and go to at most one source. The catalog
+     * framework also drops the cursor when other sources, such as connected sources, answer a local
+     * query, in which case no next cursor is returned and the results are paged by start index.
+     */
+    private boolean canUseCursor(
+        QueryRequest queryRequest, Map<String, Serializable> properties) {
+      return queryCopy.getStartIndex() == 1
+          && !queryRequest.isEnterprise()
+          && (queryRequest.getSourceIds() == null || queryRequest.getSourceIds().size() <= 1)
+          && !properties.containsKey(QUERY_CURSOR_KEY);
     }
   }
 }
@@ -28,6 +28,9 @@ import ddf.catalog.source.UnsupportedQueryException
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import static ddf.catalog.Constants.QUERY_CURSOR_KEY
+import static ddf.catalog.Constants.QUERY_CURSOR_START
+import static ddf.catalog.Constants.QUERY_NEXT_CURSOR_KEY
 import static ddf.catalog.util.impl.ResultIterable.resultIterable
 import static java.util.stream.Collectors.toList
 
@@ -400,6 +403,122 @@ class ResultIterableSpec extends Specification {
         queryResults.size() == dedupedCount
     }
 
+    def "Pages with cursors when the source returns them"() {
+        setup:
+        def actualResults = (1..70).collect { new ResultImpl() }
+        def requests = []
+
+        3 * catalogFramework.query(_ as QueryRequest) >>
+                { QueryRequest queryRequest ->
+                    requests << queryRequest.getPropertyValue(QUERY_CURSOR_KEY)
+                    assert queryRequest.query.startIndex == 1
+                    buildCursorQueryResponse(actualResults, 0..63, "page2")
+                } >>
+                { QueryRequest queryRequest ->
+                    requests << queryRequest.getPropertyValue(QUERY_CURSOR_KEY)
+                    assert queryRequest.query.startIndex == 1
+                    buildCursorQueryResponse(actualResults, 64..69, "page3")
+                } >>
+                { QueryRequest queryRequest ->
+                    requests << queryRequest.getPropertyValue(QUERY_CURSOR_KEY)
+                    new QueryResponseImpl(queryRequest, [], true, -1L,
+                            [(QUERY_NEXT_CURSOR_KEY): "page3", "actualResultSize": 0])
+                }
+
+        Query queryMock = createQueryMock(1, 0)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+
+        when:
+        def results = resultIterable(catalogFramework, queryRequestMock).stream().collect(toList())
+
+        then:
+        results == actualResults
+        requests == [QUERY_CURSOR_START, "page2", "page3"]
+    }
+
+    def "Pages by start index and dedupes when the framework drops the cursor for connected sources"() {
+        setup:
+        def connectedResult = resultWithId("connected")
+        def providerResults = (1..4).collect { resultWithId(it as String) }
+        def requests = []
+
+        3 * catalogFramework.query(_ as QueryRequest) >>
+                { QueryRequest queryRequest ->
+                    requests << [queryRequest.getPropertyValue(QUERY_CURSOR_KEY), queryRequest.query.startIndex]
+                    pageResponse([connectedResult] + providerResults[0..1])
+                } >>
+                { QueryRequest queryRequest ->
+                    requests << [queryRequest.getPropertyValue(QUERY_CURSOR_KEY), queryRequest.query.startIndex]
+                    pageResponse([connectedResult] + providerResults[2..3])
+                } >>
+                { QueryRequest queryRequest ->
+                    requests << [queryRequest.getPropertyValue(QUERY_CURSOR_KEY), queryRequest.query.startIndex]
+                    pageResponse([])
+                }
+
+        Query queryMock = createQueryMock(1, 3)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+
+        when:
+        def results = resultIterable(catalogFramework, queryRequestMock).stream().collect(toList())
+
+        then:
+        results == [connectedResult] + providerResults
+        requests == [[QUERY_CURSOR_START, 1], [null, 4], [null, 7]]
+    }
+
+    def "Queries a later page again by start index when the cursor stops"() {
+        setup:
+        def actualResults = (1..3).collect { new ResultImpl() }
+        def requests = []
+
+        3 * catalogFramework.query(_ as QueryRequest) >>
+                { QueryRequest queryRequest ->
+                    requests << [queryRequest.getPropertyValue(QUERY_CURSOR_KEY), queryRequest.query.startIndex]
+                    buildCursorQueryResponse(actualResults, 0..1, "page2")
+                } >>
+                { QueryRequest queryRequest ->
+                    requests << [queryRequest.getPropertyValue(QUERY_CURSOR_KEY), queryRequest.query.startIndex]
+                    buildQueryResponse(actualResults, 0..1)
+                } >>
+                { QueryRequest queryRequest ->
+                    requests << [queryRequest.getPropertyValue(QUERY_CURSOR_KEY), queryRequest.query.startIndex]
+                    buildQueryResponse(actualResults, 2)
+                }
+
+        Query queryMock = createQueryMock(1, 2)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+
+        when:
+        def results = resultIterable(catalogFramework, queryRequestMock).stream().collect(toList())
+
+        then:
+        results == actualResults
+        requests == [[QUERY_CURSOR_START, 1], ["page2", 1], [null, 3]]
+    }
+
+    def "Does not page with cursors when the request starts past the first result"() {
+        setup:
+        def actualResults = (1..10).collect { new ResultImpl() }
+        def cursor = "not set"
+
+        1 * catalogFramework.query(_ as QueryRequest) >>
+                { QueryRequest queryRequest ->
+                    cursor = queryRequest.getPropertyValue(QUERY_CURSOR_KEY)
+                    buildQueryResponse(actualResults, 9)
+                }
+
+        Query queryMock = createQueryMock(10, 1)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+
+        when:
+        def result = resultIterable(catalogFramework, queryRequestMock).iterator().next()
+
+        then:
+        result == actualResults.last()
+        cursor == null
+    }
+
     def "next() when number of results from catalog varies"() {
         setup:
         def actualResults = (1..6).collect { new ResultImpl() }
@@ -578,6 +697,19 @@ class ResultIterableSpec extends Specification {
         thrown IllegalArgumentException
     }
 
+    private Result resultWithId(String id) {
+        def metacard = Mock(Metacard)
+        metacard.getId() >> id
+        def result = new ResultImpl()
+        result.metacard = metacard
+        return result
+    }
+
+    private QueryResponse pageResponse(List<Result> results) {
+        return new QueryResponseImpl(new QueryRequestImpl(null), results, true, -1L,
+                ["actualResultSize": results.size()])
+    }
+
     private Query createQueryMock(int startIndex, int pageSize) {
         def queryMock = Mock(Query.class)
         queryMock.getStartIndex() >> startIndex
@@ -618,6 +750,16 @@ class ResultIterableSpec extends Specification {
         return response
     }
 
+    private QueryResponse buildCursorQueryResponse(List<Result> resultList,
+                                                   Range resultRange,
+                                                   String nextCursor) {
+        return new QueryResponseImpl(new QueryRequestImpl(null),
+                resultList[resultRange],
+                true,
+                -1L,
+                ["actualResultSize": resultRange.size(), (QUERY_NEXT_CURSOR_KEY): nextCursor])
+    }
+
     private buildQueryResponse(QueryRequest queryRequest, int resultListsSize, int totalResults) {
         int startIndex = queryRequest.getQuery()
                 .getStartIndex()
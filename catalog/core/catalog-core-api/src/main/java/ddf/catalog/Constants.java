@@ -135,6 +135,16 @@ public final class Constants {
 
   public static final String CONTENT_PATHS = "content-paths";
 
+  /**
+   * Storage request property holding a map of content item IDs to the checksums the catalog
+   * framework calculated while first reading the content. The checksums were calculated with the
+   * algorithm in the {@link #CONTENT_CHECKSUM_ALGORITHM} property.
+   */
+  public static final String CONTENT_CHECKSUMS = "content-checksums";
+
+  /** Storage request property holding the algorithm of the {@link #CONTENT_CHECKSUMS}. */
+  public static final String CONTENT_CHECKSUM_ALGORITHM = "content-checksum-algorithm";
+
   public static final String ATTRIBUTE_OVERRIDES_KEY = "attributeOverrides";
 
   public static final String ATTRIBUTE_UPDATE_MAP_KEY = "attributeUpdateMap";
@@ -158,4 +168,17 @@ public final class Constants {
   public static final String SUGGESTION_BUILD_KEY = "suggestion-build";
 
   public static final String ADDITIONAL_SORT_BYS = "additional-sort-bys";
+
+  /**
+   * Query request property holding the cursor a source should page from. Sources that support
+   * cursors ignore the query's start index when it is present and return the cursor of the next
+   * page in the {@link #QUERY_NEXT_CURSOR_KEY} response property.
+   */
+  public static final String QUERY_CURSOR_KEY = "query-cursor";
+
+  /** Query response property holding the cursor of the page following the returned results. */
+  public static final String QUERY_NEXT_CURSOR_KEY = "query-next-cursor";
+
+  /** Value of {@link #QUERY_CURSOR_KEY} used to request the first page of results. */
+  public static final String QUERY_CURSOR_START = "*";
 }
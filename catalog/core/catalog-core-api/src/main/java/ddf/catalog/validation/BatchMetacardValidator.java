@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.validation;
+
+import ddf.catalog.data.Metacard;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link MetacardValidator} that can validate all the {@link Metacard}s of an ingest request at
+ * once, for validators that would otherwise have to do expensive work, such as querying the
+ * catalog, for every {@link Metacard}.
+ *
+ * <p>Callers that validate a whole request should call {@link #validateBatch(List)} once instead
+ * of calling {@link #validate(Metacard)} for every {@link Metacard}.
+ *
+ * <p><b> This code is experimental. While this interface is functional and tested, it may change or
+ * be removed in a future version of the library. </b>
+ */
+public interface BatchMetacardValidator extends MetacardValidator {
+  /**
+   * Validates a list of {@link Metacard}s. The {@link Metacard}s are validated as if they were
+   * ingested in order, so a {@link Metacard} may fail validation because of one earlier in the
+   * list.
+   *
+   * @param metacards the {@link Metacard}s to validate, cannot be null
+   * @return the {@link ValidationException} of every {@link Metacard} that failed validation,
+   *     keyed by the position of the {@link Metacard} in {@code metacards}. {@link Metacard}s that
+   *     passed validation have no entry.
+   * @throws IllegalArgumentException if {@code metacards} is null
+   */
+  Map<Integer, ValidationException> validateBatch(List<Metacard> metacards);
+}
@@ -17,12 +17,18 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
@@ -44,6 +50,15 @@
  * <p>if there are files being processed or a thread already inside {@code checkAndNotify()}, check
  * and notify will immediately return false
  *
+ * <p>When the paths that changed are already known, e.g., from a {@link
+ * java.nio.file.WatchService}, {@link #checkAndNotify(Collection)} compares only those paths
+ * instead of the whole tree.
+ *
+ * <p>If the {@link ObjectPersistentStore} is a {@link JournaledObjectStore}, each committed change
+ * is appended to the store's journal and the whole tree is only stored once the journal grows past
+ * {@value #JOURNAL_COMPACTION_THRESHOLD} records. Otherwise the whole tree is stored every time the
+ * files being processed finish.
+ *
  * <p>Known Limitations:
  *
  * <ul>
@@ -60,12 +75,15 @@ public class AsyncFileAlterationObserver {
   private static final int LOGGING_TIME_DELAY = 500;
   private static final int LOGGING_TIME_INTERVAL = 5000;
 
+  static final int JOURNAL_COMPACTION_THRESHOLD = 10000;
+
   private final AsyncFileEntry rootFile;
   private AsyncFileAlterationListener listener = null;
   private final Set<AsyncFileEntry> processing = ConcurrentHashMap.newKeySet();
   private final Object listenerLock = new Object();
   private final ObjectPersistentStore serializer;
   private final Object processingLock = new Object();
+  private final AtomicInteger journalSize = new AtomicInteger();
 
   private Timer timer;
 
@@ -100,10 +118,24 @@ private AsyncFileAlterationObserver(AsyncFileEntry entry, ObjectPersistentStore
       throw new IllegalArgumentException("Arguments can not be null");
     }
     AsyncFileEntry temp = store.load(observedFile.getName(), AsyncFileEntry.class);
-    if (temp == null) {
+    if (!(store instanceof JournaledObjectStore)) {
+      return temp == null ? null : new AsyncFileAlterationObserver(temp, store);
+    }
+
+    List<AsyncFileEntryRecord> journal =
+        ((JournaledObjectStore) store)
+            .loadJournal(observedFile.getName(), AsyncFileEntryRecord.class);
+    if (temp == null && journal.isEmpty()) {
       return null;
     }
-    return new AsyncFileAlterationObserver(temp, store);
+
+    AsyncFileAlterationObserver observer =
+        temp == null
+            ? new AsyncFileAlterationObserver(observedFile, store)
+            : new AsyncFileAlterationObserver(temp, store);
+    journal.forEach(observer::replay);
+    observer.journalSize.set(journal.size());
+    return observer;
   }
 
   /**
@@ -114,7 +146,7 @@ private AsyncFileAlterationObserver(AsyncFileEntry entry, ObjectPersistentStore
    */
   public void initialize() throws IllegalStateException {
     initChildEntries(rootFile);
-    serializer.store(rootFile.getName(), rootFile);
+    storeRootFile();
   }
 
   /**
@@ -155,16 +187,71 @@ public void removeListener() {
    * being monitored.
    */
   public boolean checkAndNotify() {
+    AsyncFileAlterationListener listenerCopy = startProcessing();
+    if (listenerCopy == null) {
+      return false;
+    }
 
-    AsyncFileAlterationListener listenerCopy;
+    /* fire directory/file events */
+    if (rootFile.checkNetwork()) {
+      checkAndNotify(rootFile, rootFile.getChildren(), listFiles(rootFile.getFile()), listenerCopy);
+    } else {
+      //  If we can't connect to the network then the file doesn't exist to us now.
+      LOGGER.debug(
+          "The monitored file [{}] does not exist. No file fileLocks will be done through the CDM",
+          rootFile.getName());
+    }
+
+    finishProcessing();
+    return true;
+  }
+
+  /**
+   * Called when only the given files are known to have changed since the last check. Each file is
+   * compared to its own snapshot state without walking the rest of the directory being monitored.
+   * A created directory is compared along with everything under it.
+   *
+   * @param changedFiles files under the monitored directory that were created, changed or deleted
+   * @return false if the files could not be checked now and should be checked again later
+   */
+  public boolean checkAndNotify(Collection<File> changedFiles) {
+    AsyncFileAlterationListener listenerCopy = startProcessing();
+    if (listenerCopy == null) {
+      return false;
+    }
+
+    if (rootFile.checkNetwork()) {
+      //  Sorted so that directories are checked before their contents
+      Set<Path> created = new HashSet<>();
+      for (File file : new TreeSet<>(changedFiles)) {
+        Path path = file.toPath();
+        //  A created directory already reported everything under it, whose entries may not be
+        //  committed yet
+        if (!hasCreatedAncestor(path, created)) {
+          checkAndNotify(file, listenerCopy).ifPresent(created::add);
+        }
+      }
+    } else {
+      LOGGER.debug(
+          "The monitored file [{}] does not exist. No file fileLocks will be done through the CDM",
+          rootFile.getName());
+    }
+
+    finishProcessing();
+    return true;
+  }
+
+  /** @return the listener to notify, or null if the observer cannot check for changes now */
+  @Nullable
+  private AsyncFileAlterationListener startProcessing() {
     synchronized (processingLock) {
       if (!processing.isEmpty()) {
         LOGGER.debug(
             "{} files are still processing. Waiting until the list is empty", processing.size());
-        return false;
+        return null;
       } else if (isProcessing) {
         LOGGER.debug("Another thread is currently running, returning until next poll");
-        return false;
+        return null;
       }
 
       isProcessing = true;
@@ -172,26 +259,16 @@ public boolean checkAndNotify() {
       synchronized (listenerLock) {
         if (listener == null) {
           isProcessing = false;
-          return false;
         }
-        listenerCopy = listener;
+        return listener;
       }
     }
+  }
 
-    /* fire directory/file events */
-    if (rootFile.checkNetwork()) {
-      checkAndNotify(rootFile, rootFile.getChildren(), listFiles(rootFile.getFile()), listenerCopy);
-    } else {
-      //  If we can't connect to the network then the file doesn't exist to us now.
-      LOGGER.debug(
-          "The monitored file [{}] does not exist. No file fileLocks will be done through the CDM",
-          rootFile.getName());
-    }
-
+  private void finishProcessing() {
     synchronized (processingLock) {
       isProcessing = false;
     }
-    return true;
   }
 
   @VisibleForTesting
@@ -238,6 +315,7 @@ private void commitCreate(AsyncFileEntry entry, boolean success) {
       if (success) {
         entry.commit();
         entry.getParent().ifPresent(e -> e.addChild(entry));
+        journal(entry.toRecord());
         LOGGER.debug(
             "File {} committed to {}",
             entry.getName(),
@@ -283,6 +361,7 @@ private void commitMatch(AsyncFileEntry entry, boolean success) {
       if (success) {
         LOGGER.trace("commitMatch({},{}): Starting...", entry.getName(), success);
         entry.commit();
+        journal(entry.toRecord());
         LOGGER.debug("{} committed", entry.getName());
       } else {
         LOGGER.debug("Match task failed for {}", entry.getName());
@@ -326,6 +405,7 @@ private void commitDelete(AsyncFileEntry entry, boolean success) {
       if (success) {
         entry.getParent().ifPresent(e -> e.removeChild(entry));
         entry.destroy();
+        journal(AsyncFileEntryRecord.deleted(entry.getFile().getPath()));
         LOGGER.debug(
             "{} was removed from {}",
             entry.getName(),
@@ -381,6 +461,62 @@ private void checkAndNotify(
     }
   }
 
+  private static boolean hasCreatedAncestor(Path path, Set<Path> created) {
+    for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+      if (created.contains(parent)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Compares a single file to its snapshot state. Starting from the root, the path is followed
+   * through the snapshot until the entry for {@code file}, or the first directory on the path that
+   * is not in the snapshot yet, is found.
+   *
+   * @param file a file under the directory being monitored
+   * @return the path of the file or directory that was reported as created, if any
+   */
+  private Optional<Path> checkAndNotify(File file, final AsyncFileAlterationListener listenerCopy) {
+    Path rootPath = rootFile.getFile().toPath();
+    Path path = file.toPath();
+    if (!path.startsWith(rootPath) || path.equals(rootPath)) {
+      return Optional.empty();
+    }
+
+    Path relativePath = rootPath.relativize(path);
+    AsyncFileEntry parent = rootFile;
+    File current = rootFile.getFile();
+    for (int i = 0; i < relativePath.getNameCount(); i++) {
+      current = new File(current, relativePath.getName(i).toString());
+      Optional<AsyncFileEntry> entry = parent.getChild(current);
+
+      if (!entry.isPresent()) {
+        if (current.exists()) {
+          doCreate(new AsyncFileEntry(parent, current), listenerCopy);
+          return Optional.of(current.toPath());
+        }
+        return Optional.empty();
+      }
+
+      if (i == relativePath.getNameCount() - 1) {
+        if (current.exists()) {
+          //  The contents of a directory report their own changes
+          doMatch(entry.get(), listenerCopy);
+        } else if (entry.get().checkNetwork()) {
+          checkAndNotify(
+              entry.get(), entry.get().getChildren(), FileUtils.EMPTY_FILE_ARRAY, listenerCopy);
+          doDelete(entry.get(), listenerCopy);
+        }
+        return Optional.empty();
+      }
+
+      parent = entry.get();
+    }
+    return Optional.empty();
+  }
+
   /**
    * Note: returns a new Array to avoid sync access exceptions
    *
@@ -419,12 +555,69 @@ private void onFinish(AsyncFileEntry entry) {
       processing.remove(entry);
       if (processing.isEmpty()) {
         LOGGER.debug("All files finished processing");
-        serializer.store(rootFile.getName(), rootFile);
+        if (!(serializer instanceof JournaledObjectStore)
+            || journalSize.get() >= JOURNAL_COMPACTION_THRESHOLD) {
+          storeRootFile();
+        }
         isProcessing = false;
       }
     }
   }
 
+  private void storeRootFile() {
+    serializer.store(rootFile.getName(), rootFile);
+    journalSize.set(0);
+  }
+
+  private void journal(AsyncFileEntryRecord record) {
+    if (serializer instanceof JournaledObjectStore) {
+      ((JournaledObjectStore) serializer).append(rootFile.getName(), record);
+      journalSize.incrementAndGet();
+    }
+  }
+
+  /**
+   * Applies a journal record to the snapshot state. Directories on the record's path that are not
+   * in the snapshot are added, since a file can be committed before the directory containing it.
+   */
+  private void replay(AsyncFileEntryRecord record) {
+    Path rootPath = rootFile.getFile().toPath();
+    Path path = new File(record.getPath()).toPath();
+    if (!path.startsWith(rootPath) || path.equals(rootPath)) {
+      return;
+    }
+
+    Path relativePath = rootPath.relativize(path);
+    AsyncFileEntry parent = rootFile;
+    File current = rootFile.getFile();
+    for (int i = 0; i < relativePath.getNameCount(); i++) {
+      current = new File(current, relativePath.getName(i).toString());
+      AsyncFileEntry entry = parent.getChild(current).orElse(null);
+
+      if (i == relativePath.getNameCount() - 1) {
+        if (record.isDeleted()) {
+          if (entry != null) {
+            parent.removeChild(entry);
+          }
+        } else if (entry == null) {
+          parent.addChild(AsyncFileEntry.fromRecord(parent, current, record));
+        } else {
+          entry.restore(record);
+        }
+        return;
+      }
+
+      if (entry == null) {
+        if (record.isDeleted()) {
+          return;
+        }
+        entry = new AsyncFileEntry(parent, current);
+        parent.addChild(entry);
+      }
+      parent = entry;
+    }
+  }
+
   private class LogProcessing extends TimerTask {
 
     /** Log files still in processing at scheduled intervals */
@@ -56,9 +56,17 @@ public AsyncFileEntry(File file) {
   }
 
   public AsyncFileEntry(@Nullable AsyncFileEntry parent, File file) {
+    this(parent, file, true);
+  }
+
+  private AsyncFileEntry(@Nullable AsyncFileEntry parent, File file, boolean snapshot) {
     this.parent = parent;
     contentFile = file;
-    refresh();
+    if (snapshot) {
+      refresh();
+    } else {
+      name = snapName();
+    }
   }
 
   //  For GSON deserialization
@@ -139,6 +147,15 @@ public List<AsyncFileEntry> getChildren() {
     return new ArrayList<>(children);
   }
 
+  /**
+   * @param file the file to look up
+   * @return the child wrapping {@code file}, or empty if {@code file} is not a child of this entry
+   */
+  public Optional<AsyncFileEntry> getChild(File file) {
+    AsyncFileEntry child = children.ceiling(new AsyncFileEntry(this, file, false));
+    return child != null && child.getFile().equals(file) ? Optional.of(child) : Optional.empty();
+  }
+
   public void addChild(AsyncFileEntry child) {
     children.add(child);
   }
@@ -178,6 +195,29 @@ public void destroy() {
     children.clear();
   }
 
+  /** @return a journal record of the last meta-snapshot taken of this entry */
+  AsyncFileEntryRecord toRecord() {
+    return new AsyncFileEntryRecord(
+        contentFile.getPath(), false, exists, lastModified, directory, length);
+  }
+
+  /**
+   * Creates an entry whose meta-snapshot is taken from a journal record instead of the file system.
+   */
+  static AsyncFileEntry fromRecord(AsyncFileEntry parent, File file, AsyncFileEntryRecord record) {
+    AsyncFileEntry entry = new AsyncFileEntry(parent, file, false);
+    entry.restore(record);
+    return entry;
+  }
+
+  /** Replaces the meta-snapshot of this entry with the one in a journal record. */
+  void restore(AsyncFileEntryRecord record) {
+    exists = record.exists();
+    lastModified = record.getLastModified();
+    directory = record.isDirectory();
+    length = record.getLength();
+  }
+
   //  Serializing to JSON doesn't allow infinite loops. Thus we
   //  Make the parent null and allow users to re-initialize after loading
   //  from a json.
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.catalog.content.monitor;
+
+/**
+ * A journal record of a committed change to an {@link AsyncFileEntry}. Records are appended to a
+ * {@link JournaledObjectStore} as files are committed, so the observer state can be persisted
+ * without rewriting the whole tree of entries after every change.
+ */
+class AsyncFileEntryRecord {
+
+  private String path;
+
+  private boolean deleted;
+
+  private boolean exists;
+
+  private long lastModified;
+
+  private boolean directory;
+
+  private long length;
+
+  //  For GSON deserialization
+  private AsyncFileEntryRecord() {}
+
+  AsyncFileEntryRecord(
+      String path,
+      boolean deleted,
+      boolean exists,
+      long lastModified,
+      boolean directory,
+      long length) {
+    this.path = path;
+    this.deleted = deleted;
+    this.exists = exists;
+    this.lastModified = lastModified;
+    this.directory = directory;
+    this.length = length;
+  }
+
+  /** @return a record noting that the entry for {@code path} was removed */
+  static AsyncFileEntryRecord deleted(String path) {
+    return new AsyncFileEntryRecord(path, true, false, 0, false, 0);
+  }
+
+  String getPath() {
+    return path;
+  }
+
+  boolean isDeleted() {
+    return deleted;
+  }
+
+  boolean exists() {
+    return exists;
+  }
+
+  long getLastModified() {
+    return lastModified;
+  }
+
+  boolean isDirectory() {
+    return directory;
+  }
+
+  long getLength() {
+    return length;
+  }
+}
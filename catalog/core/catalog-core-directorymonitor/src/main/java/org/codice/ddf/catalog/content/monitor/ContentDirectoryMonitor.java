@@ -67,6 +67,8 @@ public class ContentDirectoryMonitor implements DirectoryMonitor {
 
   private static final int MIN_READLOCK_INTERVAL_MILLISECONDS = 100;
 
+  private static final int MIN_RECONCILIATION_INTERVAL_MINUTES = 1;
+
   private Security security;
 
   private final int maxRetries;
@@ -95,6 +97,10 @@ public class ContentDirectoryMonitor implements DirectoryMonitor {
 
   private Integer readLockIntervalMilliseconds;
 
+  private boolean useWatchService = false;
+
+  private Integer reconciliationIntervalMinutes = 60;
+
   Processor systemSubjectBinder;
 
   /**
@@ -171,6 +177,35 @@ public Integer getReadLockIntervalMilliseconds() {
     return readLockIntervalMilliseconds;
   }
 
+  /**
+   * Set whether an in-place monitor of a file system directory is notified of changes by the file
+   * system instead of comparing the whole directory on every poll.
+   *
+   * @param useWatchService
+   */
+  public void setUseWatchService(Boolean useWatchService) {
+    this.useWatchService = Boolean.TRUE.equals(useWatchService);
+  }
+
+  public boolean getUseWatchService() {
+    return useWatchService;
+  }
+
+  /**
+   * Set the number of minutes between comparisons of the whole directory when the watch service is
+   * used. If the given argument is less than 1, it is set to 1.
+   *
+   * @param reconciliationIntervalMinutes
+   */
+  public void setReconciliationIntervalMinutes(Integer reconciliationIntervalMinutes) {
+    this.reconciliationIntervalMinutes =
+        Math.max(reconciliationIntervalMinutes, MIN_RECONCILIATION_INTERVAL_MINUTES);
+  }
+
+  public Integer getReconciliationIntervalMinutes() {
+    return reconciliationIntervalMinutes;
+  }
+
   /**
    * Invoked after all of the setter methods have been called (for initial route creation), and also
    * called whenever an existing route is updated.
@@ -239,6 +274,12 @@ public void updateCallback(Map<String, Object> properties) {
       setProcessingMechanism((String) properties.get("processingMechanism"));
       setNumThreads((Integer) properties.get("numThreads"));
       setReadLockIntervalMilliseconds((Integer) properties.get("readLockIntervalMilliseconds"));
+      setUseWatchService((Boolean) properties.get("useWatchService"));
+
+      Integer reconciliationInterval = (Integer) properties.get("reconciliationIntervalMinutes");
+      if (reconciliationInterval != null) {
+        setReconciliationIntervalMinutes(reconciliationInterval);
+      }
 
       String[] parameterArray = (String[]) properties.get(Constants.ATTRIBUTE_OVERRIDES_KEY);
       if (parameterArray != null) {
@@ -387,6 +428,10 @@ public void configure() throws Exception {
             stringBuilder = new StringBuilder("durable:" + monitoredDirectory);
             if (isDav) {
               stringBuilder.append("?isDav=true");
+            } else if (useWatchService) {
+              stringBuilder.append("?watch=true");
+              stringBuilder.append("&reconciliationIntervalMinutes=");
+              stringBuilder.append(reconciliationIntervalMinutes);
             }
             break;
         }
@@ -15,6 +15,7 @@
 
 import java.io.File;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.apache.camel.component.file.GenericFileComponent;
 import org.apache.camel.component.file.GenericFileConfiguration;
 import org.apache.camel.component.file.GenericFileEndpoint;
@@ -23,6 +24,8 @@
 
 public class DurableFileComponent extends GenericFileComponent<File> {
 
+  private static final long DEFAULT_RECONCILIATION_INTERVAL_MINUTES = 60;
+
   @Override
   protected GenericFileEndpoint<File> buildFileEndpoint(
       String uri, String remaining, Map parameters) throws Exception {
@@ -42,6 +45,13 @@ protected GenericFileEndpoint<File> buildFileEndpoint(
     boolean isDav = Boolean.parseBoolean(davParam);
     parameters.remove("isDav");
 
+    boolean watch = Boolean.parseBoolean(String.valueOf(parameters.remove("watch")));
+    Object intervalParam = parameters.remove("reconciliationIntervalMinutes");
+    long reconciliationIntervalMinutes =
+        intervalParam == null
+            ? DEFAULT_RECONCILIATION_INTERVAL_MINUTES
+            : Long.parseLong(String.valueOf(intervalParam));
+
     GenericFileConfiguration config = new GenericFileConfiguration();
     File file = new File(remaining);
     if (isDav) {
@@ -50,6 +60,7 @@ protected GenericFileEndpoint<File> buildFileEndpoint(
     config.setDirectory(file.getCanonicalPath());
     DurableFileEndpoint result = new DurableFileEndpoint(uri, remaining, isDav, this);
     result.setFile(file);
+    result.setWatch(watch, TimeUnit.MINUTES.toMillis(reconciliationIntervalMinutes));
     result.setConfiguration(config);
 
     return result;
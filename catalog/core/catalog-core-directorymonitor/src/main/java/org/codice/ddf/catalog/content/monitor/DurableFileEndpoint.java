@@ -50,6 +50,10 @@ public class DurableFileEndpoint extends GenericFileEndpoint<File> {
 
   private final Boolean isDav;
 
+  private boolean watch;
+
+  private long reconciliationIntervalMillis;
+
   private String remaining;
 
   @UriPath(name = "directoryName")
@@ -75,12 +79,15 @@ public GenericFileConsumer<File> createConsumer(Processor processor) throws Exce
           new EventfulFileWrapperGenericFileOperations(),
           new GenericFileNoOpProcessStrategy());
     } else {
-      return new DurableFileSystemFileConsumer(
-          this,
-          remaining,
-          processor,
-          new EventfulFileWrapperGenericFileOperations(),
-          new GenericFileNoOpProcessStrategy());
+      DurableFileSystemFileConsumer consumer =
+          new DurableFileSystemFileConsumer(
+              this,
+              remaining,
+              processor,
+              new EventfulFileWrapperGenericFileOperations(),
+              new GenericFileNoOpProcessStrategy());
+      consumer.setWatch(watch, reconciliationIntervalMillis);
+      return consumer;
     }
   }
 
@@ -118,6 +125,17 @@ protected String createEndpointUri() {
     return file.toURI().toString();
   }
 
+  /**
+   * @param watch whether to watch the directory for changes instead of comparing all of it on every
+   *     poll. Not supported for WebDAV directories.
+   * @param reconciliationIntervalMillis time between comparisons of the whole directory while
+   *     watching
+   */
+  void setWatch(boolean watch, long reconciliationIntervalMillis) {
+    this.watch = watch;
+    this.reconciliationIntervalMillis = reconciliationIntervalMillis;
+  }
+
   public void setFile(File file) {
     this.file = file;
     // update configuration as well
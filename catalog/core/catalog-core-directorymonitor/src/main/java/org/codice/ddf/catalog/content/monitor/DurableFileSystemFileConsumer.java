@@ -16,12 +16,16 @@
 import static ddf.catalog.Constants.CDM_LOGGER_NAME;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.apache.camel.Processor;
 import org.apache.camel.component.file.GenericFileEndpoint;
 import org.apache.camel.component.file.GenericFileOperations;
 import org.apache.camel.component.file.GenericFileProcessStrategy;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.monitor.FileAlterationObserver;
+import org.codice.ddf.catalog.content.monitor.watcher.DirectoryChangeWatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,6 +37,14 @@ public class DurableFileSystemFileConsumer extends AbstractDurableFileConsumer {
 
   private AsyncFileAlterationObserver observer;
 
+  private boolean watch = false;
+
+  private long reconciliationIntervalMillis = TimeUnit.HOURS.toMillis(1);
+
+  private DirectoryChangeWatcher directoryWatcher;
+
+  private long lastReconciliation = 0;
+
   DurableFileSystemFileConsumer(
       GenericFileEndpoint<File> endpoint,
       String remaining,
@@ -43,11 +55,29 @@ public class DurableFileSystemFileConsumer extends AbstractDurableFileConsumer {
     listener = new DurableFileAlterationListener(this);
   }
 
+  /**
+   * When watching, only the files reported by a {@link DirectoryChangeWatcher} are compared on each
+   * poll. The whole directory is still compared on the first poll, whenever the watcher loses
+   * events, and every reconciliation interval, to catch anything the watcher missed.
+   *
+   * @param watch whether to watch the directory instead of comparing all of it on every poll
+   * @param reconciliationIntervalMillis time between comparisons of the whole directory while
+   *     watching
+   */
+  void setWatch(boolean watch, long reconciliationIntervalMillis) {
+    this.watch = watch;
+    this.reconciliationIntervalMillis = reconciliationIntervalMillis;
+  }
+
   @Override
   protected boolean doPoll(String sha1) {
     if (observer != null) {
       observer.setListener(listener);
-      observer.checkAndNotify();
+      if (directoryWatcher == null || isReconciliationDue()) {
+        reconcile();
+      } else {
+        checkChangedFiles();
+      }
       observer.removeListener();
       return true;
     } else {
@@ -55,6 +85,27 @@ protected boolean doPoll(String sha1) {
     }
   }
 
+  private boolean isReconciliationDue() {
+    return directoryWatcher.takeOverflow()
+        || System.currentTimeMillis() - lastReconciliation >= reconciliationIntervalMillis;
+  }
+
+  private void reconcile() {
+    if (observer.checkAndNotify()) {
+      lastReconciliation = System.currentTimeMillis();
+    } else if (directoryWatcher != null) {
+      //  Try again on the next poll
+      directoryWatcher.markOverflow();
+    }
+  }
+
+  private void checkChangedFiles() {
+    Set<File> changedFiles = directoryWatcher.takeChangedFiles();
+    if (!changedFiles.isEmpty() && !observer.checkAndNotify(changedFiles)) {
+      directoryWatcher.requeue(changedFiles);
+    }
+  }
+
   @Override
   protected void initialize(String fileName) {
     if (fileSystemPersistenceProvider == null) {
@@ -76,6 +127,18 @@ protected void initialize(String fileName) {
         observer.initializePeriodicLogging();
       }
     }
+
+    if (watch && directoryWatcher == null && fileName != null) {
+      try {
+        directoryWatcher = new DirectoryChangeWatcher(new File(fileName));
+      } catch (IOException e) {
+        LOGGER.info(
+            "Unable to watch {} for changes. Comparing the whole directory on every poll instead.",
+            fileName);
+        LOGGER.debug("Unable to watch {}", fileName, e);
+        watch = false;
+      }
+    }
   }
 
   private boolean isOldVersion(String fileName) {
@@ -114,5 +177,9 @@ public void shutdown() throws Exception {
     if (observer != null) {
       observer.destroy();
     }
+
+    if (directoryWatcher != null) {
+      directoryWatcher.close();
+    }
   }
 }
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.catalog.content.monitor;
+
+import java.util.List;
+
+/**
+ * An {@link ObjectPersistentStore} that can also keep an append-only journal of records for each
+ * key. The journal records the changes made since the object was last stored, so a large object
+ * can be persisted incrementally and only rewritten in full occasionally.
+ *
+ * @implNote Storing an object with {@link #store(String, Object)} must discard the journal kept
+ *     for the same key, since the stored object already includes those changes.
+ */
+public interface JournaledObjectStore extends ObjectPersistentStore {
+
+  /**
+   * Appends a record to the journal kept for a key.
+   *
+   * @param key
+   * @param record
+   */
+  void append(String key, Object record);
+
+  /**
+   * Returns the records appended for a key since the object was last stored, in the order they
+   * were appended.
+   *
+   * @param key
+   * @param recordClass class of the records that were appended.
+   * @param <T>
+   * @return The appended records, or an empty list if there are none
+   */
+  <T> List<T> loadJournal(String key, Class<T> recordClass);
+}
@@ -21,6 +21,7 @@
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileReader;
@@ -28,19 +29,28 @@
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.configuration.AbsolutePathResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class JsonPersistantStore implements ObjectPersistentStore {
+public class JsonPersistantStore implements JournaledObjectStore {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CDM_LOGGER_NAME);
 
   private static final String PERSISTED_FILE_SUFFIX = ".json";
 
+  private static final String JOURNAL_FILE_SUFFIX = ".journal";
+
   private Gson gson =
       new GsonBuilder()
           .registerTypeAdapter(new TypeToken<File>() {}.getType(), new FileTypeAdapter())
@@ -68,12 +78,20 @@ private String getPersistencePath() {
     return new AbsolutePathResolver("data").getPath();
   }
 
-  @Override
-  public void store(String key, Object toStore) {
+  private File getJournalFile(String key) {
+    return getPath().resolve(getShaFor(key) + JOURNAL_FILE_SUFFIX).toFile();
+  }
+
+  private void createDirectory() {
     File dir = getPath().toFile();
     if (!dir.exists() && !dir.mkdir()) {
       LOGGER.debug("Unable to create directory: {}", dir.getAbsolutePath());
     }
+  }
+
+  @Override
+  public synchronized void store(String key, Object toStore) {
+    createDirectory();
     String shaKey = getShaFor(key);
     try (OutputStream file =
             new FileOutputStream(getPath().resolve(shaKey + PERSISTED_FILE_SUFFIX).toFile());
@@ -82,11 +100,56 @@ public void store(String key, Object toStore) {
       gson.toJson(toStore, output);
     } catch (IOException | JsonIOException e) {
       LOGGER.debug("IOException storing value in cache with key = " + key, e);
+      return;
+    }
+
+    //  The stored value includes every journaled change
+    try {
+      Files.deleteIfExists(getJournalFile(key).toPath());
+    } catch (IOException e) {
+      LOGGER.debug("Unable to delete the journal for key = {}", key, e);
+    }
+  }
+
+  @Override
+  public synchronized void append(String key, Object record) {
+    createDirectory();
+    try (Writer output =
+        new OutputStreamWriter(
+            new FileOutputStream(getJournalFile(key), true), StandardCharsets.UTF_8)) {
+      output.write(gson.toJson(record));
+      output.write(System.lineSeparator());
+    } catch (IOException | JsonIOException e) {
+      LOGGER.debug("IOException appending value to journal with key = " + key, e);
+    }
+  }
+
+  @Override
+  public synchronized <T> List<T> loadJournal(String key, Class<T> recordClass) {
+    File file = getJournalFile(key);
+    if (!file.exists()) {
+      return Collections.emptyList();
+    }
+
+    List<T> records = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (StringUtils.isNotBlank(line)) {
+          records.add(gson.fromJson(line, recordClass));
+        }
+      }
+    } catch (IOException | JsonIOException e) {
+      LOGGER.debug("IOException", e);
+    } catch (JsonSyntaxException f) {
+      //  A record that was only partially written before a shutdown ends the journal
+      LOGGER.debug("Ignoring the rest of the journal for key = {}", key, f);
     }
+    return records;
   }
 
   @Override
-  public <T> T load(String key, Class<T> objectClass) {
+  public synchronized <T> T load(String key, Class<T> objectClass) {
     String shaKey = getShaFor(key);
     File file = getPath().resolve(shaKey + PERSISTED_FILE_SUFFIX).toFile();
     if (!file.exists()) {
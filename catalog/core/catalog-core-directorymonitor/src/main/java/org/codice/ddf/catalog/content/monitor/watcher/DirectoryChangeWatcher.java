@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.catalog.content.monitor.watcher;
+
+import static ddf.catalog.Constants.CDM_LOGGER_NAME;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the files under a directory tree that were created, changed or deleted, as reported by
+ * a {@link WatchService}. Every directory in the tree is registered with the watch service, and
+ * directories created later are registered as their creation is reported.
+ *
+ * <p>A watch service can drop events, e.g., when too many happen at once. When that happens the
+ * watcher is marked as having overflowed, and the whole tree must be compared again to find what
+ * changed.
+ */
+public class DirectoryChangeWatcher implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CDM_LOGGER_NAME);
+
+  private final WatchService watchService;
+
+  private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+
+  private final Set<File> changedFiles = ConcurrentHashMap.newKeySet();
+
+  private final AtomicBoolean overflowed = new AtomicBoolean();
+
+  private final ExecutorService executorService;
+
+  /**
+   * Starts watching a directory tree.
+   *
+   * @param directory root of the directory tree to watch
+   * @throws IOException if the directory cannot be watched
+   */
+  public DirectoryChangeWatcher(File directory) throws IOException {
+    Path root = directory.toPath();
+    watchService = root.getFileSystem().newWatchService();
+    try {
+      registerTree(root);
+    } catch (IOException e) {
+      watchService.close();
+      throw e;
+    }
+
+    executorService =
+        Executors.newSingleThreadExecutor(
+            StandardThreadFactoryBuilder.newThreadFactory("cdmDirectoryWatcher"));
+    executorService.execute(this::processEvents);
+  }
+
+  /**
+   * Returns the files that changed since the last call, and stops tracking them.
+   *
+   * @return the changed files, in sorted order
+   */
+  public Set<File> takeChangedFiles() {
+    Set<File> taken = new TreeSet<>();
+    Iterator<File> iterator = changedFiles.iterator();
+    while (iterator.hasNext()) {
+      taken.add(iterator.next());
+      iterator.remove();
+    }
+    return taken;
+  }
+
+  /**
+   * Tracks files again that were taken with {@link #takeChangedFiles()} but could not be handled.
+   *
+   * @param files files to track as changed
+   */
+  public void requeue(Collection<File> files) {
+    changedFiles.addAll(files);
+  }
+
+  /**
+   * Returns whether events were lost since the last call, and clears the overflow.
+   *
+   * @return true if the whole tree must be compared to find what changed
+   */
+  public boolean takeOverflow() {
+    return overflowed.getAndSet(false);
+  }
+
+  /** Marks the watcher as having lost events. */
+  public void markOverflow() {
+    overflowed.set(true);
+  }
+
+  @Override
+  public void close() throws IOException {
+    executorService.shutdownNow();
+    watchService.close();
+  }
+
+  private void processEvents() {
+    while (!Thread.currentThread().isInterrupted()) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ClosedWatchServiceException e) {
+        return;
+      }
+
+      Path directory = watchedDirectories.get(key);
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW || directory == null) {
+          LOGGER.debug("Events were lost while watching {}", directory);
+          overflowed.set(true);
+          continue;
+        }
+
+        Path changed = directory.resolve((Path) event.context());
+        LOGGER.trace("{} event for {}", event.kind().name(), changed);
+        changedFiles.add(changed.toFile());
+
+        if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed, LinkOption.NOFOLLOW_LINKS)) {
+          try {
+            registerTree(changed);
+          } catch (IOException e) {
+            LOGGER.debug("Unable to watch new directory {}", changed, e);
+            overflowed.set(true);
+          }
+        }
+      }
+
+      if (!key.reset()) {
+        watchedDirectories.remove(key);
+      }
+    }
+  }
+
+  private void registerTree(Path start) throws IOException {
+    Files.walkFileTree(
+        start,
+        new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+              throws IOException {
+            watchedDirectories.put(
+                dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException e) {
+            LOGGER.debug("Unable to watch {}", file, e);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+  }
+}
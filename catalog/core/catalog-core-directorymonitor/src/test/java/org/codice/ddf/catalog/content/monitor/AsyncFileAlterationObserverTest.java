@@ -14,8 +14,10 @@
 package org.codice.ddf.catalog.content.monitor;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doAnswer;
@@ -29,11 +31,16 @@
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.camel.spi.Synchronization;
 import org.apache.commons.io.FileUtils;
@@ -331,6 +338,93 @@ public void testSerializationAfterCreate() throws Exception {
     verify(store, atLeast(1)).store(any(), any());
   }
 
+  @Test
+  public void testCheckOnlyChangedFiles() throws Exception {
+    initNestedDirectory(5, 7, 11, 2);
+    observer.checkAndNotify();
+    init();
+
+    changeData(files[0]);
+    fileDelete(grandchildFiles[0]);
+    File[] newFiles = initFiles(1, grandchildDir, "new-file00");
+    //  Not reported as changed, so not noticed until the whole directory is checked
+    changeData(files[1]);
+
+    observer.checkAndNotify(Arrays.asList(files[0], grandchildFiles[0], newFiles[0]));
+
+    verify(fileListener).onFileCreate(eq(newFiles[0]), any(Synchronization.class));
+    verify(fileListener).onFileChange(eq(files[0]), any(Synchronization.class));
+    verify(fileListener).onFileDelete(eq(grandchildFiles[0]), any(Synchronization.class));
+    verifyNoMoreInteractions(fileListener);
+
+    observer.checkAndNotify();
+    verify(fileListener).onFileChange(eq(files[1]), any(Synchronization.class));
+  }
+
+  @Test
+  public void testCheckChangedFilesInNewDirectory() throws Exception {
+    observer.checkAndNotify();
+
+    initNestedDirectory(5, 7, 11, 2);
+    observer.checkAndNotify(Collections.singleton(grandchildFiles[0]));
+
+    int created = childFiles.length + grandchildFiles.length + grandsiblingsFiles.length;
+    verify(fileListener, times(created)).onFileCreate(any(File.class), any(Synchronization.class));
+    verify(fileListener, never()).onFileChange(any(File.class), any(Synchronization.class));
+    verify(fileListener, never()).onFileDelete(any(File.class), any(Synchronization.class));
+  }
+
+  @Test
+  public void testCheckNewDirectoryWithItsFiles() throws Exception {
+    observer.checkAndNotify();
+
+    initNestedDirectory(5, 7, 11, 2);
+    int created = childFiles.length + grandchildFiles.length + grandsiblingsFiles.length;
+    //  Keep the created files processing while the rest of the batch is checked
+    initSemaphore(created);
+
+    List<File> changed = new ArrayList<>();
+    changed.add(childDir);
+    changed.add(grandchildDir);
+    changed.addAll(Arrays.asList(childFiles));
+    changed.addAll(Arrays.asList(grandchildFiles));
+    changed.addAll(Arrays.asList(grandsiblingsFiles));
+    observer.checkAndNotify(changed);
+
+    artificialDelay.release(created);
+    delayLatch.await(timeout, TimeUnit.MILLISECONDS);
+    removeDelay();
+
+    verify(fileListener, times(created)).onFileCreate(any(File.class), any(Synchronization.class));
+    verify(fileListener, never()).onFileChange(any(File.class), any(Synchronization.class));
+    verify(fileListener, never()).onFileDelete(any(File.class), any(Synchronization.class));
+  }
+
+  @Test
+  public void testJournalRestoresState() throws Exception {
+    InMemoryJournaledStore journaledStore = new InMemoryJournaledStore();
+    observer = new AsyncFileAlterationObserver(monitoredDirectory, journaledStore);
+    observer.setListener(fileListener);
+
+    initNestedDirectory(5, 7, 11, 2);
+    observer.checkAndNotify();
+    Stream.of(grandchildFiles).forEach(this::fileDelete);
+    changeData(files[0]);
+    observer.checkAndNotify();
+    init();
+
+    //  Changes are journaled instead of storing the whole tree every time
+    assertThat(journaledStore.stored, is(nullValue()));
+
+    observer = AsyncFileAlterationObserver.load(monitoredDirectory, journaledStore);
+    observer.setListener(fileListener);
+    observer.checkAndNotify();
+
+    verify(fileListener, never()).onFileCreate(any(File.class), any(Synchronization.class));
+    verify(fileListener, never()).onFileChange(any(File.class), any(Synchronization.class));
+    verify(fileListener, never()).onFileDelete(any(File.class), any(Synchronization.class));
+  }
+
   @Test
   public void testFileDeleteWithError() throws Exception {
 
@@ -1244,6 +1338,36 @@ private File[] initFiles(int size, File parent, String suffix) throws IOExceptio
     return files;
   }
 
+  private static class InMemoryJournaledStore implements JournaledObjectStore {
+
+    private final Gson gson = new Gson();
+
+    private String stored;
+
+    private final List<String> journal = new ArrayList<>();
+
+    @Override
+    public void store(String key, Object toStore) {
+      stored = gson.toJson(toStore);
+      journal.clear();
+    }
+
+    @Override
+    public <T> T load(String key, Class<T> objectClass) {
+      return stored == null ? null : gson.fromJson(stored, objectClass);
+    }
+
+    @Override
+    public void append(String key, Object record) {
+      journal.add(gson.toJson(record));
+    }
+
+    @Override
+    public <T> List<T> loadJournal(String key, Class<T> recordClass) {
+      return journal.stream().map(r -> gson.fromJson(r, recordClass)).collect(Collectors.toList());
+    }
+  }
+
   private void initSemaphore(int latchNo) {
     doTestWrapper = this::delayFunc;
     artificialDelay = new Semaphore(0);
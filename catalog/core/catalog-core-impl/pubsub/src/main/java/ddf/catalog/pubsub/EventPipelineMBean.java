@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub;
+
+/** Statistics of the pipeline that evaluates catalog events against subscriptions. */
+public interface EventPipelineMBean {
+
+  String OBJECT_NAME = "ddf.catalog.pubsub:service=event-pipeline";
+
+  /** @return the number of events waiting to be evaluated */
+  int getQueueDepth();
+
+  /** @return the maximum number of events that can wait to be evaluated */
+  int getQueueCapacity();
+
+  /** @return the number of worker threads evaluating events */
+  int getWorkerCount();
+
+  /** @return the number of events evaluated since startup */
+  long getProcessedEventCount();
+
+  /** @return the number of events dropped because the queue was full */
+  long getDroppedEventCount();
+
+  /** @return the average time in milliseconds between queuing and evaluating an event */
+  double getAverageLatencyMillis();
+
+  /** @return the longest time in milliseconds between queuing and evaluating an event */
+  long getMaxLatencyMillis();
+}
@@ -30,8 +30,9 @@
 import ddf.catalog.plugin.PreDeliveryPlugin;
 import ddf.catalog.plugin.PreSubscriptionPlugin;
 import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluator;
+import ddf.catalog.pubsub.criteria.contextual.ContextualIndex;
+import ddf.catalog.pubsub.internal.EventPipeline;
 import ddf.catalog.pubsub.internal.PubSubConstants;
-import ddf.catalog.pubsub.internal.PubSubThread;
 import ddf.catalog.pubsub.internal.SubscriptionFilterVisitor;
 import ddf.catalog.pubsub.predicate.Predicate;
 import ddf.catalog.util.impl.Requests;
@@ -41,9 +42,11 @@
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.lucene.store.Directory;
 import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
 import org.osgi.framework.BundleContext;
@@ -64,6 +67,17 @@ public class EventProcessorImpl implements EventProcessor, EventHandler, PostIng
 
   public static final String EXITING = "EXITING: {}";
 
+  public static final String EVENT_QUEUE_CAPACITY = "eventQueueCapacity";
+
+  public static final String EVENT_WORKER_COUNT = "eventWorkerCount";
+
+  public static final String DELIVERY_THREAD_COUNT = "deliveryThreadCount";
+
+  public static final int DEFAULT_DELIVERY_THREAD_COUNT = 16;
+
+  /** Deliveries waiting for a delivery thread, per delivery thread. */
+  private static final int DELIVERY_QUEUE_PER_THREAD = 64;
+
   protected EventAdmin eventAdmin;
 
   protected BundleContext bundleContext;
@@ -74,11 +88,23 @@ public class EventProcessorImpl implements EventProcessor, EventHandler, PostIng
 
   protected CatalogFramework catalog;
 
-  private Map<String, ServiceRegistration> existingSubscriptions;
+  private final SubscriptionDispatcher subscriptionDispatcher = new SubscriptionDispatcher();
+
+  private ServiceRegistration dispatcherRegistration;
+
+  private int eventQueueCapacity = EventPipeline.DEFAULT_QUEUE_CAPACITY;
 
-  private final ExecutorService threadPool =
-      Executors.newCachedThreadPool(
-          StandardThreadFactoryBuilder.newThreadFactory("eventProcessorThread"));
+  private int eventWorkerCount = EventPipeline.DEFAULT_WORKER_COUNT;
+
+  /** Created when the first event is handled, and replaced when its configuration changes. */
+  private volatile EventPipeline eventPipeline;
+
+  /**
+   * Delivers matching events to subscribers. When every delivery thread is busy and the queue is
+   * full, the pipeline worker delivers the event itself, which slows down evaluation until the
+   * event queue fills up and events are dropped.
+   */
+  private final ThreadPoolExecutor threadPool = newDeliveryThreadPool();
 
   public EventProcessorImpl() {
     LOGGER.debug("INSIDE: EventProcessorImpl default constructor");
@@ -97,7 +123,6 @@ public EventProcessorImpl(
     this.preSubscription = preSubscription;
     this.preDelivery = preDelivery;
     this.catalog = catalog;
-    this.existingSubscriptions = new HashMap<>();
 
     if (this.preSubscription == null) {
       LOGGER.debug("preSubscription plugins list is NULL");
@@ -126,89 +151,107 @@ public static void processEntry(Metacard metacard, String operation, EventAdmin
     String methodName = "processEntry";
     LOGGER.trace(ENTERING, methodName);
 
-    if (metacard != null) {
-      LOGGER.debug("Input Metacard:{}\n", metacard);
-      LOGGER.debug("catalog ID = {}", metacard.getId());
-      LOGGER.debug("operation = {}", operation);
+    Event event = createEntryEvent(metacard, operation);
+    if (event != null) {
+      if (eventAdmin != null) {
+        eventAdmin.postEvent(event);
+      } else {
+        LOGGER.debug("Unable to post event since eventAdmin is null.");
+      }
+    }
 
-      HashMap<String, Object> properties = new HashMap<>(3, 1);
+    LOGGER.trace(EXITING, methodName);
+  }
 
-      // Common headers
-      properties.put(PubSubConstants.HEADER_OPERATION_KEY, operation);
-      properties.put(PubSubConstants.HEADER_ENTRY_KEY, metacard);
+  /**
+   * Creates the event evaluated by subscriptions from the properties of a metacard.
+   *
+   * @param metacard - the metacard to process
+   * @param operation - The type of event {@link ddf.catalog.pubsub.internal.PubSubConstants}
+   * @return the event, or {@code null} if the metacard is {@code null}
+   */
+  static Event createEntryEvent(Metacard metacard, String operation) {
+    if (metacard == null) {
+      LOGGER.debug("Unable to post null metacard.");
+      return null;
+    }
 
-      // ENTRY ID INFORMATION
-      // TODO: probably don't need to pass this through since they can get the metacard
-      properties.put(PubSubConstants.HEADER_ID_KEY, metacard.getId());
+    LOGGER.debug("Input Metacard:{}\n", metacard);
+    LOGGER.debug("catalog ID = {}", metacard.getId());
+    LOGGER.debug("operation = {}", operation);
 
-      try {
-        URI uri = metacard.getResourceURI();
-        if (uri != null) {
-          String productUri = uri.toString();
-          LOGGER.debug(
-              "Processing incoming entry.  Adding DAD URI to event properties: {}", productUri);
-          // TODO: probably just get this info from the Metacard, Probably don't need to
-          // create new property for this
-          properties.put(PubSubConstants.HEADER_DAD_KEY, productUri);
-        }
-      } catch (Exception e) {
-        LOGGER.debug("Unable to obtain resource URL, will not be considered in subscription", e);
-      }
+    HashMap<String, Object> properties = new HashMap<>(3, 1);
 
-      // CONTENT TYPE INFORMATION
-      String type = metacard.getContentTypeName();
-      String contentType = "UNKNOWN";
-      if (type != null) {
-        contentType = type;
-      } else {
-        LOGGER.debug("contentType is null");
-      }
+    // Common headers
+    properties.put(PubSubConstants.HEADER_OPERATION_KEY, operation);
+    properties.put(PubSubConstants.HEADER_ENTRY_KEY, metacard);
 
-      String version = metacard.getContentTypeVersion();
-
-      contentType = contentType + "," + (version == null ? "" : version);
-
-      LOGGER.debug("contentType = {}", contentType);
-
-      properties.put(PubSubConstants.HEADER_CONTENT_TYPE_KEY, contentType);
-
-      // CONTEXTUAL INFORMATION
-      if (metacard.getMetadata() != null) {
-        try {
-          // Build Lucene search index on entry's entire metadata using
-          // default XPaths (specified
-          // in ContextualEvaluator) - this index will be used by all
-          // contextual predicates that do
-          // *NOT* specify any textPaths. (Building index here optimizes
-          // code so that this index is
-          // not built for every contextual subscription that has no
-          // textPaths.)
-          Directory index = ContextualEvaluator.buildIndex(metacard.getMetadata());
-
-          // Build contextual info to be sent in event for this entry.
-          // Include the default Lucene search
-          // index and the entry's metadata (in case subscription has
-          // textPaths, then it can create Lucene
-          // search indices on the metadata using its textPaths)
-          Map<String, Object> contextualMap = new HashMap<>(2, 1);
-          contextualMap.put("DEFAULT_INDEX", index);
-          contextualMap.put("METADATA", metacard.getMetadata());
-          properties.put(PubSubConstants.HEADER_CONTEXTUAL_KEY, contextualMap);
-        } catch (Exception e) {
-          LOGGER.info("Exception updating context map", e);
-        }
-      }
+    // ENTRY ID INFORMATION
+    // TODO: probably don't need to pass this through since they can get the metacard
+    properties.put(PubSubConstants.HEADER_ID_KEY, metacard.getId());
 
-      if (eventAdmin != null) {
-        eventAdmin.postEvent(new Event(PubSubConstants.PUBLISHED_EVENT_TOPIC_NAME, properties));
-      } else {
-        LOGGER.debug("Unable to post event since eventAdmin is null.");
+    try {
+      URI uri = metacard.getResourceURI();
+      if (uri != null) {
+        String productUri = uri.toString();
+        LOGGER.debug(
+            "Processing incoming entry.  Adding DAD URI to event properties: {}", productUri);
+        // TODO: probably just get this info from the Metacard, Probably don't need to
+        // create new property for this
+        properties.put(PubSubConstants.HEADER_DAD_KEY, productUri);
       }
+    } catch (Exception e) {
+      LOGGER.debug("Unable to obtain resource URL, will not be considered in subscription", e);
+    }
+
+    // CONTENT TYPE INFORMATION
+    String type = metacard.getContentTypeName();
+    String contentType = "UNKNOWN";
+    if (type != null) {
+      contentType = type;
     } else {
-      LOGGER.debug("Unable to post null metacard.");
+      LOGGER.debug("contentType is null");
     }
 
-    LOGGER.trace(EXITING, methodName);
+    String version = metacard.getContentTypeVersion();
+
+    contentType = contentType + "," + (version == null ? "" : version);
+
+    LOGGER.debug("contentType = {}", contentType);
+
+    properties.put(PubSubConstants.HEADER_CONTENT_TYPE_KEY, contentType);
+
+    // CONTEXTUAL INFORMATION
+    if (metacard.getMetadata() != null) {
+      try {
+        // Build Lucene search index on entry's entire metadata using
+        // default XPaths (specified
+        // in ContextualEvaluator) - this index will be used by all
+        // contextual predicates that do
+        // *NOT* specify any textPaths. (Building index here optimizes
+        // code so that this index is
+        // not built for every contextual subscription that has no
+        // textPaths.)
+        Directory index = ContextualEvaluator.buildIndex(metacard.getMetadata());
+
+        // Build contextual info to be sent in event for this entry.
+        // Include the default Lucene search
+        // index and the entry's metadata (in case subscription has
+        // textPaths, then it can create Lucene
+        // search indices on the metadata using its textPaths). The ContextualIndex shares the
+        // opened searchers and any textPaths indices across all subscriptions for this entry.
+        Map<String, Object> contextualMap = new HashMap<>(3, 1);
+        contextualMap.put("DEFAULT_INDEX", index);
+        contextualMap.put("METADATA", metacard.getMetadata());
+        contextualMap.put(
+            ContextualIndex.CONTEXTUAL_MAP_KEY, new ContextualIndex(metacard.getMetadata(), index));
+        properties.put(PubSubConstants.HEADER_CONTEXTUAL_KEY, contextualMap);
+      } catch (Exception e) {
+        LOGGER.info("Exception updating context map", e);
+      }
+    }
+
+    return new Event(PubSubConstants.PUBLISHED_EVENT_TOPIC_NAME, properties);
   }
 
   public void init() {
@@ -222,14 +265,22 @@ public void destroy() {
     String methodName = "destroy";
     LOGGER.trace(ENTERING, methodName);
 
+    synchronized (this) {
+      if (eventPipeline != null) {
+        eventPipeline.shutdown();
+      }
+    }
+    threadPool.shutdown();
+    unregisterSubscriptionDispatcher();
+
     LOGGER.trace(EXITING, methodName);
   }
 
   /**
    * By default the Felix EventAdmin implementation has a timeout of 5000 ms. Your event handler has
    * to return from the handle event method in this time frame. If it does not, it gets Blacklisted.
-   * Therefore, this method processes its events in a separate thread than the EventAdmin who called
-   * it.
+   * Therefore, this method only queues its events on the bounded {@link EventPipeline}, whose
+   * workers evaluate them against the subscriptions.
    */
   public void handleEvent(Event event) {
     String methodName = "handleEvent";
@@ -237,12 +288,12 @@ public void handleEvent(Event event) {
 
     LOGGER.debug("Received event: {}", event.getTopic());
 
-    if (!existingSubscriptions.isEmpty()) {
+    if (!subscriptionDispatcher.isEmpty()) {
       String topic = event.getTopic();
       Metacard entry = (Metacard) event.getProperty(EventProcessor.EVENT_METACARD);
       LOGGER.debug("metacard ID = {}", entry.getId());
 
-      new PubSubThread(entry, topic, eventAdmin).start();
+      getEventPipeline().submit(entry, topic);
     } else {
       LOGGER.debug(
           "No existing subscriptions, so no need to handle event since there is no one listening ...");
@@ -251,6 +302,104 @@ public void handleEvent(Event event) {
     LOGGER.trace(EXITING, methodName);
   }
 
+  /**
+   * Applies a configuration update. The event pipeline is replaced if its queue capacity or worker
+   * count changed, and the events queued on the old pipeline are moved to the new one.
+   *
+   * @param properties the updated configuration
+   */
+  public void updateConfiguration(Map<String, Object> properties) {
+    if (properties == null) {
+      return;
+    }
+
+    getInteger(properties, DELIVERY_THREAD_COUNT).ifPresent(this::setDeliveryThreadCount);
+
+    synchronized (this) {
+      int previousQueueCapacity = eventQueueCapacity;
+      int previousWorkerCount = eventWorkerCount;
+      getInteger(properties, EVENT_QUEUE_CAPACITY).ifPresent(this::setEventQueueCapacity);
+      getInteger(properties, EVENT_WORKER_COUNT).ifPresent(this::setEventWorkerCount);
+
+      if (eventPipeline != null
+          && (eventQueueCapacity != previousQueueCapacity
+              || eventWorkerCount != previousWorkerCount)) {
+        LOGGER.debug(
+            "Replacing event pipeline with a queue capacity of {} and {} workers",
+            eventQueueCapacity,
+            eventWorkerCount);
+        EventPipeline previous = eventPipeline;
+        eventPipeline = newEventPipeline();
+        previous.shutdown(eventPipeline::submit);
+      }
+    }
+  }
+
+  public synchronized void setEventQueueCapacity(int eventQueueCapacity) {
+    this.eventQueueCapacity =
+        eventQueueCapacity > 0 ? eventQueueCapacity : EventPipeline.DEFAULT_QUEUE_CAPACITY;
+  }
+
+  /** @param eventWorkerCount the number of workers, or 0 for the default */
+  public synchronized void setEventWorkerCount(int eventWorkerCount) {
+    this.eventWorkerCount =
+        eventWorkerCount > 0 ? eventWorkerCount : EventPipeline.DEFAULT_WORKER_COUNT;
+  }
+
+  public void setDeliveryThreadCount(int deliveryThreadCount) {
+    int threads = deliveryThreadCount > 0 ? deliveryThreadCount : DEFAULT_DELIVERY_THREAD_COUNT;
+    // The maximum must never be below the core size, so grow it first and shrink it last
+    if (threads > threadPool.getMaximumPoolSize()) {
+      threadPool.setMaximumPoolSize(threads);
+      threadPool.setCorePoolSize(threads);
+    } else {
+      threadPool.setCorePoolSize(threads);
+      threadPool.setMaximumPoolSize(threads);
+    }
+  }
+
+  private static Optional<Integer> getInteger(Map<String, Object> properties, String key) {
+    return Optional.ofNullable(properties.get(key))
+        .filter(Integer.class::isInstance)
+        .map(Integer.class::cast);
+  }
+
+  private EventPipeline getEventPipeline() {
+    EventPipeline pipeline = eventPipeline;
+    if (pipeline == null) {
+      synchronized (this) {
+        if (eventPipeline == null) {
+          eventPipeline = newEventPipeline();
+        }
+        pipeline = eventPipeline;
+      }
+    }
+    return pipeline;
+  }
+
+  private static ThreadPoolExecutor newDeliveryThreadPool() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            DEFAULT_DELIVERY_THREAD_COUNT,
+            DEFAULT_DELIVERY_THREAD_COUNT,
+            1,
+            TimeUnit.MINUTES,
+            new ArrayBlockingQueue<>(DEFAULT_DELIVERY_THREAD_COUNT * DELIVERY_QUEUE_PER_THREAD),
+            StandardThreadFactoryBuilder.newThreadFactory("eventProcessorThread"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private EventPipeline newEventPipeline() {
+    return new EventPipeline(
+        this::publishEntry,
+        eventQueueCapacity,
+        eventWorkerCount,
+        EventPipeline.DEFAULT_BATCH_SIZE,
+        EventPipeline.DEFAULT_OFFER_TIMEOUT_MILLIS);
+  }
+
   @Override
   public String createSubscription(Subscription subscription) throws InvalidSubscriptionException {
     String uuid = UUID.randomUUID().toString();
@@ -284,18 +433,12 @@ public void createSubscription(Subscription subscription, String subscriptionId)
       Predicate finalPredicate = (Predicate) subscription.accept(visitor, null);
       LOGGER.debug("predicate from filter visitor: {}", finalPredicate);
 
-      String[] topics = new String[] {PubSubConstants.PUBLISHED_EVENT_TOPIC_NAME};
-
-      Dictionary<String, String[]> props = new Hashtable<>(1, 1);
-      props.put(EventConstants.EVENT_TOPIC, topics);
-      ServiceRegistration serviceRegistration =
-          bundleContext.registerService(
-              EventHandler.class.getName(),
-              new PublishedEventHandler(
-                  finalPredicate, subscription, preDelivery, catalog, threadPool),
-              props);
-
-      existingSubscriptions.put(subscriptionId, serviceRegistration);
+      registerSubscriptionDispatcher();
+      subscriptionDispatcher.addSubscription(
+          subscriptionId,
+          finalPredicate,
+          new PublishedEventHandler(
+              finalPredicate, subscription, preDelivery, catalog, threadPool));
 
       LOGGER.debug("Subscription {} created.", subscriptionId);
     } catch (Exception e) {
@@ -333,11 +476,8 @@ public void deleteSubscription(String subscriptionId) throws SubscriptionNotFoun
 
     try {
       LOGGER.debug("Removing subscription: {}", subscriptionId);
-      ServiceRegistration sr = (ServiceRegistration) existingSubscriptions.get(subscriptionId);
-      if (sr != null) {
-        sr.unregister();
+      if (subscriptionDispatcher.removeSubscription(subscriptionId)) {
         LOGGER.debug("Removal complete");
-        existingSubscriptions.remove(subscriptionId);
       } else {
         LOGGER.debug(
             "Unable to find existing subscription: {}.  May already be deleted.", subscriptionId);
@@ -351,6 +491,60 @@ public void deleteSubscription(String subscriptionId) throws SubscriptionNotFoun
     LOGGER.trace(EXITING, methodName);
   }
 
+  /**
+   * Evaluates a catalog event against the subscriptions. Called by the {@link EventPipeline}
+   * workers.
+   */
+  private void publishEntry(Metacard entry, String topic) {
+    LOGGER.debug("Processing entry event - topic = {}", topic);
+
+    String operation;
+    if (EventProcessor.EVENTS_TOPIC_CREATED.equals(topic)) {
+      operation = PubSubConstants.CREATE;
+    } else if (EventProcessor.EVENTS_TOPIC_UPDATED.equals(topic)) {
+      operation = PubSubConstants.UPDATE;
+    } else if (EventProcessor.EVENTS_TOPIC_DELETED.equals(topic)) {
+      operation = PubSubConstants.DELETE;
+    } else {
+      LOGGER.debug("Ignoring event for unsupported topic {}", topic);
+      return;
+    }
+
+    Event event = createEntryEvent(entry, operation);
+    if (event != null) {
+      subscriptionDispatcher.dispatch(event);
+    }
+  }
+
+  /**
+   * Registers the single {@link EventHandler} that dispatches published events to subscriptions.
+   * Registration is deferred until the first subscription is created since subclasses are not
+   * required to call {@link #init()}.
+   */
+  private synchronized void registerSubscriptionDispatcher() {
+    if (dispatcherRegistration != null) {
+      return;
+    }
+
+    String[] topics = new String[] {PubSubConstants.PUBLISHED_EVENT_TOPIC_NAME};
+
+    Dictionary<String, String[]> props = new Hashtable<>(1, 1);
+    props.put(EventConstants.EVENT_TOPIC, topics);
+    dispatcherRegistration =
+        bundleContext.registerService(EventHandler.class.getName(), subscriptionDispatcher, props);
+  }
+
+  private synchronized void unregisterSubscriptionDispatcher() {
+    if (dispatcherRegistration != null) {
+      try {
+        dispatcherRegistration.unregister();
+      } catch (IllegalStateException e) {
+        LOGGER.debug("Subscription dispatcher was already unregistered", e);
+      }
+      dispatcherRegistration = null;
+    }
+  }
+
   @Override
   public void notifyCreated(Metacard newMetacard) {
     LOGGER.trace("ENTERING: notifyCreated");
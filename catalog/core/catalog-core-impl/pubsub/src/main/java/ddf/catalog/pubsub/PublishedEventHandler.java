@@ -60,6 +60,32 @@ public void handleEvent(Event event) {
     threadPool.submit(new EventProcessor(event));
   }
 
+  /**
+   * Evaluates the event against this subscription on the calling thread. If the event matches, it
+   * is delivered to the subscriber on the delivery thread pool.
+   *
+   * @param event the published event
+   * @return {@code true} if the event matched the subscription
+   */
+  public boolean evaluate(Event event) {
+    if (!new EventProcessor(event).matches()) {
+      return false;
+    }
+
+    threadPool.submit(() -> deliver(event));
+    return true;
+  }
+
+  private void deliver(Event event) {
+    if (subscription.getDeliveryMethod() instanceof Pingable
+        && !((Pingable) subscription.getDeliveryMethod()).ping()) {
+      LOGGER.debug("Subscription is not active ignoring event");
+      return;
+    }
+
+    new DeliveryProcessor(subscription, preDelivery).process(event);
+  }
+
   private class EventProcessor implements Runnable {
 
     private Event event;
@@ -74,6 +100,20 @@ public void run() {
       String methodName = "handleEvent";
       LOGGER.trace("ENTERING: {}", methodName);
 
+      if (subscription.getDeliveryMethod() instanceof Pingable
+          && !((Pingable) subscription.getDeliveryMethod()).ping()) {
+        LOGGER.debug("Subscription is not active ignoring event");
+        return;
+      }
+
+      if (matches()) {
+        new DeliveryProcessor(subscription, preDelivery).process(event);
+      }
+
+      LOGGER.trace("EXITING: {}", methodName);
+    }
+
+    boolean matches() {
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("topic = {}", event.getTopic());
         for (String propertyName : event.getPropertyNames()) {
@@ -81,12 +121,6 @@ public void run() {
         }
       }
 
-      if (subscription.getDeliveryMethod() instanceof Pingable
-          && !((Pingable) subscription.getDeliveryMethod()).ping()) {
-        LOGGER.debug("Subscription is not active ignoring event");
-        return;
-      }
-
       LOGGER.debug("subscription is enterprise? {}", subscription.isEnterprise());
       Set<String> sourceIds = subscription.getSourceIds();
       LOGGER.debug("subscription has source names: {}", sourceIds);
@@ -97,17 +131,15 @@ public void run() {
 
       if (subscription.isEnterprise()) {
         // if the subscription is an enterprise subscription then evaluate all incoming events
-        evaluateEvent(event);
+        return evaluateEvent(event);
       } else if (CollectionUtils.isEmpty(sourceIds)) {
-        evaluateLocalSubscription(metacardSourceId);
+        return evaluateLocalSubscription(metacardSourceId);
       } else {
-        evaluateSiteBasedSubscription(sourceIds, metacardSourceId);
+        return evaluateSiteBasedSubscription(sourceIds, metacardSourceId);
       }
-
-      LOGGER.trace("EXITING: {}", methodName);
     }
 
-    private void evaluateSiteBasedSubscription(Set<String> sourceIds, String metacardSourceId) {
+    private boolean evaluateSiteBasedSubscription(Set<String> sourceIds, String metacardSourceId) {
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug(
             "subscription is a site-based subscription starting with site id {}",
@@ -116,29 +148,29 @@ private void evaluateSiteBasedSubscription(Set<String> sourceIds, String metacar
       // perform site based filtering on subscription
       if (sourceIds.contains(metacardSourceId)) {
         LOGGER.debug("event received from subscribed site");
-        evaluateEvent(event);
+        return evaluateEvent(event);
       } else {
         LOGGER.debug(
             "event received from remote site that is not in list of source IDs of subscription - not evaluating event");
+        return false;
       }
     }
 
-    private void evaluateLocalSubscription(String metacardSourceId) {
+    private boolean evaluateLocalSubscription(String metacardSourceId) {
       LOGGER.debug("subscription is a local subscription. Local Source Id: {}", catalog.getId());
       if (catalog.getId() != null && catalog.getId().equals(metacardSourceId)) {
         LOGGER.debug("event received from local site");
-        evaluateEvent(event);
+        return evaluateEvent(event);
       } else {
         LOGGER.debug(
             "event is from remote site but subscription is local - not evaluating event against subscription filter");
+        return false;
       }
     }
 
-    private void evaluateEvent(Event event) {
+    private boolean evaluateEvent(Event event) {
       // If predicate is NULL then we are handling a filterless subscription - publish all events
-      if (predicate == null || predicate.matches(event)) {
-        new DeliveryProcessor(subscription, preDelivery).process(event);
-      }
+      return predicate == null || predicate.matches(event);
     }
   }
 }
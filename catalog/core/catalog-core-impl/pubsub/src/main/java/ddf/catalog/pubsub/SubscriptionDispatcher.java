@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub;
+
+import ddf.catalog.pubsub.internal.SubscriptionIndex;
+import ddf.catalog.pubsub.predicate.Predicate;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single {@link EventHandler} for published catalog events that hands each event only to the
+ * subscriptions whose criteria could match it, as determined by a {@link SubscriptionIndex}.
+ */
+public class SubscriptionDispatcher implements EventHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionDispatcher.class);
+
+  private final SubscriptionIndex<PublishedEventHandler> subscriptionIndex =
+      new SubscriptionIndex<>();
+
+  public void addSubscription(
+      String subscriptionId, Predicate predicate, PublishedEventHandler eventHandler) {
+    subscriptionIndex.add(subscriptionId, predicate, eventHandler);
+  }
+
+  /**
+   * @param subscriptionId the id of the subscription to remove
+   * @return {@code true} if the subscription was removed
+   */
+  public boolean removeSubscription(String subscriptionId) {
+    return subscriptionIndex.remove(subscriptionId) != null;
+  }
+
+  public boolean isEmpty() {
+    return subscriptionIndex.isEmpty();
+  }
+
+  public int size() {
+    return subscriptionIndex.size();
+  }
+
+  /**
+   * Evaluates the event against the candidate subscriptions on the calling thread. Matching events
+   * are delivered asynchronously.
+   *
+   * @param event the published event
+   * @return the number of subscriptions that matched the event
+   */
+  public int dispatch(Event event) {
+    int matches = 0;
+    for (PublishedEventHandler eventHandler : subscriptionIndex.getCandidates(event)) {
+      try {
+        if (eventHandler.evaluate(event)) {
+          matches++;
+        }
+      } catch (RuntimeException e) {
+        LOGGER.debug("Unable to evaluate event against subscription", e);
+      }
+    }
+    return matches;
+  }
+
+  @Override
+  public void handleEvent(Event event) {
+    for (PublishedEventHandler eventHandler : subscriptionIndex.getCandidates(event)) {
+      eventHandler.handleEvent(event);
+    }
+  }
+}
@@ -21,6 +21,7 @@
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.PerFieldAnalyzerWrapper;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.tokenattributes.TermAttribute;
 import org.apache.lucene.document.Document;
@@ -104,9 +105,32 @@ public static boolean evaluate(ContextualEvaluationCriteria cec)
       return false;
     }
 
-    // a. query
+    Query q = parseQuery(searchPhrase, cec.isCaseSensitiveSearch());
+
+    IndexSearcher searcher = new IndexSearcher(index, true);
+    try {
+      return evaluate(q, searcher);
+    } finally {
+      // searcher can only be closed when there
+      // is no need to access the documents any more.
+      searcher.close();
+    }
+  }
+
+  /**
+   * Parses a contextual search phrase into a Lucene {@link Query}. The query is thread-safe and can
+   * be parsed once and evaluated against many indexes.
+   *
+   * @param searchPhrase the normalized search phrase
+   * @param caseSensitiveSearch true if the query should be evaluated against the case-sensitive
+   *     indexed text
+   * @return the parsed query
+   * @throws ParseException if the search phrase is not a valid Lucene query
+   */
+  public static Query parseQuery(String searchPhrase, boolean caseSensitiveSearch)
+      throws ParseException {
     QueryParser queryParser = null;
-    if (cec.isCaseSensitiveSearch()) {
+    if (caseSensitiveSearch) {
       LOGGER.debug("Doing case-sensitive search ...");
       queryParser =
           new QueryParser(
@@ -127,43 +151,40 @@ public static boolean evaluate(ContextualEvaluationCriteria cec)
     // contextual search phrase
     queryParser.setAllowLeadingWildcard(true);
 
-    Query q = queryParser.parse(searchPhrase);
+    return queryParser.parse(searchPhrase);
+  }
 
-    // b. search
+  /**
+   * Evaluates a parsed query against an index built by {@link #buildIndex(String, String[])}.
+   *
+   * @param query the query returned by {@link #parseQuery(String, boolean)}
+   * @param searcher a searcher for the index, which is not closed by this method
+   * @return true if the query matched the indexed text
+   * @throws IOException if the index cannot be searched
+   */
+  public static boolean evaluate(Query query, IndexSearcher searcher) throws IOException {
     int hitsPerPage = 1;
-    IndexSearcher searcher = new IndexSearcher(index, true);
-    TopDocs topDocs = searcher.search(q, hitsPerPage);
+    TopDocs topDocs = searcher.search(query, hitsPerPage);
 
-    // c. display results
     LOGGER.debug("Found {} hits.", topDocs.totalHits);
 
-    // searcher can only be closed when there
-    // is no need to access the documents any more.
-    searcher.close();
-
     return topDocs.totalHits > 0;
   }
 
   /**
-   * Create a field with the specified field name and value, and add it to a Lucene Document to be
-   * added to the specified IndexWriter.
+   * Create an analyzed field with the specified field name and value.
    *
-   * @param indexWriter
    * @param fieldName
    * @param value
-   * @throws IOException
+   * @return the field
    */
-  private static void addDoc(IndexWriter indexWriter, String fieldName, String value)
-      throws IOException {
-    Document doc = new Document();
-    doc.add(
-        new Field(
-            fieldName,
-            value,
-            Field.Store.YES,
-            Field.Index.ANALYZED,
-            Field.TermVector.WITH_POSITIONS_OFFSETS));
-    indexWriter.addDocument(doc);
+  private static Field createField(String fieldName, String value) {
+    return new Field(
+        fieldName,
+        value,
+        Field.Store.YES,
+        Field.Index.ANALYZED,
+        Field.TermVector.WITH_POSITIONS_OFFSETS);
   }
 
   /**
@@ -196,38 +217,30 @@ public static Directory buildIndex(String fullDocument, String[] xpathSelectors)
     // The same analyzer should be used for indexing and searching
     // 1. create the index
     Directory index = new RAMDirectory();
-    String indexableText;
-    CaseSensitiveContextualAnalyzer caseSensitiveStandardAnalyzer;
 
-    try (ContextualAnalyzer contextualAnalyzer = new ContextualAnalyzer(Version.LUCENE_30)) {
-      // Retrieve the text from the document that can be indexed using the specified XPath
-      // selectors
-      indexableText = getIndexableText(fullDocument, xpathSelectors);
+    // Retrieve the text from the document that can be indexed using the specified XPath
+    // selectors
+    String indexableText = getIndexableText(fullDocument, xpathSelectors);
+
+    try (ContextualAnalyzer contextualAnalyzer = new ContextualAnalyzer(Version.LUCENE_30);
+        CaseSensitiveContextualAnalyzer caseSensitiveAnalyzer =
+            new CaseSensitiveContextualAnalyzer(Version.LUCENE_30)) {
+      // Analyze the case-insensitive field with the ContextualAnalyzer and the case-sensitive
+      // field with the CaseSensitiveContextualAnalyzer so that a single IndexWriter and
+      // Document can hold both
+      PerFieldAnalyzerWrapper analyzer = new PerFieldAnalyzerWrapper(contextualAnalyzer);
+      analyzer.addAnalyzer(CASE_SENSITIVE_FIELD_NAME, caseSensitiveAnalyzer);
 
-      // Create an IndexWriter using the case-insensitive StandardAnalyzer
       // NOTE: the boolean arg in the IndexWriter constructor means to create a new index,
       // overwriting any existing index
       try (IndexWriter indexWriter =
-          new IndexWriter(index, contextualAnalyzer, true, IndexWriter.MaxFieldLength.UNLIMITED)) {
-        logTokens(indexWriter.getAnalyzer(), FIELD_NAME, fullDocument, "ContextualAnalyzer");
-
-        // Add the indexable text to the case-insensitive index writer, assigning it the
-        // "case-insensitive" field name
-        addDoc(indexWriter, FIELD_NAME, indexableText);
-      }
-
-      caseSensitiveStandardAnalyzer = new CaseSensitiveContextualAnalyzer(Version.LUCENE_30);
-
-      // Create a second IndexWriter using the custom case-sensitive StandardAnalyzer
-      // NOTE: set boolean to false to append the case-sensitive indexed text to the existing
-      // index (populated by first IndexWriter)
-      try (IndexWriter csIndexWriter =
-          new IndexWriter(
-              index, caseSensitiveStandardAnalyzer, false, IndexWriter.MaxFieldLength.UNLIMITED)) {
+          new IndexWriter(index, analyzer, true, IndexWriter.MaxFieldLength.UNLIMITED)) {
+        logTokens(contextualAnalyzer, FIELD_NAME, fullDocument, "ContextualAnalyzer");
 
-        // Add the indexable text to the case-sensitive index writer, assigning it the
-        // "case-sensitive" field name
-        addDoc(csIndexWriter, CASE_SENSITIVE_FIELD_NAME, indexableText);
+        Document doc = new Document();
+        doc.add(createField(FIELD_NAME, indexableText));
+        doc.add(createField(CASE_SENSITIVE_FIELD_NAME, indexableText));
+        indexWriter.addDocument(doc);
       }
     }
     return index;
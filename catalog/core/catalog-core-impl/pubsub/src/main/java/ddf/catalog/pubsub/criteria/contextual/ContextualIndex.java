@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.criteria.contextual;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+
+/**
+ * The Lucene indexes built for a single catalog entry's metadata, shared by every contextual
+ * subscription evaluated against that entry.
+ *
+ * <p>The default index (built on the default XPath selectors) is opened once and its searcher
+ * reused by all contextual predicates that do not specify text paths. Indexes for predicates that
+ * do specify text paths are built on first use and cached by their text paths, so subscriptions
+ * with the same text paths share a single index per entry rather than rebuilding it.
+ *
+ * <p>This class is thread-safe. The indexes are held in {@link
+ * org.apache.lucene.store.RAMDirectory}s and are released along with the event that carries them.
+ */
+public class ContextualIndex {
+
+  /** Key of the {@link ContextualIndex} in an event's contextual properties map. */
+  public static final String CONTEXTUAL_MAP_KEY = "CONTEXTUAL_INDEX";
+
+  private final String metadata;
+
+  private final Directory defaultIndex;
+
+  private volatile IndexSearcher defaultSearcher;
+
+  private final Map<List<String>, IndexSearcher> textPathSearchers = new ConcurrentHashMap<>();
+
+  public ContextualIndex(String metadata, Directory defaultIndex) {
+    this.metadata = metadata;
+    this.defaultIndex = defaultIndex;
+  }
+
+  public String getMetadata() {
+    return metadata;
+  }
+
+  public Directory getDefaultIndex() {
+    return defaultIndex;
+  }
+
+  /**
+   * @return a searcher over the entry's metadata indexed using the default XPath selectors
+   * @throws IOException if the index cannot be opened
+   */
+  public IndexSearcher getSearcher() throws IOException {
+    IndexSearcher searcher = defaultSearcher;
+    if (searcher == null) {
+      synchronized (this) {
+        searcher = defaultSearcher;
+        if (searcher == null) {
+          searcher = new IndexSearcher(defaultIndex, true);
+          defaultSearcher = searcher;
+        }
+      }
+    }
+    return searcher;
+  }
+
+  /**
+   * @param textPaths the XPath selectors used to select the indexed text
+   * @return a searcher over the entry's metadata indexed using the specified text paths
+   * @throws IOException if the index cannot be built
+   */
+  public IndexSearcher getSearcher(String[] textPaths) throws IOException {
+    try {
+      return textPathSearchers.computeIfAbsent(
+          Arrays.asList(textPaths.clone()), this::createSearcher);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private IndexSearcher createSearcher(List<String> textPaths) {
+    try {
+      Directory index = ContextualEvaluator.buildIndex(metadata, textPaths.toArray(new String[0]));
+      return new IndexSearcher(index, true);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
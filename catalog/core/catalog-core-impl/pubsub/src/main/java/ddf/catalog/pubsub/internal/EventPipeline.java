@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.internal;
+
+import ddf.catalog.data.Metacard;
+import ddf.catalog.pubsub.EventPipelineMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pipeline that evaluates catalog events on a fixed pool of worker threads. Events are
+ * queued in a bounded queue and workers drain them in batches of up to {@code batchSize}. When the
+ * queue is full, callers wait up to {@code offerTimeoutMillis} for space before the event is
+ * dropped.
+ */
+public class EventPipeline implements EventPipelineMBean {
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+  public static final int DEFAULT_BATCH_SIZE = 100;
+
+  public static final long DEFAULT_OFFER_TIMEOUT_MILLIS = 1000;
+
+  public static final int DEFAULT_WORKER_COUNT =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EventPipeline.class);
+
+  /** Dropped events are logged at WARN at most once per interval, and at DEBUG otherwise. */
+  private static final long DROP_WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final BiConsumer<Metacard, String> eventConsumer;
+
+  private final BlockingQueue<PendingEvent> queue;
+
+  private final int queueCapacity;
+
+  private final int workerCount;
+
+  private final int batchSize;
+
+  private final long offerTimeoutMillis;
+
+  private final AtomicLong processed = new AtomicLong();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  private final AtomicLong totalLatency = new AtomicLong();
+
+  private final AtomicLong maxLatency = new AtomicLong();
+
+  private final AtomicLong lastDropWarning =
+      new AtomicLong(System.nanoTime() - DROP_WARNING_INTERVAL_NANOS);
+
+  private final AtomicLong droppedSinceWarning = new AtomicLong();
+
+  private ExecutorService workers;
+
+  private volatile boolean running = false;
+
+  private volatile boolean stopped = false;
+
+  /**
+   * @param eventConsumer evaluates a metacard for the given event topic
+   * @param queueCapacity the maximum number of queued events
+   * @param workerCount the number of worker threads
+   * @param batchSize the maximum number of events a worker takes from the queue at once
+   * @param offerTimeoutMillis how long to wait for space in a full queue before dropping an event
+   */
+  public EventPipeline(
+      BiConsumer<Metacard, String> eventConsumer,
+      int queueCapacity,
+      int workerCount,
+      int batchSize,
+      long offerTimeoutMillis) {
+    this.eventConsumer = eventConsumer;
+    this.queueCapacity = queueCapacity > 0 ? queueCapacity : DEFAULT_QUEUE_CAPACITY;
+    this.workerCount = workerCount > 0 ? workerCount : DEFAULT_WORKER_COUNT;
+    this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+    this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+    this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+  }
+
+  /**
+   * Queues a metacard event for evaluation, starting the workers if needed.
+   *
+   * @param metacard the metacard of the event
+   * @param topic the catalog event topic
+   * @return {@code true} if the event was queued, {@code false} if it was dropped
+   */
+  public boolean submit(Metacard metacard, String topic) {
+    if (!running) {
+      start();
+    }
+    if (stopped) {
+      LOGGER.debug("Event pipeline is shut down. Ignoring event for topic {}.", topic);
+      return false;
+    }
+
+    try {
+      if (queue.offer(
+          new PendingEvent(metacard, topic), offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        return true;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    logDropped(metacard);
+    return false;
+  }
+
+  private void logDropped(Metacard metacard) {
+    long droppedCount = dropped.incrementAndGet();
+    droppedSinceWarning.incrementAndGet();
+
+    long now = System.nanoTime();
+    long lastWarning = lastDropWarning.get();
+    if (now - lastWarning >= DROP_WARNING_INTERVAL_NANOS
+        && lastDropWarning.compareAndSet(lastWarning, now)) {
+      LOGGER.warn(
+          "Event queue is full. {} catalog events were dropped since the last warning ({} since"
+              + " startup) and will not be delivered to subscriptions. Consider increasing the"
+              + " event queue capacity or worker count of the Catalog Event Processor.",
+          droppedSinceWarning.getAndSet(0),
+          droppedCount);
+    } else {
+      LOGGER.debug(
+          "Event queue is full. Dropped event for metacard {} ({} dropped so far).",
+          metacard == null ? null : metacard.getId(),
+          droppedCount);
+    }
+  }
+
+  public synchronized void start() {
+    if (running || stopped) {
+      return;
+    }
+
+    workers =
+        Executors.newFixedThreadPool(
+            workerCount, StandardThreadFactoryBuilder.newThreadFactory("eventPipelineThread"));
+    for (int i = 0; i < workerCount; i++) {
+      workers.submit(this::work);
+    }
+    running = true;
+    registerMBean();
+  }
+
+  /** Stops the workers and discards any queued events. The pipeline cannot be restarted. */
+  public void shutdown() {
+    shutdown(null);
+  }
+
+  /**
+   * Stops the workers and hands any queued events to {@code remainingEvents}, e.g., the pipeline
+   * replacing this one. The pipeline cannot be restarted.
+   *
+   * @param remainingEvents receives the events that were still queued, or {@code null} to discard
+   *     them
+   */
+  public synchronized void shutdown(BiConsumer<Metacard, String> remainingEvents) {
+    stopped = true;
+    if (!running) {
+      return;
+    }
+
+    running = false;
+    workers.shutdownNow();
+    unregisterMBean();
+
+    List<PendingEvent> remaining = new ArrayList<>(queue.size());
+    queue.drainTo(remaining);
+    if (remainingEvents != null) {
+      remaining.forEach(event -> remainingEvents.accept(event.metacard, event.topic));
+    } else if (!remaining.isEmpty()) {
+      LOGGER.debug("Discarding {} queued events on shutdown", remaining.size());
+    }
+  }
+
+  private void work() {
+    List<PendingEvent> batch = new ArrayList<>(batchSize);
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      queue.drainTo(batch, batchSize - 1);
+
+      for (PendingEvent event : batch) {
+        process(event);
+      }
+      batch.clear();
+    }
+  }
+
+  private void process(PendingEvent event) {
+    try {
+      eventConsumer.accept(event.metacard, event.topic);
+    } catch (RuntimeException e) {
+      LOGGER.debug("Unable to process event for topic {}", event.topic, e);
+    }
+
+    long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - event.queuedAt);
+    processed.incrementAndGet();
+    totalLatency.addAndGet(latency);
+    maxLatency.accumulateAndGet(latency, Math::max);
+  }
+
+  private void registerMBean() {
+    try {
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(OBJECT_NAME);
+      if (!mBeanServer.isRegistered(objectName)) {
+        mBeanServer.registerMBean(new StandardMBean(this, EventPipelineMBean.class), objectName);
+      }
+    } catch (JMException e) {
+      LOGGER.debug("Unable to register [{}] MBean.", OBJECT_NAME, e);
+    }
+  }
+
+  private void unregisterMBean() {
+    try {
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(OBJECT_NAME);
+      if (mBeanServer.isRegistered(objectName)) {
+        mBeanServer.unregisterMBean(objectName);
+      }
+    } catch (JMException e) {
+      LOGGER.debug("Unable to unregister [{}] MBean.", OBJECT_NAME, e);
+    }
+  }
+
+  @Override
+  public int getQueueDepth() {
+    return queue.size();
+  }
+
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  @Override
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  @Override
+  public long getProcessedEventCount() {
+    return processed.get();
+  }
+
+  @Override
+  public long getDroppedEventCount() {
+    return dropped.get();
+  }
+
+  @Override
+  public double getAverageLatencyMillis() {
+    long count = processed.get();
+    return count == 0 ? 0 : (double) totalLatency.get() / count;
+  }
+
+  @Override
+  public long getMaxLatencyMillis() {
+    return maxLatency.get();
+  }
+
+  private static class PendingEvent {
+
+    private final Metacard metacard;
+
+    private final String topic;
+
+    private final long queuedAt = System.nanoTime();
+
+    PendingEvent(Metacard metacard, String topic) {
+      this.metacard = metacard;
+      this.topic = topic;
+    }
+  }
+}
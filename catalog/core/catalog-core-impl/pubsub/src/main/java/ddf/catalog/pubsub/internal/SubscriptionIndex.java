@@ -0,0 +1,429 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.internal;
+
+import ddf.catalog.data.Attribute;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.types.Core;
+import ddf.catalog.pubsub.EventProcessorImpl.DateType;
+import ddf.catalog.pubsub.predicate.AndPredicate;
+import ddf.catalog.pubsub.predicate.ContentTypePredicate;
+import ddf.catalog.pubsub.predicate.GeospatialPredicate;
+import ddf.catalog.pubsub.predicate.Predicate;
+import ddf.catalog.pubsub.predicate.TemporalPredicate;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.bintree.Bintree;
+import org.locationtech.jts.index.bintree.Interval;
+import org.locationtech.jts.index.quadtree.Quadtree;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import org.osgi.service.event.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indexes subscriptions by their criteria so that a published event only needs to be evaluated
+ * against the subscriptions that could possibly match it.
+ *
+ * <p>For each subscription a single necessary condition is derived from its {@link Predicate}
+ * tree: a literal content type, the envelope of a geospatial criteria or the interval of an
+ * absolute temporal criteria. Conditions found under an {@link AndPredicate} are used as well.
+ * Subscriptions whose predicate yields no such condition (for example contextual, relative
+ * temporal, OR and NOT criteria) are always returned as candidates. Candidates must still be
+ * evaluated against their full predicate.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @param <T> the type of value stored for each subscription
+ */
+public class SubscriptionIndex<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionIndex.class);
+
+  /** Content types that match themselves, and only themselves, as a regular expression. */
+  private static final Pattern LITERAL_CONTENT_TYPE = Pattern.compile("[\\w\\- ]+");
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, IndexEntry<T>> entries = new HashMap<>();
+
+  private final Map<String, IndexEntry<T>> unindexed = new HashMap<>();
+
+  private final Map<String, Map<String, IndexEntry<T>>> contentTypes = new HashMap<>();
+
+  private final Quadtree geospatial = new Quadtree();
+
+  private final Map<DateType, Bintree> temporal = new EnumMap<>(DateType.class);
+
+  /**
+   * Adds a subscription to the index, replacing any subscription with the same id.
+   *
+   * @param id the subscription id
+   * @param predicate the subscription's predicate, or {@code null} if it has no filter
+   * @param value the value to return when the subscription is a candidate for an event
+   */
+  public void add(String id, Predicate predicate, T value) {
+    IndexEntry<T> entry = new IndexEntry<>(value, guardFor(predicate));
+
+    lock.writeLock().lock();
+    try {
+      removeEntry(id);
+      entries.put(id, entry);
+      Guard guard = entry.guard;
+      if (guard == null) {
+        unindexed.put(id, entry);
+      } else if (guard.contentType != null) {
+        contentTypes.computeIfAbsent(guard.contentType, type -> new HashMap<>()).put(id, entry);
+      } else if (guard.envelope != null) {
+        geospatial.insert(guard.envelope, entry);
+      } else {
+        temporal
+            .computeIfAbsent(guard.dateType, type -> new Bintree())
+            .insert(guard.interval, entry);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    LOGGER.debug("Indexed subscription {} with {}", id, entry.guard);
+  }
+
+  /**
+   * Removes a subscription from the index.
+   *
+   * @param id the subscription id
+   * @return the value stored for the subscription, or {@code null} if it was not indexed
+   */
+  public T remove(String id) {
+    lock.writeLock().lock();
+    try {
+      IndexEntry<T> entry = removeEntry(id);
+      return entry == null ? null : entry.value;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public boolean isEmpty() {
+    lock.readLock().lock();
+    try {
+      return entries.isEmpty();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the values of all subscriptions that could match the event.
+   *
+   * @param event a published event created by {@link
+   *     ddf.catalog.pubsub.EventProcessorImpl#processEntry(Metacard, String,
+   *     org.osgi.service.event.EventAdmin)}
+   * @return the candidate values, never {@code null}
+   */
+  public List<T> getCandidates(Event event) {
+    Metacard metacard = (Metacard) event.getProperty(PubSubConstants.HEADER_ENTRY_KEY);
+
+    lock.readLock().lock();
+    try {
+      List<T> candidates = new ArrayList<>();
+      if (metacard == null || isDeletedWithoutMetadata(event)) {
+        // The indexed predicates match any deleted entry without metadata
+        addValues(entries.values(), candidates);
+        return candidates;
+      }
+
+      addValues(unindexed.values(), candidates);
+      addContentTypeCandidates(event, candidates);
+      addGeospatialCandidates(metacard, candidates);
+      addTemporalCandidates(metacard, candidates);
+      return candidates;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private IndexEntry<T> removeEntry(String id) {
+    IndexEntry<T> entry = entries.remove(id);
+    if (entry == null) {
+      return null;
+    }
+
+    Guard guard = entry.guard;
+    if (guard == null) {
+      unindexed.remove(id);
+    } else if (guard.contentType != null) {
+      Map<String, IndexEntry<T>> typeEntries = contentTypes.get(guard.contentType);
+      if (typeEntries != null) {
+        typeEntries.remove(id);
+        if (typeEntries.isEmpty()) {
+          contentTypes.remove(guard.contentType);
+        }
+      }
+    } else if (guard.envelope != null) {
+      geospatial.remove(guard.envelope, entry);
+    } else {
+      Bintree tree = temporal.get(guard.dateType);
+      if (tree != null) {
+        tree.remove(guard.interval, entry);
+      }
+    }
+    return entry;
+  }
+
+  private void addContentTypeCandidates(Event event, List<T> candidates) {
+    if (contentTypes.isEmpty()) {
+      return;
+    }
+
+    Map<String, IndexEntry<T>> typeEntries = contentTypes.get(getInputType(event));
+    if (typeEntries != null) {
+      addValues(typeEntries.values(), candidates);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addGeospatialCandidates(Metacard metacard, List<T> candidates) {
+    if (geospatial.size() == 0 || metacard.getLocation() == null) {
+      return;
+    }
+
+    Envelope location;
+    try {
+      Geometry geometry = new WKTReader().read(metacard.getLocation());
+      location = geometry.getEnvelopeInternal();
+    } catch (ParseException e) {
+      // Geospatial predicates do not match locations that cannot be parsed
+      LOGGER.debug("Unable to parse location of metacard {}", metacard.getId(), e);
+      return;
+    }
+
+    for (Object item : geospatial.query(location)) {
+      IndexEntry<T> entry = (IndexEntry<T>) item;
+      if (entry.guard.envelope.intersects(location)) {
+        candidates.add(entry.value);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void addTemporalCandidates(Metacard metacard, List<T> candidates) {
+    for (Map.Entry<DateType, Bintree> tree : temporal.entrySet()) {
+      Date date = getDate(metacard, tree.getKey());
+      if (date == null) {
+        // Temporal predicates do not match entries without the date
+        continue;
+      }
+
+      double time = date.getTime();
+      for (Object item : tree.getValue().query(time)) {
+        IndexEntry<T> entry = (IndexEntry<T>) item;
+        if (entry.guard.interval.contains(time)) {
+          candidates.add(entry.value);
+        }
+      }
+    }
+  }
+
+  private void addValues(Collection<IndexEntry<T>> indexEntries, List<T> candidates) {
+    for (IndexEntry<T> entry : indexEntries) {
+      candidates.add(entry.value);
+    }
+  }
+
+  /** Mirrors the way {@link ContentTypePredicate} reads the content type of an event. */
+  private static String getInputType(Event event) {
+    Object contentType = event.getProperty(PubSubConstants.HEADER_CONTENT_TYPE_KEY);
+    if (contentType == null) {
+      return null;
+    }
+
+    String input = contentType.toString();
+    if (input.matches(",")) {
+      return "null";
+    }
+
+    String type = input.split(",")[0];
+    return type.isEmpty() ? "null" : type;
+  }
+
+  private static boolean isDeletedWithoutMetadata(Event event) {
+    Map<String, Object> contextualMap =
+        (Map<String, Object>) event.getProperty(PubSubConstants.HEADER_CONTEXTUAL_KEY);
+    return contextualMap != null
+        && PubSubConstants.DELETE.equals(event.getProperty(PubSubConstants.HEADER_OPERATION_KEY))
+        && PubSubConstants.METADATA_DELETED.equals(contextualMap.get("METADATA"));
+  }
+
+  private static Date getDate(Metacard metacard, DateType dateType) {
+    switch (dateType) {
+      case MODIFIED:
+        return metacard.getModifiedDate();
+      case EFFECTIVE:
+        return metacard.getEffectiveDate();
+      case CREATED:
+        return metacard.getCreatedDate();
+      case EXPIRATION:
+        return metacard.getExpirationDate();
+      case METACARD_CREATED:
+        return getDateAttribute(metacard, Core.METACARD_CREATED);
+      case METACARD_MODIFIED:
+        return getDateAttribute(metacard, Core.METACARD_MODIFIED);
+      default:
+        return null;
+    }
+  }
+
+  private static Date getDateAttribute(Metacard metacard, String name) {
+    Attribute attribute = metacard.getAttribute(name);
+    Serializable value = attribute == null ? null : attribute.getValue();
+    return value instanceof Date ? (Date) value : null;
+  }
+
+  /**
+   * Derives a condition that every event matched by the predicate must satisfy.
+   *
+   * @return the condition, or {@code null} if none could be derived
+   */
+  private static Guard guardFor(Predicate predicate) {
+    if (predicate instanceof ContentTypePredicate) {
+      String type = ((ContentTypePredicate) predicate).getType();
+      return type != null && LITERAL_CONTENT_TYPE.matcher(type).matches()
+          ? Guard.contentType(type)
+          : null;
+    }
+
+    if (predicate instanceof GeospatialPredicate) {
+      GeospatialPredicate geospatialPredicate = (GeospatialPredicate) predicate;
+      Geometry criteria = geospatialPredicate.getGeoCriteria();
+      if (criteria == null || criteria.isEmpty()) {
+        return null;
+      }
+      Envelope envelope = new Envelope(criteria.getEnvelopeInternal());
+      if (geospatialPredicate.getDistance() > 0) {
+        envelope.expandBy(geospatialPredicate.getDistance());
+      }
+      return Guard.geospatial(envelope);
+    }
+
+    if (predicate instanceof TemporalPredicate) {
+      TemporalPredicate temporalPredicate = (TemporalPredicate) predicate;
+      Date start = temporalPredicate.getStart();
+      Date end = temporalPredicate.getEnd();
+      if (temporalPredicate.getOffset() > 0
+          || temporalPredicate.getType() == null
+          || (start == null && end == null)) {
+        return null;
+      }
+      return Guard.temporal(
+          temporalPredicate.getType(),
+          new Interval(
+              start == null ? Long.MIN_VALUE : start.getTime(),
+              end == null ? Long.MAX_VALUE : end.getTime()));
+    }
+
+    if (predicate instanceof AndPredicate) {
+      AndPredicate andPredicate = (AndPredicate) predicate;
+      return Guard.preferred(guardFor(andPredicate.getLeft()), guardFor(andPredicate.getRight()));
+    }
+
+    return null;
+  }
+
+  private static class Guard {
+
+    private final String contentType;
+
+    private final Envelope envelope;
+
+    private final DateType dateType;
+
+    private final Interval interval;
+
+    private Guard(String contentType, Envelope envelope, DateType dateType, Interval interval) {
+      this.contentType = contentType;
+      this.envelope = envelope;
+      this.dateType = dateType;
+      this.interval = interval;
+    }
+
+    static Guard contentType(String contentType) {
+      return new Guard(contentType, null, null, null);
+    }
+
+    static Guard geospatial(Envelope envelope) {
+      return new Guard(null, envelope, null, null);
+    }
+
+    static Guard temporal(DateType dateType, Interval interval) {
+      return new Guard(null, null, dateType, interval);
+    }
+
+    /** Content types are the cheapest to check, followed by envelopes and then intervals. */
+    static Guard preferred(Guard first, Guard second) {
+      if (first == null || second == null) {
+        return first == null ? second : first;
+      }
+      return first.rank() <= second.rank() ? first : second;
+    }
+
+    private int rank() {
+      if (contentType != null) {
+        return 0;
+      }
+      return envelope != null ? 1 : 2;
+    }
+
+    @Override
+    public String toString() {
+      if (contentType != null) {
+        return "content type " + contentType;
+      }
+      return envelope != null ? "envelope " + envelope : dateType + " interval " + interval;
+    }
+  }
+
+  private static class IndexEntry<T> {
+
+    private final T value;
+
+    private final Guard guard;
+
+    IndexEntry(T value, Guard guard) {
+      this.value = value;
+      this.guard = guard;
+    }
+  }
+}
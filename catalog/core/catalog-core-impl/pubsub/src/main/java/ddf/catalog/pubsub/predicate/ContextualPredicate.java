@@ -16,6 +16,7 @@
 import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluationCriteria;
 import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluationCriteriaImpl;
 import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluator;
+import ddf.catalog.pubsub.criteria.contextual.ContextualIndex;
 import ddf.catalog.pubsub.criteria.contextual.ContextualTokenizer;
 import ddf.catalog.pubsub.internal.PubSubConstants;
 import java.io.IOException;
@@ -26,6 +27,8 @@
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.apache.lucene.queryParser.ParseException;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
 import org.apache.lucene.store.Directory;
 import org.osgi.service.event.Event;
 import org.slf4j.Logger;
@@ -42,6 +45,8 @@ public class ContextualPredicate implements Predicate {
 
   private Collection<String> textPaths;
 
+  private transient volatile Query query;
+
   public ContextualPredicate(
       String searchPhrase,
       boolean fuzzy,
@@ -234,6 +239,12 @@ public boolean matches(Event properties) {
       return true;
     }
 
+    ContextualIndex contextualIndex =
+        (ContextualIndex) contextualMap.get(ContextualIndex.CONTEXTUAL_MAP_KEY);
+    if (contextualIndex != null && !searchPhrase.isEmpty()) {
+      return evaluate(contextualIndex);
+    }
+
     // If predicate specified one or more text paths, then extract the entry's metadata from the
     // Event properties and
     // pass it and the text path(s) to the evaluation criteria (which will build a Lucene index
@@ -281,6 +292,39 @@ public boolean matches(Event properties) {
     return false;
   }
 
+  /**
+   * Evaluates this predicate against the entry's shared indexes, reusing the opened searchers and
+   * this predicate's parsed query.
+   */
+  private boolean evaluate(ContextualIndex contextualIndex) {
+    try {
+      IndexSearcher searcher;
+      if (this.textPaths != null && !this.textPaths.isEmpty()) {
+        LOGGER.debug("using shared Lucene search index for textPaths");
+        searcher =
+            contextualIndex.getSearcher(this.textPaths.toArray(new String[this.textPaths.size()]));
+      } else {
+        LOGGER.debug("using shared default Lucene search index for metadata");
+        searcher = contextualIndex.getSearcher();
+      }
+      return ContextualEvaluator.evaluate(getQuery(), searcher);
+    } catch (IOException e) {
+      LOGGER.debug("IO Exception evaluating context criteria", e);
+    } catch (ParseException e) {
+      LOGGER.debug("Parse Exception evaluating context criteria", e);
+    }
+    return false;
+  }
+
+  private Query getQuery() throws ParseException {
+    Query q = query;
+    if (q == null) {
+      q = ContextualEvaluator.parseQuery(searchPhrase, caseSensitiveSearch);
+      query = q;
+    }
+    return q;
+  }
+
   public String getSearchPhrase() {
     return searchPhrase;
   }
@@ -156,6 +156,10 @@ public DateType getType() {
     return type;
   }
 
+  public long getOffset() {
+    return offset;
+  }
+
   public String toString() {
     StringBuilder sb = new StringBuilder();
 
@@ -16,13 +16,31 @@
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.Metacard;
 import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.event.DeliveryMethod;
+import ddf.catalog.event.EventProcessor;
+import ddf.catalog.event.impl.SubscriptionImpl;
+import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import org.geotools.filter.FilterFactoryImpl;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.opengis.filter.FilterFactory;
+import org.osgi.framework.BundleContext;
+import org.osgi.service.event.Event;
 import org.osgi.service.event.EventAdmin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +49,8 @@ public class EventProcessorImplTest {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EventProcessorImplTest.class);
 
+  private static final FilterFactory FILTER_FACTORY = new FilterFactoryImpl();
+
   @BeforeClass
   public static void setUpBeforeClass() throws Exception {}
 
@@ -83,6 +103,39 @@ public void testNullOperation() {
     }
   }
 
+  @Test
+  public void testCatalogEventIsDeliveredToMatchingSubscription() throws Exception {
+    DeliveryMethod deliveryMethod = mock(DeliveryMethod.class);
+    EventProcessorImpl eventProcessor =
+        new EventProcessorImpl(
+            mock(BundleContext.class),
+            new MockEventAdmin(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            mock(CatalogFramework.class));
+    //  A single worker evaluates the events in the order they were handled
+    eventProcessor.setEventWorkerCount(1);
+
+    try {
+      eventProcessor.createSubscription(
+          new SubscriptionImpl(
+              FILTER_FACTORY.equals(
+                  FILTER_FACTORY.property(Metacard.ID), FILTER_FACTORY.literal("match")),
+              deliveryMethod,
+              null,
+              true));
+
+      eventProcessor.handleEvent(catalogEvent(EventProcessor.EVENTS_TOPIC_CREATED, "other"));
+      eventProcessor.handleEvent(catalogEvent(EventProcessor.EVENTS_TOPIC_CREATED, "match"));
+
+      verify(deliveryMethod, timeout(10000))
+          .created(argThat(metacard -> "match".equals(metacard.getId())));
+      verify(deliveryMethod, times(1)).created(any(Metacard.class));
+    } finally {
+      eventProcessor.destroy();
+    }
+  }
+
   @Test
   public void testDateType() throws Exception {
     for (EventProcessorImpl.DateType dt : EventProcessorImpl.DateType.values()) {
@@ -102,4 +155,13 @@ public void testDateTypeNullAttr() {
   public void testDateTypeInvalidAttr() {
     EventProcessorImpl.DateType.getDateType("some obviously invalid attribute.");
   }
+
+  private Event catalogEvent(String topic, String metacardId) {
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setId(metacardId);
+
+    Dictionary<String, Object> properties = new Hashtable<>();
+    properties.put(EventProcessor.EVENT_METACARD, metacard);
+    return new Event(topic, properties);
+  }
 }
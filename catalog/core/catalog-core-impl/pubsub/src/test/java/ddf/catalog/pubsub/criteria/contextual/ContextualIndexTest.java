@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.criteria.contextual;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import ddf.catalog.pubsub.TestDataLibrary;
+import ddf.catalog.pubsub.internal.PubSubConstants;
+import ddf.catalog.pubsub.predicate.ContextualPredicate;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.store.Directory;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+public class ContextualIndexTest {
+
+  private static final String[] TITLE_PATH = new String[] {"/Resource/title"};
+
+  private String metadata;
+
+  private ContextualIndex contextualIndex;
+
+  private Event event;
+
+  @Before
+  public void setUp() throws IOException {
+    metadata = TestDataLibrary.getCatAndDogEntry();
+    Directory index = ContextualEvaluator.buildIndex(metadata);
+    contextualIndex = new ContextualIndex(metadata, index);
+
+    Map<String, Object> contextualMap = new HashMap<>();
+    contextualMap.put("DEFAULT_INDEX", index);
+    contextualMap.put("METADATA", metadata);
+    contextualMap.put(ContextualIndex.CONTEXTUAL_MAP_KEY, contextualIndex);
+
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(PubSubConstants.HEADER_OPERATION_KEY, PubSubConstants.CREATE);
+    properties.put(PubSubConstants.HEADER_CONTEXTUAL_KEY, contextualMap);
+    event = new Event("topic", properties);
+  }
+
+  @Test
+  public void testDefaultSearcherIsShared() throws IOException {
+    assertThat(contextualIndex.getSearcher(), sameInstance(contextualIndex.getSearcher()));
+  }
+
+  @Test
+  public void testTextPathSearcherIsSharedForEqualTextPaths() throws IOException {
+    assertThat(
+        contextualIndex.getSearcher(TITLE_PATH),
+        sameInstance(contextualIndex.getSearcher(new String[] {"/Resource/title"})));
+    assertThat(
+        contextualIndex.getSearcher(TITLE_PATH),
+        not(sameInstance(contextualIndex.getSearcher(new String[] {"/Resource/creator"}))));
+  }
+
+  @Test
+  public void testCaseInsensitiveMatch() {
+    assertThat(predicate("Miles", false, null).matches(event), is(true));
+    assertThat(predicate("DOG", false, null).matches(event), is(true));
+    assertThat(predicate("horse", false, null).matches(event), is(false));
+  }
+
+  @Test
+  public void testCaseSensitiveMatch() {
+    assertThat(predicate("dog", true, null).matches(event), is(true));
+    assertThat(predicate("DOG", true, null).matches(event), is(false));
+  }
+
+  @Test
+  public void testTextPathMatch() {
+    List<String> textPaths = Collections.singletonList(TITLE_PATH[0]);
+    assertThat(predicate("dog", false, textPaths).matches(event), is(true));
+    assertThat(predicate("Miles", false, textPaths).matches(event), is(false));
+  }
+
+  @Test
+  public void testPredicateMatchesRepeatedly() {
+    ContextualPredicate predicate = predicate("serengeti", false, null);
+    assertThat(predicate.matches(event), is(true));
+    assertThat(predicate.matches(event), is(true));
+  }
+
+  private ContextualPredicate predicate(
+      String searchPhrase, boolean caseSensitive, List<String> textPaths) {
+    return new ContextualPredicate(searchPhrase, false, caseSensitive, textPaths);
+  }
+}
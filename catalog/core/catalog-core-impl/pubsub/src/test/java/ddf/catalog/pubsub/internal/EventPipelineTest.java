@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.internal;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.event.EventProcessor;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class EventPipelineTest {
+
+  private EventPipeline pipeline;
+
+  @After
+  public void tearDown() {
+    if (pipeline != null) {
+      pipeline.shutdown();
+    }
+  }
+
+  @Test
+  public void testEventsAreProcessed() throws Exception {
+    List<String> ids = new CopyOnWriteArrayList<>();
+    CountDownLatch processed = new CountDownLatch(3);
+    pipeline =
+        new EventPipeline(
+            (metacard, topic) -> {
+              ids.add(metacard.getId());
+              processed.countDown();
+            },
+            10,
+            2,
+            2,
+            0);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(
+          pipeline.submit(metacard("id" + i), EventProcessor.EVENTS_TOPIC_CREATED), is(true));
+    }
+
+    assertTrue(processed.await(10, TimeUnit.SECONDS));
+    assertThat(ids, containsInAnyOrder("id0", "id1", "id2"));
+    assertThat(pipeline.getDroppedEventCount(), is(0L));
+  }
+
+  @Test
+  public void testEventsAreDroppedWhenQueueIsFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    pipeline =
+        new EventPipeline(
+            (metacard, topic) -> {
+              started.countDown();
+              try {
+                release.await(10, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            },
+            1,
+            1,
+            1,
+            0);
+
+    assertThat(pipeline.submit(metacard("busy"), EventProcessor.EVENTS_TOPIC_CREATED), is(true));
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    assertThat(pipeline.submit(metacard("queued"), EventProcessor.EVENTS_TOPIC_CREATED), is(true));
+    assertThat(pipeline.getQueueDepth(), is(1));
+    assertThat(
+        pipeline.submit(metacard("dropped"), EventProcessor.EVENTS_TOPIC_CREATED), is(false));
+    assertThat(pipeline.getDroppedEventCount(), is(1L));
+
+    release.countDown();
+  }
+
+  @Test
+  public void testShutdownHandsOffQueuedEvents() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    pipeline =
+        new EventPipeline(
+            (metacard, topic) -> {
+              started.countDown();
+              try {
+                release.await(10, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            },
+            10,
+            1,
+            1,
+            0);
+
+    assertThat(pipeline.submit(metacard("busy"), EventProcessor.EVENTS_TOPIC_CREATED), is(true));
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertThat(pipeline.submit(metacard("queued"), EventProcessor.EVENTS_TOPIC_CREATED), is(true));
+
+    List<String> remaining = new CopyOnWriteArrayList<>();
+    pipeline.shutdown((metacard, topic) -> remaining.add(metacard.getId()));
+    release.countDown();
+
+    assertThat(remaining, containsInAnyOrder("queued"));
+  }
+
+  @Test
+  public void testSubmitAfterShutdown() {
+    pipeline = new EventPipeline((metacard, topic) -> {}, 10, 1, 1, 0);
+    pipeline.shutdown();
+
+    assertThat(pipeline.submit(metacard("id"), EventProcessor.EVENTS_TOPIC_CREATED), is(false));
+  }
+
+  private Metacard metacard(String id) {
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setId(id);
+    return metacard;
+  }
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.internal;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.pubsub.EventProcessorImpl.DateType;
+import ddf.catalog.pubsub.predicate.ContentTypePredicate;
+import ddf.catalog.pubsub.predicate.GeospatialPredicate;
+import ddf.catalog.pubsub.predicate.Predicate;
+import ddf.catalog.pubsub.predicate.TemporalPredicate;
+import ddf.catalog.pubsub.predicate.TruePredicate;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+public class SubscriptionIndexTest {
+
+  private static final String POLYGON = "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))";
+
+  private SubscriptionIndex<String> index;
+
+  @Before
+  public void setUp() {
+    index = new SubscriptionIndex<>();
+  }
+
+  @Test
+  public void testContentTypeCandidates() {
+    index.add("nitf", new ContentTypePredicate("nitf", null), "nitf");
+    index.add("video", new ContentTypePredicate("video", null), "video");
+    index.add("wildcard", new ContentTypePredicate("ni*", null), "wildcard");
+
+    assertThat(
+        index.getCandidates(event(metacard("nitf", null), PubSubConstants.CREATE)),
+        containsInAnyOrder("nitf", "wildcard"));
+  }
+
+  @Test
+  public void testGeospatialCandidates() {
+    index.add("inside", new GeospatialPredicate(POLYGON, "OVERLAPS", 0.0), "inside");
+    index.add(
+        "outside",
+        new GeospatialPredicate("POLYGON ((50 50, 60 50, 60 60, 50 60, 50 50))", "OVERLAPS", 0.0),
+        "outside");
+    index.add("nearby", new GeospatialPredicate("POINT (12 5)", null, 3.0), "nearby");
+
+    assertThat(
+        index.getCandidates(event(metacard(null, "POINT (9 5)"), PubSubConstants.CREATE)),
+        containsInAnyOrder("inside", "nearby"));
+  }
+
+  @Test
+  public void testTemporalCandidates() {
+    Date now = new Date();
+    index.add(
+        "current",
+        new TemporalPredicate(
+            new Date(now.getTime() - 1000), new Date(now.getTime() + 1000), DateType.MODIFIED),
+        "current");
+    index.add(
+        "past",
+        new TemporalPredicate(new Date(0), new Date(now.getTime() - 1000), DateType.MODIFIED),
+        "past");
+    index.add("open", new TemporalPredicate(null, now, DateType.MODIFIED), "open");
+    index.add("relative", new TemporalPredicate(1000, DateType.MODIFIED), "relative");
+
+    MetacardImpl metacard = metacard(null, null);
+    metacard.setModifiedDate(now);
+
+    assertThat(
+        index.getCandidates(event(metacard, PubSubConstants.CREATE)),
+        containsInAnyOrder("current", "open", "relative"));
+  }
+
+  @Test
+  public void testAndPredicateUsesIndexedOperand() {
+    Predicate predicate =
+        SubscriptionFilterVisitor.and(new TruePredicate(), new ContentTypePredicate("nitf", null));
+    index.add("and", predicate, "and");
+
+    assertThat(
+        index.getCandidates(event(metacard("video", null), PubSubConstants.CREATE)), is(empty()));
+    assertThat(
+        index.getCandidates(event(metacard("nitf", null), PubSubConstants.CREATE)),
+        containsInAnyOrder("and"));
+  }
+
+  @Test
+  public void testUnindexedPredicatesAreAlwaysCandidates() {
+    index.add("none", null, "none");
+    index.add(
+        "or",
+        SubscriptionFilterVisitor.or(
+            new ContentTypePredicate("nitf", null), new ContentTypePredicate("video", null)),
+        "or");
+    index.add("not", SubscriptionFilterVisitor.not(new ContentTypePredicate("nitf", null)), "not");
+
+    assertThat(
+        index.getCandidates(event(metacard("pdf", null), PubSubConstants.CREATE)),
+        containsInAnyOrder("none", "or", "not"));
+  }
+
+  @Test
+  public void testDeletedWithoutMetadataMatchesAll() {
+    index.add("nitf", new ContentTypePredicate("nitf", null), "nitf");
+    index.add("geo", new GeospatialPredicate(POLYGON, "OVERLAPS", 0.0), "geo");
+
+    MetacardImpl metacard = metacard("pdf", null);
+    metacard.setMetadata(PubSubConstants.METADATA_DELETED);
+
+    assertThat(
+        index.getCandidates(event(metacard, PubSubConstants.DELETE)),
+        containsInAnyOrder("nitf", "geo"));
+  }
+
+  @Test
+  public void testRemoveAndReplace() {
+    index.add("id", new ContentTypePredicate("nitf", null), "first");
+    index.add("id", new ContentTypePredicate("video", null), "second");
+
+    assertThat(index.size(), is(1));
+    assertThat(
+        index.getCandidates(event(metacard("nitf", null), PubSubConstants.CREATE)), is(empty()));
+    assertThat(
+        index.getCandidates(event(metacard("video", null), PubSubConstants.CREATE)),
+        containsInAnyOrder("second"));
+
+    assertThat(index.remove("id"), is("second"));
+    assertThat(index.isEmpty(), is(true));
+    assertThat(
+        index.getCandidates(event(metacard("video", null), PubSubConstants.CREATE)), is(empty()));
+  }
+
+  private MetacardImpl metacard(String contentType, String location) {
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setContentTypeName(contentType);
+    metacard.setLocation(location);
+    return metacard;
+  }
+
+  private Event event(MetacardImpl metacard, String operation) {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(PubSubConstants.HEADER_OPERATION_KEY, operation);
+    properties.put(PubSubConstants.HEADER_ENTRY_KEY, metacard);
+    properties.put(
+        PubSubConstants.HEADER_CONTENT_TYPE_KEY,
+        (metacard.getContentTypeName() == null ? "UNKNOWN" : metacard.getContentTypeName()) + ",");
+    if (metacard.getMetadata() != null) {
+      Map<String, Object> contextualMap = new HashMap<>();
+      contextualMap.put("METADATA", metacard.getMetadata());
+      properties.put(PubSubConstants.HEADER_CONTEXTUAL_KEY, contextualMap);
+    }
+    return new Event(PubSubConstants.PUBLISHED_EVENT_TOPIC_NAME, properties);
+  }
+}
@@ -41,12 +41,16 @@
 import ddf.mime.MimeTypeResolutionException;
 import ddf.security.encryption.crypter.Crypter;
 import ddf.security.encryption.crypter.Crypter.CrypterException;
-import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.DirectoryIteratorException;
 import java.nio.file.DirectoryStream;
@@ -55,6 +59,7 @@
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
@@ -412,10 +417,11 @@ private ContentItem readContent(URI uri) throws StorageException {
 
     String filename = path.getFileName().toString();
 
-    // resolve external reference if necessary, determine the extension, and retrieve an
-    // InputStream to the content
-    InputStream contentInputStream;
+    // resolve external reference if necessary, determine the extension, and retrieve the
+    // decrypted content as a ByteSource
+    ByteSource byteSource;
     String extension;
+    long size;
 
     try {
       if (REF_EXT.equals(FilenameUtils.getExtension(filename))) {
@@ -423,26 +429,19 @@ private ContentItem readContent(URI uri) throws StorageException {
         extension =
             FilenameUtils.getExtension(
                 FilenameUtils.removeExtension(path.getFileName().toString()));
-        contentInputStream = getInputStreamFromReference(path);
+        byteSource = getByteSourceFromReference(path);
       } else {
         extension = FilenameUtils.getExtension(path.getFileName().toString());
-        contentInputStream = getInputStreamFromResource(path);
+        byteSource = new DecryptingFileByteSource(path);
       }
-    } catch (IOException e) {
-      throw new StorageException(
-          String.format("Unable to resolve InputStream given URI of %s", uri), e);
-    }
-
-    // decrypt the content and return as a ByteSource
-    ByteSource byteSource = decryptStream(contentInputStream);
 
-    // determine the size of the content
-    long size = 0;
-
-    try {
+      // determining the size decrypts the start of the content, so content that cannot be
+      // decrypted fails the read here rather than when the caller opens it
       size = byteSource.size();
     } catch (IOException e) {
-      LOGGER.debug("Problem determining size of resource; defaulting to {}.", size, e);
+      LOGGER.debug("Unable to read content at {}. Failing StorageProvider read.", path, e);
+      throw new StorageException(
+          String.format("Unable to resolve InputStream given URI of %s", uri), e);
     }
 
     // determine the MimeType of the content
@@ -452,7 +451,8 @@ private ContentItem readContent(URI uri) throws StorageException {
         uri.getSchemeSpecificPart(), uri.getFragment(), byteSource, mimeType, filename, size, null);
   }
 
-  private InputStream getInputStreamFromReference(Path externalReferencePath) throws IOException {
+  private ByteSource getByteSourceFromReference(Path externalReferencePath)
+      throws IOException, StorageException {
     URI reference;
 
     try {
@@ -472,27 +472,24 @@ private InputStream getInputStreamFromReference(Path externalReferencePath) thro
       newPath = Paths.get(reference);
     }
 
-    // if the reference can be represented as a path
+    // if the reference can be represented as a path it can be decrypted as it is read
     if (newPath != null) {
       if (!newPath.toFile().exists()) {
         throw new IOException("Cannot read " + reference + ".");
       }
-      return getInputStreamFromResource(newPath);
+      return new DecryptingFileByteSource(newPath);
     }
 
-    return reference.toURL().openStream();
-  }
-
-  private InputStream getInputStreamFromResource(Path path) throws IOException {
-    return Files.newInputStream(path);
+    // remote references cannot be reopened cheaply, so they are decrypted into a local copy
+    return decryptStream(reference.toURL().openStream());
   }
 
   private String determineMimeType(String extension, Path path, ByteSource byteSource) {
     String mimeType = DEFAULT_MIME_TYPE;
 
     // guess MimeType
-    try {
-      mimeType = mimeTypeMapper.guessMimeType(byteSource.openStream(), extension);
+    try (InputStream inputStream = byteSource.openStream()) {
+      mimeType = mimeTypeMapper.guessMimeType(inputStream, extension);
     } catch (IOException | MimeTypeResolutionException e) {
       LOGGER.debug(
           "Could not determine mime type for file extension = {}; defaulting to {}.",
@@ -646,21 +643,19 @@ public InputStream openStream() throws IOException {
             }
           };
     } else {
-      try (InputStream plainInputStream = item.getInputStream();
-          InputStream encryptedInputStream = crypter.encrypt(plainInputStream)) {
-        copySize = Files.copy(encryptedInputStream, contentItemPath);
+      boolean linked;
+      copySize = itemSize;
+      try (InputStream plainInputStream = item.getInputStream()) {
+        linked = linkStoredContent(plainInputStream, contentItemPath);
+        if (!linked) {
+          try (InputStream encryptedInputStream = crypter.encrypt(plainInputStream)) {
+            copySize = Files.copy(encryptedInputStream, contentItemPath);
+          }
+        }
       }
-      byteSource =
-          new ByteSource() {
-            @Override
-            public InputStream openStream() throws IOException {
-              try (InputStream fileInputStream = new FileInputStream(contentItemPath.toFile())) {
-                return crypter.decrypt(fileInputStream);
-              }
-            }
-          };
+      byteSource = new DecryptingFileByteSource(contentItemPath);
 
-      if (copySize < itemSize && LOGGER.isWarnEnabled()) {
+      if (!linked && copySize < itemSize && LOGGER.isWarnEnabled()) {
         LOGGER.warn(
             "Created content item {} encrypted size {} is not greater than plain size {}.{}"
                 + "Verify filesystem and/or network integrity.",
@@ -686,6 +681,39 @@ public InputStream openStream() throws IOException {
     return contentItem;
   }
 
+  /**
+   * Stores content that was read from this provider, such as the previous content the Historian
+   * copies into a new version, as a hard link to the existing encrypted file instead of decrypting
+   * and re-encrypting it. The file system reference counts the shared file and frees it once the
+   * last content item linking to it is deleted.
+   *
+   * @return true if the content was linked, false if it still needs to be copied
+   */
+  private boolean linkStoredContent(InputStream inputStream, Path contentItemPath) {
+    if (!(inputStream instanceof StoredContentInputStream)) {
+      return false;
+    }
+
+    Path storedPath = ((StoredContentInputStream) inputStream).getPath().toAbsolutePath();
+    if (!storedPath.normalize().startsWith(baseContentDirectory.toAbsolutePath())
+        || !storedPath.toFile().exists()) {
+      return false;
+    }
+
+    try {
+      Files.createLink(contentItemPath, storedPath);
+      LOGGER.debug("Linked {} to existing content {}.", contentItemPath, storedPath);
+      return true;
+    } catch (IOException | UnsupportedOperationException | SecurityException e) {
+      LOGGER.debug(
+          "Unable to link {} to existing content {}; copying instead.",
+          contentItemPath,
+          storedPath,
+          e);
+      return false;
+    }
+  }
+
   public MimeTypeMapper getMimeTypeMapper() {
     return mimeTypeMapper;
   }
@@ -747,6 +775,65 @@ private String tryCanonicalizeDirectory(String directory) {
     return normalized;
   }
 
+  /**
+   * Decrypts a stored file while it is read instead of staging the plain content in a temporary
+   * copy. Each stream opens its own channel so the source can be read any number of times.
+   */
+  private class DecryptingFileByteSource extends ByteSource {
+
+    private final Path path;
+
+    DecryptingFileByteSource(Path path) {
+      this.path = path;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+      return new StoredContentInputStream(Channels.newInputStream(openChannel()), path);
+    }
+
+    @Override
+    public long size() throws IOException {
+      // the decrypting channel can only report the plain size after its first read
+      try (SeekableByteChannel channel = openChannel()) {
+        if (channel.read(ByteBuffer.allocate(1)) < 0) {
+          return 0;
+        }
+        return channel.size();
+      }
+    }
+
+    private SeekableByteChannel openChannel() throws IOException {
+      FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+      try {
+        return crypter.decrypt(fileChannel);
+      } catch (CrypterException e) {
+        fileChannel.close();
+        throw new IOException(String.format("Cannot decrypt %s.", path), e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "DecryptingFileByteSource(" + path + ")";
+    }
+  }
+
+  /** Decrypted content that remembers the stored file it was read from. */
+  private static class StoredContentInputStream extends FilterInputStream {
+
+    private final Path path;
+
+    StoredContentInputStream(InputStream inputStream, Path path) {
+      super(inputStream);
+      this.path = path;
+    }
+
+    Path getPath() {
+      return path;
+    }
+  }
+
   private static class ContentItemDecorator implements ContentItem {
 
     private final ContentItem updateContentItem;
@@ -66,6 +66,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -74,6 +75,7 @@
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
@@ -616,6 +618,94 @@ public void testDeleteReference() throws Exception {
     assertTrue(tempFile.exists());
   }
 
+  @Test
+  public void testReadDecryptsWithoutTemporaryCopy() throws Exception {
+    // spans several encryption segments so the content is decrypted across segment boundaries
+    String data = StringUtils.repeat(TEST_INPUT_CONTENTS, 2000);
+    CreateStorageResponse createResponse =
+        assertContentItem(data, NITF_MIME_TYPE, TEST_INPUT_FILENAME);
+    URI uri = new URI(createResponse.getCreatedContentItems().get(0).getUri());
+
+    ReadStorageResponse readResponse =
+        provider.read(new ReadStorageRequestImpl(uri, Collections.emptyMap()));
+    ContentItem item = readResponse.getContentItem();
+
+    assertThat(item.getSize(), is((long) data.length()));
+    try (InputStream inputStream = item.getInputStream()) {
+      assertThat(IOUtils.toString(inputStream), is(data));
+    }
+    // the content can be read more than once
+    try (InputStream inputStream = item.getInputStream()) {
+      assertThat(IOUtils.toString(inputStream), is(data));
+    }
+  }
+
+  @Test(expected = StorageException.class)
+  public void testReadFailsWhenContentCannotBeDecrypted() throws Exception {
+    CreateStorageResponse createResponse =
+        assertContentItem(TEST_INPUT_CONTENTS, NITF_MIME_TYPE, TEST_INPUT_FILENAME);
+    ContentItem created = createResponse.getCreatedContentItems().get(0);
+    Files.write(getStoredPath(created.getId()), TEST_INPUT_CONTENTS.getBytes());
+
+    provider.read(new ReadStorageRequestImpl(new URI(created.getUri()), Collections.emptyMap()));
+  }
+
+  @Test
+  public void testCreateFromStoredContentSharesFile() throws Exception {
+    CreateStorageResponse createResponse =
+        assertContentItem(TEST_INPUT_CONTENTS, NITF_MIME_TYPE, TEST_INPUT_FILENAME);
+    ContentItem original = createResponse.getCreatedContentItems().get(0);
+    ContentItem stored =
+        provider
+            .read(new ReadStorageRequestImpl(new URI(original.getUri()), Collections.emptyMap()))
+            .getContentItem();
+
+    // simulates the Historian copying the current content into a new version
+    ByteSource storedByteSource =
+        new ByteSource() {
+          @Override
+          public InputStream openStream() throws IOException {
+            return stored.getInputStream();
+          }
+        };
+    String versionId = UUID.randomUUID().toString().replaceAll("-", "");
+    CreateStorageRequest versionRequest =
+        new CreateStorageRequestImpl(
+            Collections.singletonList(
+                new ContentItemImpl(
+                    versionId,
+                    storedByteSource,
+                    NITF_MIME_TYPE,
+                    TEST_INPUT_FILENAME,
+                    stored.getSize(),
+                    mock(Metacard.class))),
+            null);
+    CreateStorageResponse versionResponse = provider.create(versionRequest);
+    provider.commit(versionRequest);
+    String versionUri = versionResponse.getCreatedContentItems().get(0).getUri();
+
+    Path originalPath = getStoredPath(original.getId());
+    Path versionPath = getStoredPath(versionId);
+    assertThat(
+        Files.readAttributes(versionPath, BasicFileAttributes.class).fileKey(),
+        equalTo(Files.readAttributes(originalPath, BasicFileAttributes.class).fileKey()));
+
+    Metacard originalMetacard = mock(Metacard.class);
+    when(originalMetacard.getId()).thenReturn(original.getId());
+    DeleteStorageRequest deleteRequest =
+        new DeleteStorageRequestImpl(Collections.singletonList(originalMetacard), null);
+    provider.delete(deleteRequest);
+    provider.commit(deleteRequest);
+
+    ContentItem version =
+        provider
+            .read(new ReadStorageRequestImpl(new URI(versionUri), Collections.emptyMap()))
+            .getContentItem();
+    try (InputStream inputStream = version.getInputStream()) {
+      assertThat(IOUtils.toString(inputStream), is(TEST_INPUT_CONTENTS));
+    }
+  }
+
   @Test
   public void testCreateAndReadReference() throws Exception {
     String path = baseTmpDir + File.separator + TEST_INPUT_FILENAME;
@@ -714,6 +804,21 @@ public InputStream openStream() throws IOException {
     return createResponse;
   }
 
+  private Path getStoredPath(String id) throws IOException {
+    List<String> parts = provider.getContentFilePathParts(id, "");
+    Path dir =
+        Paths.get(
+            baseDir,
+            FileSystemStorageProvider.DEFAULT_CONTENT_REPOSITORY,
+            FileSystemStorageProvider.DEFAULT_CONTENT_STORE,
+            parts.get(0),
+            parts.get(1),
+            parts.get(2));
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.filter(Files::isRegularFile).findFirst().orElse(null);
+    }
+  }
+
   private void assertReadRequest(String uriString, String mimeType)
       throws StorageException, IOException, URISyntaxException {
     final URI uri = new URI(uriString);
@@ -17,38 +17,41 @@
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.HazelcastInstanceAware;
-import com.hazelcast.core.IAtomicLong;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.MapEvent;
-import com.hazelcast.query.PagingPredicate;
+import ddf.catalog.cache.impl.ProductCacheEvictionIndex.Entry;
 import ddf.catalog.resource.data.ReliableResource;
-import ddf.catalog.resource.data.ReliableResourceComparator;
 import java.io.File;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Set;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the product cache directory within its maximum size. Cached products are tracked in a
+ * {@link ProductCacheEvictionIndex} as they are added to and removed from the product cache map,
+ * and the least recently used products are evicted on a background thread whenever the cache
+ * grows past its maximum size.
+ */
 public class ProductCacheDirListener<K, V> implements EntryListener<K, V>, HazelcastInstanceAware {
 
-  private static final String CACHE_DIR_SIZE = "cache.dir.size";
-
   private static final String PRODUCT_CACHE_NAME = "Product_Cache";
 
-  private static final int DEFAULT_PAGE_SIZE = 10;
-
   private static final Logger LOGGER = LoggerFactory.getLogger(ProductCacheDirListener.class);
 
-  private IMap<String, ReliableResource> map;
+  private final ProductCacheEvictionIndex index = new ProductCacheEvictionIndex();
+
+  private final AtomicBoolean evictionScheduled = new AtomicBoolean();
 
-  private IAtomicLong cacheDirSize;
+  private volatile IMap<String, ReliableResource> map;
 
-  private long maxDirSizeBytes;
+  private volatile ExecutorService evictionExecutor;
 
-  private Set<String> manuallyEvictedEntries = Collections.synchronizedSet(new HashSet<String>());
+  private volatile long maxDirSizeBytes;
 
   /**
    * Constructor for new Hazelcast listener
@@ -56,107 +59,181 @@
    * @param maxDirSizeBytes: If 0, no size limit will be enforced.
    */
   public ProductCacheDirListener(final long maxDirSizeBytes) {
-    synchronized (this) {
-      this.maxDirSizeBytes = maxDirSizeBytes;
-    }
+    this.maxDirSizeBytes = maxDirSizeBytes;
   }
 
   @Override
   public void setHazelcastInstance(HazelcastInstance hc) {
     LOGGER.trace("Setting hazelcast instance");
-    synchronized (this) {
-      this.map = hc.getMap(PRODUCT_CACHE_NAME);
+    shutdown();
+    evictionExecutor =
+        Executors.newSingleThreadExecutor(
+            StandardThreadFactoryBuilder.newThreadFactory("productCacheEvictionThread"));
+
+    this.map = hc.getMap(PRODUCT_CACHE_NAME);
+
+    // Index the products already in the cache, e.g., those loaded from the cache directory,
+    // least recently used first
+    index.clear();
+    map.values()
+        .stream()
+        .sorted(Comparator.comparingLong(ReliableResource::getLastTouchedMillis))
+        .forEach(
+            resource -> index.add(resource.getKey(), resource.getSize(), resource.getFilePath()));
+    scheduleEviction();
+  }
+
+  /** Stops evicting products. Called when the product cache is torn down. */
+  public void shutdown() {
+    ExecutorService executor = evictionExecutor;
+    if (executor != null) {
+      executor.shutdownNow();
     }
-    this.cacheDirSize = hc.getAtomicLong(CACHE_DIR_SIZE);
   }
 
   @Override
-  public synchronized void entryAdded(EntryEvent<K, V> event) {
+  public void entryAdded(EntryEvent<K, V> event) {
     V value = event.getValue();
-    if (value.getClass().isAssignableFrom(ReliableResource.class)) {
+    if (value instanceof ReliableResource) {
       ReliableResource resource = (ReliableResource) value;
       LOGGER.debug("entry added event triggered: {}", resource.getKey());
-
-      long currentCacheDirSize = cacheDirSize.addAndGet(resource.getSize());
-      if (maxDirSizeBytes > 0 && maxDirSizeBytes < currentCacheDirSize) {
-        PagingPredicate pp =
-            new PagingPredicate(new ReliableResourceComparator(), DEFAULT_PAGE_SIZE);
-        Collection<ReliableResource> lruResourceEntries = map.values(pp);
-
-        Iterator<ReliableResource> itr = lruResourceEntries.iterator();
-        while (maxDirSizeBytes < currentCacheDirSize) {
-          if (itr.hasNext()) {
-            ReliableResource rr = itr.next();
-            deleteFromCache(map, rr);
-            currentCacheDirSize -= rr.getSize();
-          } else {
-            pp.nextPage();
-            lruResourceEntries = map.values(pp);
-            itr = lruResourceEntries.iterator();
-          }
-        }
-      }
+      index.add(resource.getKey(), resource.getSize(), resource.getFilePath());
+      scheduleEviction();
     }
   }
 
   @Override
   public void entryRemoved(EntryEvent<K, V> event) {
-    V value = event.getValue();
-    if (value.getClass().isAssignableFrom(ReliableResource.class)) {
-      ReliableResource resource = (ReliableResource) value;
-      LOGGER.debug("entry removed event triggered: {}", resource.getKey());
-      if (manuallyEvictedEntries.contains(resource.getKey())) {
-        manuallyEvictedEntries.remove(resource.getKey());
-      } else {
-        cacheDirSize.addAndGet(-resource.getSize());
-      }
-    }
+    LOGGER.debug("entry removed event triggered: {}", event.getKey());
+    index.remove(String.valueOf(event.getKey()));
   }
 
   @Override
   public void entryUpdated(EntryEvent<K, V> event) {
     LOGGER.debug("entry updated event triggered");
+    V value = event.getValue();
+    if (value instanceof ReliableResource) {
+      ReliableResource resource = (ReliableResource) value;
+      index.add(resource.getKey(), resource.getSize(), resource.getFilePath());
+      scheduleEviction();
+    }
   }
 
   @Override
   public void entryEvicted(EntryEvent<K, V> event) {
-    V value = event.getValue();
-    if (value.getClass().isAssignableFrom(ReliableResource.class)) {
-      ReliableResource resource = (ReliableResource) value;
-      LOGGER.debug("entry evicted event triggered: {}", resource.getKey());
-      cacheDirSize.addAndGet(-resource.getSize());
+    LOGGER.debug("entry evicted event triggered: {}", event.getKey());
+    index.remove(String.valueOf(event.getKey()));
+  }
+
+  /**
+   * Records a cache hit for the product, making it the most recently used.
+   *
+   * @param key the product's cache key
+   */
+  void hit(String key) {
+    index.hit(key);
+  }
+
+  /** Records a cache miss. */
+  void miss() {
+    index.miss();
+  }
+
+  private void scheduleEviction() {
+    long maxBytes = maxDirSizeBytes;
+    if (maxBytes <= 0 || index.getTotalBytes() <= maxBytes) {
+      return;
+    }
+
+    ExecutorService executor = evictionExecutor;
+    if (executor != null && evictionScheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::evict);
+      } catch (RejectedExecutionException e) {
+        evictionScheduled.set(false);
+        LOGGER.debug("Product cache eviction was not scheduled since the cache is shut down", e);
+      }
+    }
+  }
+
+  private void evict() {
+    // Clear the flag before evicting so products added during this pass schedule another one
+    evictionScheduled.set(false);
+
+    Entry entry;
+    while (maxDirSizeBytes > 0
+        && (entry = index.evictIfLargerThan(maxDirSizeBytes)) != null
+        && !Thread.currentThread().isInterrupted()) {
+      deleteFromCache(entry);
     }
+
+    LOGGER.debug(
+        "Product cache size: {} bytes in {} products. Hits: {}, misses: {}, evictions: {} ({} bytes)",
+        index.getTotalBytes(),
+        index.size(),
+        index.getHits(),
+        index.getMisses(),
+        index.getEvictions(),
+        index.getEvictedBytes());
   }
 
-  private void deleteFromCache(IMap<String, ReliableResource> cacheMap, ReliableResource rr) {
-    LOGGER.debug("entry being deleted: {}", rr.getKey());
-    manuallyEvictedEntries.add(rr.getKey());
+  private void deleteFromCache(Entry entry) {
+    LOGGER.debug("entry being deleted: {}", entry.getKey());
 
     // delete form cache
-    cacheMap.delete(rr.getKey());
+    IMap<String, ReliableResource> cacheMap = map;
+    if (cacheMap != null) {
+      cacheMap.delete(entry.getKey());
+    }
 
     // delete from file system cache
-    File cachedFile = new File(rr.getFilePath());
+    File cachedFile = new File(entry.getFilePath());
     if (cachedFile.exists()) {
       boolean success = cachedFile.delete();
       if (!success) {
         LOGGER.info("Could not delete file {}", cachedFile.getAbsolutePath());
       }
     }
-    cacheDirSize.addAndGet(-rr.getSize());
   }
 
-  public synchronized long getMaxDirSizeBytes() {
+  public long getMaxDirSizeBytes() {
     return maxDirSizeBytes;
   }
 
-  public synchronized void setMaxDirSizeBytes(long maxDirSizeBytes) {
+  public void setMaxDirSizeBytes(long maxDirSizeBytes) {
     this.maxDirSizeBytes = maxDirSizeBytes;
+    scheduleEviction();
+  }
+
+  /** @return the total size in bytes of the cached products */
+  public long getCacheDirSizeBytes() {
+    return index.getTotalBytes();
+  }
+
+  /** @return the number of requests for a cached product that were found in the cache */
+  public long getHitCount() {
+    return index.getHits();
+  }
+
+  /** @return the number of requests for a cached product that were not found in the cache */
+  public long getMissCount() {
+    return index.getMisses();
+  }
+
+  /** @return the number of products evicted to keep the cache within its maximum size */
+  public long getEvictionCount() {
+    return index.getEvictions();
+  }
+
+  /** @return the total size in bytes of the products evicted from the cache */
+  public long getEvictedBytes() {
+    return index.getEvictedBytes();
   }
 
   @Override
   public void mapCleared(MapEvent event) {
     LOGGER.debug("Cleared map: {}", event);
+    index.clear();
   }
 
   @Override
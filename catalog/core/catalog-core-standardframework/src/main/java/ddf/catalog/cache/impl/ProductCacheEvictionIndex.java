@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.cache.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-aware least-recently-used index of the products in the product cache. Adding, touching,
+ * removing and selecting the next eviction victim are all constant time, so the cache never has to
+ * sort its entries to decide what to evict.
+ *
+ * <p>The index also keeps hit, miss and eviction counters for the cache. This class is
+ * thread-safe.
+ */
+class ProductCacheEvictionIndex {
+
+  /** Entries in least-recently-used to most-recently-used order. */
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long totalBytes;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong evictions = new AtomicLong();
+
+  private final AtomicLong evictedBytes = new AtomicLong();
+
+  /**
+   * Adds a product to the index as the most recently used, replacing any existing entry for the
+   * same key.
+   *
+   * @return the total size in bytes of the indexed products
+   */
+  synchronized long add(String key, long size, String filePath) {
+    Entry previous = entries.put(key, new Entry(key, size, filePath));
+    if (previous != null) {
+      totalBytes -= previous.size;
+    }
+    totalBytes += size;
+    return totalBytes;
+  }
+
+  /**
+   * Removes a product from the index.
+   *
+   * @return the removed entry, or {@code null} if the key was not indexed
+   */
+  synchronized Entry remove(String key) {
+    Entry entry = entries.remove(key);
+    if (entry != null) {
+      totalBytes -= entry.size;
+    }
+    return entry;
+  }
+
+  /** Marks a product as the most recently used and records a cache hit. */
+  void hit(String key) {
+    hits.incrementAndGet();
+    synchronized (this) {
+      entries.get(key);
+    }
+  }
+
+  /** Records a cache miss. */
+  void miss() {
+    misses.incrementAndGet();
+  }
+
+  /**
+   * Removes and returns the least recently used product if the indexed products are larger than
+   * the specified size, recording it as an eviction.
+   *
+   * @param maxBytes the maximum total size in bytes of the indexed products
+   * @return the evicted entry, or {@code null} if the indexed products are within the size
+   */
+  synchronized Entry evictIfLargerThan(long maxBytes) {
+    if (totalBytes <= maxBytes) {
+      return null;
+    }
+
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    if (!iterator.hasNext()) {
+      return null;
+    }
+
+    Entry eldest = iterator.next().getValue();
+    iterator.remove();
+    totalBytes -= eldest.size;
+    evictions.incrementAndGet();
+    evictedBytes.addAndGet(eldest.size);
+    return eldest;
+  }
+
+  synchronized void clear() {
+    entries.clear();
+    totalBytes = 0;
+  }
+
+  synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  long getHits() {
+    return hits.get();
+  }
+
+  long getMisses() {
+    return misses.get();
+  }
+
+  long getEvictions() {
+    return evictions.get();
+  }
+
+  long getEvictedBytes() {
+    return evictedBytes.get();
+  }
+
+  static class Entry {
+
+    private final String key;
+
+    private final long size;
+
+    private final String filePath;
+
+    Entry(String key, long size, String filePath) {
+      this.key = key;
+      this.size = size;
+      this.filePath = filePath;
+    }
+
+    String getKey() {
+      return key;
+    }
+
+    long getSize() {
+      return size;
+    }
+
+    String getFilePath() {
+      return filePath;
+    }
+  }
+}
@@ -96,6 +96,7 @@ public void initCache() {
   }
 
   public void teardownCache() {
+    cacheListener.shutdown();
     instance.shutdown();
   }
 
@@ -109,6 +110,31 @@ public void setCacheDirMaxSizeMegabytes(long cacheDirMaxSizeMegabytes) {
     cacheListener.setMaxDirSizeBytes(cacheDirMaxSizeMegabytes * BYTES_IN_MEGABYTES);
   }
 
+  /** @return the total size in megabytes of the products in the cache directory */
+  public long getCacheDirSizeMegabytes() {
+    return cacheListener.getCacheDirSizeBytes() / BYTES_IN_MEGABYTES;
+  }
+
+  /** @return the number of requests for a cached product that were found in the cache */
+  public long getCacheHitCount() {
+    return cacheListener.getHitCount();
+  }
+
+  /** @return the number of requests for a cached product that were not found in the cache */
+  public long getCacheMissCount() {
+    return cacheListener.getMissCount();
+  }
+
+  /** @return the number of products evicted to keep the cache within its maximum size */
+  public long getCacheEvictionCount() {
+    return cacheListener.getEvictionCount();
+  }
+
+  /** @return the total size in bytes of the products evicted from the cache */
+  public long getCacheEvictedBytes() {
+    return cacheListener.getEvictedBytes();
+  }
+
   public String getProductCacheDirectory() {
     return productCacheDirectory;
   }
@@ -189,6 +215,7 @@ public Resource getValid(String key, Metacard latestMetacard) {
     // cache directory has had files deleted from it.
     if (cachedResource != null) {
       if (!validateCacheEntry(cachedResource, latestMetacard)) {
+        cacheListener.miss();
         LOGGER.debug(
             "Entry found in cache was out-of-date or otherwise invalid.  Will need to be re-cached.  Entry key: {}",
             key);
@@ -196,15 +223,18 @@ public Resource getValid(String key, Metacard latestMetacard) {
       }
 
       if (cachedResource.hasProduct()) {
+        cacheListener.hit(key);
         LOGGER.trace("EXITING: get() for key {}", key);
         return cachedResource;
       } else {
         cache.remove(key);
+        cacheListener.miss();
         LOGGER.debug(
             "Entry found in the cache, but no product found in cache directory for key = {}", key);
         return null;
       }
     } else {
+      cacheListener.miss();
       LOGGER.debug("No product found in cache for key = {}", key);
       return null;
     }
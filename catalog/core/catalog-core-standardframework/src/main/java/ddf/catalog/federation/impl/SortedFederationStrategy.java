@@ -34,6 +34,8 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
@@ -75,6 +77,9 @@ public class SortedFederationStrategy implements FederationStrategy {
   /** package-private to allow for unit testing */
   static final int DEFAULT_MAX_START_INDEX = 50000;
 
+  /** package-private to allow for unit testing */
+  static final long DEFAULT_MIN_ADAPTIVE_TIMEOUT = 1000;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(SortedFederationStrategy.class);
 
   /**
@@ -93,8 +98,14 @@ public class SortedFederationStrategy implements FederationStrategy {
 
   private final ExecutorService queryExecutorService;
 
+  private final SourceLatencyTracker sourceLatencyTracker;
+
   private int maxStartIndex;
 
+  private double adaptiveTimeoutMultiplier = 0;
+
+  private long minAdaptiveTimeout = DEFAULT_MIN_ADAPTIVE_TIMEOUT;
+
   /**
    * Instantiates an {@code AbstractFederationStrategy} with the provided {@link ExecutorService}.
    *
@@ -127,6 +138,7 @@ public SortedFederationStrategy(
     this.postQuery = postQuery;
     this.maxStartIndex = DEFAULT_MAX_START_INDEX;
     this.sortedQueryMonitorFactory = sortedQueryMonitorFactory;
+    this.sourceLatencyTracker = new SourceLatencyTracker();
   }
 
   @Override
@@ -167,6 +179,8 @@ public QueryResponse federate(List<Source> sources, QueryRequest queryRequest) {
     CompletionService<SourceResponse> queryCompletion =
         new ExecutorCompletionService<>(queryExecutorService);
 
+    Map<String, Long> sourceTimeouts = new HashMap<>();
+
     // Do NOT call source.isAvailable() when checking sources
     for (final Source source : sources) {
       if (source != null) {
@@ -190,9 +204,14 @@ public QueryResponse federate(List<Source> sources, QueryRequest queryRequest) {
           LOGGER.info("Plugin stopped processing", e);
         }
 
+        getAdaptiveTimeout(source.getId())
+            .ifPresent(timeout -> sourceTimeouts.put(source.getId(), timeout));
+
         QueryRequest finalSourceQueryRequest = sourceQueryRequest;
         futures.put(
-            queryCompletion.submit(() -> new TimedSource(source).query(finalSourceQueryRequest)),
+            queryCompletion.submit(
+                () ->
+                    new TimedSource(source, sourceLatencyTracker).query(finalSourceQueryRequest)),
             sourceQueryRequest);
       }
     }
@@ -210,7 +229,12 @@ public QueryResponse federate(List<Source> sources, QueryRequest queryRequest) {
 
     queryExecutorService.submit(
         sortedQueryMonitorFactory.createMonitor(
-            queryCompletion, futures, queryResponseQueue, modifiedQueryRequest, postQuery));
+            queryCompletion,
+            futures,
+            queryResponseQueue,
+            modifiedQueryRequest,
+            postQuery,
+            sourceTimeouts));
 
     QueryResponse queryResponse;
     if (offset > 1 && sources.size() > 1) {
@@ -264,6 +288,31 @@ private Query getModifiedQuery(
     return query;
   }
 
+  /**
+   * Computes a soft timeout for a source from its recent p99 latency. No timeout is returned when
+   * adaptive timeouts are disabled or not enough latencies have been recorded for the source.
+   */
+  private Optional<Long> getAdaptiveTimeout(String sourceId) {
+    if (adaptiveTimeoutMultiplier <= 0) {
+      return Optional.empty();
+    }
+
+    OptionalLong p99 = sourceLatencyTracker.getPercentile(sourceId, 99);
+    if (!p99.isPresent()) {
+      return Optional.empty();
+    }
+
+    long timeout =
+        Math.max(minAdaptiveTimeout, (long) Math.ceil(p99.getAsLong() * adaptiveTimeoutMultiplier));
+    LOGGER.debug(
+        "Adaptive timeout for source {} is {}ms (p50: {}ms, p99: {}ms)",
+        sourceId,
+        timeout,
+        sourceLatencyTracker.getPercentile(sourceId, 50).orElse(-1),
+        p99.getAsLong());
+    return Optional.of(timeout);
+  }
+
   /** Base 1 offset, hence page size is one less. */
   private int computeModifiedPageSize(int offset, int pageSize) {
     return offset + pageSize - 1;
@@ -288,6 +337,46 @@ public void setMaxStartIndex(int maxStartIndex) {
     }
   }
 
+  double getAdaptiveTimeoutMultiplier() {
+    return adaptiveTimeoutMultiplier;
+  }
+
+  /**
+   * To be set via Spring/Blueprint
+   *
+   * @param adaptiveTimeoutMultiplier the multiple of a source's p99 latency after which the source
+   *     no longer holds up a federated query, or 0 to disable adaptive timeouts
+   */
+  public void setAdaptiveTimeoutMultiplier(double adaptiveTimeoutMultiplier) {
+    if (adaptiveTimeoutMultiplier < 0) {
+      LOGGER.debug("Invalid adaptive timeout multiplier input. Adaptive timeouts are disabled.");
+      this.adaptiveTimeoutMultiplier = 0;
+    } else {
+      this.adaptiveTimeoutMultiplier = adaptiveTimeoutMultiplier;
+    }
+  }
+
+  long getMinAdaptiveTimeout() {
+    return minAdaptiveTimeout;
+  }
+
+  /**
+   * To be set via Spring/Blueprint
+   *
+   * @param minAdaptiveTimeout the lower bound in milliseconds of any adaptive source timeout
+   */
+  public void setMinAdaptiveTimeout(long minAdaptiveTimeout) {
+    this.minAdaptiveTimeout = DEFAULT_MIN_ADAPTIVE_TIMEOUT;
+
+    if (minAdaptiveTimeout > 0) {
+      this.minAdaptiveTimeout = minAdaptiveTimeout;
+    } else {
+      LOGGER.debug(
+          "Invalid minimum adaptive timeout input. Reset to default value: {}",
+          this.minAdaptiveTimeout);
+    }
+  }
+
   static class OffsetResultHandler implements Runnable {
 
     private QueryResponseImpl originalResults = null;
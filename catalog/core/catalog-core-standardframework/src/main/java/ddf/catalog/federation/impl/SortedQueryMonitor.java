@@ -62,6 +62,8 @@
 class SortedQueryMonitor implements Runnable {
   private static final Logger LOGGER = LoggerFactory.getLogger(SortedQueryMonitor.class);
 
+  private static final long NO_DEADLINE = -1;
+
   private final QueryRequest request;
 
   private final CompletionService<SourceResponse> completionService;
@@ -76,19 +78,41 @@ class SortedQueryMonitor implements Runnable {
 
   private final long deadline;
 
+  private final Map<String, Long> sourceDeadlines = new HashMap<>();
+
   public SortedQueryMonitor(
       CompletionService<SourceResponse> completionService,
       Map<Future<SourceResponse>, QueryRequest> futures,
       QueryResponseImpl returnResults,
       QueryRequest request,
       List<PostFederatedQueryPlugin> postQuery) {
+    this(completionService, futures, returnResults, request, postQuery, Collections.emptyMap());
+  }
+
+  /**
+   * @param sourceTimeouts soft timeouts in milliseconds keyed by source id. Once every source that
+   *     has not responded is past its soft timeout, the remaining sources are reported as timed out
+   *     without waiting for the query timeout. Sources without an entry are only bound by the query
+   *     timeout.
+   */
+  public SortedQueryMonitor(
+      CompletionService<SourceResponse> completionService,
+      Map<Future<SourceResponse>, QueryRequest> futures,
+      QueryResponseImpl returnResults,
+      QueryRequest request,
+      List<PostFederatedQueryPlugin> postQuery,
+      Map<String, Long> sourceTimeouts) {
     this.completionService = completionService;
     this.returnResults = returnResults;
     this.request = request;
     this.query = request.getQuery();
     this.futures = futures;
     this.postQuery = postQuery;
-    deadline = System.currentTimeMillis() + query.getTimeoutMillis();
+    long now = System.currentTimeMillis();
+    deadline = now + query.getTimeoutMillis();
+    if (sourceTimeouts != null) {
+      sourceTimeouts.forEach((sourceId, timeout) -> sourceDeadlines.put(sourceId, now + timeout));
+    }
   }
 
   @Override
@@ -141,7 +165,8 @@ public void run() {
       resultComparator.addComparator(coreComparator);
     }
 
-    List<Result> resultList = new ArrayList<>();
+    TopKResultMerger resultMerger = new TopKResultMerger(resultComparator, query.getPageSize());
+    long totalResults = 0;
     long totalHits = 0;
     Set<ProcessingDetails> detailsOfReturnResults = returnResults.getProcessingDetails();
 
@@ -154,10 +179,12 @@ public void run() {
       SourceResponse sourceResponse = null;
       try {
         Future<SourceResponse> future;
-        if (query.getTimeoutMillis() < 1) {
+        long effectiveDeadline = getEffectiveDeadline();
+        if (effectiveDeadline == NO_DEADLINE) {
           future = completionService.take();
         } else {
-          future = completionService.poll(getTimeRemaining(deadline), TimeUnit.MILLISECONDS);
+          future =
+              completionService.poll(getTimeRemaining(effectiveDeadline), TimeUnit.MILLISECONDS);
           if (future == null) {
             timeoutRemainingSources(detailsOfReturnResults);
             break;
@@ -178,7 +205,11 @@ public void run() {
               queryRequest, sourceId, new NullPointerException(), detailsOfReturnResults);
         } else {
           sourceResponse = executePostFederationQueryPlugins(sourceResponse, queryRequest);
-          resultList.addAll(sourceResponse.getResults());
+          List<Result> sourceResults = sourceResponse.getResults();
+          if (sourceResults != null) {
+            resultMerger.addAll(sourceResults);
+            totalResults += sourceResults.size();
+          }
           long hits = sourceResponse.getHits();
           totalHits += hits;
           hitsPerSource.merge(sourceId, hits, (l1, l2) -> l1 + l2);
@@ -216,21 +247,13 @@ public void run() {
       }
     }
     returnProperties.put("hitsPerSource", hitsPerSource);
-    LOGGER.debug("All sources finished returning results: {}", resultList.size());
+    LOGGER.debug(
+        "All sources finished returning results: {} received, {} retained",
+        totalResults,
+        resultMerger.size());
 
     returnResults.setHits(totalHits);
-    returnResults.addResults(sortedResults(resultList, resultComparator), true);
-  }
-
-  List<Result> sortedResults(List<Result> results, Comparator<? super Result> comparator) {
-    Collections.sort(results, comparator);
-
-    int maxResults = Integer.MAX_VALUE;
-    if (query.getPageSize() > 0) {
-      maxResults = query.getPageSize();
-    }
-
-    return results.size() > maxResults ? results.subList(0, maxResults) : results;
+    returnResults.addResults(resultMerger.drain(), true);
   }
 
   private static Comparable getAttributeValue(Result r, String attributeName) {
@@ -242,12 +265,52 @@ private static Comparable getAttributeValue(Result r, String attributeName) {
     return (a != null && a.getValue() instanceof Comparable) ? (Comparable) a.getValue() : null;
   }
 
+  /**
+   * Returns the time at which the monitor should stop waiting for the sources that have not yet
+   * responded. This is the latest soft deadline of those sources, capped by the query deadline, or
+   * {@link #NO_DEADLINE} if neither applies.
+   */
+  private long getEffectiveDeadline() {
+    long queryDeadline = query.getTimeoutMillis() < 1 ? NO_DEADLINE : deadline;
+    if (sourceDeadlines.isEmpty()) {
+      return queryDeadline;
+    }
+
+    long latestSourceDeadline = Long.MIN_VALUE;
+    for (QueryRequest pendingSource : futures.values()) {
+      Long sourceDeadline = sourceDeadlines.get(getSourceIdFromRequest(pendingSource));
+      if (sourceDeadline == null) {
+        return queryDeadline;
+      }
+      latestSourceDeadline = Math.max(latestSourceDeadline, sourceDeadline);
+    }
+
+    if (latestSourceDeadline == Long.MIN_VALUE) {
+      return queryDeadline;
+    }
+    return queryDeadline == NO_DEADLINE
+        ? latestSourceDeadline
+        : Math.min(queryDeadline, latestSourceDeadline);
+  }
+
   private void timeoutRemainingSources(Set<ProcessingDetails> processingDetails) {
+    boolean queryTimedOut =
+        query.getTimeoutMillis() >= 1 && System.currentTimeMillis() >= deadline;
     for (QueryRequest expiredSource : futures.values()) {
       if (expiredSource != null) {
         String sourceId = getSourceIdFromRequest(expiredSource);
-        LOGGER.info("Search timed out for {}", sourceId);
-        processingDetails.add(new ProcessingDetailsImpl(sourceId, new TimeoutException()));
+        if (!queryTimedOut && sourceDeadlines.containsKey(sourceId)) {
+          LOGGER.info("Search exceeded the adaptive timeout for {}", sourceId);
+          processingDetails.add(
+              new ProcessingDetailsImpl(
+                  sourceId,
+                  new TimeoutException(),
+                  "Source did not respond within its expected latency. "
+                      + "Results from this source are not included."));
+        } else {
+          LOGGER.info("Search timed out for {}", sourceId);
+          processingDetails.add(new ProcessingDetailsImpl(sourceId, new TimeoutException()));
+        }
       }
     }
   }
@@ -29,8 +29,10 @@ public Runnable createMonitor(
       final Map<Future<SourceResponse>, QueryRequest> futures,
       final QueryResponseImpl returnResults,
       final QueryRequest request,
-      List<PostFederatedQueryPlugin> postQuery) {
+      List<PostFederatedQueryPlugin> postQuery,
+      Map<String, Long> sourceTimeouts) {
 
-    return new SortedQueryMonitor(completionService, futures, returnResults, request, postQuery);
+    return new SortedQueryMonitor(
+        completionService, futures, returnResults, request, postQuery, sourceTimeouts);
   }
 }
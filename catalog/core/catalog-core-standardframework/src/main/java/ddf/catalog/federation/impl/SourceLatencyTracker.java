@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.federation.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Keeps a sliding window of recent query latencies for each federated source so that percentiles
+ * such as p50 and p99 can be used to derive per-source deadlines. Only the most recent {@code
+ * windowSize} samples are kept for each source.
+ *
+ * <p>This class is thread-safe.
+ */
+class SourceLatencyTracker {
+
+  static final int DEFAULT_WINDOW_SIZE = 200;
+
+  static final int DEFAULT_MIN_SAMPLES = 20;
+
+  private final int windowSize;
+
+  private final int minSamples;
+
+  private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+  SourceLatencyTracker() {
+    this(DEFAULT_WINDOW_SIZE, DEFAULT_MIN_SAMPLES);
+  }
+
+  SourceLatencyTracker(int windowSize, int minSamples) {
+    Validate.isTrue(windowSize > 0, "Window size must be greater than 0.");
+    Validate.isTrue(
+        minSamples > 0 && minSamples <= windowSize,
+        "Minimum samples must be between 1 and the window size.");
+    this.windowSize = windowSize;
+    this.minSamples = minSamples;
+  }
+
+  void record(String sourceId, long latencyMillis) {
+    if (sourceId == null || latencyMillis < 0) {
+      return;
+    }
+    windows.computeIfAbsent(sourceId, id -> new LatencyWindow(windowSize)).add(latencyMillis);
+  }
+
+  /**
+   * Returns the latency at the given percentile for a source.
+   *
+   * @param sourceId the id of the source
+   * @param percentile a value in the range {@code (0, 100]}
+   * @return the latency in milliseconds, or empty if fewer than the minimum number of samples have
+   *     been recorded for the source
+   */
+  OptionalLong getPercentile(String sourceId, double percentile) {
+    Validate.isTrue(
+        percentile > 0 && percentile <= 100, "Percentile must be in the range (0, 100].");
+
+    LatencyWindow window = sourceId == null ? null : windows.get(sourceId);
+    if (window == null) {
+      return OptionalLong.empty();
+    }
+
+    long[] samples = window.snapshot();
+    if (samples.length < minSamples) {
+      return OptionalLong.empty();
+    }
+
+    Arrays.sort(samples);
+    int index = (int) Math.ceil(percentile / 100 * samples.length) - 1;
+    return OptionalLong.of(samples[Math.max(index, 0)]);
+  }
+
+  private static class LatencyWindow {
+
+    private final long[] samples;
+
+    private int next = 0;
+
+    private int count = 0;
+
+    LatencyWindow(int size) {
+      samples = new long[size];
+    }
+
+    synchronized void add(long latency) {
+      samples[next] = latency;
+      next = (next + 1) % samples.length;
+      count = Math.min(count + 1, samples.length);
+    }
+
+    synchronized long[] snapshot() {
+      return Arrays.copyOf(samples, count);
+    }
+  }
+}
@@ -36,8 +36,15 @@ public class TimedSource implements Source {
 
   private final Source source;
 
+  private final SourceLatencyTracker latencyTracker;
+
   public TimedSource(Source originalSource) {
+    this(originalSource, null);
+  }
+
+  TimedSource(Source originalSource, SourceLatencyTracker latencyTracker) {
     source = originalSource;
+    this.latencyTracker = latencyTracker;
   }
 
   @Override
@@ -62,6 +69,10 @@ public SourceResponse query(QueryRequest request) throws UnsupportedQueryExcepti
     result.getProperties().put(sourceLatencyMetricKey, elapsedTime);
     LOGGER.trace("Query latency for source [{}] was {}ms.", source.getId(), elapsedTime);
 
+    if (latencyTracker != null) {
+      latencyTracker.record(source.getId(), elapsedTime);
+    }
+
     return result;
   }
 
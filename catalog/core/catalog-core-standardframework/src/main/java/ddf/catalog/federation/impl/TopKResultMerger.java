@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.federation.impl;
+
+import ddf.catalog.data.Result;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the result lists returned by federated sources into a single sorted page without
+ * collecting every result first. When a maximum number of results is given, only that many
+ * entries are retained in a bounded heap whose head is the current worst entry, so merging {@code
+ * n} results costs {@code O(n log k)} time and {@code O(k)} memory instead of sorting all {@code
+ * n}. Results that compare as equal keep the order in which they were added, matching the stable
+ * ordering of {@link Collections#sort(List, Comparator)}.
+ *
+ * <p>This class is not thread-safe.
+ */
+class TopKResultMerger {
+
+  private final Comparator<? super Result> comparator;
+
+  private final int maxResults;
+
+  private final PriorityQueue<RankedResult> heap;
+
+  private long sequence = 0;
+
+  /**
+   * @param comparator the {@link Comparator} used to order the merged results
+   * @param maxResults the maximum number of results to retain, or a value less than 1 to retain
+   *     all results
+   */
+  TopKResultMerger(Comparator<? super Result> comparator, int maxResults) {
+    this.comparator = comparator;
+    this.maxResults = maxResults > 0 ? maxResults : Integer.MAX_VALUE;
+
+    Comparator<RankedResult> ranking = this::compare;
+    this.heap = new PriorityQueue<>(ranking.reversed());
+  }
+
+  void addAll(Collection<? extends Result> results) {
+    if (results == null) {
+      return;
+    }
+
+    for (Result result : results) {
+      add(result);
+    }
+  }
+
+  void add(Result result) {
+    RankedResult candidate = new RankedResult(result, sequence++);
+    if (heap.size() < maxResults) {
+      heap.offer(candidate);
+    } else if (compare(candidate, heap.peek()) < 0) {
+      heap.poll();
+      heap.offer(candidate);
+    }
+  }
+
+  int size() {
+    return heap.size();
+  }
+
+  /**
+   * Drains the merger and returns the retained results in sorted order.
+   *
+   * @return the sorted results, never {@code null}
+   */
+  List<Result> drain() {
+    List<Result> sorted = new ArrayList<>(heap.size());
+    while (!heap.isEmpty()) {
+      sorted.add(heap.poll().result);
+    }
+    Collections.reverse(sorted);
+    return sorted;
+  }
+
+  private int compare(RankedResult first, RankedResult second) {
+    int result = comparator.compare(first.result, second.result);
+    return result != 0 ? result : Long.compare(first.sequence, second.sequence);
+  }
+
+  private static class RankedResult {
+
+    private final Result result;
+
+    private final long sequence;
+
+    RankedResult(Result result, long sequence) {
+      this.result = result;
+      this.sequence = sequence;
+    }
+  }
+}
@@ -34,18 +34,14 @@
 import ddf.catalog.data.AttributeDescriptor;
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.MetacardType;
-import ddf.catalog.data.Result;
 import ddf.catalog.data.impl.AttributeImpl;
 import ddf.catalog.filter.FilterBuilder;
 import ddf.catalog.operation.CreateResponse;
 import ddf.catalog.operation.DeleteResponse;
 import ddf.catalog.operation.Operation;
-import ddf.catalog.operation.SourceResponse;
 import ddf.catalog.operation.Update;
 import ddf.catalog.operation.UpdateResponse;
 import ddf.catalog.operation.impl.CreateRequestImpl;
-import ddf.catalog.operation.impl.QueryImpl;
-import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.source.CatalogProvider;
 import ddf.catalog.source.IngestException;
 import ddf.catalog.source.SourceUnavailableException;
@@ -69,7 +65,6 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
@@ -79,7 +74,6 @@
 import org.codice.ddf.log.sanitizer.LogSanitizer;
 import org.codice.ddf.platform.util.uuidgenerator.UuidGenerator;
 import org.codice.ddf.security.Security;
-import org.opengis.filter.Filter;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
@@ -484,22 +478,6 @@ public void setSkipFlag(@Nullable Operation op) {
         .ifPresent(p -> p.put(SKIP_VERSIONING, true));
   }
 
-  private Map<String, Metacard> query(Filter filter) throws UnsupportedQueryException {
-    SourceResponse response =
-        catalogProvider()
-            .query(
-                new QueryRequestImpl(
-                    new QueryImpl(filter, 1, 250, null, false, TimeUnit.SECONDS.toMillis(10))));
-
-    return response
-        .getResults()
-        .stream()
-        .map(Result::getMetacard)
-        .filter(Objects::nonNull)
-        .collect(
-            Collectors.toMap(Metacard::getId, Function.identity(), Historian::firstInWinsMerge));
-  }
-
   /*
    * Assumptions: The ContentItem's <code>getId</code> method returns an ID that corresponds
    * to the metacards ID.
@@ -773,6 +751,10 @@ public void setSecurity(Security security) {
     this.security = security;
   }
 
+  /**
+   * Hands out the stored content's own stream so the storage provider can recognize content it
+   * already holds and share it with the version rather than writing another copy.
+   */
   private static class WrappedByteSource extends ByteSource {
     private ContentItem contentItem;
 
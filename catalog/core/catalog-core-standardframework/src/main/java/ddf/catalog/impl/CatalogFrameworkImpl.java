@@ -23,6 +23,7 @@
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.federation.FederationStrategy;
+import ddf.catalog.impl.metrics.StageMetrics;
 import ddf.catalog.impl.operations.CreateOperations;
 import ddf.catalog.impl.operations.DeleteOperations;
 import ddf.catalog.impl.operations.QueryOperations;
@@ -89,6 +90,8 @@ public class CatalogFrameworkImpl extends DescribableImpl implements CatalogFram
 
   private Masker masker;
 
+  private StageMetrics stageMetrics = StageMetrics.NO_OP;
+
   private CreateOperations createOperations;
 
   private UpdateOperations updateOperations;
@@ -173,6 +176,10 @@ public void setFanoutTagBlacklist(List<String> fanoutTagBlacklist) {
     this.fanoutTagBlacklist = fanoutTagBlacklist;
   }
 
+  public void setStageMetrics(StageMetrics stageMetrics) {
+    this.stageMetrics = stageMetrics;
+  }
+
   /**
    * Sets the {@link Masker}
    *
@@ -234,7 +241,12 @@ public CreateResponse create(CreateStorageRequest createRequest)
       blacklist = new ArrayList<>(fanoutTagBlacklist);
     }
 
-    return createOperations.create(createRequest, blacklist);
+    long start = System.nanoTime();
+    try {
+      return createOperations.create(createRequest, blacklist);
+    } finally {
+      stageMetrics.record("create", System.nanoTime() - start);
+    }
   }
 
   @Override
@@ -244,7 +256,12 @@ public CreateResponse create(CreateRequest createRequest)
       throw new IngestException(FANOUT_MESSAGE);
     }
 
-    return createOperations.create(createRequest);
+    long start = System.nanoTime();
+    try {
+      return createOperations.create(createRequest);
+    } finally {
+      stageMetrics.record("create", System.nanoTime() - start);
+    }
   }
 
   @Override
@@ -254,7 +271,12 @@ public UpdateResponse update(UpdateStorageRequest updateRequest)
       throw new IngestException(FANOUT_MESSAGE);
     }
 
-    return updateOperations.update(updateRequest);
+    long start = System.nanoTime();
+    try {
+      return updateOperations.update(updateRequest);
+    } finally {
+      stageMetrics.record("update", System.nanoTime() - start);
+    }
   }
 
   @Override
@@ -264,7 +286,12 @@ public UpdateResponse update(UpdateRequest updateRequest)
       throw new IngestException(FANOUT_MESSAGE);
     }
 
-    return updateOperations.update(updateRequest);
+    long start = System.nanoTime();
+    try {
+      return updateOperations.update(updateRequest);
+    } finally {
+      stageMetrics.record("update", System.nanoTime() - start);
+    }
   }
 
   @Override
@@ -276,19 +303,34 @@ public DeleteResponse delete(DeleteRequest deleteRequest)
     if (fanoutEnabled) {
       blacklist = new ArrayList<>(fanoutTagBlacklist);
     }
-    return deleteOperations.delete(deleteRequest, blacklist);
+    long start = System.nanoTime();
+    try {
+      return deleteOperations.delete(deleteRequest, blacklist);
+    } finally {
+      stageMetrics.record("delete", System.nanoTime() - start);
+    }
   }
 
   @Override
   public QueryResponse query(QueryRequest fedQueryRequest)
       throws UnsupportedQueryException, SourceUnavailableException, FederationException {
-    return queryOperations.query(fedQueryRequest, fanoutEnabled);
+    long start = System.nanoTime();
+    try {
+      return queryOperations.query(fedQueryRequest, fanoutEnabled);
+    } finally {
+      stageMetrics.record("query", System.nanoTime() - start);
+    }
   }
 
   @Override
   public QueryResponse query(QueryRequest queryRequest, FederationStrategy strategy)
       throws SourceUnavailableException, UnsupportedQueryException, FederationException {
-    return queryOperations.query(queryRequest, strategy, fanoutEnabled);
+    long start = System.nanoTime();
+    try {
+      return queryOperations.query(queryRequest, strategy, fanoutEnabled);
+    } finally {
+      stageMetrics.record("query", System.nanoTime() - start);
+    }
   }
 
   @Override
@@ -23,6 +23,7 @@
 import ddf.catalog.event.retrievestatus.DownloadsStatusEventPublisher;
 import ddf.catalog.federation.FederationStrategy;
 import ddf.catalog.filter.FilterBuilder;
+import ddf.catalog.impl.metrics.StageMetrics;
 import ddf.catalog.plugin.AccessPlugin;
 import ddf.catalog.plugin.PolicyPlugin;
 import ddf.catalog.plugin.PostIngestPlugin;
@@ -116,6 +117,8 @@ public class FrameworkProperties {
 
   private List<DownloadManager> downloadManagers = new ArrayList<>();
 
+  private StageMetrics stageMetrics = StageMetrics.NO_OP;
+
   public List<CatalogProvider> getCatalogProviders() {
     return catalogProviders;
   }
@@ -375,4 +378,12 @@ public List<DownloadManager> getDownloadManagers() {
   public void setDownloadManagers(List<DownloadManager> downloadManagers) {
     this.downloadManagers = downloadManagers;
   }
+
+  public StageMetrics getStageMetrics() {
+    return stageMetrics;
+  }
+
+  public void setStageMetrics(StageMetrics stageMetrics) {
+    this.stageMetrics = stageMetrics;
+  }
 }
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.impl.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link StageMetrics} that keeps a {@link StageLatency} histogram for each stage and publishes it
+ * as an MBean in the {@value #DOMAIN} domain, where the metrics endpoint and any JMX client can
+ * read it.
+ */
+public class JmxStageMetrics implements StageMetrics {
+
+  public static final String DOMAIN = "ddf.metrics.catalog.latency";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JmxStageMetrics.class);
+
+  private final Map<String, StageLatency> stages = new ConcurrentHashMap<>();
+
+  private final MBeanServer mBeanServer;
+
+  public JmxStageMetrics() {
+    this(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  JmxStageMetrics(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+  }
+
+  @Override
+  public void record(String stage, long durationNanos) {
+    StageLatency latency = stages.get(stage);
+    if (latency == null) {
+      latency = stages.computeIfAbsent(stage, this::register);
+    }
+    latency.record(durationNanos);
+  }
+
+  /** Unregisters the MBeans of every stage. */
+  public void destroy() {
+    for (String stage : stages.keySet()) {
+      try {
+        ObjectName objectName = objectName(stage);
+        if (mBeanServer.isRegistered(objectName)) {
+          mBeanServer.unregisterMBean(objectName);
+        }
+      } catch (JMException e) {
+        LOGGER.debug("Unable to unregister latency MBean for stage {}", stage, e);
+      }
+    }
+    stages.clear();
+  }
+
+  StageLatency getStageLatency(String stage) {
+    return stages.get(stage);
+  }
+
+  private StageLatency register(String stage) {
+    StageLatency latency = new StageLatency();
+    try {
+      ObjectName objectName = objectName(stage);
+      if (mBeanServer.isRegistered(objectName)) {
+        mBeanServer.unregisterMBean(objectName);
+      }
+      mBeanServer.registerMBean(latency, objectName);
+      LOGGER.debug("Registered latency MBean for stage {}", stage);
+    } catch (JMException e) {
+      LOGGER.debug("Unable to register latency MBean for stage {}", stage, e);
+    }
+    return latency;
+  }
+
+  static ObjectName objectName(String stage) throws MalformedObjectNameException {
+    return new ObjectName(DOMAIN, "stage", ObjectName.quote(stage));
+  }
+}
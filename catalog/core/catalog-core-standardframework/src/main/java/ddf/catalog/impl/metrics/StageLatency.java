@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.impl.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of the latencies of a single stage. Values are counted in log-linear buckets, the same
+ * layout HdrHistogram uses: each power of two is split into 16 linear sub-buckets. Recording is a
+ * few uncontended atomic increments and reported percentiles are within about 6% of the real
+ * value.
+ */
+public class StageLatency implements StageLatencyMBean {
+
+  private static final int SUB_BUCKET_BITS = 4;
+
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+  static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder total = new LongAdder();
+
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records one execution of the stage.
+   *
+   * @param durationNanos time the stage took, in nanoseconds
+   */
+  public void record(long durationNanos) {
+    long value = Math.max(durationNanos, 0);
+    buckets.incrementAndGet(bucketIndex(value));
+    count.increment();
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public double getMean() {
+    long n = count.sum();
+    return n == 0 ? 0 : total.sum() / (n * NANOS_PER_MILLI);
+  }
+
+  @Override
+  public double getMax() {
+    return max.get() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double get50thPercentile() {
+    return percentile(0.5) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double get90thPercentile() {
+    return percentile(0.9) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double get99thPercentile() {
+    return percentile(0.99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double get999thPercentile() {
+    return percentile(0.999) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets.set(i, 0);
+    }
+    count.reset();
+    total.reset();
+    max.reset();
+  }
+
+  /**
+   * Returns the highest value that is in the same bucket as the value at {@code quantile}, in
+   * nanoseconds.
+   */
+  long percentile(double quantile) {
+    long[] counts = new long[BUCKET_COUNT];
+    long n = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = buckets.get(i);
+      n += counts[i];
+    }
+    if (n == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(quantile * n));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(bucketUpperBound(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+  }
+
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    if (index == BUCKET_COUNT - 1) {
+      return Long.MAX_VALUE;
+    }
+    int shift = (index >> SUB_BUCKET_BITS) - 1;
+    long lowerBound = (long) (SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK)) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.impl.metrics;
+
+/**
+ * Receives the time taken by each stage of a catalog operation, such as the operation as a whole,
+ * a single plugin or the federated query. Stage names are dot-separated and start with the
+ * operation, e.g. {@code query.prequery.ddf.catalog.metrics.CatalogMetrics}.
+ *
+ * <p>Implementations are called on the request threads and must be thread-safe and cheap.
+ */
+public interface StageMetrics {
+
+  /** Discards every measurement. */
+  StageMetrics NO_OP = (stage, durationNanos) -> {};
+
+  /**
+   * Records one execution of a stage.
+   *
+   * @param stage name of the stage
+   * @param durationNanos time the stage took, in nanoseconds
+   */
+  void record(String stage, long durationNanos);
+
+  /** Returns the name of the stage that runs {@code plugin} within {@code chain}. */
+  static String pluginStage(String chain, Object plugin) {
+    return chain + "." + plugin.getClass().getName();
+  }
+}
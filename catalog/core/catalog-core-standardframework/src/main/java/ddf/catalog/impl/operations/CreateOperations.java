@@ -27,6 +27,7 @@
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.impl.AttributeImpl;
 import ddf.catalog.impl.FrameworkProperties;
+import ddf.catalog.impl.metrics.StageMetrics;
 import ddf.catalog.operation.CreateRequest;
 import ddf.catalog.operation.CreateResponse;
 import ddf.catalog.operation.OperationTransaction;
@@ -152,9 +153,13 @@ public CreateResponse create(
 
     INGEST_LOGGER.info("Started ingesting resources with titles: {}.", fileNames);
 
-    // Operation populates the metacardMap, contentItems, and tmpContentPaths
+    // Operation populates the metacardMap, contentItems, tmpContentPaths and content checksums
     opsMetacardSupport.generateMetacardAndContentItems(
-        streamCreateRequest.getContentItems(), metacardMap, contentItems, tmpContentPaths);
+        streamCreateRequest.getContentItems(),
+        metacardMap,
+        contentItems,
+        tmpContentPaths,
+        streamCreateRequest.getProperties());
 
     if (blockCreateMetacards(metacardMap.values(), fanoutTagBlacklist)) {
       String message =
@@ -176,12 +181,15 @@ public CreateResponse create(
                 contentItems, streamCreateRequest.getId(), streamCreateRequest.getProperties());
         createStorageRequest = processPreCreateStoragePlugins(createStorageRequest);
 
+        long start = System.nanoTime();
         try {
           createStorageResponse = sourceOperations.getStorage().create(createStorageRequest);
           createStorageResponse.getProperties().put(CONTENT_PATHS, tmpContentPaths);
         } catch (StorageException e) {
           INGEST_LOGGER.debug("Could not store content items: {}.", fileNames, e);
           throw new IngestException("Could not store content items.", e);
+        } finally {
+          frameworkProperties.getStageMetrics().record("create.storage", System.nanoTime() - start);
         }
 
         createStorageResponse = processPostCreateStoragePlugins(createStorageResponse);
@@ -492,11 +500,16 @@ private CreateResponse validateFixCreateResponse(
   }
 
   private CreateResponse processPostIngestPlugins(CreateResponse createResponse) {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (final PostIngestPlugin plugin : frameworkProperties.getPostIngest()) {
+      long start = System.nanoTime();
       try {
         createResponse = plugin.process(createResponse);
       } catch (PluginExecutionException e) {
         LOGGER.info("Plugin processing failed. This is allowable. Skipping to next plugin.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("create.postingest", plugin), System.nanoTime() - start);
       }
     }
     return createResponse;
@@ -525,16 +538,26 @@ private CreateResponse getCreateResponse(CreateRequest createRequest) throws Ing
       return null;
     }
 
-    return sourceOperations.getCatalog().create(createRequest);
+    long start = System.nanoTime();
+    try {
+      return sourceOperations.getCatalog().create(createRequest);
+    } finally {
+      frameworkProperties.getStageMetrics().record("create.provider", System.nanoTime() - start);
+    }
   }
 
   private CreateRequest processPreIngestPlugins(CreateRequest createRequest)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreIngestPlugin plugin : frameworkProperties.getPreIngest()) {
+      long start = System.nanoTime();
       try {
         createRequest = plugin.process(createRequest);
       } catch (PluginExecutionException e) {
         LOGGER.info("Plugin processing failed. This is allowable. Skipping to next plugin.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("create.preingest", plugin), System.nanoTime() - start);
       }
     }
     return createRequest;
@@ -542,22 +565,37 @@ private CreateRequest processPreIngestPlugins(CreateRequest createRequest)
 
   private CreateRequest processPrecreateAccessPlugins(CreateRequest createRequest)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (AccessPlugin plugin : frameworkProperties.getAccessPlugins()) {
-      createRequest = plugin.processPreCreate(createRequest);
+      long start = System.nanoTime();
+      try {
+        createRequest = plugin.processPreCreate(createRequest);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("create.preaccess", plugin), System.nanoTime() - start);
+      }
     }
     return createRequest;
   }
 
   private CreateRequest processPreAuthorizationPlugins(CreateRequest createRequest)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreAuthorizationPlugin plugin : frameworkProperties.getPreAuthorizationPlugins()) {
-      createRequest = plugin.processPreCreate(createRequest);
+      long start = System.nanoTime();
+      try {
+        createRequest = plugin.processPreCreate(createRequest);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("create.preauthorization", plugin), System.nanoTime() - start);
+      }
     }
     return createRequest;
   }
 
   private CreateRequest updateCreateRequestPolicyMap(CreateRequest createRequest)
       throws StopProcessingException {
+    long start = System.nanoTime();
     Map<String, Serializable> unmodifiablePropertiesMap =
         Collections.unmodifiableMap(createRequest.getProperties());
     HashMap<String, Set<String>> requestPolicyMap = new HashMap<>();
@@ -574,6 +612,7 @@ private CreateRequest updateCreateRequestPolicyMap(CreateRequest createRequest)
       metacard.setAttribute(new AttributeImpl(Metacard.SECURITY, itemPolicyMap));
     }
     createRequest.getProperties().put(PolicyPlugin.OPERATION_SECURITY, requestPolicyMap);
+    frameworkProperties.getStageMetrics().record("create.prepolicy", System.nanoTime() - start);
 
     return createRequest;
   }
@@ -622,11 +661,17 @@ private void populateMetacardMap(
 
   private CreateStorageResponse processPostCreateStoragePlugins(
       CreateStorageResponse createStorageResponse) {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (final PostCreateStoragePlugin plugin : frameworkProperties.getPostCreateStoragePlugins()) {
+      long start = System.nanoTime();
       try {
         createStorageResponse = plugin.process(createStorageResponse);
       } catch (PluginExecutionException e) {
         LOGGER.debug("Plugin processing failed. This is allowable. Skipping to next plugin.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("create.postcreatestorage", plugin),
+            System.nanoTime() - start);
       }
     }
     return createStorageResponse;
@@ -634,11 +679,16 @@ private CreateStorageResponse processPostCreateStoragePlugins(
 
   private CreateStorageRequest processPreCreateStoragePlugins(
       CreateStorageRequest createStorageRequest) {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (final PreCreateStoragePlugin plugin : frameworkProperties.getPreCreateStoragePlugins()) {
+      long start = System.nanoTime();
       try {
         createStorageRequest = plugin.process(createStorageRequest);
       } catch (PluginExecutionException e) {
         LOGGER.debug("Plugin processing failed. This is allowable. Skipping to next plugin.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("create.precreatestorage", plugin), System.nanoTime() - start);
       }
     }
     return createStorageRequest;
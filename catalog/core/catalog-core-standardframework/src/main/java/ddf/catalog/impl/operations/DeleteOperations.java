@@ -25,6 +25,7 @@
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.history.Historian;
 import ddf.catalog.impl.FrameworkProperties;
+import ddf.catalog.impl.metrics.StageMetrics;
 import ddf.catalog.operation.DeleteRequest;
 import ddf.catalog.operation.DeleteResponse;
 import ddf.catalog.operation.Operation;
@@ -250,11 +251,16 @@ private String buildDeleteLog(DeleteResponse deleteResponse) {
   }
 
   private DeleteResponse processPostIngestPlugins(DeleteResponse deleteResponse) {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (final PostIngestPlugin plugin : frameworkProperties.getPostIngest()) {
+      long start = System.nanoTime();
       try {
         deleteResponse = plugin.process(deleteResponse);
       } catch (PluginExecutionException e) {
         LOGGER.info("Plugin exception", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("delete.postingest", plugin), System.nanoTime() - start);
       }
     }
     return deleteResponse;
@@ -262,14 +268,22 @@ private DeleteResponse processPostIngestPlugins(DeleteResponse deleteResponse) {
 
   private DeleteResponse processPostDeleteAccessPlugins(DeleteResponse deleteResponse)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (AccessPlugin plugin : frameworkProperties.getAccessPlugins()) {
-      deleteResponse = plugin.processPostDelete(deleteResponse);
+      long start = System.nanoTime();
+      try {
+        deleteResponse = plugin.processPostDelete(deleteResponse);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("delete.postaccess", plugin), System.nanoTime() - start);
+      }
     }
     return deleteResponse;
   }
 
   private DeleteRequest populateDeleteRequestPolicyMap(
       DeleteRequest deleteRequest, DeleteResponse deleteResponse) throws StopProcessingException {
+    long start = System.nanoTime();
     HashMap<String, Set<String>> responsePolicyMap = new HashMap<>();
     Map<String, Serializable> unmodifiableProperties =
         Collections.unmodifiableMap(deleteRequest.getProperties());
@@ -287,6 +301,7 @@ private DeleteRequest populateDeleteRequestPolicyMap(
       }
     }
     deleteRequest.getProperties().put(PolicyPlugin.OPERATION_SECURITY, responsePolicyMap);
+    frameworkProperties.getStageMetrics().record("delete.postpolicy", System.nanoTime() - start);
 
     return deleteRequest;
   }
@@ -298,14 +313,24 @@ private DeleteResponse performLocalDelete(
       return null;
     }
 
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
+    long start = System.nanoTime();
     try {
       sourceOperations.getStorage().delete(deleteStorageRequest);
     } catch (StorageException e) {
       LOGGER.info("Unable to delete stored content items. Not removing stored metacards", e);
       throw new InternalIngestException(
           "Unable to delete stored content items. Not removing stored metacards.", e);
+    } finally {
+      stageMetrics.record("delete.storage", System.nanoTime() - start);
+    }
+    DeleteResponse deleteResponse;
+    start = System.nanoTime();
+    try {
+      deleteResponse = sourceOperations.getCatalog().delete(deleteRequest);
+    } finally {
+      stageMetrics.record("delete.provider", System.nanoTime() - start);
     }
-    DeleteResponse deleteResponse = sourceOperations.getCatalog().delete(deleteRequest);
     deleteResponse = injectAttributes(deleteResponse);
     try {
       historian.version(deleteResponse);
@@ -363,11 +388,16 @@ private boolean foundAllDeleteRequestMetacards(
 
   private DeleteRequest processPreIngestPlugins(DeleteRequest deleteRequest)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreIngestPlugin plugin : frameworkProperties.getPreIngest()) {
+      long start = System.nanoTime();
       try {
         deleteRequest = plugin.process(deleteRequest);
       } catch (PluginExecutionException e) {
         LOGGER.info("Plugin processing failed. This is allowable. Skipping to next plugin.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("delete.preingest", plugin), System.nanoTime() - start);
       }
     }
     return deleteRequest;
@@ -375,8 +405,15 @@ private DeleteRequest processPreIngestPlugins(DeleteRequest deleteRequest)
 
   private DeleteRequest processPreDeleteAccessPlugins(DeleteRequest deleteRequest)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (AccessPlugin plugin : frameworkProperties.getAccessPlugins()) {
-      deleteRequest = plugin.processPreDelete(deleteRequest);
+      long start = System.nanoTime();
+      try {
+        deleteRequest = plugin.processPreDelete(deleteRequest);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("delete.preaccess", plugin), System.nanoTime() - start);
+      }
     }
     return deleteRequest;
   }
@@ -387,11 +424,18 @@ private DeleteRequest processPreDeletePolicyPlugins(DeleteRequest deleteRequest)
     Map<String, Serializable> unmodifiableProperties =
         Collections.unmodifiableMap(deleteRequest.getProperties());
 
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     HashMap<String, Set<String>> requestPolicyMap = new HashMap<>();
     for (PolicyPlugin plugin : frameworkProperties.getPolicyPlugins()) {
-      PolicyResponse policyResponse = plugin.processPreDelete(metacards, unmodifiableProperties);
-      opsSecuritySupport.buildPolicyMap(
-          requestPolicyMap, policyResponse.operationPolicy().entrySet());
+      long start = System.nanoTime();
+      try {
+        PolicyResponse policyResponse = plugin.processPreDelete(metacards, unmodifiableProperties);
+        opsSecuritySupport.buildPolicyMap(
+            requestPolicyMap, policyResponse.operationPolicy().entrySet());
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("delete.prepolicy", plugin), System.nanoTime() - start);
+      }
     }
     deleteRequest.getProperties().put(PolicyPlugin.OPERATION_SECURITY, requestPolicyMap);
 
@@ -436,16 +480,31 @@ private DeleteRequest populateMetacards(
 
   private DeleteRequest preProcessPreAuthorizationPlugins(DeleteRequest deleteRequest)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreAuthorizationPlugin plugin : frameworkProperties.getPreAuthorizationPlugins()) {
-      deleteRequest = plugin.processPreDelete(deleteRequest);
+      long start = System.nanoTime();
+      try {
+        deleteRequest = plugin.processPreDelete(deleteRequest);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("delete.preauthorization", plugin), System.nanoTime() - start);
+      }
     }
     return deleteRequest;
   }
 
   private DeleteResponse postProcessPreAuthorizationPlugins(DeleteResponse deleteResponse)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreAuthorizationPlugin plugin : frameworkProperties.getPreAuthorizationPlugins()) {
-      deleteResponse = plugin.processPostDelete(deleteResponse);
+      long start = System.nanoTime();
+      try {
+        deleteResponse = plugin.processPostDelete(deleteResponse);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("delete.postauthorization", plugin),
+            System.nanoTime() - start);
+      }
     }
     return deleteResponse;
   }
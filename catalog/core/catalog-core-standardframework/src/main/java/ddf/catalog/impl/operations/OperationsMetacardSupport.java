@@ -13,6 +13,9 @@
  */
 package ddf.catalog.impl.operations;
 
+import static ddf.catalog.Constants.CONTENT_CHECKSUMS;
+import static ddf.catalog.Constants.CONTENT_CHECKSUM_ALGORITHM;
+
 import ddf.catalog.content.data.ContentItem;
 import ddf.catalog.content.data.impl.ContentItemImpl;
 import ddf.catalog.data.Attribute;
@@ -29,21 +32,30 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.TeeInputStream;
+import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang.StringUtils;
 import org.apache.tika.detect.DefaultProbDetector;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
+import org.codice.ddf.checksum.ChecksumProvider;
 import org.codice.ddf.platform.util.InputValidation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,12 +77,18 @@ public class OperationsMetacardSupport {
 
   private final MetacardFactory metacardFactory;
 
+  private List<ChecksumProvider> checksumProviders = Collections.emptyList();
+
   public OperationsMetacardSupport(
       FrameworkProperties frameworkProperties, MetacardFactory metacardFactory) {
     this.frameworkProperties = frameworkProperties;
     this.metacardFactory = metacardFactory;
   }
 
+  public void setChecksumProviders(List<ChecksumProvider> checksumProviders) {
+    this.checksumProviders = checksumProviders;
+  }
+
   /**
    * Processes input metacard, injecting attributes as defined by the {@code injectors}.
    *
@@ -92,11 +110,37 @@ void generateMetacardAndContentItems(
       List<ContentItem> contentItems,
       Map<String, Map<String, Path>> tmpContentPaths)
       throws IngestException {
+    generateMetacardAndContentItems(
+        incomingContentItems, metacardMap, contentItems, tmpContentPaths, new HashMap<>());
+  }
+
+  /**
+   * Copies the incoming content to temporary files and generates the metacards and content items
+   * for them. When a {@link ChecksumProvider} is available, the checksum of each original content
+   * item is calculated from the same read that copies it, and the checksums are added to the
+   * request properties under {@link ddf.catalog.Constants#CONTENT_CHECKSUMS} so that they do not
+   * have to be calculated from the temporary file again. Checksums supplied by the caller are
+   * removed, since they do not come from the content.
+   */
+  void generateMetacardAndContentItems(
+      List<ContentItem> incomingContentItems,
+      Map<String, Metacard> metacardMap,
+      List<ContentItem> contentItems,
+      Map<String, Map<String, Path>> tmpContentPaths,
+      Map<String, Serializable> requestProperties)
+      throws IngestException {
+    requestProperties.remove(CONTENT_CHECKSUMS);
+    requestProperties.remove(CONTENT_CHECKSUM_ALGORITHM);
+
+    ChecksumProvider checksumProvider = checksumProviders.stream().findFirst().orElse(null);
+    HashMap<String, String> contentChecksums = new HashMap<>();
+
     for (ContentItem contentItem : incomingContentItems) {
       try {
         Path tmpPath = null;
         String fileName;
         long size;
+        String checksum = null;
         try (InputStream inputStream = contentItem.getInputStream()) {
           fileName = contentItem.getFilename();
           if (inputStream == null) {
@@ -113,7 +157,11 @@ void generateMetacardAndContentItems(
               Files.createTempFile(
                   FilenameUtils.getBaseName(sanitizedFilename),
                   FilenameUtils.getExtension(sanitizedFilename));
-          Files.copy(inputStream, tmpPath, StandardCopyOption.REPLACE_EXISTING);
+          if (checksumProvider != null && StringUtils.isEmpty(contentItem.getQualifier())) {
+            checksum = copyAndChecksum(inputStream, tmpPath, checksumProvider);
+          } else {
+            Files.copy(inputStream, tmpPath, StandardCopyOption.REPLACE_EXISTING);
+          }
           size = Files.size(tmpPath);
 
           final String key = contentItem.getId();
@@ -157,6 +205,10 @@ void generateMetacardAndContentItems(
         }
         metacardMap.put(metacard.getId(), metacard);
 
+        if (checksum != null) {
+          contentChecksums.put(metacard.getId(), checksum);
+        }
+
         ContentItem generatedContentItem =
             new ContentItemImpl(
                 metacard.getId(),
@@ -177,6 +229,32 @@ void generateMetacardAndContentItems(
         throw new IngestException("Could not create metacard.", e);
       }
     }
+
+    if (!contentChecksums.isEmpty()) {
+      requestProperties.put(CONTENT_CHECKSUMS, contentChecksums);
+      requestProperties.put(CONTENT_CHECKSUM_ALGORITHM, checksumProvider.getChecksumAlgorithm());
+    }
+  }
+
+  /**
+   * Copies the content to the temporary file while the checksum provider reads it, so that the
+   * content is only read once. Returns {@code null} if the checksum could not be calculated.
+   */
+  private String copyAndChecksum(
+      InputStream inputStream, Path tmpPath, ChecksumProvider checksumProvider)
+      throws IOException {
+    String checksum = null;
+    try (OutputStream outputStream = Files.newOutputStream(tmpPath)) {
+      InputStream teeInputStream = new TeeInputStream(inputStream, outputStream);
+      try {
+        checksum = checksumProvider.calculateChecksum(new CloseShieldInputStream(teeInputStream));
+      } catch (NoSuchAlgorithmException e) {
+        LOGGER.debug("Unable to calculate checksum while copying content.", e);
+      }
+      // Copy whatever the checksum provider did not read
+      IOUtils.copyLarge(teeInputStream, NullOutputStream.NULL_OUTPUT_STREAM);
+    }
+    return checksum;
   }
 
   /**
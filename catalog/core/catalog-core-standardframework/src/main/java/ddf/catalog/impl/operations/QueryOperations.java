@@ -29,6 +29,7 @@
 import ddf.catalog.filter.FilterDelegate;
 import ddf.catalog.filter.delegate.TagsFilterDelegate;
 import ddf.catalog.impl.FrameworkProperties;
+import ddf.catalog.impl.metrics.StageMetrics;
 import ddf.catalog.operation.Operation;
 import ddf.catalog.operation.ProcessingDetails;
 import ddf.catalog.operation.Query;
@@ -260,6 +261,8 @@ QueryResponse doQuery(QueryRequest queryRequest, FederationStrategy strategy)
               + "were available, or the current subject doesn't have permission to access the sites.");
     }
 
+    queryRequest = removeCursorUnlessOnlyCatalogProvider(queryRequest, querySources);
+
     LOGGER.debug("Calling strategy.federate()");
 
     Query originalQuery = queryRequest.getQuery();
@@ -283,11 +286,44 @@ QueryResponse doQuery(QueryRequest queryRequest, FederationStrategy strategy)
               queryRequest.getProperties());
     }
 
-    QueryResponse response = strategy.federate(querySources.sourcesToQuery, queryRequest);
+    QueryResponse response;
+    long start = System.nanoTime();
+    try {
+      response = strategy.federate(querySources.sourcesToQuery, queryRequest);
+    } finally {
+      frameworkProperties.getStageMetrics().record("query.federate", System.nanoTime() - start);
+    }
     frameworkProperties.getQueryResponsePostProcessor().processResponse(response);
     return addProcessingDetails(querySources.exceptions, response);
   }
 
+  /**
+   * Query cursors page through a single source, so a cursor is only passed on when the catalog
+   * provider is the only source being queried. Otherwise the results of the other sources, such as
+   * connected sources, would be repeated on every page, and the provider's results that are cut
+   * from a merged page would be skipped by its next cursor. Without a next cursor in the response,
+   * {@link ddf.catalog.util.impl.ResultIterable} pages by start index instead.
+   */
+  private QueryRequest removeCursorUnlessOnlyCatalogProvider(
+      QueryRequest queryRequest, QuerySources querySources) {
+    if (queryRequest.getPropertyValue(Constants.QUERY_CURSOR_KEY) == null
+        || (querySources.sourcesToQuery.size() == 1
+            && querySources.sourcesToQuery.get(0) == sourceOperations.getCatalog())) {
+      return queryRequest;
+    }
+
+    LOGGER.debug(
+        "Not using a query cursor for {} sources; paging by start index instead.",
+        querySources.sourcesToQuery.size());
+    Map<String, Serializable> properties = new HashMap<>(queryRequest.getProperties());
+    properties.remove(Constants.QUERY_CURSOR_KEY);
+    return new QueryRequestImpl(
+        queryRequest.getQuery(),
+        queryRequest.isEnterprise(),
+        queryRequest.getSourceIds(),
+        properties);
+  }
+
   <T extends Request> T setFlagsOnRequest(T request) {
     if (request != null) {
       Set<String> ids = getCombinedIdSet(request);
@@ -404,13 +440,18 @@ boolean includesLocalSources(Set<String> sourceIds) {
 
   private QueryResponse processPostQueryPlugins(QueryResponse queryResponse)
       throws FederationException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PostQueryPlugin service : frameworkProperties.getPostQuery()) {
+      long start = System.nanoTime();
       try {
         queryResponse = service.process(queryResponse);
       } catch (PluginExecutionException see) {
         LOGGER.debug("Error executing PostQueryPlugin: {}", see.getMessage(), see);
       } catch (StopProcessingException e) {
         throw new FederationException("Query could not be executed.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("query.postquery", service), System.nanoTime() - start);
       }
     }
     return queryResponse;
@@ -418,11 +459,16 @@ private QueryResponse processPostQueryPlugins(QueryResponse queryResponse)
 
   private QueryResponse processPostQueryAccessPlugins(QueryResponse queryResponse)
       throws FederationException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (AccessPlugin plugin : frameworkProperties.getAccessPlugins()) {
+      long start = System.nanoTime();
       try {
         queryResponse = plugin.processPostQuery(queryResponse);
       } catch (StopProcessingException e) {
         throw new FederationException("Query could not be executed.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("query.postaccess", plugin), System.nanoTime() - start);
       }
     }
     return queryResponse;
@@ -430,6 +476,7 @@ private QueryResponse processPostQueryAccessPlugins(QueryResponse queryResponse)
 
   private QueryResponse populateQueryResponsePolicyMap(QueryResponse queryResponse)
       throws FederationException {
+    long start = System.nanoTime();
     HashMap<String, Set<String>> responsePolicyMap = new HashMap<>();
     Map<String, Serializable> unmodifiableProperties =
         Collections.unmodifiableMap(queryResponse.getProperties());
@@ -448,18 +495,24 @@ private QueryResponse populateQueryResponsePolicyMap(QueryResponse queryResponse
       result.getMetacard().setAttribute(new AttributeImpl(Metacard.SECURITY, itemPolicyMap));
     }
     queryResponse.getProperties().put(PolicyPlugin.OPERATION_SECURITY, responsePolicyMap);
+    frameworkProperties.getStageMetrics().record("query.postpolicy", System.nanoTime() - start);
 
     return queryResponse;
   }
 
   private QueryRequest processPreQueryPlugins(QueryRequest queryReq) throws FederationException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreQueryPlugin service : frameworkProperties.getPreQuery()) {
+      long start = System.nanoTime();
       try {
         queryReq = service.process(queryReq);
       } catch (PluginExecutionException see) {
         LOGGER.debug("Error executing PreQueryPlugin: {}", see.getMessage(), see);
       } catch (StopProcessingException e) {
         throw new FederationException("Query could not be executed.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("query.prequery", service), System.nanoTime() - start);
       }
     }
     return queryReq;
@@ -467,11 +520,16 @@ private QueryRequest processPreQueryPlugins(QueryRequest queryReq) throws Federa
 
   private QueryRequest processPreQueryAccessPlugins(QueryRequest queryReq)
       throws FederationException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (AccessPlugin plugin : frameworkProperties.getAccessPlugins()) {
+      long start = System.nanoTime();
       try {
         queryReq = plugin.processPreQuery(queryReq);
       } catch (StopProcessingException e) {
         throw new FederationException("Query could not be executed.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("query.preaccess", plugin), System.nanoTime() - start);
       }
     }
     return queryReq;
@@ -479,11 +537,16 @@ private QueryRequest processPreQueryAccessPlugins(QueryRequest queryReq)
 
   private QueryRequest preProcessPreAuthorizationPlugins(QueryRequest queryRequest)
       throws FederationException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreAuthorizationPlugin plugin : frameworkProperties.getPreAuthorizationPlugins()) {
+      long start = System.nanoTime();
       try {
         queryRequest = plugin.processPreQuery(queryRequest);
       } catch (StopProcessingException e) {
         throw new FederationException("Query could not be executed.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("query.preauthorization", plugin), System.nanoTime() - start);
       }
     }
     return queryRequest;
@@ -491,11 +554,16 @@ private QueryRequest preProcessPreAuthorizationPlugins(QueryRequest queryRequest
 
   private QueryResponse postProcessPreAuthorizationPlugins(QueryResponse queryResponse)
       throws FederationException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreAuthorizationPlugin plugin : frameworkProperties.getPreAuthorizationPlugins()) {
+      long start = System.nanoTime();
       try {
         queryResponse = plugin.processPostQuery(queryResponse);
       } catch (StopProcessingException e) {
         throw new FederationException("Query could not be executed.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("query.postauthorization", plugin), System.nanoTime() - start);
       }
     }
     return queryResponse;
@@ -503,10 +571,12 @@ private QueryResponse postProcessPreAuthorizationPlugins(QueryResponse queryResp
 
   private QueryRequest populateQueryRequestPolicyMap(QueryRequest queryReq)
       throws FederationException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     HashMap<String, Set<String>> requestPolicyMap = new HashMap<>();
     Map<String, Serializable> unmodifiableProperties =
         Collections.unmodifiableMap(queryReq.getProperties());
     for (PolicyPlugin plugin : frameworkProperties.getPolicyPlugins()) {
+      long start = System.nanoTime();
       try {
         PolicyResponse policyResponse =
             plugin.processPreQuery(queryReq.getQuery(), unmodifiableProperties);
@@ -514,6 +584,9 @@ private QueryRequest populateQueryRequestPolicyMap(QueryRequest queryReq)
             requestPolicyMap, policyResponse.operationPolicy().entrySet());
       } catch (StopProcessingException e) {
         throw new FederationException("Query could not be executed.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("query.prepolicy", plugin), System.nanoTime() - start);
       }
     }
     queryReq.getProperties().put(PolicyPlugin.OPERATION_SECURITY, requestPolicyMap);
@@ -16,6 +16,7 @@
 import static ddf.catalog.Constants.CONTENT_PATHS;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import ddf.catalog.Constants;
 import ddf.catalog.content.StorageException;
 import ddf.catalog.content.data.ContentItem;
@@ -32,9 +33,11 @@
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.history.Historian;
 import ddf.catalog.impl.FrameworkProperties;
+import ddf.catalog.impl.metrics.StageMetrics;
 import ddf.catalog.operation.Operation;
 import ddf.catalog.operation.OperationTransaction;
 import ddf.catalog.operation.ProcessingDetails;
+import ddf.catalog.operation.QueryRequest;
 import ddf.catalog.operation.QueryResponse;
 import ddf.catalog.operation.Update;
 import ddf.catalog.operation.UpdateRequest;
@@ -66,6 +69,7 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -73,6 +77,7 @@
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
 import org.opengis.filter.Filter;
@@ -93,6 +98,9 @@ public class UpdateOperations {
 
   private static final String PRE_INGEST_ERROR = "Error during pre-ingest:\n\n";
 
+  // keeps each id lookup well under Solr's default limit of 1024 boolean clauses
+  private static final int METACARD_LOOKUP_BATCH_SIZE = 500;
+
   // Inject properties
   private final FrameworkProperties frameworkProperties;
 
@@ -166,9 +174,13 @@ public UpdateResponse update(UpdateStorageRequest streamUpdateRequest)
         opsStorageSupport.prepareStorageRequest(
             streamUpdateRequest, streamUpdateRequest::getContentItems);
 
-    // Operation populates the metacardMap, contentItems, and tmpContentPaths
+    // Operation populates the metacardMap, contentItems, tmpContentPaths and content checksums
     opsMetacardSupport.generateMetacardAndContentItems(
-        streamUpdateRequest.getContentItems(), metacardMap, contentItems, tmpContentPaths);
+        streamUpdateRequest.getContentItems(),
+        metacardMap,
+        contentItems,
+        tmpContentPaths,
+        streamUpdateRequest.getProperties());
 
     streamUpdateRequest.getProperties().put(CONTENT_PATHS, tmpContentPaths);
 
@@ -181,11 +193,14 @@ public UpdateResponse update(UpdateStorageRequest streamUpdateRequest)
                 contentItems, streamUpdateRequest.getId(), streamUpdateRequest.getProperties());
         updateStorageRequest = processPreUpdateStoragePlugins(updateStorageRequest);
 
+        long start = System.nanoTime();
         try {
           updateStorageResponse = sourceOperations.getStorage().update(updateStorageRequest);
           updateStorageResponse.getProperties().put(CONTENT_PATHS, tmpContentPaths);
         } catch (StorageException e) {
           throw new IngestException("Could not store content items. Removed created metacards.", e);
+        } finally {
+          frameworkProperties.getStageMetrics().record("update.storage", System.nanoTime() - start);
         }
 
         updateStorageResponse = processPostUpdateStoragePlugins(updateStorageResponse);
@@ -323,17 +338,15 @@ private String buildUpdateLog(UpdateRequest createReq) {
   }
 
   private UpdateRequest rewriteRequestToAvoidHistoryConflicts(
-      UpdateRequest updateRequest, QueryResponse response) {
+      UpdateRequest updateRequest, List<Metacard> existingMetacards) {
     final String attributeName = updateRequest.getAttributeName();
     if (Metacard.ID.equals(attributeName)) {
       return updateRequest;
     }
 
     List<Map.Entry<Serializable, Metacard>> updatedList =
-        response
-            .getResults()
+        existingMetacards
             .stream()
-            .map(Result::getMetacard)
             .map(this::toEntryById)
             .collect(Collectors.toList());
 
@@ -342,7 +355,7 @@ private UpdateRequest rewriteRequestToAvoidHistoryConflicts(
   }
 
   private boolean foundAllUpdateRequestMetacards(
-      UpdateRequest updateRequest, QueryResponse response) {
+      UpdateRequest updateRequest, List<Metacard> existingMetacards) {
     Set<String> originalKeys =
         updateRequest
             .getUpdates()
@@ -351,10 +364,8 @@ private boolean foundAllUpdateRequestMetacards(
             .map(Object::toString)
             .collect(Collectors.toSet());
     Set<String> responseKeys =
-        response
-            .getResults()
+        existingMetacards
             .stream()
-            .map(Result::getMetacard)
             .map(m -> m.getAttribute(updateRequest.getAttributeName()))
             .filter(Objects::nonNull)
             .map(Attribute::getValue)
@@ -480,11 +491,16 @@ private UpdateResponse validateFixUpdateResponse(
   }
 
   private UpdateResponse processPostIngestPlugins(UpdateResponse updateResponse) {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (final PostIngestPlugin plugin : frameworkProperties.getPostIngest()) {
+      long start = System.nanoTime();
       try {
         updateResponse = plugin.process(updateResponse);
       } catch (PluginExecutionException e) {
         LOGGER.info("Plugin exception", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("update.postingest", plugin), System.nanoTime() - start);
       }
     }
     return updateResponse;
@@ -511,18 +527,29 @@ private UpdateResponse performLocalUpdate(UpdateRequest updateRequest)
       return null;
     }
 
-    UpdateResponse updateResponse = sourceOperations.getCatalog().update(updateRequest);
+    UpdateResponse updateResponse;
+    long start = System.nanoTime();
+    try {
+      updateResponse = sourceOperations.getCatalog().update(updateRequest);
+    } finally {
+      frameworkProperties.getStageMetrics().record("update.provider", System.nanoTime() - start);
+    }
     updateResponse = historian.version(updateResponse);
     return updateResponse;
   }
 
   private UpdateRequest processPreIngestPlugins(UpdateRequest updateRequest)
       throws StopProcessingException {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreIngestPlugin plugin : frameworkProperties.getPreIngest()) {
+      long start = System.nanoTime();
       try {
         updateRequest = plugin.process(updateRequest);
       } catch (PluginExecutionException e) {
         LOGGER.debug("error processing update in PreIngestPlugin", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("update.preingest", plugin), System.nanoTime() - start);
       }
     }
     return updateRequest;
@@ -531,14 +558,22 @@ private UpdateRequest processPreIngestPlugins(UpdateRequest updateRequest)
   private UpdateRequest processPreUpdateAccessPlugins(UpdateRequest updateRequest)
       throws StopProcessingException {
     Map<String, Metacard> metacardMap = getUpdateMap(updateRequest);
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (AccessPlugin plugin : frameworkProperties.getAccessPlugins()) {
-      updateRequest = plugin.processPreUpdate(updateRequest, metacardMap);
+      long start = System.nanoTime();
+      try {
+        updateRequest = plugin.processPreUpdate(updateRequest, metacardMap);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("update.preaccess", plugin), System.nanoTime() - start);
+      }
     }
     return updateRequest;
   }
 
   private UpdateRequest populateUpdateRequestPolicyMap(UpdateRequest updateRequest)
       throws StopProcessingException {
+    long start = System.nanoTime();
     Map<String, Metacard> metacardMap = getUpdateMap(updateRequest);
     HashMap<String, Set<String>> requestPolicyMap = new HashMap<>();
     for (Map.Entry<Serializable, Metacard> update : updateRequest.getUpdates()) {
@@ -567,35 +602,34 @@ private UpdateRequest populateUpdateRequestPolicyMap(UpdateRequest updateRequest
       }
     }
     updateRequest.getProperties().put(PolicyPlugin.OPERATION_SECURITY, requestPolicyMap);
+    frameworkProperties.getStageMetrics().record("update.prepolicy", System.nanoTime() - start);
 
     return updateRequest;
   }
 
   private UpdateRequest populateMetacards(UpdateRequest updateRequest) throws IngestException {
-    QueryRequestImpl queryRequest = createQueryRequest(updateRequest);
-    QueryResponse queryResponse;
-    try {
-      queryResponse =
-          queryOperations.doQuery(queryRequest, frameworkProperties.getFederationStrategy());
-    } catch (FederationException e) {
-      LOGGER.debug("Unable to complete query for updated metacards.", e);
-      throw new IngestException("Exception during runtime while performing update");
+    List<Metacard> existingMetacards = null;
+    if (Requests.isLocal(updateRequest)
+        && !opsCatStoreSupport.isCatalogStoreRequest(updateRequest)) {
+      existingMetacards = getLocalMetacards(updateRequest);
+    }
+
+    if (existingMetacards == null) {
+      existingMetacards = getFederatedMetacards(updateRequest);
     }
 
-    if (!foundAllUpdateRequestMetacards(updateRequest, queryResponse)) {
-      logFailedQueryInfo(updateRequest, queryResponse);
+    if (!foundAllUpdateRequestMetacards(updateRequest, existingMetacards)) {
+      logFailedQueryInfo(updateRequest, existingMetacards);
       throw new IngestException("Could not find all metacards specified in request");
     }
 
-    updateRequest = rewriteRequestToAvoidHistoryConflicts(updateRequest, queryResponse);
+    updateRequest = rewriteRequestToAvoidHistoryConflicts(updateRequest, existingMetacards);
 
     // Construct the metacardMap using the metacard's ID in order to match the UpdateRequest
     HashMap<String, Metacard> metacardMap =
         new HashMap<>(
-            queryResponse
-                .getResults()
+            existingMetacards
                 .stream()
-                .map(Result::getMetacard)
                 .collect(
                     Collectors.toMap(
                         metacard -> getAttributeStringValue(metacard, Core.ID),
@@ -610,19 +644,75 @@ private UpdateRequest populateMetacards(UpdateRequest updateRequest) throws Inge
     return updateRequest;
   }
 
+  /**
+   * Looks up the current metacards of a local-only update in batches of ids, so that a large update
+   * stays under the catalog provider's limit on query clauses. Each batch goes through the
+   * federation strategy like any other query, so the pre- and post-federated query plugins still
+   * hide the metacards the subject may not see.
+   *
+   * @return the existing metacards, or null if the lookup failed and a single query for all of the
+   *     ids should be used instead
+   */
+  @Nullable
+  private List<Metacard> getLocalMetacards(UpdateRequest updateRequest) {
+    Map<String, Metacard> metacards = new LinkedHashMap<>();
+    try {
+      for (List<Map.Entry<Serializable, Metacard>> batch :
+          Lists.partition(updateRequest.getUpdates(), METACARD_LOOKUP_BATCH_SIZE)) {
+        QueryRequest queryRequest = createQueryRequest(updateRequest, batch);
+        getMetacards(
+                queryOperations.doQuery(queryRequest, frameworkProperties.getFederationStrategy()))
+            .forEach(m -> metacards.putIfAbsent(m.getId(), m));
+      }
+    } catch (FederationException | RuntimeException e) {
+      LOGGER.debug(
+          "Unable to look up updated metacards in batches. Falling back to a single query.", e);
+      return null;
+    }
+    return new ArrayList<>(metacards.values());
+  }
+
+  private List<Metacard> getFederatedMetacards(UpdateRequest updateRequest)
+      throws IngestException {
+    QueryRequest queryRequest = createQueryRequest(updateRequest, updateRequest.getUpdates());
+    try {
+      return getMetacards(
+          queryOperations.doQuery(queryRequest, frameworkProperties.getFederationStrategy()));
+    } catch (FederationException e) {
+      LOGGER.debug("Unable to complete query for updated metacards.", e);
+      throw new IngestException("Exception during runtime while performing update");
+    }
+  }
+
+  private List<Metacard> getMetacards(QueryResponse queryResponse) {
+    return queryResponse
+        .getResults()
+        .stream()
+        .map(Result::getMetacard)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
   private UpdateRequest processPreAuthorizationPlugins(UpdateRequest updateRequest)
       throws StopProcessingException {
     Map<String, Metacard> metacardMap = getUpdateMap(updateRequest);
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (PreAuthorizationPlugin plugin : frameworkProperties.getPreAuthorizationPlugins()) {
-      updateRequest = plugin.processPreUpdate(updateRequest, metacardMap);
+      long start = System.nanoTime();
+      try {
+        updateRequest = plugin.processPreUpdate(updateRequest, metacardMap);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("update.preauthorization", plugin), System.nanoTime() - start);
+      }
     }
     return updateRequest;
   }
 
-  private QueryRequestImpl createQueryRequest(UpdateRequest updateRequest) {
+  private QueryRequestImpl createQueryRequest(
+      UpdateRequest updateRequest, List<Map.Entry<Serializable, Metacard>> updates) {
     List<Filter> idFilters =
-        updateRequest
-            .getUpdates()
+        updates
             .stream()
             .map(
                 update ->
@@ -638,7 +728,7 @@ private QueryRequestImpl createQueryRequest(UpdateRequest updateRequest) {
         new QueryImpl(
             queryOperations.getFilterWithAdditionalFilters(idFilters, updateRequest),
             1, /* start index */
-            updateRequest.getUpdates().size(), /* page size */
+            updates.size(), /* page size */
             null,
             false, /* total result count */
             0 /* timeout */);
@@ -661,11 +751,17 @@ private UpdateRequest validateLocalSource(UpdateRequest updateRequest)
 
   private UpdateStorageResponse processPostUpdateStoragePlugins(
       UpdateStorageResponse updateStorageResponse) {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (final PostUpdateStoragePlugin plugin : frameworkProperties.getPostUpdateStoragePlugins()) {
+      long start = System.nanoTime();
       try {
         updateStorageResponse = plugin.process(updateStorageResponse);
       } catch (PluginExecutionException e) {
         LOGGER.debug("Plugin processing failed. This is allowable. Skipping to next plugin.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("update.postupdatestorage", plugin),
+            System.nanoTime() - start);
       }
     }
     return updateStorageResponse;
@@ -673,11 +769,17 @@ private UpdateStorageResponse processPostUpdateStoragePlugins(
 
   private UpdateStorageRequest processPreUpdateStoragePlugins(
       UpdateStorageRequest updateStorageRequest) {
+    StageMetrics stageMetrics = frameworkProperties.getStageMetrics();
     for (final PreUpdateStoragePlugin plugin : frameworkProperties.getPreUpdateStoragePlugins()) {
+      long start = System.nanoTime();
       try {
         updateStorageRequest = plugin.process(updateStorageRequest);
       } catch (PluginExecutionException e) {
         LOGGER.debug("Plugin processing failed. This is allowable. Skipping to next plugin.", e);
+      } finally {
+        stageMetrics.record(
+            StageMetrics.pluginStage("update.preupdatestorage", plugin),
+            System.nanoTime() - start);
       }
     }
     return updateStorageRequest;
@@ -691,14 +793,12 @@ private String getAttributeStringValue(Metacard mcard, String attribute) {
         .orElse("");
   }
 
-  private void logFailedQueryInfo(UpdateRequest updateRequest, QueryResponse query) {
+  private void logFailedQueryInfo(UpdateRequest updateRequest, List<Metacard> existingMetacards) {
     if (LOGGER.isDebugEnabled()) {
       final String attributeName = updateRequest.getAttributeName();
       Set<String> queryResults =
-          query
-              .getResults()
+          existingMetacards
               .stream()
-              .map(Result::getMetacard)
               .map(m -> m.getAttribute(attributeName))
               .filter(Objects::nonNull)
               .map(Attribute::getValue)
@@ -20,6 +20,10 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import javax.activation.MimeType;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -101,6 +105,31 @@ public InputStream getInputStream() {
     }
   }
 
+  /**
+   * Creates a new inputStream of the product that starts at the specified byte offset. The cached
+   * file is positioned directly at the offset so the skipped bytes are never read.
+   *
+   * @param offset the number of bytes at the start of the product to skip
+   * @return InputStream of the product starting at the offset
+   * @throws IOException if the product cannot be opened
+   */
+  public InputStream getInputStream(long offset) throws IOException {
+    if (filePath == null) {
+      throw new IOException("Cannot get InputStream of null Product");
+    }
+    if (offset < 0) {
+      throw new IllegalArgumentException("Offset must not be negative");
+    }
+    FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+    try {
+      channel.position(offset);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return Channels.newInputStream(channel);
+  }
+
   private InputStream getProduct() throws IOException {
     if (filePath == null) {
       return null;
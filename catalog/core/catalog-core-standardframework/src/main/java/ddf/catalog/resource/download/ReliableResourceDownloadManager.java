@@ -23,10 +23,14 @@
 import ddf.catalog.resource.Resource;
 import ddf.catalog.resource.ResourceNotFoundException;
 import ddf.catalog.resource.ResourceNotSupportedException;
+import ddf.catalog.resource.data.ReliableResource;
 import ddf.catalog.resource.download.DownloadManagerState.DownloadState;
+import ddf.catalog.resource.impl.ResourceImpl;
 import ddf.catalog.resourceretriever.ResourceRetriever;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -113,9 +117,7 @@ public ResourceResponse download(
               .getResourceCache()
               .getValid(new CacheKey(metacard, resourceRequest).generateKey(), metacard);
       if (cachedResource != null) {
-        resourceResponse =
-            new ResourceResponseImpl(
-                resourceRequest, resourceRequest.getProperties(), cachedResource);
+        resourceResponse = createCachedResourceResponse(resourceRequest, cachedResource);
         LOGGER.debug(
             "Successfully retrieved product from cache for metacard ID = {}", metacard.getId());
       } else {
@@ -142,6 +144,40 @@ public ResourceResponse download(
     return resourceResponse;
   }
 
+  /**
+   * Creates the response for a product found in the cache. If the request asks to skip the start of
+   * the product, e.g., for an HTTP range request, the cached file is read from that offset.
+   */
+  private ResourceResponse createCachedResourceResponse(
+      ResourceRequest resourceRequest, Resource cachedResource) {
+    long bytesToSkip = ReliableResourceDownloader.getBytesToSkip(resourceRequest);
+    if (bytesToSkip <= 0 || !(cachedResource instanceof ReliableResource)) {
+      return new ResourceResponseImpl(
+          resourceRequest, resourceRequest.getProperties(), cachedResource);
+    }
+
+    ReliableResource reliableResource = (ReliableResource) cachedResource;
+    try {
+      ResourceImpl partialResource =
+          new ResourceImpl(
+              reliableResource.getInputStream(bytesToSkip),
+              reliableResource.getMimeType(),
+              reliableResource.getName());
+      if (reliableResource.getSize() >= 0) {
+        partialResource.setSize(Math.max(reliableResource.getSize() - bytesToSkip, 0));
+      }
+
+      Map<String, Serializable> properties = new HashMap<>(resourceRequest.getProperties());
+      properties.put(ReliableResourceDownloader.BYTES_SKIPPED, bytesToSkip);
+      LOGGER.debug(
+          "Serving cached product {} from byte {}", reliableResource.getKey(), bytesToSkip);
+      return new ResourceResponseImpl(resourceRequest, properties, partialResource);
+    } catch (IOException e) {
+      LOGGER.debug("Unable to read cached product {}", reliableResource.getKey(), e);
+      return null;
+    }
+  }
+
   public void setMaxRetryAttempts(int maxRetryAttempts) {
     downloaderConfig.setMaxRetryAttempts(maxRetryAttempts);
   }
@@ -23,6 +23,7 @@
 import ddf.catalog.event.retrievestatus.DownloadsStatusEventListener;
 import ddf.catalog.event.retrievestatus.DownloadsStatusEventPublisher;
 import ddf.catalog.event.retrievestatus.DownloadsStatusEventPublisher.ProductRetrievalStatus;
+import ddf.catalog.operation.ResourceRequest;
 import ddf.catalog.operation.ResourceResponse;
 import ddf.catalog.operation.impl.ResourceResponseImpl;
 import ddf.catalog.resource.Resource;
@@ -37,6 +38,7 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.util.Timer;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -48,6 +50,7 @@
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -161,7 +164,11 @@ public ResourceResponse setupDownload(Metacard metacard, DownloadStatusInfo down
     eventListener.setDownloadMap(downloadIdentifier, resourceResponse);
     downloadStatusInfo.addDownloadInfo(downloadIdentifier, this, resourceResponse);
 
-    if (downloaderConfig.isCacheEnabled()) {
+    if (downloaderConfig.isCacheEnabled() && getBytesToSkip(resourceResponse.getRequest()) > 0) {
+      // The product is only partially retrieved, so it must not be cached as the whole product
+      LOGGER.debug(
+          "Not caching resource for metacard ID = {} since its start is skipped", metacard.getId());
+    } else if (downloaderConfig.isCacheEnabled()) {
 
       CacheKey keyMaker = null;
       String key = null;
@@ -206,6 +213,24 @@ public ResourceResponse setupDownload(Metacard metacard, DownloadStatusInfo down
     return resourceResponse;
   }
 
+  /**
+   * @param resourceRequest the resource request
+   * @return the number of bytes at the start of the product the request asks to skip, or 0
+   */
+  static long getBytesToSkip(ResourceRequest resourceRequest) {
+    if (resourceRequest == null || !resourceRequest.hasProperties()) {
+      return 0;
+    }
+    Serializable bytesToSkip = resourceRequest.getPropertyValue(ResourceRetriever.BYTES_TO_SKIP);
+    if (bytesToSkip instanceof Number) {
+      return ((Number) bytesToSkip).longValue();
+    }
+    if (bytesToSkip instanceof String) {
+      return NumberUtils.toLong((String) bytesToSkip);
+    }
+    return 0;
+  }
+
   @Override
   public void run() {
     long bytesRead = 0;
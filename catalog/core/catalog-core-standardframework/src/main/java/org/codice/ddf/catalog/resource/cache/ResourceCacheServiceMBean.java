@@ -47,4 +47,19 @@ public interface ResourceCacheServiceMBean {
    * @return {@code true} if the resource is in the cache, {@code false} otherwise.
    */
   boolean containsById(String metacardId);
+
+  /** @return the total size in megabytes of the products in the cache directory */
+  long getCacheDirSizeMegabytes();
+
+  /** @return the number of requests for a cached product that were found in the cache */
+  long getCacheHitCount();
+
+  /** @return the number of requests for a cached product that were not found in the cache */
+  long getCacheMissCount();
+
+  /** @return the number of products evicted to keep the cache within its maximum size */
+  long getCacheEvictionCount();
+
+  /** @return the total size in bytes of the products evicted from the cache */
+  long getCacheEvictedBytes();
 }
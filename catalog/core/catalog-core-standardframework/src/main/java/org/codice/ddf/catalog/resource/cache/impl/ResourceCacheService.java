@@ -58,15 +58,19 @@ public class ResourceCacheService implements ResourceCacheServiceMBean {
 
   private final CatalogFramework catalogFramework;
 
+  private final ddf.catalog.cache.impl.ResourceCacheImpl productCache;
+
   public ResourceCacheService(
       MBeanServer mBeanServer,
       ResourceCache resourceCache,
       ReliableResourceDownloadManager downloadManager,
       FrameworkProperties frameworkProperties,
-      CatalogFramework catalogFramework)
+      CatalogFramework catalogFramework,
+      ddf.catalog.cache.impl.ResourceCacheImpl productCache)
       throws MalformedObjectNameException {
     this.mBeanServer = mBeanServer;
     this.resourceCache = resourceCache;
+    this.productCache = productCache;
     this.downloadManager = downloadManager;
     this.objectName = new ObjectName(OBJECT_NAME);
     this.frameworkProperties = frameworkProperties;
@@ -103,6 +107,31 @@ public boolean containsById(String metacardId) {
         : false;
   }
 
+  @Override
+  public long getCacheDirSizeMegabytes() {
+    return productCache.getCacheDirSizeMegabytes();
+  }
+
+  @Override
+  public long getCacheHitCount() {
+    return productCache.getCacheHitCount();
+  }
+
+  @Override
+  public long getCacheMissCount() {
+    return productCache.getCacheMissCount();
+  }
+
+  @Override
+  public long getCacheEvictionCount() {
+    return productCache.getCacheEvictionCount();
+  }
+
+  @Override
+  public long getCacheEvictedBytes() {
+    return productCache.getCacheEvictedBytes();
+  }
+
   private Optional<Metacard> queryForMetacard(String metacardId) {
     Filter filter =
         frameworkProperties
@@ -25,12 +25,16 @@ import ddf.catalog.source.IngestException
 import ddf.catalog.transform.InputTransformer
 import ddf.mime.MimeTypeMapper
 import ddf.mime.MimeTypeToTransformerMapper
+import org.codice.ddf.checksum.ChecksumProvider
 import org.codice.ddf.platform.util.uuidgenerator.UuidGenerator
 import spock.lang.Specification
 
 import java.nio.file.Files
 import java.nio.file.Path
 
+import static ddf.catalog.Constants.CONTENT_CHECKSUMS
+import static ddf.catalog.Constants.CONTENT_CHECKSUM_ALGORITHM
+
 class OperationsMetacardSupportSpec extends Specification {
     private OperationsMetacardSupport opsMetacard
     private FrameworkProperties frameworkProperties
@@ -179,6 +183,63 @@ class OperationsMetacardSupportSpec extends Specification {
         contentPaths.keySet().first() == item.getId()
     }
 
+    def 'test generation of metacard and content calculates checksum while copying'() {
+        setup:
+        def metacardMap = [:]
+        List<ContentItem> contentItems = []
+        Map<String, Map<String, Path>> contentPaths = [:]
+        def properties = [:]
+        frameworkProperties.mimeTypeMapper.guessMimeType(_, _) >> { 'text/plain' }
+        def item = Mock(ContentItem)
+        item.getFilename() >> 'joe.txt'
+        item.getInputStream() >> { new ByteArrayInputStream('hello world'.bytes) }
+        item.getId() >> 'item.id'
+        item.getMimeTypeRawData() >> 'application/octet-stream'
+
+        // Only reads part of the content to verify the rest is still copied
+        def checksumProvider = Mock(ChecksumProvider)
+        checksumProvider.getChecksumAlgorithm() >> 'test'
+        checksumProvider.calculateChecksum(_) >> { InputStream inputStream ->
+            def bytes = new byte[5]
+            inputStream.read(bytes)
+            new String(bytes)
+        }
+        opsMetacard.setChecksumProviders([checksumProvider])
+
+        when:
+        opsMetacard.generateMetacardAndContentItems(
+                [item], metacardMap, contentItems, contentPaths, properties)
+
+        then:
+        properties.get(CONTENT_CHECKSUMS) == ['genmeta_id': 'hello']
+        properties.get(CONTENT_CHECKSUM_ALGORITHM) == 'test'
+        contentItems.first().size == 'hello world'.size()
+        new String(Files.readAllBytes(contentPaths.get('item.id').values().first())) == 'hello world'
+    }
+
+    def 'test generation of metacard and content removes caller supplied checksums'() {
+        setup:
+        def metacardMap = [:]
+        List<ContentItem> contentItems = []
+        Map<String, Map<String, Path>> contentPaths = [:]
+        def properties = [(CONTENT_CHECKSUMS): ['genmeta_id': 'forged'],
+                          (CONTENT_CHECKSUM_ALGORITHM): 'test']
+        frameworkProperties.mimeTypeMapper.guessMimeType(_, _) >> { 'text/plain' }
+        def item = Mock(ContentItem)
+        item.getFilename() >> 'joe.txt'
+        item.getInputStream() >> { new ByteArrayInputStream('hello'.bytes) }
+        item.getId() >> 'item.id'
+        item.getMimeTypeRawData() >> 'application/octet-stream'
+
+        when:
+        opsMetacard.generateMetacardAndContentItems(
+                [item], metacardMap, contentItems, contentPaths, properties)
+
+        then:
+        !properties.containsKey(CONTENT_CHECKSUMS)
+        !properties.containsKey(CONTENT_CHECKSUM_ALGORITHM)
+    }
+
     def 'test generation of metacard and content supported ioexception from xformer'() {
         setup:
         def metacardMap = [:]
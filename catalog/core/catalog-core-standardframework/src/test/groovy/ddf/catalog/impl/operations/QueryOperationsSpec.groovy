@@ -30,6 +30,7 @@ import ddf.catalog.operation.Query
 import ddf.catalog.operation.QueryRequest
 import ddf.catalog.operation.QueryResponse
 import ddf.catalog.operation.impl.QueryImpl
+import ddf.catalog.operation.impl.QueryRequestImpl
 import ddf.catalog.plugin.PolicyPlugin
 import ddf.catalog.plugin.PolicyResponse
 import ddf.catalog.source.CatalogProvider
@@ -43,6 +44,7 @@ import ddf.security.permission.impl.PermissionsImpl
 import org.apache.commons.collections.CollectionUtils
 import spock.lang.Shared
 import spock.lang.Specification
+import spock.lang.Unroll
 
 class QueryOperationsSpec extends Specification {
     private static final String SOURCE_ID = "test_source"
@@ -790,6 +792,34 @@ class QueryOperationsSpec extends Specification {
         capturedQuery.getQuery().getTimeoutMillis() == 800
     }
 
+    @Unroll
+    def 'query cursor is passed on only when the catalog provider is the only source: #description'() {
+        setup:
+        frameworkProperties.connectedSources = withConnectedSource ? [mockConnectedSource('conn1')] : []
+        sourceOperations.isSourceAvailable(_) >> true
+        def request = new QueryRequestImpl(
+                new QueryImpl(new GeotoolsFilterBuilder().attribute('title').is().like().text('*')),
+                false, null, [(Constants.QUERY_CURSOR_KEY): Constants.QUERY_CURSOR_START])
+        def strategy = Mock(FederationStrategy)
+        def capturedRequest
+
+        strategy.federate(_, _) >> { sources, queryParam ->
+            capturedRequest = queryParam
+            Mock(QueryResponse)
+        }
+
+        when:
+        queryOperations.doQuery(request, strategy)
+
+        then:
+        capturedRequest.getPropertyValue(Constants.QUERY_CURSOR_KEY) == expectedCursor
+
+        where:
+        description               | withConnectedSource | expectedCursor
+        'no connected sources'    | false               | Constants.QUERY_CURSOR_START
+        'with a connected source' | true                | null
+    }
+
     def 'non-version filter covers revision and deleted metacards'() {
         setup:
         FilterBuilder filterBuilder = new GeotoolsFilterBuilder()
@@ -13,6 +13,7 @@
  */
 package ddf.catalog.cache;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -29,6 +30,7 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import javax.activation.MimeType;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -43,6 +45,8 @@ public class ResourceCacheImplSizeLimitTest {
 
   private static final String PRODUCT_CACHE_NAME = "Product_Cache";
 
+  private static final long EVICTION_TIMEOUT_SECONDS = 10;
+
   private static final transient Logger LOGGER =
       LoggerFactory.getLogger(ResourceCacheImplSizeLimitTest.class);
 
@@ -64,6 +68,7 @@ public void setup() throws IOException {
 
   @After
   public void teardownTest() throws IOException {
+    listener.shutdown();
     Collection<HazelcastInstance> instances = hcInstanceFactory.getAllHazelcastInstances();
     HazelcastInstance instance = instances.iterator().next();
     instance.shutdown();
@@ -312,12 +317,18 @@ private void verifyCached(
     assertTrue(new File(rrCachedFile.getAbsolutePath()).exists());
   }
 
+  /** Products are evicted on a background thread, so wait for the eviction to happen. */
   private void verifyRemovedFromCache(
       IMap<String, ReliableResource> cacheMap, String rrKey, String rrFileName) {
-    ReliableResource rrFromCache = (ReliableResource) cacheMap.get(rrKey);
-    assertNull(rrFromCache);
-    File rrCachedFile = new File(productCacheDir + File.separator + rrFileName);
-    assertFalse(new File(rrCachedFile.getAbsolutePath()).exists());
+    await()
+        .atMost(EVICTION_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+        .untilAsserted(
+            () -> {
+              ReliableResource rrFromCache = (ReliableResource) cacheMap.get(rrKey);
+              assertNull(rrFromCache);
+              File rrCachedFile = new File(productCacheDir + File.separator + rrFileName);
+              assertFalse(new File(rrCachedFile.getAbsolutePath()).exists());
+            });
   }
 
   private void cleanProductCacheDirectory() throws IOException {
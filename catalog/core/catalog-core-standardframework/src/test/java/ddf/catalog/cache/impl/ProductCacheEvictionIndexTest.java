@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.cache.impl;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProductCacheEvictionIndexTest {
+
+  private ProductCacheEvictionIndex index;
+
+  @Before
+  public void setUp() {
+    index = new ProductCacheEvictionIndex();
+  }
+
+  @Test
+  public void testAddTracksTotalSize() {
+    assertThat(index.add("a", 10, "/a"), is(10L));
+    assertThat(index.add("b", 20, "/b"), is(30L));
+
+    // replacing an entry replaces its size
+    assertThat(index.add("a", 5, "/a"), is(25L));
+    assertThat(index.size(), is(2));
+  }
+
+  @Test
+  public void testRemove() {
+    index.add("a", 10, "/a");
+
+    assertThat(index.remove("a").getFilePath(), is("/a"));
+    assertThat(index.remove("a"), nullValue());
+    assertThat(index.getTotalBytes(), is(0L));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyAdded() {
+    index.add("a", 10, "/a");
+    index.add("b", 10, "/b");
+    index.add("c", 10, "/c");
+
+    assertThat(index.evictIfLargerThan(15).getKey(), is("a"));
+    assertThat(index.evictIfLargerThan(15).getKey(), is("b"));
+    assertThat(index.evictIfLargerThan(15), nullValue());
+    assertThat(index.getTotalBytes(), is(10L));
+    assertThat(index.getEvictions(), is(2L));
+    assertThat(index.getEvictedBytes(), is(20L));
+  }
+
+  @Test
+  public void testHitMakesEntryMostRecentlyUsed() {
+    index.add("a", 10, "/a");
+    index.add("b", 10, "/b");
+
+    index.hit("a");
+
+    assertThat(index.evictIfLargerThan(10).getKey(), is("b"));
+    assertThat(index.getHits(), is(1L));
+  }
+
+  @Test
+  public void testMiss() {
+    index.miss();
+    index.miss();
+
+    assertThat(index.getMisses(), is(2L));
+  }
+
+  @Test
+  public void testClear() {
+    index.add("a", 10, "/a");
+
+    index.clear();
+
+    assertThat(index.size(), is(0));
+    assertThat(index.evictIfLargerThan(0), nullValue());
+  }
+}
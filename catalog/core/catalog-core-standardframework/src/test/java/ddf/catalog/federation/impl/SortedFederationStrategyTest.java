@@ -241,7 +241,8 @@ public void testStartIndexGreaterThanMaxStartIndex() throws Exception {
             any(Map.class),
             responseArgumentCaptor.capture(),
             requestArgumentCaptor.capture(),
-            any(List.class)))
+            any(List.class),
+            any(Map.class)))
         .thenReturn(mockSortedQueryMonitor);
 
     SortedFederationStrategy federateStrategy =
@@ -284,7 +285,8 @@ public void testStartIndexGreaterThanMaxStartIndex() throws Exception {
             any(Map.class),
             responseArgumentCaptor.capture(),
             requestArgumentCaptor.capture(),
-            any(List.class));
+            any(List.class),
+            any(Map.class));
     assertThat(requestArgumentCaptor.getValue().getQuery().getStartIndex(), is(1));
   }
 
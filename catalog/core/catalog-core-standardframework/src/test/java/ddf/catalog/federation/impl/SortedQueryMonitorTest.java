@@ -54,6 +54,7 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Test;
@@ -187,6 +188,48 @@ public void shortQueryTimeout() throws Exception {
         .contains(NullPointerException.class, TimeoutException.class, TimeoutException.class);
   }
 
+  @Test
+  public void adaptiveSourceTimeout() throws Exception {
+    when(query.getTimeoutMillis()).thenReturn(TimeUnit.MINUTES.toMillis(5));
+    when(queryRequest.getQuery()).thenReturn(query);
+
+    Map<String, Long> sourceTimeouts = new HashMap<>();
+    for (int i = 0; i < 4; i++) {
+      sourceTimeouts.put("Source-" + i, 0L);
+    }
+
+    SortedQueryMonitor queryMonitor =
+        new SortedQueryMonitor(
+            completionService,
+            futures,
+            queryResponse,
+            queryRequest,
+            new ArrayList<>(),
+            sourceTimeouts);
+
+    Iterator<Future<SourceResponse>> keysIter = futures.keySet().iterator();
+    List<Future<SourceResponse>> futureKeys =
+        Lists.newArrayList(keysIter.next(), keysIter.next(), null);
+    final Iterator<Future<SourceResponse>> futureIter = futureKeys.iterator();
+
+    when(completionService.poll(anyLong(), eq(TimeUnit.MILLISECONDS)))
+        .thenAnswer((invocationOnMock -> futureIter.next()));
+    queryMonitor.run();
+    verify(completionService, times(3)).poll(eq(0L), eq(TimeUnit.MILLISECONDS));
+
+    assertThat(queryResponse.getResults().size()).isEqualTo(3);
+    List<ProcessingDetails> timeouts =
+        queryResponse
+            .getProcessingDetails()
+            .stream()
+            .filter(details -> details.getException() instanceof TimeoutException)
+            .collect(Collectors.toList());
+    assertThat(timeouts).extracting(byName("sourceId")).containsOnly("Source-2", "Source-3");
+    for (ProcessingDetails details : timeouts) {
+      assertThat(details.getWarnings()).isNotEmpty();
+    }
+  }
+
   @Test
   public void interruptThirdFuture() throws Exception {
     when(query.getTimeoutMillis()).thenReturn(5000L);
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.federation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class SourceLatencyTrackerTest {
+
+  private static final String SOURCE_ID = "source";
+
+  @Test
+  public void testPercentiles() {
+    SourceLatencyTracker tracker = new SourceLatencyTracker(100, 10);
+    for (int i = 1; i <= 100; i++) {
+      tracker.record(SOURCE_ID, i);
+    }
+
+    assertThat(tracker.getPercentile(SOURCE_ID, 50).getAsLong()).isEqualTo(50);
+    assertThat(tracker.getPercentile(SOURCE_ID, 99).getAsLong()).isEqualTo(99);
+    assertThat(tracker.getPercentile(SOURCE_ID, 100).getAsLong()).isEqualTo(100);
+  }
+
+  @Test
+  public void testNotEnoughSamples() {
+    SourceLatencyTracker tracker = new SourceLatencyTracker(100, 10);
+    for (int i = 0; i < 9; i++) {
+      tracker.record(SOURCE_ID, 10);
+    }
+
+    assertThat(tracker.getPercentile(SOURCE_ID, 99).isPresent()).isFalse();
+    assertThat(tracker.getPercentile("unknown", 99).isPresent()).isFalse();
+  }
+
+  @Test
+  public void testOldSamplesAreDropped() {
+    SourceLatencyTracker tracker = new SourceLatencyTracker(10, 10);
+    for (int i = 0; i < 10; i++) {
+      tracker.record(SOURCE_ID, 5000);
+    }
+    for (int i = 0; i < 10; i++) {
+      tracker.record(SOURCE_ID, 10);
+    }
+
+    assertThat(tracker.getPercentile(SOURCE_ID, 99).getAsLong()).isEqualTo(10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new SourceLatencyTracker().getPercentile(SOURCE_ID, 0);
+  }
+}
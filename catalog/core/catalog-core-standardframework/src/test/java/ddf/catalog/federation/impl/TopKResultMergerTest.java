@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.federation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.Result;
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.data.impl.ResultImpl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class TopKResultMergerTest {
+
+  private static final Comparator<Result> BY_TITLE =
+      Comparator.comparing(r -> r.getMetacard().getTitle());
+
+  @Test
+  public void testMergeKeepsOnlyTopResults() {
+    TopKResultMerger merger = new TopKResultMerger(BY_TITLE, 3);
+    merger.addAll(results("d", "b", "f"));
+    merger.addAll(results("a", "e"));
+    merger.addAll(results("c"));
+
+    assertThat(merger.size()).isEqualTo(3);
+    assertThat(titles(merger.drain())).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void testUnboundedMergeKeepsAllResults() {
+    TopKResultMerger merger = new TopKResultMerger(BY_TITLE, 0);
+    merger.addAll(results("c", "a"));
+    merger.addAll(results("b"));
+
+    assertThat(titles(merger.drain())).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  public void testEqualResultsKeepInsertionOrder() {
+    List<Result> first = results("a", "b");
+    List<Result> second = results("a", "b");
+
+    TopKResultMerger merger = new TopKResultMerger(BY_TITLE, 3);
+    merger.addAll(first);
+    merger.addAll(second);
+
+    assertThat(merger.drain()).containsExactly(first.get(0), second.get(0), first.get(1));
+  }
+
+  @Test
+  public void testNullResultsAreIgnored() {
+    TopKResultMerger merger = new TopKResultMerger(BY_TITLE, 3);
+    merger.addAll(null);
+
+    assertThat(merger.drain()).isEmpty();
+  }
+
+  @Test
+  public void testMergeMatchesFullSort() {
+    Random random = new Random(42);
+    List<Result> all = new ArrayList<>();
+    TopKResultMerger merger = new TopKResultMerger(BY_TITLE, 25);
+    for (int source = 0; source < 10; source++) {
+      List<Result> sourceResults = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        sourceResults.addAll(results(String.valueOf(random.nextInt(100))));
+      }
+      all.addAll(sourceResults);
+      merger.addAll(sourceResults);
+    }
+
+    Collections.sort(all, BY_TITLE);
+    assertThat(merger.drain()).containsExactlyElementsOf(all.subList(0, 25));
+  }
+
+  private List<Result> results(String... titles) {
+    return Arrays.stream(titles)
+        .map(
+            title -> {
+              MetacardImpl metacard = new MetacardImpl();
+              metacard.setTitle(title);
+              return (Result) new ResultImpl(metacard);
+            })
+        .collect(Collectors.toList());
+  }
+
+  private List<String> titles(List<Result> results) {
+    return results.stream()
+        .map(Result::getMetacard)
+        .map(Metacard::getTitle)
+        .collect(Collectors.toList());
+  }
+}
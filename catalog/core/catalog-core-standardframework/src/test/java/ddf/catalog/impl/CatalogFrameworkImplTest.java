@@ -74,6 +74,7 @@
 import ddf.catalog.data.types.Core;
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.federation.FederationStrategy;
+import ddf.catalog.federation.impl.SortedFederationStrategy;
 import ddf.catalog.filter.FilterBuilder;
 import ddf.catalog.filter.proxy.builder.GeotoolsFilterBuilder;
 import ddf.catalog.history.Historian;
@@ -118,6 +119,7 @@
 import ddf.catalog.plugin.PostIngestPlugin;
 import ddf.catalog.plugin.PostQueryPlugin;
 import ddf.catalog.plugin.PostResourcePlugin;
+import ddf.catalog.plugin.PreFederatedQueryPlugin;
 import ddf.catalog.plugin.PreQueryPlugin;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.resource.Resource;
@@ -165,6 +167,7 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.activation.MimeType;
@@ -1280,6 +1283,67 @@ public void testUpdateByIdentifier() throws Exception {
         returnedCards.get(returnedCards.size() - 1).getOldMetacard().getId());
   }
 
+  /**
+   * Tests that a local update looks up the existing metacards through the federation strategy and
+   * its pre-federated query plugins.
+   */
+  @Test
+  public void testUpdateLooksUpExistingMetacardsThroughFederationStrategy() throws Exception {
+    Metacard insertedCard = createMetacardInProvider();
+    federateWith(Collections.emptyList());
+
+    UpdateRequest request = new UpdateRequestImpl(insertedCard.getId(), insertedCard);
+    List<Update> returnedCards = framework.update(request).getUpdatedMetacards();
+
+    assertThat(returnedCards, hasSize(1));
+    assertThat(returnedCards.get(0).getOldMetacard().getId(), is(insertedCard.getId()));
+    assertTrue(provider.hasReceivedUpdate());
+  }
+
+  /**
+   * Tests that a local update skips a metacard that a pre-federated query plugin hides from the
+   * subject, such as an invalid metacard or one with a filtered out tag.
+   */
+  @Test
+  public void testUpdateSkipsMetacardHiddenByPreFederatedQueryPlugin() throws Exception {
+    Metacard insertedCard = createMetacardInProvider();
+    PreFederatedQueryPlugin hidingPlugin =
+        (source, input) ->
+            new QueryRequestImpl(
+                new QueryImpl(new GeotoolsFilterBuilder().not(Filter.INCLUDE)),
+                input.isEnterprise(),
+                input.getSourceIds(),
+                input.getProperties());
+    federateWith(Collections.singletonList(hidingPlugin));
+
+    UpdateRequest request = new UpdateRequestImpl(insertedCard.getId(), insertedCard);
+    try {
+      framework.update(request);
+      fail("Expected the update of a hidden metacard to fail");
+    } catch (IngestException e) {
+      assertFalse(provider.hasReceivedUpdate());
+    }
+  }
+
+  private Metacard createMetacardInProvider() throws Exception {
+    MetacardImpl newCard = new MetacardImpl();
+    newCard.setId(null);
+    return provider
+        .create(new CreateRequestImpl(Collections.singletonList(newCard), null))
+        .getCreatedMetacards()
+        .get(0);
+  }
+
+  private void federateWith(List<PreFederatedQueryPlugin> preFederatedQueryPlugins)
+      throws FederationException {
+    FederationStrategy strategy =
+        new SortedFederationStrategy(
+            Executors.newSingleThreadExecutor(), preFederatedQueryPlugins, new ArrayList<>());
+    when(mockFederationStrategy.federate(anyList(), any()))
+        .thenAnswer(
+            invocation -> strategy.federate(invocation.getArgument(0), invocation.getArgument(1)));
+  }
+
   /**
    * Tests that the framework properly passes a delete by identifier request to the local provider.
    */
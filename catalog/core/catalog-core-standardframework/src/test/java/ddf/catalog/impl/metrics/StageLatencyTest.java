@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.impl.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+public class StageLatencyTest {
+
+  @Test
+  public void testBucketsCoverEveryValue() {
+    long previousUpperBound = -1;
+    for (int i = 0; i < StageLatency.BUCKET_COUNT; i++) {
+      long upperBound = StageLatency.bucketUpperBound(i);
+      assertThat(upperBound > previousUpperBound, is(true));
+      assertThat(StageLatency.bucketIndex(previousUpperBound + 1), is(i));
+      assertThat(StageLatency.bucketIndex(upperBound), is(i));
+      previousUpperBound = upperBound;
+    }
+    assertThat(previousUpperBound, is(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testPercentiles() {
+    StageLatency latency = new StageLatency();
+    for (int i = 1; i <= 1000; i++) {
+      latency.record(TimeUnit.MILLISECONDS.toNanos(i));
+    }
+
+    assertThat(latency.getCount(), is(1000L));
+    assertThat(latency.getMean(), closeTo(500.5, 0.001));
+    assertThat(latency.getMax(), closeTo(1000, 0.001));
+    assertThat(latency.get50thPercentile(), within(500));
+    assertThat(latency.get90thPercentile(), within(900));
+    assertThat(latency.get99thPercentile(), within(990));
+    assertThat(latency.get999thPercentile(), within(999));
+  }
+
+  @Test
+  public void testReset() {
+    StageLatency latency = new StageLatency();
+    latency.record(TimeUnit.MILLISECONDS.toNanos(5));
+
+    latency.reset();
+
+    assertThat(latency.getCount(), is(0L));
+    assertThat(latency.getMean(), is(0.0));
+    assertThat(latency.get99thPercentile(), is(0.0));
+  }
+
+  @Test
+  public void testStagesArePublishedAsMBeans() throws Exception {
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    JmxStageMetrics stageMetrics = new JmxStageMetrics(mBeanServer);
+    String stage = StageMetrics.pluginStage("query.prequery", this);
+    ObjectName objectName = JmxStageMetrics.objectName(stage);
+
+    stageMetrics.record(stage, TimeUnit.MILLISECONDS.toNanos(3));
+    stageMetrics.record(stage, TimeUnit.MILLISECONDS.toNanos(4));
+
+    assertThat(mBeanServer.isRegistered(objectName), is(true));
+    assertThat(mBeanServer.getAttribute(objectName, "Count"), is(2L));
+
+    stageMetrics.destroy();
+
+    assertThat(mBeanServer.isRegistered(objectName), is(false));
+  }
+
+  /** Percentiles are reported as the top of their bucket, which is at most 1/16 larger. */
+  private static org.hamcrest.Matcher<Double> within(double expected) {
+    return allOf(greaterThanOrEqualTo(expected), lessThanOrEqualTo(expected * 17 / 16));
+  }
+}
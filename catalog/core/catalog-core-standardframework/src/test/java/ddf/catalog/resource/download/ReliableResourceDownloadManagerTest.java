@@ -20,8 +20,11 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -38,6 +41,7 @@
 import ddf.catalog.event.retrievestatus.DownloadsStatusEventPublisher;
 import ddf.catalog.operation.ResourceRequest;
 import ddf.catalog.operation.ResourceResponse;
+import ddf.catalog.operation.impl.ResourceRequestById;
 import ddf.catalog.resource.Resource;
 import ddf.catalog.resource.ResourceNotFoundException;
 import ddf.catalog.resource.ResourceNotSupportedException;
@@ -236,6 +240,35 @@ public void testDownloadIOException() throws Exception {
     downloadMgr.download(resourceRequest, metacard, retriever);
   }
 
+  @Test
+  public void testDownloadFromCacheWithBytesToSkip() throws Exception {
+    Metacard metacard = getMockMetacard(EXPECTED_METACARD_ID, EXPECTED_METACARD_SOURCE_ID);
+    Map<String, Serializable> requestProperties = new HashMap<>();
+    requestProperties.put(ResourceRetriever.BYTES_TO_SKIP, 10L);
+    ResourceRequest rangeRequest = new ResourceRequestById(EXPECTED_METACARD_ID, requestProperties);
+
+    ReliableResource cachedResource =
+        new ReliableResource(
+            EXPECTED_CACHE_KEY,
+            productInputFilename,
+            new MimeType("text/plain"),
+            "test-resource",
+            metacard);
+    when(resourceCache.getValid(anyString(), any(Metacard.class))).thenReturn(cachedResource);
+    downloadMgr.setCacheEnabled(true);
+
+    ResourceRetriever retriever = mock(ResourceRetriever.class);
+    ResourceResponse newResourceResponse = downloadMgr.download(rangeRequest, metacard, retriever);
+
+    try (InputStream is = newResourceResponse.getResource().getInputStream()) {
+      assertThat(IOUtils.toString(is), is(expectedFileContents.substring(10)));
+    }
+    assertThat(
+        newResourceResponse.getProperties().get(ReliableResourceDownloader.BYTES_SKIPPED),
+        is(10L));
+    verify(retriever, never()).retrieveResource();
+  }
+
   @Test
   // @Ignore
   public void testDownloadWithoutCaching() throws Exception {
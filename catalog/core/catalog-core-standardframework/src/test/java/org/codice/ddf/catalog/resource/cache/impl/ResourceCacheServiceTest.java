@@ -71,6 +71,8 @@ public class ResourceCacheServiceTest {
 
   @Mock private CatalogFramework mockCatalogFramework;
 
+  @Mock private ddf.catalog.cache.impl.ResourceCacheImpl mockProductCache;
+
   @Mock(answer = Answers.RETURNS_DEEP_STUBS)
   private QueryResponse mockQueryResponse;
 
@@ -257,6 +259,23 @@ public void testContainsByIdCatalogFrameworkThrowsException() throws Exception {
     assertThat(isMetacardCached, is(false));
   }
 
+  @Test
+  public void testCacheStatistics() throws Exception {
+    when(mockProductCache.getCacheDirSizeMegabytes()).thenReturn(5L);
+    when(mockProductCache.getCacheHitCount()).thenReturn(4L);
+    when(mockProductCache.getCacheMissCount()).thenReturn(3L);
+    when(mockProductCache.getCacheEvictionCount()).thenReturn(2L);
+    when(mockProductCache.getCacheEvictedBytes()).thenReturn(1L);
+
+    ResourceCacheServiceMBean resourceCacheService = createResourceCacheServiceMBean();
+
+    assertThat(resourceCacheService.getCacheDirSizeMegabytes(), is(5L));
+    assertThat(resourceCacheService.getCacheHitCount(), is(4L));
+    assertThat(resourceCacheService.getCacheMissCount(), is(3L));
+    assertThat(resourceCacheService.getCacheEvictionCount(), is(2L));
+    assertThat(resourceCacheService.getCacheEvictedBytes(), is(1L));
+  }
+
   private void setupMockMBeanServer(boolean isRegistered, boolean throwMBeanRegException)
       throws Exception {
     when(mockMBeanServer.isRegistered(resourceCacheServiceObjectName)).thenReturn(isRegistered);
@@ -277,7 +296,8 @@ private ResourceCacheServiceMBean createResourceCacheServiceMBean()
         mockResourceCache,
         mockDownloadManager,
         mockFrameworkProperties,
-        mockCatalogFramework);
+        mockCatalogFramework,
+        mockProductCache);
   }
 
   private void setupMockDownloadManager(boolean isCacheEnabled) {
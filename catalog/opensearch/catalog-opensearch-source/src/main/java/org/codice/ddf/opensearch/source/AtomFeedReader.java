@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.opensearch.source;
+
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.lang3.StringUtils;
+import org.jdom2.Attribute;
+import org.jdom2.CDATA;
+import org.jdom2.Comment;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads an RSS/Atom feed one entry at a time. Each Atom entry is read from the stream on its own
+ * and parsed into a {@link SyndEntry} as soon as it is complete, so the entries already handed out
+ * are the only ones held in memory rather than a model of the whole feed. The rest of the feed,
+ * which carries the OpenSearch foreign markup, is available from {@link #getFeed()} once every
+ * entry has been read. Feeds that are not Atom feeds, such as RSS, are parsed as a whole.
+ */
+class AtomFeedReader implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AtomFeedReader.class);
+
+  private static final Namespace ATOM_NAMESPACE =
+      Namespace.getNamespace("http://www.w3.org/2005/Atom");
+
+  private static final String FEED = "feed";
+
+  private static final String ENTRY = "entry";
+
+  private final XMLStreamReader xmlStreamReader;
+
+  /** An empty copy of the root element, which each entry is parsed within. */
+  private Element feedShell;
+
+  /** The root element and everything in it but its entries. */
+  private Element feedElement;
+
+  private Iterator<SyndEntry> wholeFeedEntries;
+
+  private SyndFeed wholeFeed;
+
+  AtomFeedReader(XMLInputFactory xmlInputFactory, InputStream inputStream)
+      throws XMLStreamException {
+    this.xmlStreamReader =
+        xmlInputFactory.createXMLStreamReader(
+            new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the next entry of the feed, or null once every entry has been read
+   * @throws XMLStreamException if the feed is not well formed
+   * @throws FeedException if the feed is not a valid RSS/Atom feed
+   */
+  SyndEntry nextEntry() throws XMLStreamException, FeedException {
+    if (feedShell == null) {
+      readRootElement();
+    }
+
+    if (wholeFeedEntries != null) {
+      return wholeFeedEntries.hasNext() ? wholeFeedEntries.next() : null;
+    }
+
+    while (xmlStreamReader.hasNext()) {
+      int event = xmlStreamReader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        Element child = readElement();
+        if (isAtom(child, ENTRY)) {
+          Element feed = feedShell.clone();
+          feed.addContent(child);
+          List<SyndEntry> entries = build(feed).getEntries();
+          if (!entries.isEmpty()) {
+            return entries.get(0);
+          }
+        } else {
+          feedElement.addContent(child);
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        break;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the feed without its entries, which should only be called once {@link #nextEntry()}
+   *     has returned null
+   * @throws FeedException if the feed is not a valid RSS/Atom feed
+   */
+  SyndFeed getFeed() throws XMLStreamException, FeedException {
+    if (feedShell == null) {
+      readRootElement();
+    }
+    return wholeFeed != null ? wholeFeed : build(feedElement);
+  }
+
+  @Override
+  public void close() {
+    try {
+      xmlStreamReader.close();
+    } catch (XMLStreamException e) {
+      LOGGER.debug("Failed to close feed reader", e);
+    }
+  }
+
+  private void readRootElement() throws XMLStreamException, FeedException {
+    while (xmlStreamReader.hasNext()) {
+      if (xmlStreamReader.next() == XMLStreamConstants.START_ELEMENT) {
+        feedShell = startElement();
+        if (isAtom(feedShell, FEED)) {
+          feedElement = feedShell.clone();
+        } else {
+          LOGGER.debug("Reading {} feed as a whole.", feedShell.getName());
+          Element root = feedShell.clone();
+          readContent(root);
+          wholeFeed = build(root);
+          wholeFeedEntries = wholeFeed.getEntries().iterator();
+        }
+        return;
+      }
+    }
+    throw new FeedException("Feed has no root element.");
+  }
+
+  /** Reads the element the stream is positioned on, up to and including its end tag. */
+  private Element readElement() throws XMLStreamException {
+    Element element = startElement();
+    readContent(element);
+    return element;
+  }
+
+  private void readContent(Element element) throws XMLStreamException {
+    while (xmlStreamReader.hasNext()) {
+      switch (xmlStreamReader.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          element.addContent(readElement());
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.SPACE:
+        case XMLStreamConstants.ENTITY_REFERENCE:
+          if (xmlStreamReader.getText() != null) {
+            element.addContent(new Text(xmlStreamReader.getText()));
+          }
+          break;
+        case XMLStreamConstants.CDATA:
+          element.addContent(new CDATA(xmlStreamReader.getText()));
+          break;
+        case XMLStreamConstants.COMMENT:
+          element.addContent(new Comment(xmlStreamReader.getText()));
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          return;
+        default:
+          break;
+      }
+    }
+  }
+
+  private Element startElement() {
+    Element element =
+        new Element(
+            xmlStreamReader.getLocalName(),
+            namespace(xmlStreamReader.getPrefix(), xmlStreamReader.getNamespaceURI()));
+
+    for (int i = 0; i < xmlStreamReader.getNamespaceCount(); i++) {
+      Namespace declared =
+          namespace(xmlStreamReader.getNamespacePrefix(i), xmlStreamReader.getNamespaceURI(i));
+      if (declared != Namespace.NO_NAMESPACE
+          && !declared.getPrefix().equals(element.getNamespacePrefix())) {
+        element.addNamespaceDeclaration(declared);
+      }
+    }
+
+    for (int i = 0; i < xmlStreamReader.getAttributeCount(); i++) {
+      Namespace attributeNamespace =
+          namespace(
+              xmlStreamReader.getAttributePrefix(i), xmlStreamReader.getAttributeNamespace(i));
+      element.setAttribute(
+          new Attribute(
+              xmlStreamReader.getAttributeLocalName(i),
+              xmlStreamReader.getAttributeValue(i),
+              attributeNamespace));
+    }
+    return element;
+  }
+
+  private static Namespace namespace(String prefix, String uri) {
+    if (StringUtils.isEmpty(uri)) {
+      return Namespace.NO_NAMESPACE;
+    }
+    return Namespace.getNamespace(StringUtils.defaultString(prefix), uri);
+  }
+
+  private static boolean isAtom(Element element, String name) {
+    return ATOM_NAMESPACE.equals(element.getNamespace()) && name.equals(element.getName());
+  }
+
+  private static SyndFeed build(Element root) throws FeedException {
+    try {
+      return new SyndFeedInput().build(new Document(root));
+    } catch (IllegalArgumentException e) {
+      throw new FeedException("Unable to parse feed.", e);
+    }
+  }
+}
@@ -17,9 +17,7 @@
 import com.rometools.rome.feed.synd.SyndCategory;
 import com.rometools.rome.feed.synd.SyndContent;
 import com.rometools.rome.feed.synd.SyndEntry;
-import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.FeedException;
-import com.rometools.rome.io.SyndFeedInput;
 import ddf.catalog.data.ContentType;
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.Result;
@@ -48,15 +46,16 @@
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -64,9 +63,16 @@
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 import javax.ws.rs.core.Response;
@@ -215,6 +221,14 @@ public class OpenSearchSource implements OAuthFederatedSource, ConfiguredService
 
   protected Integer pollInterval = 5;
 
+  private static final int ENTRY_CONVERSION_THREADS = Runtime.getRuntime().availableProcessors();
+
+  private static final int MAX_PENDING_ENTRIES = ENTRY_CONVERSION_THREADS * 2;
+
+  private static final long ENTRY_CONVERSION_POLL_SECONDS = 1;
+
+  private ExecutorService entryConversionExecutor;
+
   /**
    * Creates an OpenSearch Site instance. Sets an initial default endpointUrl that can be
    * overwritten using the setter methods.
@@ -262,6 +276,25 @@ public void init() {
     updateFactory();
   }
 
+  /**
+   * Creates the pool that converts Atom entries to metacards. A single pool sized to the available
+   * processors is shared by every OpenSearch source. Entries it can't queue are rejected and
+   * converted by the querying thread.
+   */
+  public static ExecutorService newEntryConversionExecutor() {
+    return new ThreadPoolExecutor(
+        ENTRY_CONVERSION_THREADS,
+        ENTRY_CONVERSION_THREADS,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(MAX_PENDING_ENTRIES),
+        StandardThreadFactoryBuilder.newThreadFactory("openSearchEntryConversionThread"));
+  }
+
+  public void setEntryConversionExecutor(ExecutorService entryConversionExecutor) {
+    this.entryConversionExecutor = entryConversionExecutor;
+  }
+
   private void updateFactory() {
     factory = createClientFactory(endpointUrl.getResolvedString(), username, password);
     updateScheduler();
@@ -592,25 +625,28 @@ void setForeignMarkupBiConsumer(
   private SourceResponseImpl processResponse(InputStream is, QueryRequest queryRequest)
       throws UnsupportedQueryException {
     List<Result> resultQueue = new ArrayList<>();
-
-    SyndFeedInput syndFeedInput = new SyndFeedInput();
-    SyndFeed syndFeed = null;
-    try {
-      syndFeed = syndFeedInput.build(new InputStreamReader(is, StandardCharsets.UTF_8));
-    } catch (FeedException e) {
-      LOGGER.debug("Unable to read RSS/Atom feed.", e);
-    }
-
-    List<SyndEntry> entries;
     long totalResults = 0;
     List<Element> foreignMarkup = null;
-    if (syndFeed != null) {
-      entries = syndFeed.getEntries();
-      for (SyndEntry entry : entries) {
-        resultQueue.addAll(createResponseFromEntry(entry));
+
+    // Entries are read one at a time and converted on the entry conversion pool, with only a
+    // bounded number of them waiting to be converted. Results are collected in feed order.
+    Deque<FutureTask<List<Result>>> pendingEntries = new ArrayDeque<>();
+    try (AtomFeedReader feedReader = new AtomFeedReader(xmlInputFactory, is)) {
+      long entryCount = 0;
+      SyndEntry entry;
+      while ((entry = feedReader.nextEntry()) != null) {
+        entryCount++;
+        pendingEntries.add(convertEntry(entry));
+        if (pendingEntries.size() >= MAX_PENDING_ENTRIES) {
+          resultQueue.addAll(awaitEntry(pendingEntries.remove()));
+        }
       }
-      totalResults = entries.size();
-      foreignMarkup = syndFeed.getForeignMarkup();
+      while (!pendingEntries.isEmpty()) {
+        resultQueue.addAll(awaitEntry(pendingEntries.remove()));
+      }
+
+      totalResults = entryCount;
+      foreignMarkup = feedReader.getFeed().getForeignMarkup();
       for (Element element : foreignMarkup) {
         if (element.getName().equals("totalResults")) {
           try {
@@ -621,6 +657,13 @@ private SourceResponseImpl processResponse(InputStream is, QueryRequest queryReq
           }
         }
       }
+    } catch (XMLStreamException | FeedException e) {
+      LOGGER.debug("Unable to read RSS/Atom feed.", e);
+      resultQueue.clear();
+      totalResults = 0;
+      foreignMarkup = null;
+    } finally {
+      pendingEntries.forEach(pendingEntry -> pendingEntry.cancel(true));
     }
 
     SourceResponseImpl response = new SourceResponseImpl(queryRequest, resultQueue);
@@ -633,6 +676,50 @@ private SourceResponseImpl processResponse(InputStream is, QueryRequest queryReq
     return response;
   }
 
+  private FutureTask<List<Result>> convertEntry(SyndEntry entry) {
+    FutureTask<List<Result>> task = new FutureTask<>(() -> createResponseFromEntry(entry));
+    if (entryConversionExecutor == null) {
+      task.run();
+      return task;
+    }
+
+    try {
+      entryConversionExecutor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // the pool is busy or shut down, so the calling thread converts the entry itself
+      task.run();
+    }
+    return task;
+  }
+
+  private List<Result> awaitEntry(FutureTask<List<Result>> pendingEntry)
+      throws UnsupportedQueryException {
+    try {
+      while (true) {
+        try {
+          return pendingEntry.get(ENTRY_CONVERSION_POLL_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+          if (entryConversionExecutor.isShutdown()) {
+            // Queued entries are dropped when the pool shuts down. Running the task here does
+            // nothing if a pool thread has already started it.
+            pendingEntry.run();
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UnsupportedQueryException("Interrupted while converting Atom feed entries.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof UnsupportedQueryException) {
+        throw (UnsupportedQueryException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new UnsupportedQueryException("Unable to convert Atom feed entry.", e.getCause());
+    }
+  }
+
   /**
    * Creates a single response from input parameters. Performs XPath operations on the document to
    * retrieve data not passed in.
@@ -68,6 +68,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -628,6 +629,79 @@ public void testQueryResponseWithForeignMarkup() throws UnsupportedQueryExceptio
     assertThat(metacard.getContentTypeName(), is(RESOURCE_TAG));
   }
 
+  @Test
+  public void testQueryResponseKeepsEntryOrder() throws UnsupportedQueryException {
+    int entryCount = 50;
+    StringBuilder feed =
+        new StringBuilder(
+            "<feed xmlns=\"http://www.w3.org/2005/Atom\" xmlns:os=\"http://a9.com/-/spec/opensearch/1.1/\" xmlns:relevance=\"http://a9.com/-/opensearch/extensions/relevance/1.0/\">"
+                + "<title type=\"text\">Query Response</title>"
+                + "<id>urn:uuid:a27352c9-f935-45f0-9b8c-5803095164bb</id>");
+    for (int i = 0; i < entryCount; i++) {
+      feed.append("<entry>")
+          .append("<relevance:score>")
+          .append(i)
+          .append("</relevance:score>")
+          .append("<id>urn:catalog:id:")
+          .append(i)
+          .append("</id>")
+          .append("<title type=\"text\">Entry ")
+          .append(i)
+          .append("</title>")
+          .append("<content type=\"application/xml\"><metacard/></content>")
+          .append("</entry>");
+    }
+    feed.append("<os:totalResults>500</os:totalResults></feed>");
+    when(response.getEntity())
+        .thenReturn(new ByteArrayInputStream(feed.toString().getBytes(StandardCharsets.UTF_8)));
+
+    Filter filter =
+        FILTER_BUILDER.attribute(NOT_ID_ATTRIBUTE_NAME).like().text(SAMPLE_SEARCH_PHRASE);
+
+    ExecutorService executor = OpenSearchSource.newEntryConversionExecutor();
+    source.setEntryConversionExecutor(executor);
+    try {
+      SourceResponse response = source.query(getQueryRequest(filter));
+      assertThat(response.getHits(), is(500L));
+      List<Result> results = response.getResults();
+      assertThat(results, hasSize(entryCount));
+      for (int i = 0; i < entryCount; i++) {
+        assertThat(results.get(i).getRelevanceScore(), is((double) i));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testQueryWithShutDownExecutorConvertsEntries() throws UnsupportedQueryException {
+    when(response.getEntity()).thenReturn(getSampleAtomStream());
+    ExecutorService executor = OpenSearchSource.newEntryConversionExecutor();
+    executor.shutdownNow();
+    source.setEntryConversionExecutor(executor);
+
+    Filter filter =
+        FILTER_BUILDER.attribute(NOT_ID_ATTRIBUTE_NAME).like().text(SAMPLE_SEARCH_PHRASE);
+    SourceResponse response = source.query(getQueryRequest(filter));
+
+    assertThat(response.getResults(), hasSize(1));
+  }
+
+  @Test(timeout = 10000)
+  public void testQueryConvertsEntriesDroppedByShutdown() throws UnsupportedQueryException {
+    when(response.getEntity()).thenReturn(getSampleAtomStream());
+    // accepts the entry but never runs it, like a pool that is shut down before getting to it
+    ExecutorService executor = mock(ExecutorService.class);
+    when(executor.isShutdown()).thenReturn(true);
+    source.setEntryConversionExecutor(executor);
+
+    Filter filter =
+        FILTER_BUILDER.attribute(NOT_ID_ATTRIBUTE_NAME).like().text(SAMPLE_SEARCH_PHRASE);
+    SourceResponse response = source.query(getQueryRequest(filter));
+
+    assertThat(response.getResults(), hasSize(1));
+  }
+
   /** Basic retrieve product case. Tests the url sent to the connection is correct. */
   @Test
   public void testRetrieveResource() throws Exception {
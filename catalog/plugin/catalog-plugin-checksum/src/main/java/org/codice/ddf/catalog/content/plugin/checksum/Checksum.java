@@ -13,8 +13,12 @@
  */
 package org.codice.ddf.catalog.content.plugin.checksum;
 
+import static ddf.catalog.Constants.CONTENT_CHECKSUMS;
+import static ddf.catalog.Constants.CONTENT_CHECKSUM_ALGORITHM;
+
 import ddf.catalog.content.data.ContentItem;
 import ddf.catalog.content.operation.CreateStorageRequest;
+import ddf.catalog.content.operation.StorageRequest;
 import ddf.catalog.content.operation.UpdateStorageRequest;
 import ddf.catalog.content.plugin.PreCreateStoragePlugin;
 import ddf.catalog.content.plugin.PreUpdateStoragePlugin;
@@ -23,8 +27,11 @@
 import ddf.catalog.plugin.PluginExecutionException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.checksum.ChecksumProvider;
 
@@ -40,7 +47,7 @@ public CreateStorageRequest process(CreateStorageRequest input) throws PluginExe
     if (input == null) {
       throw new IllegalArgumentException("CreateStorageRequest cannot be null");
     }
-    runChecksum(input.getContentItems());
+    runChecksum(input.getContentItems(), getCalculatedChecksums(input));
 
     return input;
   }
@@ -50,12 +57,29 @@ public UpdateStorageRequest process(UpdateStorageRequest input) throws PluginExe
     if (input == null) {
       throw new IllegalArgumentException("UpdateStorageRequest cannot be null");
     }
-    runChecksum(input.getContentItems());
+    runChecksum(input.getContentItems(), getCalculatedChecksums(input));
 
     return input;
   }
 
-  private void runChecksum(List<ContentItem> contentItems) throws PluginExecutionException {
+  /**
+   * Returns the checksums the catalog framework calculated while copying the content, if they were
+   * calculated with this plugin's algorithm.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, String> getCalculatedChecksums(StorageRequest request) {
+    Serializable checksums = request.getPropertyValue(CONTENT_CHECKSUMS);
+    if (checksums instanceof Map
+        && checksumProvider
+            .getChecksumAlgorithm()
+            .equals(request.getPropertyValue(CONTENT_CHECKSUM_ALGORITHM))) {
+      return (Map<String, String>) checksums;
+    }
+    return Collections.emptyMap();
+  }
+
+  private void runChecksum(List<ContentItem> contentItems, Map<String, String> calculatedChecksums)
+      throws PluginExecutionException {
     for (ContentItem contentItem : contentItems) {
       if (StringUtils.isNotEmpty(contentItem.getQualifier())) {
         // We are dealing with a derived resource, and this Metacard's checksum should reflect the
@@ -63,6 +87,13 @@ private void runChecksum(List<ContentItem> contentItems) throws PluginExecutionE
         continue;
       }
 
+      String calculatedChecksum = calculatedChecksums.get(contentItem.getId());
+      if (calculatedChecksum != null) {
+        addChecksumAttributes(
+            contentItem.getMetacard(), checksumProvider.getChecksumAlgorithm(), calculatedChecksum);
+        continue;
+      }
+
       try (InputStream inputStream = contentItem.getInputStream()) {
         // calculate checksum so that it can be added as an attribute on metacard
         String checksumAlgorithm = checksumProvider.getChecksumAlgorithm();
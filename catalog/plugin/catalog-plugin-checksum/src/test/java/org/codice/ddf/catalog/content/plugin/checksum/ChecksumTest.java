@@ -13,6 +13,8 @@
  */
 package org.codice.ddf.catalog.content.plugin.checksum;
 
+import static ddf.catalog.Constants.CONTENT_CHECKSUMS;
+import static ddf.catalog.Constants.CONTENT_CHECKSUM_ALGORITHM;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -35,6 +37,7 @@
 import java.io.InputStream;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import org.codice.ddf.checksum.ChecksumProvider;
 import org.junit.Before;
@@ -125,6 +128,39 @@ public void testProcessUpdateWithValidInput() throws PluginExecutionException {
     assertThat(checksumAlgorithm, is(SAMPLE_CHECKSUM_ALGORITHM));
   }
 
+  @Test
+  public void testProcessCreateUsesChecksumCalculatedByFramework() throws Exception {
+    ContentItem contentItem = mockCreateRequest.getContentItems().get(0);
+    when(contentItem.getId()).thenReturn("content-id");
+    HashMap<String, String> checksums = new HashMap<>();
+    checksums.put("content-id", "calculated");
+    when(mockCreateRequest.getPropertyValue(CONTENT_CHECKSUMS)).thenReturn(checksums);
+    when(mockCreateRequest.getPropertyValue(CONTENT_CHECKSUM_ALGORITHM))
+        .thenReturn(SAMPLE_CHECKSUM_ALGORITHM);
+
+    checksum.process(mockCreateRequest);
+
+    assertThat(
+        contentItem.getMetacard().getAttribute(Metacard.CHECKSUM).getValue(), is("calculated"));
+    verify(contentItem, never()).getInputStream();
+  }
+
+  @Test
+  public void testProcessCreateIgnoresChecksumOfOtherAlgorithm() throws Exception {
+    ContentItem contentItem = mockCreateRequest.getContentItems().get(0);
+    when(contentItem.getId()).thenReturn("content-id");
+    HashMap<String, String> checksums = new HashMap<>();
+    checksums.put("content-id", "calculated");
+    when(mockCreateRequest.getPropertyValue(CONTENT_CHECKSUMS)).thenReturn(checksums);
+    when(mockCreateRequest.getPropertyValue(CONTENT_CHECKSUM_ALGORITHM)).thenReturn("SHA-256");
+
+    checksum.process(mockCreateRequest);
+
+    assertThat(
+        contentItem.getMetacard().getAttribute(Metacard.CHECKSUM).getValue(),
+        is(SAMPLE_CHECKSUM_VALUE));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testProcessCreateWithNullInput() throws PluginExecutionException {
     checksum.process((CreateStorageRequest) null);
@@ -27,6 +27,7 @@
 import ddf.catalog.plugin.PreIngestPlugin;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.util.Describable;
+import ddf.catalog.validation.BatchMetacardValidator;
 import ddf.catalog.validation.MetacardValidator;
 import ddf.catalog.validation.ValidationException;
 import java.io.Serializable;
@@ -82,18 +83,41 @@ public UpdateRequest process(UpdateRequest input)
   private <T> List<T> validateList(List<T> requestItems, Function<T, Metacard> itemToMetacard) {
     Map<String, Integer> counter = new HashMap<>();
 
-    List<T> validated =
-        requestItems
-            .stream()
-            .map(item -> validate(item, itemToMetacard, counter))
-            .filter(didNotFailEnforcedValidator)
-            .collect(Collectors.toList());
+    Map<MetacardValidator, Map<Integer, ValidationException>> batchFailures =
+        validateBatches(requestItems.stream().map(itemToMetacard).collect(Collectors.toList()));
+
+    List<T> validated = new ArrayList<>();
+    for (int index = 0; index < requestItems.size(); index++) {
+      T item = validate(requestItems.get(index), index, itemToMetacard, batchFailures, counter);
+      if (didNotFailEnforcedValidator.test(item)) {
+        validated.add(item);
+      }
+    }
 
     return validated;
   }
 
+  /**
+   * Runs the {@link BatchMetacardValidator}s once for the whole request instead of once for each
+   * metacard.
+   */
+  private Map<MetacardValidator, Map<Integer, ValidationException>> validateBatches(
+      List<Metacard> metacards) {
+    Map<MetacardValidator, Map<Integer, ValidationException>> batchFailures = new HashMap<>();
+    for (MetacardValidator validator : metacardValidators) {
+      if (validator instanceof BatchMetacardValidator) {
+        batchFailures.put(validator, ((BatchMetacardValidator) validator).validateBatch(metacards));
+      }
+    }
+    return batchFailures;
+  }
+
   private <T> T validate(
-      T item, Function<T, Metacard> itemToMetacard, Map<String, Integer> counter) {
+      T item,
+      int index,
+      Function<T, Metacard> itemToMetacard,
+      Map<MetacardValidator, Map<Integer, ValidationException>> batchFailures,
+      Map<String, Integer> counter) {
     Set<Serializable> newErrors = new HashSet<>();
     Set<Serializable> newWarnings = new HashSet<>();
     Set<Serializable> errorValidators = new HashSet<>();
@@ -107,9 +131,8 @@ private <T> T validate(
     String valid = VALID_TAG;
 
     for (MetacardValidator validator : metacardValidators) {
-      try {
-        validator.validate(metacard);
-      } catch (ValidationException e) {
+      ValidationException e = getValidationException(validator, metacard, index, batchFailures);
+      if (e != null) {
         String validatorName = getValidatorName(validator);
         boolean validationErrorsExist = CollectionUtils.isNotEmpty(e.getErrors());
         boolean validationWarningsExist = CollectionUtils.isNotEmpty(e.getWarnings());
@@ -197,6 +220,23 @@ private <T> T validate(
     return item;
   }
 
+  private ValidationException getValidationException(
+      MetacardValidator validator,
+      Metacard metacard,
+      int index,
+      Map<MetacardValidator, Map<Integer, ValidationException>> batchFailures) {
+    if (batchFailures.containsKey(validator)) {
+      return batchFailures.get(validator).get(index);
+    }
+
+    try {
+      validator.validate(metacard);
+      return null;
+    } catch (ValidationException e) {
+      return e;
+    }
+  }
+
   private void getValidationProblems(
       String validatorName,
       ValidationException e,
@@ -26,6 +26,8 @@
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -46,6 +48,7 @@
 import ddf.catalog.plugin.PluginExecutionException;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.util.Describable;
+import ddf.catalog.validation.BatchMetacardValidator;
 import ddf.catalog.validation.MetacardValidator;
 import ddf.catalog.validation.ValidationException;
 import java.io.Serializable;
@@ -374,6 +377,39 @@ public void testMetacardFailsEnforcedValidatorNoDescribable()
     verifyEnforcedUpdate(updateRequest, updatedMetacards.subList(1, updatedMetacards.size()));
   }
 
+  @Test
+  public void testBatchValidatorValidatesWholeRequest() throws Exception {
+    BatchMetacardValidator batchValidator = getMockBatchValidatorFailingFirst();
+    metacardValidators.add(batchValidator);
+
+    CreateRequest createRequest = plugin.process(getMockCreateRequest());
+    List<Metacard> createdMetacards = createRequest.getMetacards();
+    assertThat(createdMetacards, hasSize(2));
+    expectError.accept(createdMetacards.get(0).getAttribute(Validation.VALIDATION_ERRORS));
+    assertThat(createdMetacards.get(0).getTags(), hasItem(INVALID_TAG));
+    assertThat(
+        createdMetacards.get(1).getAttribute(Validation.VALIDATION_ERRORS).getValues(),
+        is(empty()));
+    assertThat(createdMetacards.get(1).getTags(), hasItem(VALID_TAG));
+
+    verify(batchValidator).validateBatch(any());
+    verify(batchValidator, never()).validate(any(Metacard.class));
+  }
+
+  @Test
+  public void testMetacardFailsEnforcedBatchValidator() throws Exception {
+    metacardValidators.add(getMockBatchValidatorFailingFirst());
+    enforcedMetacardValidators.add(ID);
+
+    CreateRequest createRequest = getMockCreateRequest();
+    List<Metacard> createdMetacards = createRequest.getMetacards();
+    verifyEnforcedCreate(createRequest, createdMetacards.subList(1, createdMetacards.size()));
+
+    UpdateRequest updateRequest = getMockUpdateRequest();
+    List<Metacard> updatedMetacards = getUpdatedMetacards(updateRequest);
+    verifyEnforcedUpdate(updateRequest, updatedMetacards.subList(1, updatedMetacards.size()));
+  }
+
   @Test
   public void testGetters() {
     assertThat(plugin.getMetacardValidators(), is(empty()));
@@ -536,6 +572,17 @@ private MetacardValidator getMockEnforcedFailingValidatorWithId(String id)
     return metacardValidator;
   }
 
+  private BatchMetacardValidator getMockBatchValidatorFailingFirst() {
+    ValidationException validationException = mock(ValidationException.class);
+    when(validationException.getErrors()).thenReturn(Collections.singletonList(SAMPLE_ERROR));
+    BatchMetacardValidator metacardValidator =
+        mock(BatchMetacardValidator.class, withSettings().extraInterfaces(Describable.class));
+    when(metacardValidator.validateBatch(any()))
+        .thenReturn(Collections.singletonMap(0, validationException));
+    when(((Describable) metacardValidator).getId()).thenReturn(ID);
+    return metacardValidator;
+  }
+
   private IsMetacardWithTitle isMetacardWithTitle(String title) {
     return new IsMetacardWithTitle(title);
   }
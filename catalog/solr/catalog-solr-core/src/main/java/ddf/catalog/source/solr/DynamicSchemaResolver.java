@@ -29,11 +29,7 @@
 import ddf.catalog.data.impl.MetacardTypeImpl;
 import ddf.catalog.data.types.Validation;
 import ddf.catalog.source.solr.json.MetacardTypeMapperFactory;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.security.AccessController;
@@ -311,14 +307,11 @@ void addFields(Metacard metacard, SolrInputDocument solrInputDocument)
                     + getSpecialIndexSuffix(AttributeFormat.STRING),
                 attributeValues);
           } else if (AttributeFormat.OBJECT.equals(format)) {
-            ByteArrayOutputStream byteArrayOS = new ByteArrayOutputStream();
-            List<Serializable> byteArrays = new ArrayList<>();
+            List<Serializable> byteArrays = new ArrayList<>(attributeValues.size());
 
-            try (ObjectOutputStream out = new ObjectOutputStream(byteArrayOS)) {
+            try {
               for (Serializable serializable : attributeValues) {
-                out.writeObject(serializable);
-                byteArrays.add(byteArrayOS.toByteArray());
-                out.reset();
+                byteArrays.add(ObjectValueCodec.encode(serializable));
               }
             } catch (IOException e) {
               throw new MetacardCreationException(COULD_NOT_SERIALIZE_OBJECT_MESSAGE, e);
@@ -484,8 +477,6 @@ List<Serializable> getDocValues(String solrFieldName, Collection<Object> docValu
     return values;
   }
 
-  @SuppressWarnings(
-      "squid:S2093" /* try-with-resource will throw IOException with InputStream and we do not care to get that exception */)
   private Serializable getDocValue(String solrFieldName, Object docValue) {
 
     AttributeFormat format = getType(solrFieldName);
@@ -498,22 +489,13 @@ private Serializable getDocValue(String solrFieldName, Object docValue) {
        */
       return Short.parseShort(docValue.toString());
     } else if (AttributeFormat.OBJECT.equals(format)) {
-
-      ByteArrayInputStream bais = null;
-      ObjectInputStream in = null;
-
       try {
-        bais = new ByteArrayInputStream((byte[]) docValue);
-        in = new ObjectInputStream(bais);
-        return (Serializable) in.readObject();
+        return ObjectValueCodec.decode((byte[]) docValue);
       } catch (IOException e) {
         LOGGER.info("IO exception loading input document", e);
       } catch (ClassNotFoundException e) {
         LOGGER.info("Could not create object to return.", e);
         // TODO which exception to throw?
-      } finally {
-        IOUtils.closeQuietly(bais);
-        IOUtils.closeQuietly(in);
       }
 
       return null;
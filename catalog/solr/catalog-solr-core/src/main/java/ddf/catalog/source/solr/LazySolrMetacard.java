@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import ddf.catalog.data.Attribute;
+import ddf.catalog.data.MetacardType;
+import ddf.catalog.data.impl.AttributeImpl;
+import ddf.catalog.data.impl.MetacardImpl;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.solr.common.SolrDocument;
+
+/**
+ * A {@link MetacardImpl} backed directly by a {@link SolrDocument}. Attribute values are resolved
+ * and decoded from the document the first time they are requested rather than when the metacard is
+ * created, so callers that read only a few attributes (for example, the title and location of a
+ * search result) do not pay to decode every stored field, including the full metadata.
+ *
+ * <p>Attributes set on this metacard replace the document's values. When serialized, this metacard
+ * is replaced by a fully materialized {@link MetacardImpl}.
+ */
+class LazySolrMetacard extends MetacardImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient SolrDocument doc;
+
+  private final transient DynamicSchemaResolver resolver;
+
+  /** Attribute names mapped to the Solr field that stores their values. */
+  private final transient Map<String, String> fieldNames = new ConcurrentHashMap<>();
+
+  /** Attributes that have been decoded from the document or set on this metacard. */
+  private final transient Map<String, Attribute> attributes = new ConcurrentHashMap<>();
+
+  LazySolrMetacard(MetacardType type, SolrDocument doc, DynamicSchemaResolver resolver) {
+    super(type);
+    this.doc = doc;
+    this.resolver = resolver;
+
+    for (String solrFieldName : doc.getFieldNames()) {
+      if (!resolver.isPrivateField(solrFieldName)) {
+        fieldNames.put(resolver.resolveFieldName(solrFieldName), solrFieldName);
+      }
+    }
+  }
+
+  @Override
+  public Attribute getAttribute(String name) {
+    Attribute attribute = attributes.get(name);
+    if (attribute != null) {
+      return attribute;
+    }
+
+    String solrFieldName = fieldNames.get(name);
+    if (solrFieldName == null) {
+      return null;
+    }
+
+    attribute =
+        new AttributeImpl(
+            name, resolver.getDocValues(solrFieldName, doc.getFieldValues(solrFieldName)));
+    if (attribute.getValue() == null) {
+      return null;
+    }
+
+    Attribute existing = attributes.putIfAbsent(name, attribute);
+    return existing != null ? existing : attribute;
+  }
+
+  @Override
+  public void setAttribute(Attribute attribute) {
+    if (attribute == null || attribute.getName() == null) {
+      return;
+    }
+
+    String name = attribute.getName();
+    if (attribute.getValue() != null) {
+      attributes.put(name, attribute);
+    } else {
+      fieldNames.remove(name);
+      attributes.remove(name);
+    }
+  }
+
+  /** @return the names of all attributes on this metacard */
+  Set<String> getAttributeNames() {
+    Set<String> names = new HashSet<>(fieldNames.keySet());
+    names.addAll(attributes.keySet());
+    return names;
+  }
+
+  private Object writeReplace() {
+    MetacardImpl metacard = new MetacardImpl(getMetacardType());
+    metacard.setSourceId(getSourceId());
+    for (String name : getAttributeNames()) {
+      metacard.setAttribute(getAttribute(name));
+    }
+    return metacard;
+  }
+}
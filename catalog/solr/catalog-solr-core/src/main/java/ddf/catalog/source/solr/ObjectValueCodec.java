@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Compact, versioned binary encoding for the values of {@link
+ * ddf.catalog.data.AttributeType.AttributeFormat#OBJECT} attributes stored in Solr.
+ *
+ * <p>Values of the common JDK types (strings, boxed primitives, dates and byte arrays) are written
+ * as a type tag followed by their raw bytes so they can be decoded without Java serialization. Any
+ * other {@link Serializable} value is written with Java serialization behind a {@link
+ * #SERIALIZED} tag. Every encoded value starts with a {@link #MAGIC} byte and a {@link #VERSION}
+ * byte.
+ *
+ * <p>Values written before this codec existed are plain Java serialization streams, which always
+ * start with {@code 0xACED}. Those are still decoded so existing indexes keep working; they are
+ * rewritten in this format the next time the metacard is updated.
+ */
+final class ObjectValueCodec {
+
+  static final byte MAGIC = (byte) 0xDD;
+
+  static final byte VERSION = 1;
+
+  private static final byte NULL = 0;
+
+  private static final byte STRING = 1;
+
+  private static final byte BOOLEAN = 2;
+
+  private static final byte SHORT = 3;
+
+  private static final byte INTEGER = 4;
+
+  private static final byte LONG = 5;
+
+  private static final byte FLOAT = 6;
+
+  private static final byte DOUBLE = 7;
+
+  private static final byte DATE = 8;
+
+  private static final byte BYTES = 9;
+
+  private static final byte SERIALIZED = 127;
+
+  private static final byte JAVA_SERIALIZATION_MAGIC_0 = (byte) 0xAC;
+
+  private static final byte JAVA_SERIALIZATION_MAGIC_1 = (byte) 0xED;
+
+  private ObjectValueCodec() {}
+
+  /**
+   * Encodes a value.
+   *
+   * @param value the value to encode, may be {@code null}
+   * @return the encoded bytes
+   * @throws IOException if the value cannot be serialized
+   */
+  static byte[] encode(Serializable value) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(MAGIC);
+      out.writeByte(VERSION);
+
+      // Only exact classes are given a compact encoding so that subclasses (e.g.,
+      // java.sql.Timestamp) keep their type through Java serialization
+      Class<?> type = value == null ? null : value.getClass();
+      if (type == null) {
+        out.writeByte(NULL);
+      } else if (type == String.class) {
+        out.writeByte(STRING);
+        writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+      } else if (type == Boolean.class) {
+        out.writeByte(BOOLEAN);
+        out.writeBoolean((Boolean) value);
+      } else if (type == Short.class) {
+        out.writeByte(SHORT);
+        out.writeShort((Short) value);
+      } else if (type == Integer.class) {
+        out.writeByte(INTEGER);
+        out.writeInt((Integer) value);
+      } else if (type == Long.class) {
+        out.writeByte(LONG);
+        out.writeLong((Long) value);
+      } else if (type == Float.class) {
+        out.writeByte(FLOAT);
+        out.writeFloat((Float) value);
+      } else if (type == Double.class) {
+        out.writeByte(DOUBLE);
+        out.writeDouble((Double) value);
+      } else if (type == Date.class) {
+        out.writeByte(DATE);
+        out.writeLong(((Date) value).getTime());
+      } else if (type == byte[].class) {
+        out.writeByte(BYTES);
+        writeBytes(out, (byte[]) value);
+      } else {
+        out.writeByte(SERIALIZED);
+        out.flush();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+          objectOut.writeObject(value);
+        }
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes a value written by {@link #encode(Serializable)} or by plain Java serialization.
+   *
+   * @param encoded the encoded bytes
+   * @return the decoded value, may be {@code null}
+   * @throws IOException if the bytes are not a supported encoding
+   * @throws ClassNotFoundException if a Java serialized value's class cannot be found
+   */
+  static Serializable decode(byte[] encoded) throws IOException, ClassNotFoundException {
+    if (isJavaSerialized(encoded)) {
+      return readSerialized(new ByteArrayInputStream(encoded));
+    }
+
+    if (encoded.length < 3 || encoded[0] != MAGIC) {
+      throw new IOException("Unrecognized object value encoding");
+    }
+    if (encoded[1] > VERSION) {
+      throw new IOException("Unsupported object value encoding version " + encoded[1]);
+    }
+
+    ByteArrayInputStream bytes = new ByteArrayInputStream(encoded, 3, encoded.length - 3);
+    DataInputStream in = new DataInputStream(bytes);
+    switch (encoded[2]) {
+      case NULL:
+        return null;
+      case STRING:
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+      case BOOLEAN:
+        return in.readBoolean();
+      case SHORT:
+        return in.readShort();
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case FLOAT:
+        return in.readFloat();
+      case DOUBLE:
+        return in.readDouble();
+      case DATE:
+        return new Date(in.readLong());
+      case BYTES:
+        return readBytes(in);
+      case SERIALIZED:
+        return readSerialized(bytes);
+      default:
+        throw new IOException("Unknown object value type " + encoded[2]);
+    }
+  }
+
+  private static boolean isJavaSerialized(byte[] encoded) {
+    return encoded.length >= 2
+        && encoded[0] == JAVA_SERIALIZATION_MAGIC_0
+        && encoded[1] == JAVA_SERIALIZATION_MAGIC_1;
+  }
+
+  private static Serializable readSerialized(ByteArrayInputStream bytes)
+      throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(bytes)) {
+      return (Serializable) in.readObject();
+    }
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    out.writeInt(value.length);
+    out.write(value);
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > in.available()) {
+      throw new IOException("Invalid object value length " + length);
+    }
+    byte[] value = new byte[length];
+    in.readFully(value);
+    return value;
+  }
+}
@@ -16,6 +16,8 @@
 import static ddf.catalog.Constants.ADDITIONAL_SORT_BYS;
 import static ddf.catalog.Constants.EXPERIMENTAL_FACET_PROPERTIES_KEY;
 import static ddf.catalog.Constants.EXPERIMENTAL_FACET_RESULTS_KEY;
+import static ddf.catalog.Constants.QUERY_CURSOR_KEY;
+import static ddf.catalog.Constants.QUERY_NEXT_CURSOR_KEY;
 import static ddf.catalog.Constants.SUGGESTION_BUILD_KEY;
 import static ddf.catalog.Constants.SUGGESTION_CONTEXT_KEY;
 import static ddf.catalog.Constants.SUGGESTION_DICT_KEY;
@@ -29,14 +31,12 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
-import ddf.catalog.data.Attribute;
 import ddf.catalog.data.AttributeType;
 import ddf.catalog.data.ContentType;
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.MetacardCreationException;
 import ddf.catalog.data.MetacardType;
 import ddf.catalog.data.Result;
-import ddf.catalog.data.impl.AttributeImpl;
 import ddf.catalog.data.impl.ContentTypeImpl;
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.data.impl.ResultImpl;
@@ -84,6 +84,7 @@
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.codice.solr.client.solrj.SolrClient;
 import org.opengis.filter.sort.SortBy;
 import org.opengis.filter.sort.SortOrder;
@@ -125,10 +126,17 @@ public class SolrMetacardClientImpl implements SolrMetacardClient {
 
   public static final String EXCLUDE_ATTRIBUTES = "excludeAttributes";
 
+  public static final String REQUESTED_ATTRIBUTES = "requestedAttributes";
+
   public static final String DO_REALTIME_GET = "doRealtimeGet";
 
   private static final String RESOURCE_ATTRIBUTE = "resource";
 
+  private static final String ID_SORT_FIELD = Metacard.ID + SchemaFields.TEXT_SUFFIX;
+
+  /** Solr field glob matching every format of every {@code security.} attribute */
+  private static final String SECURITY_FIELDS = "security.*";
+
   private final SolrClient client;
 
   private final SolrFilterDelegateFactory filterDelegateFactory;
@@ -201,6 +209,10 @@ public SourceResponse query(QueryRequest request) throws UnsupportedQueryExcepti
         query.setParam("spellcheck", userSpellcheckIsOn);
         highlighter.processPreQuery(request, query);
         solrResponse = client.query(query, METHOD.POST);
+
+        if (query.get(CursorMarkParams.CURSOR_MARK_PARAM) != null) {
+          responseProps.put(QUERY_NEXT_CURSOR_KEY, solrResponse.getNextCursorMark());
+        }
       }
 
       if (isFacetedQuery) {
@@ -632,11 +644,48 @@ protected SolrQuery postAdapt(
 
     setSortProperty(request, query, filterDelegate);
 
-    filterAttributes(request, query);
+    String cursorMark = getCursorMark(request);
+    if (cursorMark != null) {
+      setCursorMark(query, cursorMark);
+    }
+
+    if (skipRequestedAttributes(request)) {
+      filterAttributes(request, query);
+    } else {
+      projectAttributes(request, query);
+    }
 
     return query;
   }
 
+  /**
+   * Returns the cursor requested with the {@link ddf.catalog.Constants#QUERY_CURSOR_KEY} property,
+   * or {@code null} when the request does not page with a cursor or cannot be served with one.
+   * Spellcheck requests are excluded because they may be re-run with a corrected query, and
+   * requests for all records are excluded because they are served in a single page.
+   */
+  private String getCursorMark(QueryRequest request) {
+    Serializable cursorMark = request.getPropertyValue(QUERY_CURSOR_KEY);
+    if (!(cursorMark instanceof String)
+        || userSpellcheckIsOn(request)
+        || queryingForAllRecords(request)) {
+      return null;
+    }
+    return (String) cursorMark;
+  }
+
+  /**
+   * Pages the query with a Solr cursor. Solr requires cursor queries to start at the first row and
+   * to be sorted on the unique key, so the metacard ID is added as the final sort to break ties.
+   */
+  private void setCursorMark(SolrQuery query, String cursorMark) {
+    query.setStart(0);
+    if (query.getSorts().stream().noneMatch(sort -> ID_SORT_FIELD.equals(sort.getItem()))) {
+      query.addSort(ID_SORT_FIELD, SolrQuery.ORDER.asc);
+    }
+    query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+  }
+
   private void filterAttributes(QueryRequest request, SolrQuery query) {
     if (skipFilteredAttributes(request)) {
       return;
@@ -686,6 +735,50 @@ private void filterAttributes(QueryRequest request, SolrQuery query) {
     }
   }
 
+  /**
+   * Limits the Solr fields returned to those of the requested attributes, the metacard ID and the
+   * metacard type, less any excluded attributes. The security attributes and the metacard tags are
+   * always returned so that projected metacards can still be filtered by the access plugins.
+   */
+  private void projectAttributes(QueryRequest request, SolrQuery query) {
+    Set<String> requestedAttributes = (Set<String>) request.getPropertyValue(REQUESTED_ATTRIBUTES);
+    Set<String> excludedAttributes =
+        skipFilteredAttributes(request)
+            ? Collections.emptySet()
+            : (Set<String>) request.getPropertyValue(EXCLUDE_ATTRIBUTES);
+
+    Set<String> attributes = new HashSet<>(requestedAttributes);
+    attributes.removeAll(excludedAttributes);
+    attributes.add(Metacard.ID);
+    attributes.add(Metacard.TAGS);
+
+    Set<String> fields = new HashSet<>();
+    fields.add(SchemaFields.METACARD_TYPE_FIELD_NAME);
+    fields.add(SchemaFields.METACARD_TYPE_OBJECT_FIELD_NAME);
+    fields.add(SECURITY_FIELDS);
+    for (String attribute : attributes) {
+      for (String suffix : SchemaFields.FORMAT_TO_SUFFIX_MAP.values()) {
+        fields.add(attribute + suffix);
+      }
+    }
+
+    if (query.getFields() != null) {
+      Arrays.stream(query.getFields().split(","))
+          .filter(field -> !"*".equals(field))
+          .forEach(fields::add);
+    }
+
+    query.setFields(fields.toArray(new String[fields.size()]));
+  }
+
+  private boolean skipRequestedAttributes(QueryRequest request) {
+    return !request.hasProperties()
+        || !request.containsPropertyName(REQUESTED_ATTRIBUTES)
+        || !(request.getPropertyValue(REQUESTED_ATTRIBUTES) instanceof Set)
+        || ((Set) request.getPropertyValue(REQUESTED_ATTRIBUTES)).isEmpty()
+        || "true".equals(System.getProperty("solr.client.filterAttributes.disable"));
+  }
+
   private boolean skipFilteredAttributes(QueryRequest request) {
     return !request.hasProperties()
         || !request.containsPropertyName(EXCLUDE_ATTRIBUTES)
@@ -811,20 +904,9 @@ private ResultImpl createResult(SolrDocument doc) throws MetacardCreationExcepti
 
   public MetacardImpl createMetacard(SolrDocument doc) throws MetacardCreationException {
     MetacardType metacardType = resolver.getMetacardType(doc);
-    MetacardImpl metacard = new MetacardImpl(metacardType);
-
-    for (String solrFieldName : doc.getFieldNames()) {
-      if (!resolver.isPrivateField(solrFieldName)) {
-        Collection<Object> fieldValues = doc.getFieldValues(solrFieldName);
-        Attribute attr =
-            new AttributeImpl(
-                resolver.resolveFieldName(solrFieldName),
-                resolver.getDocValues(solrFieldName, fieldValues));
-        metacard.setAttribute(attr);
-      }
-    }
 
-    return metacard;
+    // Attribute values are decoded from the document only when they are accessed
+    return new LazySolrMetacard(metacardType, doc, resolver);
   }
 
   @Override
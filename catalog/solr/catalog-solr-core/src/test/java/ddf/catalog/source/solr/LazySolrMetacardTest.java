@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.impl.AttributeImpl;
+import ddf.catalog.data.impl.MetacardImpl;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import org.apache.solr.common.SolrDocument;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazySolrMetacardTest {
+
+  private DynamicSchemaResolver resolver;
+
+  private SolrDocument doc;
+
+  @Before
+  public void setUp() {
+    resolver = mock(DynamicSchemaResolver.class);
+    when(resolver.resolveFieldName(anyString())).thenCallRealMethod();
+    when(resolver.isPrivateField(SchemaFields.METACARD_TYPE_FIELD_NAME)).thenReturn(true);
+    when(resolver.getDocValues(anyString(), any()))
+        .thenAnswer(invocation -> new ArrayList<Serializable>(invocation.getArgument(1)));
+
+    doc = new SolrDocument();
+    doc.addField(Metacard.ID + SchemaFields.TEXT_SUFFIX, "id");
+    doc.addField(Metacard.TITLE + SchemaFields.TEXT_SUFFIX, "title");
+    doc.addField(SchemaFields.METACARD_TYPE_FIELD_NAME, "type");
+  }
+
+  @Test
+  public void testAttributesResolvedFromDocument() {
+    LazySolrMetacard metacard = newMetacard();
+
+    assertThat(metacard.getId(), is("id"));
+    assertThat(metacard.getTitle(), is("title"));
+    assertThat(metacard.getAttribute("metacard_type_name"), nullValue());
+    assertThat(metacard.getAttributeNames(), containsInAnyOrder(Metacard.ID, Metacard.TITLE));
+  }
+
+  @Test
+  public void testSetAttributeOverridesDocument() {
+    LazySolrMetacard metacard = newMetacard();
+
+    metacard.setAttribute(new AttributeImpl(Metacard.TITLE, "changed"));
+    assertThat(metacard.getTitle(), is("changed"));
+
+    metacard.setAttribute(Metacard.TITLE, null);
+    assertThat(metacard.getAttribute(Metacard.TITLE), nullValue());
+    assertThat(metacard.getAttributeNames(), containsInAnyOrder(Metacard.ID));
+  }
+
+  @Test
+  public void testSerializesAsMetacardImpl() throws Exception {
+    LazySolrMetacard metacard = newMetacard();
+    metacard.setSourceId("source");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(metacard);
+    }
+    Object read;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      read = in.readObject();
+    }
+
+    assertThat(read, instanceOf(MetacardImpl.class));
+    Metacard copy = (Metacard) read;
+    assertThat(copy.getId(), is("id"));
+    assertThat(copy.getTitle(), is("title"));
+    assertThat(copy.getSourceId(), is("source"));
+  }
+
+  @Test
+  public void testEqualsMetacardImpl() {
+    LazySolrMetacard metacard = newMetacard();
+    MetacardImpl materialized = new MetacardImpl(MetacardImpl.BASIC_METACARD);
+    materialized.setId("id");
+    materialized.setTitle("title");
+
+    assertThat(metacard.equals(newMetacard()), is(true));
+    assertThat(metacard.hashCode(), is(materialized.hashCode()));
+    assertThat(metacard.equals(materialized), is(false));
+    assertThat(materialized.equals(metacard), is(false));
+  }
+
+  private LazySolrMetacard newMetacard() {
+    return new LazySolrMetacard(MetacardImpl.BASIC_METACARD, doc, resolver);
+  }
+}
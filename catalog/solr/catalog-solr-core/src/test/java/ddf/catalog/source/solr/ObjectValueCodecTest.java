@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import org.junit.Test;
+
+public class ObjectValueCodecTest {
+
+  @Test
+  public void testCompactTypesRoundTrip() throws Exception {
+    for (Serializable value :
+        Arrays.<Serializable>asList(
+            "value é中",
+            "",
+            true,
+            (short) 7,
+            42,
+            Long.MAX_VALUE,
+            1.5f,
+            -2.25d,
+            new Date(1234567890L))) {
+      byte[] encoded = ObjectValueCodec.encode(value);
+      assertThat(encoded[0], is(ObjectValueCodec.MAGIC));
+      assertThat(ObjectValueCodec.decode(encoded), equalTo(value));
+    }
+  }
+
+  @Test
+  public void testByteArrayRoundTrip() throws Exception {
+    byte[] value = new byte[] {1, 2, 3, (byte) 0xAC, (byte) 0xED};
+    assertThat(ObjectValueCodec.decode(ObjectValueCodec.encode(value)), equalTo(value));
+  }
+
+  @Test
+  public void testNullRoundTrip() throws Exception {
+    assertThat(ObjectValueCodec.decode(ObjectValueCodec.encode(null)), nullValue());
+  }
+
+  @Test
+  public void testOtherSerializableRoundTrip() throws Exception {
+    ArrayList<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+    assertThat(ObjectValueCodec.decode(ObjectValueCodec.encode(list)), equalTo(list));
+  }
+
+  @Test
+  public void testSubclassKeepsType() throws Exception {
+    Timestamp timestamp = new Timestamp(1234567890L);
+    Serializable decoded = ObjectValueCodec.decode(ObjectValueCodec.encode(timestamp));
+    assertThat(decoded, instanceOf(Timestamp.class));
+    assertThat(decoded, equalTo(timestamp));
+  }
+
+  @Test
+  public void testDecodesLegacyJavaSerialization() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject("legacy");
+    }
+    assertThat(ObjectValueCodec.decode(bytes.toByteArray()), equalTo("legacy"));
+  }
+
+  @Test(expected = IOException.class)
+  public void testUnsupportedVersion() throws Exception {
+    byte[] encoded = ObjectValueCodec.encode("value");
+    encoded[1] = (byte) (ObjectValueCodec.VERSION + 1);
+    ObjectValueCodec.decode(encoded);
+  }
+
+  @Test(expected = IOException.class)
+  public void testUnrecognizedEncoding() throws Exception {
+    ObjectValueCodec.decode(new byte[] {1, 2, 3});
+  }
+}
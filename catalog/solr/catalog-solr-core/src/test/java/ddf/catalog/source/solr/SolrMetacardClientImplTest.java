@@ -13,15 +13,22 @@
  */
 package ddf.catalog.source.solr;
 
+import static ddf.catalog.Constants.QUERY_CURSOR_KEY;
+import static ddf.catalog.Constants.QUERY_CURSOR_START;
 import static ddf.catalog.Constants.QUERY_HIGHLIGHT_KEY;
+import static ddf.catalog.Constants.QUERY_NEXT_CURSOR_KEY;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -69,9 +76,11 @@
 import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.codice.solr.client.solrj.SolrClient;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.opengis.filter.Filter;
@@ -225,6 +234,58 @@ public void testQueryMultipleResults() throws Exception {
     assertThat(results.get(1).getMetacard().getAttribute("title").getValue(), is("normal"));
   }
 
+  @Test
+  public void testQueryDecodesAttributesOnAccess() throws Exception {
+    QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
+
+    List<String> names = Collections.singletonList("title");
+    List<String> values = Collections.singletonList("normal");
+
+    Map<String, String> attributes = createAttributes(names, values);
+
+    when(queryResponse.getResults()).thenReturn(createSolrDocumentList(attributes));
+    mockDynamicSchemsolverCalls(createAttributeDescriptor(names), attributes);
+
+    Metacard metacard = clientImpl.query(request).getResults().get(0).getMetacard();
+    verify(dynamicSchemaResolver, never()).getDocValues(anyString(), any());
+
+    assertThat(metacard.getAttribute("title").getValue(), is("normal"));
+    assertThat(metacard.getTitle(), is("normal"));
+    verify(dynamicSchemaResolver, times(1)).getDocValues(anyString(), any());
+  }
+
+  @Test
+  public void testQueryRequestedAttributes() throws Exception {
+    QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
+    request
+        .getProperties()
+        .put(
+            SolrMetacardClientImpl.REQUESTED_ATTRIBUTES,
+            new HashSet<>(Arrays.asList("title", "location")));
+    request
+        .getProperties()
+        .put(
+            SolrMetacardClientImpl.EXCLUDE_ATTRIBUTES,
+            new HashSet<>(Collections.singletonList("location")));
+    when(queryResponse.getResults()).thenReturn(new SolrDocumentList());
+
+    clientImpl.query(request);
+
+    ArgumentCaptor<String> fields = ArgumentCaptor.forClass(String.class);
+    verify(solrQuery).setFields(fields.capture());
+    assertThat(
+        fields.getAllValues(),
+        hasItems(
+            "title" + SchemaFields.TEXT_SUFFIX,
+            Metacard.ID + SchemaFields.TEXT_SUFFIX,
+            Metacard.TAGS + SchemaFields.TEXT_SUFFIX,
+            "security.*",
+            SchemaFields.METACARD_TYPE_FIELD_NAME,
+            SchemaFields.METACARD_TYPE_OBJECT_FIELD_NAME));
+    assertThat(fields.getAllValues(), not(hasItem("location" + SchemaFields.GEO_SUFFIX)));
+    assertThat(fields.getAllValues(), not(hasItem("*")));
+  }
+
   @Test
   public void testQueryZeroResults() throws Exception {
     QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
@@ -241,6 +302,38 @@ public void testQueryZeroResults() throws Exception {
     assertThat(results.size(), is(0));
   }
 
+  @Test
+  public void testQueryWithCursor() throws Exception {
+    QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
+    request.getProperties().put(QUERY_CURSOR_KEY, QUERY_CURSOR_START);
+    List<String> names = Collections.singletonList("title");
+    List<String> values = Collections.singletonList("normal");
+
+    Map<String, String> attributes = createAttributes(names, values);
+
+    when(solrQuery.get(CursorMarkParams.CURSOR_MARK_PARAM)).thenReturn(QUERY_CURSOR_START);
+    when(queryResponse.getResults()).thenReturn(createSolrDocumentList(attributes));
+    when(queryResponse.getNextCursorMark()).thenReturn("AoE/BWlk");
+    mockDynamicSchemsolverCalls(createAttributeDescriptor(names), attributes);
+
+    SourceResponse response = clientImpl.query(request);
+    assertThat(response.getResults().size(), is(1));
+    assertThat(response.getProperties().get(QUERY_NEXT_CURSOR_KEY), is("AoE/BWlk"));
+    verify(solrQuery).setStart(0);
+    verify(solrQuery).addSort("id_txt", SolrQuery.ORDER.asc);
+    verify(solrQuery).set(CursorMarkParams.CURSOR_MARK_PARAM, QUERY_CURSOR_START);
+  }
+
+  @Test
+  public void testQueryWithoutCursor() throws Exception {
+    QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
+    when(queryResponse.getResults()).thenReturn(new SolrDocumentList());
+
+    SourceResponse response = clientImpl.query(request);
+    assertThat(response.getProperties().containsKey(QUERY_NEXT_CURSOR_KEY), is(false));
+    verify(solrQuery, never()).set(CursorMarkParams.CURSOR_MARK_PARAM, QUERY_CURSOR_START);
+  }
+
   @Test
   public void testQueryNullResults() throws Exception {
     QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
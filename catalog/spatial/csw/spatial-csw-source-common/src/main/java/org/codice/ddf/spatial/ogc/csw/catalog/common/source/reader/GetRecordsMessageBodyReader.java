@@ -23,7 +23,7 @@
 import com.thoughtworks.xstream.io.xml.XppReader;
 import ddf.catalog.data.types.Core;
 import ddf.catalog.resource.impl.ResourceImpl;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -43,6 +43,7 @@
 import org.apache.commons.lang.StringUtils;
 import org.apache.cxf.jaxrs.ext.multipart.ContentDisposition;
 import org.codice.ddf.log.sanitizer.LogSanitizer;
+import org.codice.ddf.spatial.ogc.catalog.common.XmlResponsePrefix;
 import org.codice.ddf.spatial.ogc.csw.catalog.common.CswConstants;
 import org.codice.ddf.spatial.ogc.csw.catalog.common.CswRecordCollection;
 import org.codice.ddf.spatial.ogc.csw.catalog.common.CswSourceConfiguration;
@@ -129,20 +130,21 @@ public CswRecordCollection readFrom(
       return cswRecords;
     }
 
-    // Save original input stream for any exception message that might need to be
-    // created
-    String originalInputStream = IOUtils.toString(inStream, "UTF-8");
-    LOGGER.debug(
-        "Converting to CswRecordCollection: \n {}", LogSanitizer.sanitize(originalInputStream));
-
-    // Re-create the input stream (since it has already been read for potential
-    // exception message creation)
-    inStream = new ByteArrayInputStream(originalInputStream.getBytes("UTF-8"));
+    // Only the start of the response is kept for any exception message that might need to be
+    // created; the records themselves are parsed straight from the stream
+    InputStream xmlStream = inStream.markSupported() ? inStream : new BufferedInputStream(inStream);
+    XmlResponsePrefix responsePrefix =
+        XmlResponsePrefix.read(xmlStream, XmlResponsePrefix.DEFAULT_LIMIT);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Converting to CswRecordCollection: \n {}",
+          LogSanitizer.sanitize(responsePrefix.toString()));
+    }
 
     try {
       HierarchicalStreamReader reader =
           new XppReader(
-              new InputStreamReader(inStream, StandardCharsets.UTF_8),
+              new InputStreamReader(xmlStream, StandardCharsets.UTF_8),
               XmlPullParserFactory.newInstance().newPullParser());
       cswRecords = (CswRecordCollection) xstream.unmarshal(reader, null, argumentHolder);
     } catch (XmlPullParserException e) {
@@ -153,18 +155,16 @@ public CswRecordCollection readFrom(
       // Instead the ExceptionReport will come here and be treated like a GetRecords
       // response, resulting in an XStreamException since ExceptionReport cannot be
       // unmarshalled. So this catch clause is responsible for catching that XStream
-      // exception and creating a JAX-RS response containing the original stream
-      // (with the ExceptionReport) and rethrowing it as a WebApplicatioNException,
+      // exception and creating a JAX-RS response containing the start of the original
+      // stream (with the ExceptionReport) and rethrowing it as a WebApplicatioNException,
       // which CXF will wrap as a ClientException that the CswSource catches, converts
       // to a CswException, and logs.
-      ByteArrayInputStream bis =
-          new ByteArrayInputStream(originalInputStream.getBytes(StandardCharsets.UTF_8));
-      ResponseBuilder responseBuilder = Response.ok(bis);
+      ResponseBuilder responseBuilder = Response.ok(responsePrefix.getInputStream());
       responseBuilder.type("text/xml");
       Response response = responseBuilder.build();
       throw new WebApplicationException(e, response);
     } finally {
-      IOUtils.closeQuietly(inStream);
+      IOUtils.closeQuietly(xmlStream);
     }
     return cswRecords;
   }
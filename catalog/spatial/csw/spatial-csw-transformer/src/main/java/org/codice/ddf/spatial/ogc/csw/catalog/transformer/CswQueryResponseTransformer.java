@@ -25,20 +25,24 @@
 import ddf.catalog.transformer.api.PrintWriterProvider;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.CharArrayWriter;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -61,6 +65,7 @@
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
+import org.codice.ddf.platform.util.TemporaryFileBackedOutputStream;
 import org.codice.ddf.spatial.ogc.csw.catalog.common.CswConstants;
 import org.codice.ddf.spatial.ogc.csw.catalog.common.CswRecordCollection;
 import org.codice.ddf.spatial.ogc.csw.catalog.common.converter.DefaultCswRecordMap;
@@ -126,7 +131,9 @@ public class CswQueryResponseTransformer implements QueryResponseTransformer {
 
   private static final int BLOCKING_Q_INITIAL_SIZE = 1024;
 
-  private static final int ACCUM_INITIAL_SIZE = 4096;
+  private static final String RECORDS_MARKER = "<!--records-->";
+
+  private int maxPendingTransforms;
 
   public CswQueryResponseTransformer(
       TransformerManager metacardTransformerManager, PrintWriterProvider writerProvider) {
@@ -142,24 +149,23 @@ public BinaryContent transform(SourceResponse sourceResponse, Map<String, Serial
 
     CswRecordCollection recordCollection = buildCollection(sourceResponse, arguments);
 
-    ByteArrayInputStream bais;
+    InputStream inputStream;
 
     if (ResultType.VALIDATE.equals(recordCollection.getResultType())) {
       ByteArrayOutputStream baos = writeAcknowledgement(recordCollection.getRequest());
-      bais = new ByteArrayInputStream(baos.toByteArray());
+      inputStream = new ByteArrayInputStream(baos.toByteArray());
     } else {
       // "catches" recordCollection.getResultType() == null
       List<Result> results = sourceResponse.getResults();
-      String xmlString = convert(recordCollection, results, arguments);
-      bais = new ByteArrayInputStream(xmlString.getBytes(StandardCharsets.UTF_8));
+      inputStream = convert(recordCollection, results, arguments);
     }
 
     BinaryContent transformedContent =
-        new BinaryContentImpl(bais, CswRecordConverter.XML_MIME_TYPE);
+        new BinaryContentImpl(inputStream, CswRecordConverter.XML_MIME_TYPE);
     return transformedContent;
   }
 
-  private String convert(
+  private InputStream convert(
       CswRecordCollection cswRecordCollection,
       List<Result> results,
       Map<String, Serializable> arguments)
@@ -186,12 +192,12 @@ private String convert(
       nextRecord = 0;
     }
 
-    String metacardsString = null;
+    TemporaryFileBackedOutputStream records = null;
     AtomicLong numReturned = new AtomicLong(cswRecordCollection.getNumberOfRecordsReturned());
 
     if (!ResultType.HITS.equals(cswRecordCollection.getResultType())) {
       arguments.put(CswConstants.OMIT_XML_DECLARATION, Boolean.TRUE);
-      metacardsString =
+      records =
           multiThreadedMarshal(
               results, numReturned, cswRecordCollection.getOutputSchema(), arguments);
     }
@@ -230,8 +236,8 @@ private String convert(
       }
     }
 
-    if (!ResultType.HITS.equals(cswRecordCollection.getResultType())) {
-      writer.setRawValue(metacardsString);
+    if (records != null) {
+      writer.setRawValue(RECORDS_MARKER);
     }
 
     if (!cswRecordCollection.isById()) {
@@ -240,89 +246,124 @@ private String convert(
 
     writer.endNode(); // RECORDS_RESPONSE_QNAME
 
-    return writer.makeString();
+    String xmlString = writer.makeString();
+    if (records == null) {
+      return toStream(xmlString);
+    }
+    return withRecords(xmlString, records);
+  }
+
+  /**
+   * Splits the response envelope where the records belong and streams the spooled records in
+   * between its two halves. The spooled records are deleted once the returned stream is read to the
+   * end or closed.
+   */
+  private InputStream withRecords(String xmlString, TemporaryFileBackedOutputStream records)
+      throws CatalogTransformerException {
+    int markerIndex = xmlString.indexOf(RECORDS_MARKER);
+    String head = markerIndex < 0 ? xmlString : xmlString.substring(0, markerIndex);
+    String tail = markerIndex < 0 ? "" : xmlString.substring(markerIndex + RECORDS_MARKER.length());
+
+    try {
+      InputStream recordsStream =
+          new FilterInputStream(records.asByteSource().openStream()) {
+            @Override
+            public void close() throws IOException {
+              try {
+                super.close();
+              } finally {
+                records.close();
+              }
+            }
+          };
+      return new SequenceInputStream(
+          Collections.enumeration(Arrays.asList(toStream(head), recordsStream, toStream(tail))));
+    } catch (IOException e) {
+      IOUtils.closeQuietly(records);
+      throw new CatalogTransformerException("Unable to read transformed records", e);
+    }
+  }
+
+  private static InputStream toStream(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
   }
 
   /**
    * Multi-threaded marshal of metacard assumes that the query size is unbounded to guard against
    * resource exhaustion with fixed thread-pool and fixed work-queue. CPU-bound for optimum
-   * utilization from availableProcessors()+1 thread pool.
+   * utilization from availableProcessors()+1 thread pool. Only a bounded window of transforms is
+   * in flight at a time, and each one is copied out in result order as soon as it completes, so the
+   * transformed records are never all held in memory at once.
    *
    * @param results - the list of results to marshal
    * @param recordSchema - the schema
    * @param arguments - additional args
-   * @return - the marshaled results
+   * @return - the marshaled results, spooled to a temporary file when they are large
    * @throws CatalogTransformerException
    */
-  private String multiThreadedMarshal(
+  private TemporaryFileBackedOutputStream multiThreadedMarshal(
       List<Result> results,
       AtomicLong numResults,
       String recordSchema,
       final Map<String, Serializable> arguments)
       throws CatalogTransformerException {
 
-    CompletionService<BinaryContent> completionService =
-        new ExecutorCompletionService<>(queryExecutor);
-
     final MetacardTransformer transformer =
         metacardTransformerManager.getTransformerBySchema(recordSchema);
     if (transformer == null) {
       throw new CatalogTransformerException("Cannot find transformer for schema: " + recordSchema);
     }
 
-    Map<Future<BinaryContent>, Result> futures = new HashMap<>(results.size());
-    for (Result result : results) {
-      final Metacard mc = result.getMetacard();
-
-      // the "current" thread will run submitted task when queueSize exceeded; effectively
-      // blocking enqueue of more tasks.
-      futures.put(
-          completionService.submit(
-              () -> {
-                BinaryContent content = transformer.transform(mc, arguments);
-                return content;
-              }),
-          result);
-    }
+    Deque<Future<BinaryContent>> futures = new ArrayDeque<>(maxPendingTransforms);
+    Iterator<Result> remaining = results.iterator();
+    TemporaryFileBackedOutputStream records = new TemporaryFileBackedOutputStream();
 
-    InputStream[] contents = new InputStream[results.size()];
+    try {
+      while (remaining.hasNext() || !futures.isEmpty()) {
+        while (remaining.hasNext() && futures.size() < maxPendingTransforms) {
+          final Metacard mc = remaining.next().getMetacard();
 
-    while (!futures.isEmpty()) {
-      try {
-        Future<BinaryContent> completedFuture = completionService.take();
-        int index = results.indexOf(futures.get(completedFuture));
-        try {
-          contents[index] = completedFuture.get().getInputStream();
-        } catch (ExecutionException | CancellationException e) {
-          LOGGER.debug("Error transforming Metacard", e);
-          numResults.decrementAndGet();
-        } catch (InterruptedException e) {
-          numResults.decrementAndGet();
-
-          Thread.currentThread().interrupt();
-          throw new CatalogTransformerException("Metacard transform interrupted", e);
-        } finally {
-          futures.remove(completedFuture);
+          // the "current" thread will run submitted task when queueSize exceeded; effectively
+          // blocking enqueue of more tasks.
+          futures.add(queryExecutor.submit(() -> transformer.transform(mc, arguments)));
         }
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        throw new CatalogTransformerException("Metacard transform interrupted", e);
+
+        copyRecord(futures.remove(), records, numResults);
       }
+      return records;
+    } catch (CatalogTransformerException | RuntimeException e) {
+      futures.forEach(future -> future.cancel(true));
+      IOUtils.closeQuietly(records);
+      throw e;
     }
+  } // end multiThreadedMarshal()
 
-    CharArrayWriter accum = new CharArrayWriter(ACCUM_INITIAL_SIZE);
-    for (InputStream is : contents) {
-      try {
-        if (is != null) {
-          IOUtils.copy(is, accum);
-        }
-      } catch (IOException e) {
-        LOGGER.debug("Error copying Metacard Binary content", e);
-      }
+  private void copyRecord(Future<BinaryContent> future, OutputStream records, AtomicLong numResults)
+      throws CatalogTransformerException {
+    InputStream content;
+    try {
+      content = future.get().getInputStream();
+    } catch (ExecutionException | CancellationException e) {
+      LOGGER.debug("Error transforming Metacard", e);
+      numResults.decrementAndGet();
+      return;
+    } catch (InterruptedException e) {
+      numResults.decrementAndGet();
+
+      Thread.currentThread().interrupt();
+      throw new CatalogTransformerException("Metacard transform interrupted", e);
     }
 
-    return accum.toString();
-  } // end multiThreadedMarshal()
+    if (content == null) {
+      return;
+    }
+
+    try (InputStream is = content) {
+      IOUtils.copy(is, records);
+    } catch (IOException e) {
+      LOGGER.debug("Error copying Metacard Binary content", e);
+    }
+  }
 
   private boolean isByIdQuery(Map<String, Serializable> arguments) {
     Serializable isByIdQuery = arguments.get(CswConstants.IS_BY_ID_QUERY);
@@ -444,6 +485,9 @@ public void init() {
     int numThreads = Runtime.getRuntime().availableProcessors();
     LOGGER.debug("{} size: {}", QUERY_POOL_NAME, numThreads);
 
+    // enough transforms in flight to keep every thread busy while the next record is copied out
+    maxPendingTransforms = numThreads * 2;
+
     /*
         - when first two args the same, get fixed size thread pool.
         - 3rd arg, keepAliveTime, ignored when !allowsCoreThreadTimeOut (the default); thus pass zero.
@@ -421,7 +421,7 @@ public void verifyResultOrderIsMaintained() throws CatalogTransformerException,
 
     // given
     transformer.init();
-    transformer.transform(mockSourceResponse, mockArguments);
+    BinaryContent content = transformer.transform(mockSourceResponse, mockArguments);
     transformer.destroy();
 
     // then
@@ -432,9 +432,7 @@ public void verifyResultOrderIsMaintained() throws CatalogTransformerException,
     ArgumentCaptor<Metacard> mcCaptor = ArgumentCaptor.forClass(Metacard.class);
     verify(mockMetacardTransformer, times(10)).transform(mcCaptor.capture(), mapCaptor.capture());
 
-    ArgumentCaptor<String> strCaptor = ArgumentCaptor.forClass(String.class);
-    verify(mockPrintWriter, times(2)).setRawValue(strCaptor.capture());
-    String order = strCaptor.getAllValues().get(1);
+    String order = new String(content.getByteArray());
     String[] ids = order.split(",");
     for (int i = 1; i < ids.length; i++) {
       assertThat(ids[i - 1], is(String.valueOf("id_" + i)));
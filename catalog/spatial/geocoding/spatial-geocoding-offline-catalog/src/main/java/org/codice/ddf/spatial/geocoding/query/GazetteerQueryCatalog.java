@@ -99,9 +99,23 @@ public class GazetteerQueryCatalog implements GeoEntryQueryable {
 
   private List<Filter> featureCodeFilters;
 
+  private GazetteerSpatialIndex spatialIndex;
+
   public GazetteerQueryCatalog(CatalogFramework catalogFramework, FilterBuilder filterBuilder) {
+    this(catalogFramework, filterBuilder, null);
+  }
+
+  /**
+   * @param spatialIndex in-memory index used for the nearest city and country code lookups once it
+   *     is loaded, or null to always query the catalog
+   */
+  public GazetteerQueryCatalog(
+      CatalogFramework catalogFramework,
+      FilterBuilder filterBuilder,
+      GazetteerSpatialIndex spatialIndex) {
     this.catalogFramework = catalogFramework;
     this.filterBuilder = filterBuilder;
+    this.spatialIndex = spatialIndex;
     this.featureCodeFilters = new ArrayList<>();
 
     for (String cityFeatureCode : GeoCodingConstants.CITY_FEATURE_CODES) {
@@ -269,6 +283,21 @@ private String getStringAttributeFromMetacard(Metacard metacard, String attribut
   @Override
   public List<NearbyLocation> getNearestCities(String location, int radiusInKm, int maxResults)
       throws ParseException, GeoEntryQueryException {
+    if (isSpatialIndexLoaded()) {
+      try {
+        Geometry geometry = WKT_READER_THREAD_LOCAL.get().read(location);
+        Point center = geometry.getCentroid();
+        return spatialIndex
+            .getNearestCities(geometry, radiusInKm, maxResults)
+            .stream()
+            .filter(entry -> StringUtils.isNotEmpty(entry.getName()))
+            .map(entry -> createNearbyLocation(center, entry.getCoordinate(), entry.getName()))
+            .collect(Collectors.toList());
+      } catch (org.locationtech.jts.io.ParseException e) {
+        LOGGER.debug("Unable to parse location {}. Querying the catalog instead.", location, e);
+      }
+    }
+
     Filter featureCodeFilter = filterBuilder.anyOf(featureCodeFilters);
     int radiusInMeters = radiusInKm * KM_TO_M;
 
@@ -303,27 +332,27 @@ private NearbyLocation transformMetacardToNearbyLocation(String location, Metaca
       return null;
     }
 
-    Double lat;
-    Double lon;
-    PointImpl centerPoint;
-
     try {
       Geometry geometry = WKT_READER_THREAD_LOCAL.get().read(metacardLocation);
-      Coordinate coordinate = geometry.getCoordinate();
-      lat = coordinate.x;
-      lon = coordinate.y;
-
       Point center = WKT_READER_THREAD_LOCAL.get().read(location).getCentroid();
-      centerPoint = new PointImpl(center.getY(), center.getX(), SPATIAL_CONTEXT);
-
+      return createNearbyLocation(center, geometry.getCoordinate(), name);
     } catch (org.locationtech.jts.io.ParseException e) {
       LOGGER.debug("GeoEntry metacard does not contain location attribute.");
       return null;
     }
+  }
 
+  private NearbyLocation createNearbyLocation(Point center, Coordinate coordinate, String name) {
+    Double lat = coordinate.x;
+    Double lon = coordinate.y;
+    PointImpl centerPoint = new PointImpl(center.getY(), center.getX(), SPATIAL_CONTEXT);
     return new NearbyLocationImpl(centerPoint, new PointImpl(lon, lat, SPATIAL_CONTEXT), name);
   }
 
+  private boolean isSpatialIndexLoaded() {
+    return spatialIndex != null && spatialIndex.isLoaded();
+  }
+
   @Override
   public Optional<String> getCountryCode(String wktLocation, int radius)
       throws GeoEntryQueryException, ParseException {
@@ -332,6 +361,9 @@ public Optional<String> getCountryCode(String wktLocation, int radius)
     try {
       Point center = WKT_READER_THREAD_LOCAL.get().read(wktLocation).getCentroid();
       Geometry geometry = GEOMETRY_FACTORY.createPoint(center.getCoordinate());
+      if (isSpatialIndexLoaded()) {
+        return spatialIndex.getCountryCode(geometry, radius);
+      }
       wkt = WKT_WRITER_THREAD_LOCAL.get().write(geometry);
     } catch (org.locationtech.jts.io.ParseException e) {
       return Optional.empty();
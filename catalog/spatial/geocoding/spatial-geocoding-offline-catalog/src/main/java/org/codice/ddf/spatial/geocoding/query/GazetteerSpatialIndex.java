@@ -0,0 +1,537 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.geocoding.query;
+
+import static org.codice.ddf.spatial.geocoding.GeoCodingConstants.GAZETTEER_METACARD_TAG;
+
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.Attribute;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.Result;
+import ddf.catalog.data.types.Core;
+import ddf.catalog.data.types.Location;
+import ddf.catalog.filter.FilterBuilder;
+import ddf.catalog.operation.CreateResponse;
+import ddf.catalog.operation.DeleteResponse;
+import ddf.catalog.operation.Query;
+import ddf.catalog.operation.Update;
+import ddf.catalog.operation.UpdateResponse;
+import ddf.catalog.operation.impl.QueryImpl;
+import ddf.catalog.operation.impl.QueryRequestImpl;
+import ddf.catalog.plugin.PostIngestPlugin;
+import ddf.catalog.util.impl.CatalogQueryException;
+import ddf.catalog.util.impl.ResultIterable;
+import ddf.security.service.SecurityServiceException;
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.codice.ddf.security.Security;
+import org.codice.ddf.spatial.geocoding.GeoCodingConstants;
+import org.codice.ddf.spatial.geocoding.GeoEntryAttributes;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.quadtree.Quadtree;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.operation.distance.DistanceOp;
+import org.locationtech.spatial4j.context.SpatialContext;
+import org.locationtech.spatial4j.distance.DistanceUtils;
+import org.locationtech.spatial4j.shape.impl.PointImpl;
+import org.opengis.filter.Filter;
+import org.opengis.filter.sort.SortBy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory spatial index of the gazetteer metacards (GeoNames cities and country shapes) in the
+ * catalog.
+ *
+ * <p>The index is loaded in the background from the catalog and is then kept up to date
+ * incrementally from the create, update and delete responses of the catalog, so the nearest city
+ * and country code lookups done by {@link GazetteerQueryCatalog} don't have to go through the
+ * catalog once it is loaded. If the gazetteer holds more than {@code maxEntries} metacards the
+ * index is not kept and those lookups keep querying the catalog.
+ *
+ * <p>The index is read as the system subject, since there is no user behind the load.
+ */
+public class GazetteerSpatialIndex implements PostIngestPlugin {
+  private static final Logger LOGGER = LoggerFactory.getLogger(GazetteerSpatialIndex.class);
+
+  private static final SpatialContext SPATIAL_CONTEXT = SpatialContext.GEO;
+
+  private static final ThreadLocal<WKTReader> WKT_READER_THREAD_LOCAL =
+      ThreadLocal.withInitial(WKTReader::new);
+
+  private static final Set<String> CITY_FEATURE_CODES =
+      new HashSet<>(GeoCodingConstants.CITY_FEATURE_CODES);
+
+  private static final int DEFAULT_MAX_ENTRIES = 1_000_000;
+
+  private static final int PAGE_SIZE = 1000;
+
+  private static final long TIMEOUT = 60000L;
+
+  private static final long LOAD_DELAY_MINUTES = 1;
+
+  private final CatalogFramework catalogFramework;
+
+  private final FilterBuilder filterBuilder;
+
+  private final ScheduledExecutorService executor;
+
+  private final Security security;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+  private Quadtree tree = new Quadtree();
+
+  private Map<String, Entry> entries = new HashMap<>();
+
+  private volatile boolean loaded;
+
+  private boolean loading;
+
+  private boolean stale;
+
+  // Set once the gazetteer is known to have more than maxEntries metacards, so later gazetteer
+  // changes don't keep rereading it.
+  private boolean tooLarge;
+
+  private ScheduledFuture<?> future;
+
+  public GazetteerSpatialIndex(
+      CatalogFramework catalogFramework,
+      FilterBuilder filterBuilder,
+      ScheduledExecutorService executor,
+      Security security) {
+    this.catalogFramework = catalogFramework;
+    this.filterBuilder = filterBuilder;
+    this.executor = executor;
+    this.security = security;
+  }
+
+  public void init() {
+    scheduleLoad(0);
+  }
+
+  public synchronized void setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+    if (tooLarge) {
+      tooLarge = false;
+      scheduleLoad(0);
+    }
+  }
+
+  /** @return true once the index has been loaded and can answer lookups */
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  /**
+   * Finds the cities within {@code radiusInKm} of {@code location}, closest first.
+   *
+   * @return the matching cities, or an empty list if the index isn't loaded
+   */
+  public List<Entry> getNearestCities(Geometry location, double radiusInKm, int maxResults) {
+    return query(location, radiusInKm)
+        .stream()
+        .filter(entry -> CITY_FEATURE_CODES.contains(entry.featureCode))
+        .map(entry -> new Match(entry, distanceInKm(location, entry)))
+        .filter(match -> match.distanceInKm <= radiusInKm)
+        .sorted(Comparator.comparingDouble(match -> match.distanceInKm))
+        .limit(maxResults)
+        .map(match -> match.entry)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Finds the country code of the gazetteer entry closest to {@code point}, preferring the country
+   * shapes that contain it.
+   *
+   * @return the country code, or empty if there is no entry within {@code radiusInKm} or the index
+   *     isn't loaded
+   */
+  public Optional<String> getCountryCode(Geometry point, double radiusInKm) {
+    return query(point, radiusInKm)
+        .stream()
+        .filter(entry -> StringUtils.isNotBlank(entry.countryCode))
+        .map(entry -> new Match(entry, distanceInKm(point, entry)))
+        .filter(match -> match.distanceInKm <= radiusInKm)
+        .min(Comparator.comparingDouble(match -> match.distanceInKm))
+        .map(match -> match.entry.countryCode);
+  }
+
+  @Override
+  public CreateResponse process(CreateResponse input) {
+    update(input.getCreatedMetacards(), new ArrayList<>());
+    return input;
+  }
+
+  @Override
+  public UpdateResponse process(UpdateResponse input) {
+    List<Metacard> added = new ArrayList<>();
+    List<Metacard> removed = new ArrayList<>();
+    for (Update update : input.getUpdatedMetacards()) {
+      removed.add(update.getOldMetacard());
+      added.add(update.getNewMetacard());
+    }
+    update(added, removed);
+    return input;
+  }
+
+  @Override
+  public DeleteResponse process(DeleteResponse input) {
+    update(new ArrayList<>(), input.getDeletedMetacards());
+    return input;
+  }
+
+  private void update(List<Metacard> added, List<Metacard> removed) {
+    List<Metacard> gazetteerAdded =
+        added
+            .stream()
+            .filter(GazetteerSpatialIndex::isGazetteerMetacard)
+            .collect(Collectors.toList());
+    List<Metacard> gazetteerRemoved =
+        removed
+            .stream()
+            .filter(GazetteerSpatialIndex::isGazetteerMetacard)
+            .collect(Collectors.toList());
+    if (gazetteerAdded.isEmpty() && gazetteerRemoved.isEmpty()) {
+      return;
+    }
+
+    synchronized (this) {
+      if (tooLarge) {
+        return;
+      }
+
+      if (loading || !loaded) {
+        // Changes made while the index is being loaded might not be in the pages already read, so
+        // the load is repeated once the catalog settles down.
+        stale = true;
+        if (!loading) {
+          scheduleLoad(LOAD_DELAY_MINUTES);
+        }
+        return;
+      }
+    }
+
+    lock.writeLock().lock();
+    try {
+      gazetteerRemoved.stream().map(Metacard::getId).forEach(this::remove);
+      for (Metacard metacard : gazetteerAdded) {
+        remove(metacard.getId());
+        Entry entry = Entry.fromMetacard(metacard);
+        if (entry != null) {
+          entries.put(entry.id, entry);
+          tree.insert(entry.geometry.getEnvelopeInternal(), entry);
+        }
+      }
+
+      if (entries.size() > maxEntries) {
+        LOGGER.info(
+            "The gazetteer has more than {} entries. Nearest city and country code lookups will "
+                + "query the catalog.",
+            maxEntries);
+        clear();
+        synchronized (this) {
+          tooLarge = true;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void remove(String id) {
+    Entry entry = entries.remove(id);
+    if (entry != null) {
+      tree.remove(entry.geometry.getEnvelopeInternal(), entry);
+    }
+  }
+
+  private void clear() {
+    loaded = false;
+    tree = new Quadtree();
+    entries = new HashMap<>();
+  }
+
+  private synchronized void scheduleLoad(long delayInMinutes) {
+    if (future != null) {
+      future.cancel(false);
+    }
+
+    try {
+      future = executor.schedule(this::load, delayInMinutes, TimeUnit.MINUTES);
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Unable to schedule loading of the gazetteer spatial index.", e);
+    }
+  }
+
+  void load() {
+    synchronized (this) {
+      loading = true;
+      stale = false;
+    }
+
+    LOGGER.debug("Loading the gazetteer spatial index.");
+    Map<String, Entry> newEntries = null;
+    try {
+      newEntries = security.runAsAdmin(this::readEntriesAsSystem);
+    } catch (RuntimeException e) {
+      LOGGER.debug("Unable to load the gazetteer spatial index. Will retry.", e);
+      synchronized (this) {
+        loading = false;
+        scheduleLoad(LOAD_DELAY_MINUTES);
+      }
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      clear();
+      if (newEntries != null) {
+        entries = newEntries;
+        for (Entry entry : newEntries.values()) {
+          tree.insert(entry.geometry.getEnvelopeInternal(), entry);
+        }
+        loaded = true;
+        LOGGER.debug("Loaded {} entries into the gazetteer spatial index.", entries.size());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    synchronized (this) {
+      loading = false;
+      if (newEntries == null) {
+        tooLarge = true;
+      } else if (stale) {
+        scheduleLoad(LOAD_DELAY_MINUTES);
+      }
+    }
+  }
+
+  private Map<String, Entry> readEntriesAsSystem() {
+    try {
+      return security.runWithSubjectOrElevate(this::readEntries);
+    } catch (SecurityServiceException e) {
+      throw new CatalogQueryException("Unable to get a subject to read the gazetteer with.", e);
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof CatalogQueryException) {
+        throw (CatalogQueryException) e.getCause();
+      }
+      throw new CatalogQueryException(e.getCause());
+    }
+  }
+
+  private Map<String, Entry> readEntries() {
+    Filter filter =
+        filterBuilder.attribute(Core.METACARD_TAGS).is().like().text(GAZETTEER_METACARD_TAG);
+    Query query = new QueryImpl(filter, 1, PAGE_SIZE, SortBy.NATURAL_ORDER, false, TIMEOUT);
+
+    Map<String, Entry> newEntries = new HashMap<>();
+    for (Result result :
+        ResultIterable.resultIterable(
+            catalogFramework, new QueryRequestImpl(query), maxEntries + 1)) {
+      Entry entry = Entry.fromMetacard(result.getMetacard());
+      if (entry != null) {
+        newEntries.put(entry.id, entry);
+      }
+
+      if (newEntries.size() > maxEntries) {
+        LOGGER.info(
+            "The gazetteer has more than {} entries. Nearest city and country code lookups will "
+                + "query the catalog.",
+            maxEntries);
+        return null;
+      }
+    }
+    return newEntries;
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Entry> query(Geometry geometry, double radiusInKm) {
+    lock.readLock().lock();
+    try {
+      if (!loaded) {
+        return new ArrayList<>();
+      }
+
+      Set<Entry> candidates = new HashSet<>();
+      for (Envelope envelope : getSearchEnvelopes(geometry, radiusInKm)) {
+        candidates.addAll((Collection<Entry>) tree.query(envelope));
+      }
+      return new ArrayList<>(candidates);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Expands the envelope of {@code geometry} by {@code radiusInKm}, wrapping it around the
+   * antimeridian if needed. The envelopes are only used to find candidates; the distances are
+   * checked afterwards.
+   */
+  private static List<Envelope> getSearchEnvelopes(Geometry geometry, double radiusInKm) {
+    Envelope envelope = geometry.getEnvelopeInternal();
+    double latDelta = DistanceUtils.dist2Degrees(radiusInKm, DistanceUtils.EARTH_MEAN_RADIUS_KM);
+    double maxLat =
+        Math.max(Math.abs(envelope.getMinY()), Math.abs(envelope.getMaxY())) + latDelta;
+    double lonDelta = maxLat >= 90 ? 180 : latDelta / Math.cos(Math.toRadians(maxLat));
+
+    Envelope searchEnvelope = new Envelope(envelope);
+    searchEnvelope.expandBy(Math.min(lonDelta, 180), latDelta);
+
+    List<Envelope> envelopes = new ArrayList<>();
+    envelopes.add(searchEnvelope);
+    if (searchEnvelope.getMinX() < -180) {
+      envelopes.add(
+          new Envelope(
+              searchEnvelope.getMinX() + 360,
+              180,
+              searchEnvelope.getMinY(),
+              searchEnvelope.getMaxY()));
+    }
+    if (searchEnvelope.getMaxX() > 180) {
+      envelopes.add(
+          new Envelope(
+              -180,
+              searchEnvelope.getMaxX() - 360,
+              searchEnvelope.getMinY(),
+              searchEnvelope.getMaxY()));
+    }
+    return envelopes;
+  }
+
+  private static double distanceInKm(Geometry geometry, Entry entry) {
+    if (entry.prepared != null && entry.prepared.intersects(geometry)) {
+      return 0;
+    }
+
+    Coordinate[] nearestPoints = DistanceOp.nearestPoints(geometry, entry.geometry);
+    PointImpl from = new PointImpl(nearestPoints[0].x, nearestPoints[0].y, SPATIAL_CONTEXT);
+    return SPATIAL_CONTEXT.calcDistance(from, nearestPoints[1].x, nearestPoints[1].y)
+        * DistanceUtils.DEG_TO_KM;
+  }
+
+  private static boolean isGazetteerMetacard(Metacard metacard) {
+    return metacard != null && metacard.getTags().contains(GAZETTEER_METACARD_TAG);
+  }
+
+  private static class Match {
+    private final Entry entry;
+
+    private final double distanceInKm;
+
+    private Match(Entry entry, double distanceInKm) {
+      this.entry = entry;
+      this.distanceInKm = distanceInKm;
+    }
+  }
+
+  /** A gazetteer metacard reduced to the attributes needed for the spatial lookups. */
+  public static class Entry {
+    private final String id;
+
+    private final String name;
+
+    private final String countryCode;
+
+    private final String featureCode;
+
+    private final Geometry geometry;
+
+    private final PreparedGeometry prepared;
+
+    private Entry(
+        String id, String name, String countryCode, String featureCode, Geometry geometry) {
+      this.id = id;
+      this.name = name;
+      this.countryCode = countryCode;
+      this.featureCode = featureCode;
+      this.geometry = geometry;
+      this.prepared =
+          geometry.getDimension() > 0 ? PreparedGeometryFactory.prepare(geometry) : null;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /** @return the first coordinate of the entry's location, as read from its WKT */
+    public Coordinate getCoordinate() {
+      return geometry.getCoordinate();
+    }
+
+    private static Entry fromMetacard(Metacard metacard) {
+      String id = metacard.getId();
+      String location = getStringAttribute(metacard, Core.LOCATION);
+      if (StringUtils.isBlank(id) || StringUtils.isBlank(location)) {
+        return null;
+      }
+
+      Geometry geometry;
+      try {
+        geometry = WKT_READER_THREAD_LOCAL.get().read(location);
+      } catch (ParseException e) {
+        LOGGER.debug("Gazetteer metacard {} has an invalid location.", id);
+        return null;
+      }
+
+      if (geometry.isEmpty()) {
+        return null;
+      }
+
+      return new Entry(
+          id,
+          getStringAttribute(metacard, Core.TITLE),
+          getStringAttribute(metacard, Location.COUNTRY_CODE),
+          getStringAttribute(metacard, GeoEntryAttributes.FEATURE_CODE_ATTRIBUTE_NAME),
+          geometry);
+    }
+
+    private static String getStringAttribute(Metacard metacard, String attributeName) {
+      Attribute attribute = metacard.getAttribute(attributeName);
+      if (attribute != null) {
+        Serializable serializable = attribute.getValue();
+        if (serializable instanceof String) {
+          return (String) serializable;
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -20,6 +20,8 @@
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ddf.catalog.CatalogFramework;
@@ -44,6 +46,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
 import org.codice.ddf.spatial.geocoding.GeoCodingConstants;
 import org.codice.ddf.spatial.geocoding.GeoEntry;
 import org.codice.ddf.spatial.geocoding.GeoEntryAttributes;
@@ -217,6 +220,19 @@ public void testGetNearestCities() throws Exception {
     assertThat(nearbyLocation.getName(), is(BOSTON));
   }
 
+  @Test
+  public void testGetNearestCitiesUsesLoadedSpatialIndex() throws Exception {
+    GazetteerQueryCatalog indexedQueryCatalog = createIndexedQueryCatalog();
+    List<NearbyLocation> nearbyLocations =
+        indexedQueryCatalog.getNearestCities(NEAR_BOSTON_WKT, RADIUS_IN_KM, MAX_RESULTS);
+    assertThat(nearbyLocations.size(), is(1));
+    NearbyLocation nearbyLocation = nearbyLocations.get(0);
+    assertThat(nearbyLocation.getCardinalDirection(), is("S"));
+    assertThat(nearbyLocation.getDistance(), is(closeTo(1.3, .01)));
+    assertThat(nearbyLocation.getName(), is(BOSTON));
+    verify(catalogFramework, times(1)).query(any(QueryRequest.class));
+  }
+
   @Test
   public void testGetNearestCitiesMissingLocation() throws Exception {
     Metacard metacard = generateGeoNamesMetacard();
@@ -280,6 +296,16 @@ public void testGetCountryCode() throws Exception {
     assertThat(countryCode.get(), is(USA_COUNTRY_CODE));
   }
 
+  @Test
+  public void testGetCountryCodeUsesLoadedSpatialIndex() throws Exception {
+    GazetteerQueryCatalog indexedQueryCatalog = createIndexedQueryCatalog();
+    Optional<String> countryCode =
+        indexedQueryCatalog.getCountryCode(NEAR_BOSTON_WKT, RADIUS_IN_KM);
+    assertThat(countryCode.isPresent(), is(true));
+    assertThat(countryCode.get(), is(USA_COUNTRY_CODE));
+    verify(catalogFramework, times(1)).query(any(QueryRequest.class));
+  }
+
   @Test
   public void testGetCountryCodeNoResults() throws Exception {
     QueryResponse queryResponse =
@@ -318,6 +344,21 @@ public void testGetCountryCodeSourceUnavailableException() throws Exception {
     queryCatalog.getCountryCode(NEAR_BOSTON_WKT, RADIUS_IN_KM);
   }
 
+  private GazetteerQueryCatalog createIndexedQueryCatalog() throws Exception {
+    Metacard metacard = generateGeoNamesMetacard();
+    metacard.setAttribute(new AttributeImpl(Core.ID, "boston"));
+    QueryResponse queryResponse = generateQueryResponseFromMetacard(metacard);
+    when(catalogFramework.query(any(QueryRequest.class))).thenReturn(queryResponse);
+    GazetteerSpatialIndex spatialIndex =
+        new GazetteerSpatialIndex(
+            catalogFramework,
+            FILTER_BUILDER,
+            mock(ScheduledExecutorService.class),
+            GazetteerSpatialIndexTest.runningSecurity());
+    spatialIndex.load();
+    return new GazetteerQueryCatalog(catalogFramework, FILTER_BUILDER, spatialIndex);
+  }
+
   private Metacard generateEmptyMetacard() {
     return new MetacardImpl(GEO_ENTRY_METACARD_TYPE);
   }
@@ -0,0 +1,330 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.geocoding.query;
+
+import static org.codice.ddf.spatial.geocoding.GeoCodingConstants.GAZETTEER_METACARD_TAG;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.MetacardType;
+import ddf.catalog.data.Result;
+import ddf.catalog.data.impl.AttributeImpl;
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.data.impl.MetacardTypeImpl;
+import ddf.catalog.data.impl.ResultImpl;
+import ddf.catalog.data.impl.types.LocationAttributes;
+import ddf.catalog.data.types.Core;
+import ddf.catalog.data.types.Location;
+import ddf.catalog.filter.proxy.builder.GeotoolsFilterBuilder;
+import ddf.catalog.operation.CreateResponse;
+import ddf.catalog.operation.DeleteResponse;
+import ddf.catalog.operation.QueryRequest;
+import ddf.catalog.operation.impl.QueryResponseImpl;
+import ddf.catalog.source.SourceUnavailableException;
+import ddf.catalog.source.UnsupportedQueryException;
+import ddf.security.service.SecurityServiceException;
+import java.lang.reflect.InvocationTargetException;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.codice.ddf.security.Security;
+import org.codice.ddf.spatial.geocoding.GeoCodingConstants;
+import org.codice.ddf.spatial.geocoding.GeoEntryAttributes;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKTReader;
+
+public class GazetteerSpatialIndexTest {
+
+  private static final MetacardType GEO_ENTRY_METACARD_TYPE =
+      new MetacardTypeImpl(
+          "GeoEntryAttributes", Arrays.asList(new LocationAttributes(), new GeoEntryAttributes()));
+
+  private static final Geometry NEAR_BOSTON =
+      readWkt("POINT(-71.07124328613281 42.353671973455704)");
+
+  private static final String USA_SHAPE_WKT =
+      "POLYGON ((-125 25, -66 25, -66 49, -125 49, -125 25))";
+
+  private static final String CANADA_SHAPE_WKT =
+      "POLYGON ((-141 49, -52 49, -52 70, -141 70, -141 49))";
+
+  private static final int RADIUS_IN_KM = 100;
+
+  private CatalogFramework catalogFramework;
+
+  private ScheduledExecutorService executor;
+
+  private AtomicBoolean elevated;
+
+  private Security security;
+
+  private GazetteerSpatialIndex spatialIndex;
+
+  @Before
+  public void setUp() throws Exception {
+    catalogFramework = mock(CatalogFramework.class);
+    executor = mock(ScheduledExecutorService.class);
+    elevated = new AtomicBoolean();
+    security = runningSecurity(elevated);
+    returnFromCatalog(
+        city("boston", "Boston", "USA", "PPL", "POINT (-71.0595703125 42.35771940022451)"),
+        city("cambridge", "Cambridge", "USA", "PPL", "POINT (-71.10561 42.3751)"),
+        city("worcester", "Worcester", "USA", "PPL", "POINT (-71.80229 42.26259)"),
+        city("albany", "Albany", "USA", "PPLA", "POINT (-73.75623 42.65258)"),
+        city("harbor", "Boston Harbor", "USA", "BAY", "POINT (-70.95 42.33)"),
+        country("usa", "USA", USA_SHAPE_WKT),
+        country("canada", "CAN", CANADA_SHAPE_WKT));
+    spatialIndex =
+        new GazetteerSpatialIndex(
+            catalogFramework, new GeotoolsFilterBuilder(), executor, security);
+  }
+
+  @Test
+  public void testInitSchedulesLoad() {
+    spatialIndex.init();
+    verify(executor).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MINUTES));
+    assertThat(spatialIndex.isLoaded(), is(false));
+    assertThat(spatialIndex.getNearestCities(NEAR_BOSTON, RADIUS_IN_KM, 10), is(empty()));
+  }
+
+  @Test
+  public void testGetNearestCities() {
+    spatialIndex.load();
+    assertThat(spatialIndex.isLoaded(), is(true));
+    assertThat(
+        names(spatialIndex.getNearestCities(NEAR_BOSTON, RADIUS_IN_KM, 10)),
+        contains("Boston", "Cambridge", "Worcester"));
+    assertThat(
+        names(spatialIndex.getNearestCities(NEAR_BOSTON, RADIUS_IN_KM, 2)),
+        contains("Boston", "Cambridge"));
+  }
+
+  @Test
+  public void testGetNearestCitiesAroundPolygon() {
+    spatialIndex.load();
+    Geometry polygon = readWkt("POLYGON ((-74 42.5, -73.5 42.5, -73.5 43, -74 43, -74 42.5))");
+    assertThat(names(spatialIndex.getNearestCities(polygon, 1, 10)), contains("Albany"));
+  }
+
+  @Test
+  public void testGetCountryCodeFromContainingShape() {
+    spatialIndex.load();
+    assertThat(spatialIndex.getCountryCode(readWkt("POINT (-100 50)"), 1).get(), is("CAN"));
+    assertThat(spatialIndex.getCountryCode(readWkt("POINT (-100 45)"), 1).get(), is("USA"));
+  }
+
+  @Test
+  public void testGetCountryCodeWithinRadius() {
+    spatialIndex.load();
+    Geometry offshore = readWkt("POINT (-65.5 40)");
+    assertThat(spatialIndex.getCountryCode(offshore, RADIUS_IN_KM).get(), is("USA"));
+    assertThat(spatialIndex.getCountryCode(offshore, 1).isPresent(), is(false));
+  }
+
+  @Test
+  public void testCreateAndDeleteUpdateLoadedIndex() {
+    spatialIndex.load();
+    Metacard revere = city("revere", "Revere", "USA", "PPL", "POINT (-71.01199 42.40843)");
+    Metacard notGazetteer = city("other", "Other", "USA", "PPL", "POINT (-71.06 42.35)");
+    notGazetteer.setAttribute(
+        new AttributeImpl(Core.METACARD_TAGS, Collections.singletonList("resource")));
+
+    CreateResponse createResponse = mock(CreateResponse.class);
+    when(createResponse.getCreatedMetacards()).thenReturn(Arrays.asList(revere, notGazetteer));
+    spatialIndex.process(createResponse);
+    assertThat(
+        names(spatialIndex.getNearestCities(NEAR_BOSTON, 10, 10)),
+        contains("Boston", "Cambridge", "Revere"));
+
+    DeleteResponse deleteResponse = mock(DeleteResponse.class);
+    when(deleteResponse.getDeletedMetacards()).thenReturn(Collections.singletonList(revere));
+    spatialIndex.process(deleteResponse);
+    assertThat(
+        names(spatialIndex.getNearestCities(NEAR_BOSTON, 10, 10)),
+        contains("Boston", "Cambridge"));
+  }
+
+  @Test
+  public void testCreateBeforeLoadSchedulesLoad() {
+    CreateResponse createResponse = mock(CreateResponse.class);
+    when(createResponse.getCreatedMetacards())
+        .thenReturn(Collections.singletonList(city("a", "A", "USA", "PPL", "POINT (0 0)")));
+    spatialIndex.process(createResponse);
+    verify(executor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MINUTES));
+    assertThat(spatialIndex.isLoaded(), is(false));
+  }
+
+  @Test
+  public void testTooManyEntriesIsNotLoaded() {
+    spatialIndex.setMaxEntries(3);
+    spatialIndex.load();
+    assertThat(spatialIndex.isLoaded(), is(false));
+  }
+
+  @Test
+  public void testTooManyEntriesIsNotReloadedOnCreate() {
+    spatialIndex.setMaxEntries(3);
+    spatialIndex.load();
+
+    CreateResponse createResponse = mock(CreateResponse.class);
+    when(createResponse.getCreatedMetacards())
+        .thenReturn(Collections.singletonList(city("a", "A", "USA", "PPL", "POINT (0 0)")));
+    spatialIndex.process(createResponse);
+
+    verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    assertThat(spatialIndex.isLoaded(), is(false));
+  }
+
+  @Test
+  public void testRaisingMaxEntriesReloads() {
+    spatialIndex.setMaxEntries(3);
+    spatialIndex.load();
+    spatialIndex.setMaxEntries(10);
+    verify(executor).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MINUTES));
+  }
+
+  @Test
+  public void testLoadReadsCatalogAsSystemSubject() {
+    spatialIndex.load();
+    verify(security).runAsAdmin(any());
+    assertThat(spatialIndex.isLoaded(), is(true));
+  }
+
+  @Test
+  public void testLoadWithoutSubjectSchedulesRetry() throws Exception {
+    doThrow(SecurityServiceException.class).when(security).runWithSubjectOrElevate(any());
+    spatialIndex.load();
+    assertThat(spatialIndex.isLoaded(), is(false));
+    verify(executor).schedule(any(Runnable.class), eq(1L), eq(TimeUnit.MINUTES));
+  }
+
+  @Test
+  public void testLoadUnexpectedFailureSchedulesRetry() throws Exception {
+    doThrow(IllegalStateException.class).when(security).runWithSubjectOrElevate(any());
+    spatialIndex.load();
+    assertThat(spatialIndex.isLoaded(), is(false));
+    verify(executor).schedule(any(Runnable.class), eq(1L), eq(TimeUnit.MINUTES));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testLoadFailureSchedulesRetry() throws Exception {
+    when(catalogFramework.query(any(QueryRequest.class)))
+        .thenThrow(SourceUnavailableException.class);
+    spatialIndex.load();
+    assertThat(spatialIndex.isLoaded(), is(false));
+    verify(executor).schedule(any(Runnable.class), eq(1L), eq(TimeUnit.MINUTES));
+  }
+
+  /** Returns a {@link Security} that runs the code it is given, as the real one would. */
+  static Security runningSecurity() throws Exception {
+    return runningSecurity(new AtomicBoolean());
+  }
+
+  private static Security runningSecurity(AtomicBoolean elevated) throws Exception {
+    Security security = mock(Security.class);
+    when(security.runAsAdmin(any()))
+        .thenAnswer(invocation -> ((PrivilegedAction<?>) invocation.getArgument(0)).run());
+    when(security.runWithSubjectOrElevate(any()))
+        .thenAnswer(
+            invocation -> {
+              elevated.set(true);
+              try {
+                return ((Callable<?>) invocation.getArgument(0)).call();
+              } catch (Exception e) {
+                throw new InvocationTargetException(e);
+              } finally {
+                elevated.set(false);
+              }
+            });
+    return security;
+  }
+
+  /** The catalog only answers queries run with a subject, like the security plugins require. */
+  private void returnFromCatalog(Metacard... metacards) throws Exception {
+    List<Result> results =
+        Arrays.stream(metacards).map(ResultImpl::new).collect(Collectors.toList());
+    when(catalogFramework.query(any(QueryRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              if (!elevated.get()) {
+                throw new UnsupportedQueryException("no user Subject available");
+              }
+              return new QueryResponseImpl(mock(QueryRequest.class), results, results.size());
+            });
+  }
+
+  private static List<String> names(List<GazetteerSpatialIndex.Entry> entries) {
+    return entries
+        .stream()
+        .map(GazetteerSpatialIndex.Entry::getName)
+        .collect(Collectors.toList());
+  }
+
+  private static Metacard city(
+      String id, String name, String countryCode, String featureCode, String wkt) {
+    Metacard metacard = new MetacardImpl(GEO_ENTRY_METACARD_TYPE);
+    metacard.setAttribute(new AttributeImpl(Core.ID, id));
+    metacard.setAttribute(new AttributeImpl(Core.TITLE, name));
+    metacard.setAttribute(new AttributeImpl(Location.COUNTRY_CODE, countryCode));
+    metacard.setAttribute(
+        new AttributeImpl(GeoEntryAttributes.FEATURE_CODE_ATTRIBUTE_NAME, featureCode));
+    metacard.setAttribute(new AttributeImpl(Core.LOCATION, wkt));
+    metacard.setAttribute(
+        new AttributeImpl(
+            Core.METACARD_TAGS,
+            Arrays.asList(GAZETTEER_METACARD_TAG, GeoCodingConstants.GEONAMES_TAG)));
+    return metacard;
+  }
+
+  private static Metacard country(String id, String countryCode, String wkt) {
+    Metacard metacard = new MetacardImpl(GEO_ENTRY_METACARD_TYPE);
+    metacard.setAttribute(new AttributeImpl(Core.ID, id));
+    metacard.setAttribute(new AttributeImpl(Location.COUNTRY_CODE, countryCode));
+    metacard.setAttribute(new AttributeImpl(Core.LOCATION, wkt));
+    metacard.setAttribute(
+        new AttributeImpl(
+            Core.METACARD_TAGS,
+            Arrays.asList(GAZETTEER_METACARD_TAG, GeoCodingConstants.COUNTRY_TAG)));
+    return metacard;
+  }
+
+  private static Geometry readWkt(String wkt) {
+    try {
+      return new WKTReader().read(wkt);
+    } catch (org.locationtech.jts.io.ParseException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.ogc.catalog.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The first bytes of an XML response, read ahead of a markable stream without consuming them. This
+ * lets a response reader recognize the root element of a response, and report on a response that
+ * cannot be parsed, while the response itself is parsed straight from the stream rather than being
+ * buffered in full.
+ */
+public class XmlResponsePrefix {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(XmlResponsePrefix.class);
+
+  /** Large enough for an OGC exception report, or the prolog and root element of any response. */
+  public static final int DEFAULT_LIMIT = 64 * 1024;
+
+  private static final XMLInputFactory XML_INPUT_FACTORY = initXmlInputFactory();
+
+  private final byte[] bytes;
+
+  private final String rootElementName;
+
+  private final Map<String, String> rootAttributes;
+
+  private XmlResponsePrefix(
+      byte[] bytes, String rootElementName, Map<String, String> rootAttributes) {
+    this.bytes = bytes;
+    this.rootElementName = rootElementName;
+    this.rootAttributes = rootAttributes;
+  }
+
+  private static XMLInputFactory initXmlInputFactory() {
+    XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xmlInputFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
+    return xmlInputFactory;
+  }
+
+  /**
+   * Reads up to {@code limit} bytes from the start of {@code inputStream} and resets the stream
+   * back to where it was, so the bytes can still be read by the caller.
+   *
+   * @param inputStream the response, which must support {@link InputStream#mark(int)}
+   * @param limit the most bytes to read ahead
+   * @return the prefix of the response
+   * @throws IOException if the response could not be read
+   * @throws IllegalArgumentException if {@code inputStream} does not support mark and reset
+   */
+  public static XmlResponsePrefix read(InputStream inputStream, int limit) throws IOException {
+    if (!inputStream.markSupported()) {
+      throw new IllegalArgumentException("Input stream must support mark and reset.");
+    }
+
+    byte[] buffer = new byte[limit];
+    inputStream.mark(limit);
+    int length;
+    try {
+      length = IOUtils.read(inputStream, buffer);
+    } finally {
+      inputStream.reset();
+    }
+
+    byte[] bytes = length == limit ? buffer : Arrays.copyOf(buffer, length);
+    return parseRootElement(bytes);
+  }
+
+  private static XmlResponsePrefix parseRootElement(byte[] bytes) {
+    XMLStreamReader xmlStreamReader = null;
+    try {
+      xmlStreamReader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(bytes));
+      while (xmlStreamReader.hasNext()) {
+        if (xmlStreamReader.next() == XMLStreamConstants.START_ELEMENT) {
+          Map<String, String> attributes = new HashMap<>();
+          for (int i = 0; i < xmlStreamReader.getAttributeCount(); i++) {
+            attributes.put(
+                xmlStreamReader.getAttributeLocalName(i), xmlStreamReader.getAttributeValue(i));
+          }
+          return new XmlResponsePrefix(bytes, xmlStreamReader.getLocalName(), attributes);
+        }
+      }
+    } catch (XMLStreamException e) {
+      LOGGER.debug("Unable to find the root element of the response.", e);
+    } finally {
+      closeQuietly(xmlStreamReader);
+    }
+    return new XmlResponsePrefix(bytes, null, Collections.emptyMap());
+  }
+
+  private static void closeQuietly(XMLStreamReader xmlStreamReader) {
+    if (xmlStreamReader != null) {
+      try {
+        xmlStreamReader.close();
+      } catch (XMLStreamException e) {
+        LOGGER.debug("Unable to close XML stream reader.", e);
+      }
+    }
+  }
+
+  /**
+   * @param localName the local name of an element, without any namespace prefix
+   * @return true if the response's root element has the given local name
+   */
+  public boolean isRootElement(String localName) {
+    return localName.equals(rootElementName);
+  }
+
+  /** @return the local name of the response's root element, or null if it was not found */
+  public String getRootElementName() {
+    return rootElementName;
+  }
+
+  /**
+   * @param localName the local name of an attribute, without any namespace prefix
+   * @return the value of the attribute on the response's root element, or null if it has none
+   */
+  public String getRootAttribute(String localName) {
+    return rootAttributes.get(localName);
+  }
+
+  /** @return a new stream of the prefix bytes, e.g. to report a response that failed to parse */
+  public InputStream getInputStream() {
+    return new ByteArrayInputStream(bytes);
+  }
+
+  @Override
+  public String toString() {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.ogc.catalog.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class XmlResponsePrefixTest {
+
+  private static final String FEATURE_COLLECTION =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+          + "<!-- comment -->\n"
+          + "<wfs:FeatureCollection xmlns:wfs=\"http://www.opengis.net/wfs/2.0\""
+          + " numberMatched=\"825\" numberReturned=\"250\">"
+          + "<wfs:member/>"
+          + "</wfs:FeatureCollection>";
+
+  @Test
+  public void testReadRootElement() throws IOException {
+    XmlResponsePrefix prefix =
+        XmlResponsePrefix.read(toStream(FEATURE_COLLECTION), XmlResponsePrefix.DEFAULT_LIMIT);
+
+    assertThat(prefix.isRootElement("FeatureCollection"), is(true));
+    assertThat(prefix.getRootAttribute("numberMatched"), is("825"));
+    assertThat(prefix.getRootAttribute("numberReturned"), is("250"));
+    assertThat(prefix.getRootAttribute("missing"), nullValue());
+    assertThat(prefix.toString(), is(FEATURE_COLLECTION));
+  }
+
+  @Test
+  public void testReadDoesNotConsumeStream() throws IOException {
+    InputStream inputStream = toStream(FEATURE_COLLECTION);
+
+    XmlResponsePrefix.read(inputStream, 16);
+
+    assertThat(IOUtils.toString(inputStream, StandardCharsets.UTF_8), is(FEATURE_COLLECTION));
+  }
+
+  @Test
+  public void testRootElementBeyondLimit() throws IOException {
+    XmlResponsePrefix prefix = XmlResponsePrefix.read(toStream(FEATURE_COLLECTION), 16);
+
+    assertThat(prefix.getRootElementName(), nullValue());
+    assertThat(prefix.isRootElement("FeatureCollection"), is(false));
+    assertThat(
+        IOUtils.toString(prefix.getInputStream(), StandardCharsets.UTF_8),
+        is(FEATURE_COLLECTION.substring(0, 16)));
+  }
+
+  @Test
+  public void testNotXml() throws IOException {
+    XmlResponsePrefix prefix =
+        XmlResponsePrefix.read(toStream("not xml"), XmlResponsePrefix.DEFAULT_LIMIT);
+
+    assertThat(prefix.getRootElementName(), nullValue());
+    assertThat(prefix.toString(), is("not xml"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStreamWithoutMark() throws IOException {
+    XmlResponsePrefix.read(
+        new ByteArrayInputStream(new byte[0]) {
+          @Override
+          public boolean markSupported() {
+            return false;
+          }
+        },
+        XmlResponsePrefix.DEFAULT_LIMIT);
+  }
+
+  private static InputStream toStream(String text) {
+    return new BufferedInputStream(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+  }
+}
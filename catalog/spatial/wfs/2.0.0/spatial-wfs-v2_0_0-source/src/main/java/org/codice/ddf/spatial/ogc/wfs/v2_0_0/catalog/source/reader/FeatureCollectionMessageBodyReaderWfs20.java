@@ -18,14 +18,12 @@
 import com.thoughtworks.xstream.io.xml.WstxDriver;
 import com.thoughtworks.xstream.security.NoTypePermission;
 import ddf.catalog.data.Metacard;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import javax.ws.rs.Consumes;
@@ -36,17 +34,9 @@
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.Provider;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBElement;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
-import net.opengis.wfs.v_2_0_0.FeatureCollectionType;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.log.sanitizer.LogSanitizer;
+import org.codice.ddf.spatial.ogc.catalog.common.XmlResponsePrefix;
 import org.codice.ddf.spatial.ogc.wfs.catalog.converter.FeatureConverter;
 import org.codice.ddf.spatial.ogc.wfs.catalog.converter.impl.GmlEnvelopeConverter;
 import org.codice.ddf.spatial.ogc.wfs.catalog.converter.impl.GmlGeometryConverter;
@@ -64,7 +54,13 @@
   private static final Logger LOGGER =
       LoggerFactory.getLogger(FeatureCollectionMessageBodyReaderWfs20.class);
 
-  private static final JAXBContext JAXB_CONTEXT = initJaxbContext();
+  private static final String FEATURE_COLLECTION = "FeatureCollection";
+
+  private static final String EXCEPTION_REPORT = "ExceptionReport";
+
+  private static final String NUMBER_MATCHED = "numberMatched";
+
+  private static final String NUMBER_RETURNED = "numberReturned";
 
   protected XStream xstream;
 
@@ -82,32 +78,7 @@ public FeatureCollectionMessageBodyReaderWfs20() {
     featureCollectionConverter = new FeatureCollectionConverterWfs20();
     featureCollectionConverter.setFeatureConverterMap(featureConverterMap);
     xstream.registerConverter(featureCollectionConverter);
-    xstream.alias("FeatureCollection", Wfs20FeatureCollection.class);
-  }
-
-  private static JAXBContext initJaxbContext() {
-    JAXBContext jaxbContext = null;
-
-    // JAXB context path
-    String contextPath =
-        StringUtils.join(
-            new String[] {
-              Wfs20Constants.OGC_WFS_PACKAGE,
-              Wfs20Constants.OGC_FILTER_PACKAGE,
-              Wfs20Constants.OGC_GML_PACKAGE,
-              Wfs20Constants.OGC_OWS_PACKAGE
-            },
-            ":");
-
-    try {
-      jaxbContext =
-          JAXBContext.newInstance(
-              contextPath, FeatureCollectionMessageBodyReaderWfs20.class.getClassLoader());
-    } catch (JAXBException e) {
-      LOGGER.info("Unable to create JAXB context using contextPath: {}.", contextPath, e);
-    }
-
-    return jaxbContext;
+    xstream.alias(FEATURE_COLLECTION, Wfs20FeatureCollection.class);
   }
 
   @Override
@@ -119,7 +90,6 @@ public boolean isReadable(
     return Wfs20FeatureCollection.class.isAssignableFrom(clazz);
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public Wfs20FeatureCollection readFrom(
       Class<Wfs20FeatureCollection> clazz,
@@ -130,81 +100,56 @@ public Wfs20FeatureCollection readFrom(
       InputStream inStream)
       throws IOException, WebApplicationException {
 
-    // Save original input stream for any exception message that might need to be
-    // created and additional attributes
-    String originalInputStream = IOUtils.toString(inStream, "UTF-8");
-    LOGGER.debug("{}", LogSanitizer.sanitize(originalInputStream));
+    // Only the start of the response is kept, to read the FeatureCollection attributes and for
+    // any exception message that might need to be created; the features themselves are parsed
+    // straight from the stream
+    InputStream xmlStream = inStream.markSupported() ? inStream : new BufferedInputStream(inStream);
+    XmlResponsePrefix responsePrefix =
+        XmlResponsePrefix.read(xmlStream, XmlResponsePrefix.DEFAULT_LIMIT);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("{}", LogSanitizer.sanitize(responsePrefix.toString()));
+    }
+
+    if (responsePrefix.isRootElement(EXCEPTION_REPORT)) {
+      LOGGER.debug("Response is an OWS Exception Report from server.");
+
+      // If an ExceptionReport is sent from the remote WFS site it will be sent with an
+      // JAX-RS "OK" status, hence the ErrorResponse exception mapper will not fire.
+      // Instead the ServiceExceptionReport will come here and be treated like a GetFeature
+      // response. So this check is responsible for creating a JAX-RS response containing
+      // the original stream (with the ExceptionReport) and throwing it as a
+      // WebApplicationException, which CXF will wrap as a ClientException that the
+      // WfsSource catches, converts to a WfsException, and logs.
+      ResponseBuilder responseBuilder = Response.ok(responsePrefix.getInputStream());
+      responseBuilder.type("text/xml");
+      Response response = responseBuilder.build();
+      throw new WebApplicationException(response);
+    }
+
+    if (!responsePrefix.isRootElement(FEATURE_COLLECTION)) {
+      LOGGER.debug(
+          "Error in retrieving feature collection, unexpected root element {}.",
+          responsePrefix.getRootElementName());
+      IOUtils.closeQuietly(xmlStream);
+      return null;
+    }
 
     ClassLoader ccl = Thread.currentThread().getContextClassLoader();
 
     try {
       Thread.currentThread()
           .setContextClassLoader(FeatureCollectionMessageBodyReaderWfs20.class.getClassLoader());
-      // Fetch FeatureCollection attributes
-      Unmarshaller unmarshaller = null;
-      JAXBElement<FeatureCollectionType> wfsFeatureCollectionType = null;
-      xstream.allowTypeHierarchy(Wfs20FeatureCollection.class);
-      try {
-        unmarshaller = JAXB_CONTEXT.createUnmarshaller();
-        XMLInputFactory xmlInputFactory = XMLInputFactory.newFactory();
-        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-        xmlInputFactory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, false);
-        XMLStreamReader xmlStreamReader =
-            xmlInputFactory.createXMLStreamReader(new StringReader(originalInputStream));
-        wfsFeatureCollectionType =
-            (JAXBElement<FeatureCollectionType>) unmarshaller.unmarshal(xmlStreamReader);
-      } catch (ClassCastException e1) {
-        LOGGER.debug(
-            "Exception unmarshalling {}, could be an OWS Exception Report from server.",
-            e1.getMessage());
-
-        // If an ExceptionReport is sent from the remote WFS site it will be sent with an
-        // JAX-RS "OK" status, hence the ErrorResponse exception mapper will not fire.
-        // Instead the ServiceExceptionReport will come here and be treated like a GetFeature
-        // response, resulting in an XStreamException since ExceptionReport cannot be
-        // unmarshalled. So this catch clause is responsible for catching that XStream
-        // exception and creating a JAX-RS response containing the original stream
-        // (with the ExceptionReport) and rethrowing it as a WebApplicationException,
-        // which CXF will wrap as a ClientException that the WfsSource catches, converts
-        // to a WfsException, and logs.
-
-        ByteArrayInputStream bis =
-            new ByteArrayInputStream(originalInputStream.getBytes(StandardCharsets.UTF_8));
-        ResponseBuilder responseBuilder = Response.ok(bis);
-        responseBuilder.type("text/xml");
-        Response response = responseBuilder.build();
-        throw new WebApplicationException(e1, response);
-      } catch (VirtualMachineError e) {
-        throw e;
-      } catch (JAXBException | XMLStreamException e1) {
-        LOGGER.debug("Error in retrieving feature collection.", e1);
-      } catch (RuntimeException e) {
-        LOGGER.debug("Error processing collection", e);
-        throw e;
-      }
 
       Wfs20FeatureCollection featureCollection = null;
-
-      if (null != wfsFeatureCollectionType && null != wfsFeatureCollectionType.getValue()) {
-        BigInteger numberReturned = wfsFeatureCollectionType.getValue().getNumberReturned();
-        String numberMatched = wfsFeatureCollectionType.getValue().getNumberMatched();
-
-        // Re-create the input stream (since it has already been read for potential
-        // exception message creation)
-        inStream = new ByteArrayInputStream(originalInputStream.getBytes("UTF-8"));
-
-        try {
-          xstream.allowTypeHierarchy(Wfs20FeatureCollection.class);
-          featureCollection = (Wfs20FeatureCollection) xstream.fromXML(inStream);
-          featureCollection.setNumberMatched(numberMatched);
-          featureCollection.setNumberReturned(numberReturned);
-
-        } catch (XStreamException e) {
-          LOGGER.debug("Exception unmarshalling {}", e);
-        } finally {
-          IOUtils.closeQuietly(inStream);
-        }
+      try {
+        xstream.allowTypeHierarchy(Wfs20FeatureCollection.class);
+        featureCollection = (Wfs20FeatureCollection) xstream.fromXML(xmlStream);
+        featureCollection.setNumberMatched(responsePrefix.getRootAttribute(NUMBER_MATCHED));
+        featureCollection.setNumberReturned(getNumberReturned(responsePrefix));
+      } catch (XStreamException e) {
+        LOGGER.debug("Exception unmarshalling {}", e);
+      } finally {
+        IOUtils.closeQuietly(xmlStream);
       }
 
       return featureCollection;
@@ -213,6 +158,20 @@ public Wfs20FeatureCollection readFrom(
     }
   }
 
+  private BigInteger getNumberReturned(XmlResponsePrefix responsePrefix) {
+    String numberReturned = responsePrefix.getRootAttribute(NUMBER_RETURNED);
+    if (numberReturned == null) {
+      return null;
+    }
+
+    try {
+      return new BigInteger(numberReturned.trim());
+    } catch (NumberFormatException e) {
+      LOGGER.debug("Invalid {} attribute: {}", NUMBER_RETURNED, numberReturned, e);
+      return null;
+    }
+  }
+
   public void registerConverter(FeatureConverter converter) {
     featureConverterMap.put(converter.getMetacardType().getName(), converter);
     xstream.registerConverter(converter);
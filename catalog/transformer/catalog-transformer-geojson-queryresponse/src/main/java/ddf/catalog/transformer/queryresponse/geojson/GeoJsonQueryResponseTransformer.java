@@ -14,33 +14,27 @@
 package ddf.catalog.transformer.queryresponse.geojson;
 
 import ddf.catalog.data.BinaryContent;
-import ddf.catalog.data.Metacard;
 import ddf.catalog.data.Result;
 import ddf.catalog.data.impl.BinaryContentImpl;
 import ddf.catalog.operation.SourceResponse;
 import ddf.catalog.transform.CatalogTransformerException;
 import ddf.catalog.transform.MetacardTransformer;
 import ddf.catalog.transform.QueryResponseTransformer;
-import java.io.ByteArrayInputStream;
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import javax.activation.MimeType;
 import javax.activation.MimeTypeParseException;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
-import net.minidev.json.JSONValue;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Implements the {@link QueryResponseTransformer} interface to transform a {@link SourceResponse}
- * instance to GeoJSON. This class creates JSON objects for the list of {@link
- * ddf.catalog.data.Metacard}s that are the results from a query. This class leverages the {@link
- * GeoJsonMetacardTransformer} to convert metacards to JSON.
+ * instance to GeoJSON. This class streams JSON objects for the list of {@link
+ * ddf.catalog.data.Metacard}s that are the results from a query, transforming each metacard as the
+ * content is read. This class leverages the {@link GeoJsonMetacardTransformer} to convert metacards
+ * to JSON.
  *
  * @see GeoJsonMetacardTransformer
  * @see QueryResponseTransformer
@@ -72,37 +66,6 @@ public GeoJsonQueryResponseTransformer(MetacardTransformer metacardTransformer)
     this.metacardTransformer = metacardTransformer;
   }
 
-  private JSONObject convertToJSON(Result result) throws CatalogTransformerException {
-    JSONObject rootObject = new JSONObject();
-
-    addNonNullObject(rootObject, "distance", result.getDistanceInMeters());
-    addNonNullObject(rootObject, "relevance", result.getRelevanceScore());
-    addNonNullObject(rootObject, "metacard", createGeoJSON(result.getMetacard()));
-
-    return rootObject;
-  }
-
-  private Object createGeoJSON(Metacard metacard) throws CatalogTransformerException {
-    if (metacardTransformer == null) {
-      throw new CatalogTransformerException("The metacard transformer cannot be null");
-    }
-
-    BinaryContent rawContent = metacardTransformer.transform(metacard, null);
-    JSONParser jsonParser = new JSONParser(JSONParser.DEFAULT_PERMISSIVE_MODE);
-    try {
-      return jsonParser.parse(rawContent.getInputStream());
-    } catch (ParseException | UnsupportedEncodingException e) {
-      throw new CatalogTransformerException(
-          "Unable to parse transformed metacard content as JSON", e);
-    }
-  }
-
-  private static void addNonNullObject(JSONObject obj, String name, Object value) {
-    if (value != null) {
-      obj.put(name, value);
-    }
-  }
-
   @Override
   public BinaryContent transform(
       SourceResponse upstreamResponse, Map<String, Serializable> arguments)
@@ -112,26 +75,28 @@ public BinaryContent transform(
           "Cannot transform null " + SourceResponse.class.getName());
     }
 
-    JSONObject rootObject = new JSONObject();
-
-    addNonNullObject(rootObject, "hits", upstreamResponse.getHits());
+    if (metacardTransformer == null) {
+      throw new CatalogTransformerException("The metacard transformer cannot be null");
+    }
 
-    JSONArray resultsList = new JSONArray();
+    List<Result> results =
+        upstreamResponse.getResults() == null
+            ? Collections.emptyList()
+            : upstreamResponse.getResults();
 
-    if (upstreamResponse.getResults() != null) {
-      for (Result result : upstreamResponse.getResults()) {
-        if (result == null) {
-          throw new CatalogTransformerException("Cannot transform null " + Result.class.getName());
-        }
-        resultsList.add(convertToJSON(result));
+    // fail fast on results that can never be transformed, before any content is written
+    for (Result result : results) {
+      if (result == null) {
+        throw new CatalogTransformerException("Cannot transform null " + Result.class.getName());
+      }
+      if (result.getMetacard() == null) {
+        throw new CatalogTransformerException("Cannot transform null metacard.");
       }
     }
-    addNonNullObject(rootObject, "results", resultsList);
-
-    String jsonText = JSONValue.toJSONString(rootObject);
 
     return new BinaryContentImpl(
-        new ByteArrayInputStream(jsonText.getBytes(StandardCharsets.UTF_8)), DEFAULT_MIME_TYPE);
+        new GeoJsonResultsInputStream(upstreamResponse.getHits(), results, metacardTransformer),
+        DEFAULT_MIME_TYPE);
   }
 
   @Override
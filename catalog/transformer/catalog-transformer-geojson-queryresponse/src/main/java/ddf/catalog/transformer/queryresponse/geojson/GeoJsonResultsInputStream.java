@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.transformer.queryresponse.geojson;
+
+import ddf.catalog.data.BinaryContent;
+import ddf.catalog.data.Result;
+import ddf.catalog.transform.CatalogTransformerException;
+import ddf.catalog.transform.MetacardTransformer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import net.minidev.json.JSONValue;
+
+/**
+ * Streams a GeoJSON query response one result at a time. A metacard is only transformed when the
+ * reader reaches it, and its transformed content is copied through as is, so no more than one
+ * metacard's content is held in memory no matter how many results there are.
+ */
+class GeoJsonResultsInputStream extends InputStream {
+
+  private final Iterator<Result> results;
+
+  private final MetacardTransformer metacardTransformer;
+
+  private InputStream current;
+
+  private boolean firstResult = true;
+
+  private boolean finished = false;
+
+  GeoJsonResultsInputStream(
+      long hits, List<Result> results, MetacardTransformer metacardTransformer) {
+    this.results = results.iterator();
+    this.metacardTransformer = metacardTransformer;
+    this.current = toStream("{\"hits\":" + JSONValue.toJSONString(hits) + ",\"results\":[");
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buffer = new byte[1];
+    int n = read(buffer, 0, 1);
+    return n < 0 ? -1 : buffer[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+
+    while (current != null) {
+      int n = current.read(buffer, offset, length);
+      if (n >= 0) {
+        return n;
+      }
+      current.close();
+      current = nextPart();
+    }
+    return -1;
+  }
+
+  @Override
+  public void close() throws IOException {
+    finished = true;
+    if (current != null) {
+      current.close();
+      current = null;
+    }
+  }
+
+  private InputStream nextPart() throws IOException {
+    if (finished) {
+      return null;
+    }
+
+    if (!results.hasNext()) {
+      finished = true;
+      return toStream("]}");
+    }
+
+    Result result = results.next();
+    StringBuilder prefix = new StringBuilder(firstResult ? "{" : ",{");
+    firstResult = false;
+    appendNonNull(prefix, "distance", result.getDistanceInMeters());
+    appendNonNull(prefix, "relevance", result.getRelevanceScore());
+    prefix.append("\"metacard\":");
+
+    return new SequenceInputStream(
+        Collections.enumeration(
+            Arrays.asList(toStream(prefix.toString()), transform(result), toStream("}"))));
+  }
+
+  private InputStream transform(Result result) throws IOException {
+    try {
+      BinaryContent content = metacardTransformer.transform(result.getMetacard(), null);
+      InputStream inputStream = content == null ? null : content.getInputStream();
+      if (inputStream == null) {
+        throw new IOException(
+            "Metacard transformer returned no content for metacard "
+                + result.getMetacard().getId());
+      }
+      return inputStream;
+    } catch (CatalogTransformerException e) {
+      throw new IOException("Unable to transform metacard " + result.getMetacard().getId(), e);
+    }
+  }
+
+  private static void appendNonNull(StringBuilder builder, String name, Object value) {
+    if (value != null) {
+      builder.append('"').append(name).append("\":").append(JSONValue.toJSONString(value));
+      builder.append(',');
+    }
+  }
+
+  private static InputStream toStream(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
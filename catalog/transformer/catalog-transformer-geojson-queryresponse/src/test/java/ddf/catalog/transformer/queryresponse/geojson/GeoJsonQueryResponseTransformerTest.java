@@ -40,6 +40,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import net.minidev.json.parser.JSONParser;
@@ -155,6 +156,25 @@ public void testCustomTransformerWithJsonArray()
     assertThat(((JSONObject) metacard.get(1)).get("id"), is("1"));
   }
 
+  @Test
+  public void testMetacardsTransformedAsContentIsRead() throws Exception {
+    AtomicInteger transformed = new AtomicInteger();
+    MetacardTransformer metacardTransformer = new GeoJsonMetacardTransformer();
+    GeoJsonQueryResponseTransformer geoJsonQRT =
+        new GeoJsonQueryResponseTransformer(
+            (metacard, arguments) -> {
+              transformed.incrementAndGet();
+              return metacardTransformer.transform(metacard, arguments);
+            });
+
+    BinaryContent content = geoJsonQRT.transform(setupResponse(3, 3L), null);
+    assertThat(transformed.get(), is(0));
+
+    JSONObject obj = (JSONObject) PARSER.parse(new String(content.getByteArray()));
+    assertThat(transformed.get(), is(3));
+    verifyResponse(obj, 3, 3);
+  }
+
   private MetacardTransformer createCustomMetacardTransformer(String binContent) {
     return (metacard, arguments) ->
         new BinaryContentImpl(IOUtils.toInputStream(binContent, StandardCharsets.UTF_8));
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.transformer.input.tika;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps an {@link ExtractionTime} for each MIME type the {@link TikaInputTransformer} extracts and
+ * publishes it as an MBean in the {@value #DOMAIN} domain.
+ */
+class ExtractionMetrics {
+
+  static final String DOMAIN = "ddf.metrics.catalog.transformer.tika";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExtractionMetrics.class);
+
+  private final Map<String, ExtractionTime> mimeTypes = new ConcurrentHashMap<>();
+
+  private final MBeanServer mBeanServer;
+
+  ExtractionMetrics() {
+    this(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  ExtractionMetrics(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+  }
+
+  void record(String mimeType, long durationNanos) {
+    getExtractionTime(mimeType).record(durationNanos);
+  }
+
+  void recordTimeout(String mimeType) {
+    getExtractionTime(mimeType).recordTimeout();
+  }
+
+  ExtractionTime getExtractionTime(String mimeType) {
+    ExtractionTime extractionTime = mimeTypes.get(mimeType);
+    if (extractionTime == null) {
+      extractionTime = mimeTypes.computeIfAbsent(mimeType, this::register);
+    }
+    return extractionTime;
+  }
+
+  /** Unregisters the MBeans of every MIME type. */
+  void destroy() {
+    for (String mimeType : mimeTypes.keySet()) {
+      try {
+        ObjectName objectName = objectName(mimeType);
+        if (mBeanServer.isRegistered(objectName)) {
+          mBeanServer.unregisterMBean(objectName);
+        }
+      } catch (JMException e) {
+        LOGGER.debug("Unable to unregister extraction time MBean for {}", mimeType, e);
+      }
+    }
+    mimeTypes.clear();
+  }
+
+  private ExtractionTime register(String mimeType) {
+    ExtractionTime extractionTime = new ExtractionTime();
+    try {
+      ObjectName objectName = objectName(mimeType);
+      if (mBeanServer.isRegistered(objectName)) {
+        mBeanServer.unregisterMBean(objectName);
+      }
+      mBeanServer.registerMBean(extractionTime, objectName);
+    } catch (JMException e) {
+      LOGGER.debug("Unable to register extraction time MBean for {}", mimeType, e);
+    }
+    return extractionTime;
+  }
+
+  static ObjectName objectName(String mimeType) throws MalformedObjectNameException {
+    return new ObjectName(DOMAIN, "mimeType", ObjectName.quote(mimeType));
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.transformer.input.tika;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time spent extracting the metadata of documents of a single MIME type. Extractions that ran out
+ * of time are only counted as timeouts.
+ */
+public class ExtractionTime implements ExtractionTimeMBean {
+
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder total = new LongAdder();
+
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  private final LongAdder timeouts = new LongAdder();
+
+  void record(long durationNanos) {
+    long value = Math.max(durationNanos, 0);
+    count.increment();
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  void recordTimeout() {
+    timeouts.increment();
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  @Override
+  public double getMean() {
+    long n = count.sum();
+    return n == 0 ? 0 : total.sum() / (n * NANOS_PER_MILLI);
+  }
+
+  @Override
+  public double getMax() {
+    return max.get() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public void reset() {
+    count.reset();
+    total.reset();
+    max.reset();
+    timeouts.reset();
+  }
+}
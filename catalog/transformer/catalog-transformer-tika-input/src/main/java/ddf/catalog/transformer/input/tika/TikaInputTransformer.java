@@ -40,6 +40,7 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -51,6 +52,13 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.imageio.ImageIO;
@@ -59,14 +67,19 @@
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.stream.StreamSource;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.io.CloseShieldInputStream;
+import org.apache.tika.io.TikaInputStream;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
 import org.apache.tika.mime.MediaTypeRegistry;
 import org.codice.ddf.configuration.DictionaryMap;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
 import org.codice.ddf.platform.util.TemporaryFileBackedOutputStream;
 import org.codice.ddf.platform.util.XMLUtils;
 import org.imgscalr.Scalr;
@@ -94,6 +107,12 @@ public class TikaInputTransformer implements InputTransformer {
 
   private static final String OVERALL_FALLBACK_DATA_TYPE = DataType.DATASET.toString();
 
+  private static final int DEFAULT_EXTRACTION_THREADS = 4;
+
+  private static final int DEFAULT_EXTRACTION_TIMEOUT_SECONDS = 120;
+
+  private static final String UNKNOWN_MIME_TYPE = "unknown";
+
   static {
     SPECIFIC_MIME_TYPE_DATA_TYPE_MAP = new HashMap<>();
     SPECIFIC_MIME_TYPE_DATA_TYPE_MAP.put(
@@ -172,6 +191,23 @@ public class TikaInputTransformer implements InputTransformer {
 
   private boolean useResourceTitleAsTitle;
 
+  // Tika parses run on their own bounded pool so a pathological document can't hold up an ingest
+  // thread for longer than extractionTimeoutSeconds.
+  private final ThreadPoolExecutor extractionExecutor =
+      new ThreadPoolExecutor(
+          DEFAULT_EXTRACTION_THREADS,
+          DEFAULT_EXTRACTION_THREADS,
+          0L,
+          TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>(),
+          StandardThreadFactoryBuilder.newThreadFactory("tikaExtractionThread"));
+
+  private volatile int extractionTimeoutSeconds = DEFAULT_EXTRACTION_TIMEOUT_SECONDS;
+
+  private final ExtractionMetrics extractionMetrics = new ExtractionMetrics();
+
+  private Detector detector;
+
   public TikaInputTransformer(BundleContext bundleContext, MetacardType metacardType) {
     this.commonTikaMetacardType = metacardType;
     classLoaderAndBundleContextSetup(bundleContext);
@@ -189,6 +225,32 @@ public void setMetadataMaxLength(int metadataMaxLength) {
     this.metadataMaxLength = metadataMaxLength;
   }
 
+  /** @param extractionThreads the number of documents that can be parsed at the same time */
+  public void setExtractionThreads(int extractionThreads) {
+    Validate.isTrue(extractionThreads > 0, "extractionThreads must be positive");
+    if (extractionThreads > extractionExecutor.getMaximumPoolSize()) {
+      extractionExecutor.setMaximumPoolSize(extractionThreads);
+      extractionExecutor.setCorePoolSize(extractionThreads);
+    } else {
+      extractionExecutor.setCorePoolSize(extractionThreads);
+      extractionExecutor.setMaximumPoolSize(extractionThreads);
+    }
+  }
+
+  /**
+   * @param extractionTimeoutSeconds how long an ingest waits for the extraction of a single
+   *     document, including time spent waiting for a free extraction thread, before the extraction
+   *     is cancelled, or 0 for no limit
+   */
+  public void setExtractionTimeoutSeconds(int extractionTimeoutSeconds) {
+    this.extractionTimeoutSeconds = extractionTimeoutSeconds;
+  }
+
+  public void destroy() {
+    extractionExecutor.shutdownNow();
+    extractionMetrics.destroy();
+  }
+
   @SuppressWarnings("unused")
   public void setCommonTikaMetacardType(MetacardType metacardType) {
     this.commonTikaMetacardType = metacardType;
@@ -362,54 +424,163 @@ public Metacard transform(InputStream input, String id)
         throw new CatalogTransformerException("Could not copy bytes of content message.", e);
       }
 
-      Metadata metadata;
-      String bodyText = null;
-      String metadataText;
       Metacard metacard = new MetacardImpl(commonTikaMetacardType);
       String contentType = DataType.DATASET.name();
-      TikaMetadataExtractor extractor = null;
-      try (InputStream inputStreamCopy = fileBackedOutputStream.asByteSource().openStream()) {
-        extractor = new TikaMetadataExtractor(inputStreamCopy, previewMaxLength, metadataMaxLength);
-
-      } catch (TikaException | RuntimeException t) {
-        LOGGER.debug("Unable to extract tika metadata", t);
+      Extraction extraction = extract(fileBackedOutputStream, id);
+      if (extraction != null) {
+        metacard = extraction.metacard;
+        contentType = extraction.contentType;
       }
 
-      if (extractor != null) {
-        metadataText = extractor.getMetadataXml();
-        Attribute validationAttribute = null;
-        if (metadataText.equals(TikaMetadataExtractor.METADATA_LIMIT_REACHED_MSG)) {
-          validationAttribute =
-              new AttributeImpl(
-                  Validation.VALIDATION_WARNINGS, Collections.singletonList(metadataText));
-          metadataText = "";
-        }
-        bodyText = extractor.getBodyText();
-        metadata = extractor.getMetadata();
-        contentType = metadata.get(Metadata.CONTENT_TYPE);
-        MetacardType metacardType = mergeAttributes(getMetacardType(contentType));
-        metacard =
-            MetacardCreator.createMetacard(
-                metadata, id, metadataText, metacardType, useResourceTitleAsTitle);
-        if (StringUtils.isNotBlank(bodyText)) {
-          metacard.setAttribute(new AttributeImpl(Extracted.EXTRACTED_TEXT, bodyText));
-          processContentMetadataExtractors(bodyText, metacard);
-        }
+      enrichMetacard(fileBackedOutputStream, contentType, bytes, metacard);
 
-        if (StringUtils.isNotBlank(metadataText)) {
-          processMetadataExtractors(metadataText, metacard);
-        }
+      LOGGER.debug("Finished transforming input stream using Tika.");
+      return metacard;
+    }
+  }
 
-        if (validationAttribute != null) {
-          metacard.setAttribute(validationAttribute);
-        }
+  /**
+   * Runs {@link #extractMetadata} on the extraction pool and waits for it. The time budget starts
+   * when the extraction is submitted, so time spent waiting for a free extraction thread counts
+   * against it. When it runs out, the extraction is cancelled, which stops the parser the next time
+   * it reads the document, and a minimal metacard with a validation warning is returned instead.
+   */
+  @Nullable
+  private Extraction extract(TemporaryFileBackedOutputStream fileBackedOutputStream, String id)
+      throws IOException, CatalogTransformerException {
+    ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+    FutureTask<Extraction> task =
+        new FutureTask<>(
+            () -> {
+              ClassLoader workerTccl = Thread.currentThread().getContextClassLoader();
+              long start = System.nanoTime();
+              try {
+                Thread.currentThread().setContextClassLoader(tccl);
+                Extraction extraction = extractMetadata(fileBackedOutputStream, id);
+                extractionMetrics.record(
+                    extraction == null ? UNKNOWN_MIME_TYPE : getBaseType(extraction.contentType),
+                    System.nanoTime() - start);
+                return extraction;
+              } finally {
+                Thread.currentThread().setContextClassLoader(workerTccl);
+              }
+            });
+
+    int timeoutSeconds = extractionTimeoutSeconds;
+    try {
+      extractionExecutor.execute(task);
+      return timeoutSeconds > 0 ? task.get(timeoutSeconds, TimeUnit.SECONDS) : task.get();
+    } catch (TimeoutException e) {
+      task.cancel(true);
+      extractionExecutor.remove(task);
+      String mimeType = detectMimeType(fileBackedOutputStream);
+      LOGGER.debug(
+          "Metadata extraction of {} content took longer than {} seconds. Creating a minimal metacard.",
+          mimeType,
+          timeoutSeconds);
+      extractionMetrics.recordTimeout(mimeType);
+      Metacard metacard = new MetacardImpl(commonTikaMetacardType);
+      metacard.setAttribute(
+          new AttributeImpl(
+              Validation.VALIDATION_WARNINGS,
+              Collections.singletonList(
+                  String.format(
+                      "Metadata extraction was stopped after %d seconds.", timeoutSeconds))));
+      return new Extraction(metacard, DataType.DATASET.name());
+    } catch (InterruptedException e) {
+      task.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new CatalogTransformerException("Interrupted while extracting metadata.", e);
+    } catch (RejectedExecutionException e) {
+      throw new CatalogTransformerException("Unable to schedule metadata extraction.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
       }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new CatalogTransformerException("Unable to extract metadata.", cause);
+    }
+  }
 
-      enrichMetacard(fileBackedOutputStream, contentType, bytes, metacard);
+  @Nullable
+  private Extraction extractMetadata(
+      TemporaryFileBackedOutputStream fileBackedOutputStream, String id) throws IOException {
+    Metadata metadata;
+    String bodyText = null;
+    String metadataText;
+    Metacard metacard;
+    String contentType;
+    TikaMetadataExtractor extractor = null;
+    try (InputStream inputStreamCopy =
+        new InterruptibleInputStream(fileBackedOutputStream.asByteSource().openStream())) {
+      extractor = new TikaMetadataExtractor(inputStreamCopy, previewMaxLength, metadataMaxLength);
+
+    } catch (TikaException | RuntimeException t) {
+      LOGGER.debug("Unable to extract tika metadata", t);
+    }
 
-      LOGGER.debug("Finished transforming input stream using Tika.");
-      return metacard;
+    if (extractor == null) {
+      return null;
+    }
+
+    metadataText = extractor.getMetadataXml();
+    Attribute validationAttribute = null;
+    if (metadataText.equals(TikaMetadataExtractor.METADATA_LIMIT_REACHED_MSG)) {
+      validationAttribute =
+          new AttributeImpl(
+              Validation.VALIDATION_WARNINGS, Collections.singletonList(metadataText));
+      metadataText = "";
+    }
+    bodyText = extractor.getBodyText();
+    metadata = extractor.getMetadata();
+    contentType = metadata.get(Metadata.CONTENT_TYPE);
+    MetacardType metacardType = mergeAttributes(getMetacardType(contentType));
+    metacard =
+        MetacardCreator.createMetacard(
+            metadata, id, metadataText, metacardType, useResourceTitleAsTitle);
+    if (StringUtils.isNotBlank(bodyText)) {
+      metacard.setAttribute(new AttributeImpl(Extracted.EXTRACTED_TEXT, bodyText));
+      processContentMetadataExtractors(bodyText, metacard);
+    }
+
+    if (StringUtils.isNotBlank(metadataText)) {
+      processMetadataExtractors(metadataText, metacard);
+    }
+
+    if (validationAttribute != null) {
+      metacard.setAttribute(validationAttribute);
+    }
+
+    return new Extraction(metacard, contentType);
+  }
+
+  /**
+   * Detects the MIME type a timed out extraction is recorded under, since the extraction didn't get
+   * far enough to report one.
+   */
+  private String detectMimeType(TemporaryFileBackedOutputStream fileBackedOutputStream) {
+    try (TikaInputStream inputStreamCopy =
+        TikaInputStream.get(fileBackedOutputStream.asByteSource().openStream())) {
+      return getDetector().detect(inputStreamCopy, new Metadata()).getBaseType().toString();
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Unable to detect the MIME type of the content", e);
+      return UNKNOWN_MIME_TYPE;
+    }
+  }
+
+  private synchronized Detector getDetector() {
+    if (detector == null) {
+      detector = TikaConfig.getDefaultConfig().getDetector();
     }
+    return detector;
+  }
+
+  private static String getBaseType(String contentType) {
+    MediaType mediaType = MediaType.parse(contentType);
+    return mediaType == null ? UNKNOWN_MIME_TYPE : mediaType.getBaseType().toString();
   }
 
   private void processMetadataExtractors(String metadataText, Metacard metacard) {
@@ -651,4 +822,36 @@ private void createThumbnail(InputStream input, Metacard metacard) {
   Bundle getBundle() {
     return FrameworkUtil.getBundle(TikaInputTransformer.class);
   }
+
+  ExtractionMetrics getExtractionMetrics() {
+    return extractionMetrics;
+  }
+
+  private static class Extraction {
+    private final Metacard metacard;
+
+    private final String contentType;
+
+    private Extraction(Metacard metacard, String contentType) {
+      this.metacard = metacard;
+      this.contentType = contentType;
+    }
+  }
+
+  /**
+   * Fails the next read once the extracting thread has been interrupted, so parsers stop soon after
+   * their time budget runs out.
+   */
+  private static class InterruptibleInputStream extends ProxyInputStream {
+    private InterruptibleInputStream(InputStream inputStream) {
+      super(inputStream);
+    }
+
+    @Override
+    protected void beforeRead(int n) throws IOException {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new InterruptedIOException("Metadata extraction was cancelled.");
+      }
+    }
+  }
 }
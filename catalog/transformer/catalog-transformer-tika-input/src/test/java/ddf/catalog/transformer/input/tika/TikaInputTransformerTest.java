@@ -20,6 +20,7 @@
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -29,6 +30,7 @@
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -64,6 +66,8 @@
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -172,6 +176,11 @@ Bundle getBundle() {
     tikaInputTransformer.setUseResourceTitleAsTitle(true);
   }
 
+  @After
+  public void tearDown() {
+    tikaInputTransformer.destroy();
+  }
+
   @Test
   public void testRegisterService() {
     BundleContext mockBundleContext = mock(BundleContext.class);
@@ -807,6 +816,86 @@ public void testEmptyStringMetadataExtractor() throws Exception {
     verify(metadataExtractor, times(0)).process(any(), any());
   }
 
+  @Test
+  public void testExtractionTimeout() throws Exception {
+    MetadataExtractor metadataExtractor = mock(MetadataExtractor.class);
+    when(metadataExtractor.canProcess(any())).thenReturn(true);
+    doAnswer(
+            invocation -> {
+              Thread.sleep(30000);
+              return null;
+            })
+        .when(metadataExtractor)
+        .process(any(), any());
+    addMetadataExtractor(metadataExtractor);
+    tikaInputTransformer.setExtractionTimeoutSeconds(1);
+
+    Metacard metacard = transform(new ByteArrayInputStream("something".getBytes()));
+
+    assertThat(metacard.getAttribute(Core.DATATYPE).getValue(), is(DATASET));
+    assertThat(metacard.getAttribute(Extracted.EXTRACTED_TEXT), nullValue());
+    assertThat(
+        metacard.getAttribute(Validation.VALIDATION_WARNINGS).getValue().toString(),
+        containsString("stopped after 1 seconds"));
+    assertThat(
+        tikaInputTransformer.getExtractionMetrics().getExtractionTime("text/plain").getTimeouts(),
+        is(1L));
+  }
+
+  @Test(timeout = 30000)
+  public void testExtractionTimeoutWhenWorkersAreStuck() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    MetadataExtractor metadataExtractor = mock(MetadataExtractor.class);
+    when(metadataExtractor.canProcess(any())).thenReturn(true);
+    doAnswer(
+            invocation -> {
+              // a parser that ignores cancellation and keeps its extraction thread
+              while (true) {
+                try {
+                  release.await();
+                  return null;
+                } catch (InterruptedException e) {
+                  // keep waiting
+                }
+              }
+            })
+        .when(metadataExtractor)
+        .process(any(), any());
+    addMetadataExtractor(metadataExtractor);
+    tikaInputTransformer.setExtractionThreads(1);
+    tikaInputTransformer.setExtractionTimeoutSeconds(1);
+
+    try {
+      Metacard stuck = transform(new ByteArrayInputStream("something".getBytes()));
+      Metacard queued = transform(new ByteArrayInputStream("something else".getBytes()));
+
+      assertThat(stuck.getAttribute(Validation.VALIDATION_WARNINGS), notNullValue());
+      assertThat(queued.getAttribute(Validation.VALIDATION_WARNINGS), notNullValue());
+      assertThat(
+          tikaInputTransformer.getExtractionMetrics().getExtractionTime("text/plain").getTimeouts(),
+          is(2L));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void testExtractionTimeRecordedByMimeType() throws Exception {
+    InputStream stream =
+        Thread.currentThread().getContextClassLoader().getResourceAsStream("testPDF.pdf");
+    transform(stream);
+    transform(new ByteArrayInputStream("something".getBytes()));
+
+    ExtractionTime pdfExtractionTime =
+        tikaInputTransformer.getExtractionMetrics().getExtractionTime(PDF_CONTENT_TYPE);
+    assertThat(pdfExtractionTime.getCount(), is(1L));
+    assertThat(pdfExtractionTime.getTimeouts(), is(0L));
+    assertThat(pdfExtractionTime.getMax(), greaterThan(0.0));
+    assertThat(
+        tikaInputTransformer.getExtractionMetrics().getExtractionTime("text/plain").getCount(),
+        is(1L));
+  }
+
   private String convertDate(Date date) {
     DateFormat df = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
     df.setTimeZone(TimeZone.getTimeZone("UTC"));
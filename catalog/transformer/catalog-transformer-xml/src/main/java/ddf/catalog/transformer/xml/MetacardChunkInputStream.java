@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.transformer.xml;
+
+import ddf.catalog.data.Result;
+import ddf.catalog.transform.CatalogTransformerException;
+import ddf.catalog.transformer.api.MetacardMarshaller;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.xmlpull.v1.XmlPullParserException;
+
+/**
+ * Streams the XML of a list of results, marshaling them in chunks on an executor. A bounded number
+ * of chunks are marshaled ahead of the reader and each one is released once it has been read, so
+ * only that window of chunks is held in memory no matter how many results there are. Chunks are
+ * always read in the order of the results they came from.
+ */
+class MetacardChunkInputStream extends InputStream {
+
+  private final Iterator<List<Result>> chunks;
+
+  private final Deque<Future<byte[]>> pending;
+
+  private final int maxPendingChunks;
+
+  private final ExecutorService executor;
+
+  private final MetacardMarshaller metacardMarshaller;
+
+  private String tail;
+
+  private InputStream current;
+
+  /**
+   * Starts marshaling the first chunks and waits for the first one, so that a marshaller that
+   * cannot handle these results fails before any content has been returned to the caller.
+   *
+   * @param head the content to stream before the first result
+   * @param chunks the results to marshal, in the order they are to be streamed
+   * @param tail the content to stream after the last result
+   * @param maxPendingChunks the most chunks to marshal ahead of the reader
+   * @throws IOException if the first chunk could not be marshaled
+   */
+  MetacardChunkInputStream(
+      String head,
+      List<List<Result>> chunks,
+      String tail,
+      int maxPendingChunks,
+      ExecutorService executor,
+      MetacardMarshaller metacardMarshaller)
+      throws IOException {
+    this.chunks = chunks.iterator();
+    this.pending = new ArrayDeque<>(maxPendingChunks);
+    this.maxPendingChunks = maxPendingChunks;
+    this.executor = executor;
+    this.metacardMarshaller = metacardMarshaller;
+    this.tail = tail;
+
+    InputStream first = nextPart();
+    this.current = first == null ? toStream(head) : new SequenceInputStream(toStream(head), first);
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buffer = new byte[1];
+    int n = read(buffer, 0, 1);
+    return n < 0 ? -1 : buffer[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+
+    while (current != null) {
+      int n = current.read(buffer, offset, length);
+      if (n >= 0) {
+        return n;
+      }
+      current = nextPart();
+    }
+    return -1;
+  }
+
+  @Override
+  public void close() throws IOException {
+    cancelPending();
+    tail = null;
+    current = null;
+  }
+
+  private InputStream nextPart() throws IOException {
+    while (chunks.hasNext() && pending.size() < maxPendingChunks) {
+      List<Result> chunk = chunks.next();
+      pending.add(executor.submit(() -> marshal(chunk)));
+    }
+
+    if (!pending.isEmpty()) {
+      return new ByteArrayInputStream(await(pending.remove()));
+    }
+
+    if (tail != null) {
+      InputStream tailStream = toStream(tail);
+      tail = null;
+      return tailStream;
+    }
+    return null;
+  }
+
+  private byte[] await(Future<byte[]> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      cancelPending();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while marshaling metacards", e);
+    } catch (ExecutionException e) {
+      cancelPending();
+      throw new IOException("Failure to write node; operation aborted", e.getCause());
+    }
+  }
+
+  private void cancelPending() {
+    pending.forEach(future -> future.cancel(true));
+    pending.clear();
+  }
+
+  private byte[] marshal(List<Result> chunk)
+      throws XmlPullParserException, IOException, CatalogTransformerException {
+    StringBuilder sb = new StringBuilder(XmlResponseQueueTransformer.BUFFER_SIZE);
+    Map<String, Serializable> args = new HashMap<>();
+    args.put(MetacardMarshallerImpl.OMIT_XML_DECL, Boolean.TRUE);
+    for (Result result : chunk) {
+      sb.append(metacardMarshaller.marshal(result.getMetacard(), args));
+    }
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static InputStream toStream(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+}
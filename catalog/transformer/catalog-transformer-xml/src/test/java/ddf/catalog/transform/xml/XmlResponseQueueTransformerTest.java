@@ -56,6 +56,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.activation.MimeType;
 import javax.activation.MimeTypeParseException;
 import org.codice.ddf.parser.Parser;
@@ -391,6 +392,43 @@ public void testCompareSerialToFork()
     assertEquals(serialOutput.replaceAll("\\s", ""), forkOutput.replaceAll("\\s", ""));
   }
 
+  @Test
+  public void testMetacardsMarshaledAsContentIsRead() throws Exception {
+    int resultCount = 1000;
+    Metacard[] metacards = new Metacard[resultCount];
+    for (int i = 0; i < resultCount; i++) {
+      metacards[i] = new MetacardStub("source" + i, "id" + i);
+    }
+    SourceResponse response = givenSourceResponse(metacards);
+
+    AtomicInteger marshaled = new AtomicInteger();
+    MetacardMarshaller mockMetacardMarshaller = mock(MetacardMarshaller.class);
+    when(mockMetacardMarshaller.marshal(any(Metacard.class), any(Map.class)))
+        .then(
+            invocation -> {
+              marshaled.incrementAndGet();
+              Metacard metacard = invocation.getArgument(0);
+              return "<metacard gml:id=\"" + metacard.getId() + "\"/>";
+            });
+
+    XmlResponseQueueTransformer xrqt =
+        new XmlResponseQueueTransformer(
+            parser, new PrintWriterProviderImpl(), mockMetacardMarshaller, getMimeType());
+    xrqt.setThreshold(2);
+
+    BinaryContent binaryContent = xrqt.transform(response, null);
+
+    assertThat(marshaled.get() < resultCount, is(true));
+
+    String output = new String(binaryContent.getByteArray());
+
+    assertThat(marshaled.get(), is(resultCount));
+    assertXpathEvaluatesTo(String.valueOf(resultCount), "count(/mc:metacards/mc:metacard)", output);
+    assertXpathEvaluatesTo("id0", "/mc:metacards/mc:metacard[1]/@gml:id", output);
+    assertXpathEvaluatesTo(
+        "id" + (resultCount - 1), "/mc:metacards/mc:metacard[" + resultCount + "]/@gml:id", output);
+  }
+
   @Test
   public void testXmlResponseQueueTransformer() throws Exception {
 
@@ -17,6 +17,7 @@
 import ddf.catalog.CatalogFramework;
 import ddf.catalog.data.Attribute;
 import ddf.catalog.data.Metacard;
+import ddf.catalog.data.Result;
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.filter.FilterBuilder;
 import ddf.catalog.operation.QueryRequest;
@@ -25,6 +26,9 @@
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
+import ddf.catalog.util.impl.CatalogQueryException;
+import ddf.catalog.util.impl.ResultIterable;
+import ddf.catalog.validation.BatchMetacardValidator;
 import ddf.catalog.validation.MetacardValidator;
 import ddf.catalog.validation.ReportingMetacardValidator;
 import ddf.catalog.validation.ValidationException;
@@ -35,10 +39,16 @@
 import ddf.catalog.validation.violation.ValidationViolation;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -46,12 +56,14 @@
 import java.util.stream.Stream;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.StringUtils;
 import org.opengis.filter.Filter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class DuplicationValidator
     implements MetacardValidator,
+        BatchMetacardValidator,
         ReportingMetacardValidator,
         ddf.catalog.util.Describable,
         org.codice.ddf.platform.services.common.Describable {
@@ -63,6 +75,12 @@
 
   private static final String VERSION = "version";
 
+  /**
+   * Maximum number of attribute values to look up in one query, which keeps the queries of large
+   * batches under the boolean clause limits of the catalog providers.
+   */
+  private static final int MAX_VALUES_PER_QUERY = 500;
+
   private static Properties describableProperties = new Properties();
 
   static {
@@ -126,36 +144,62 @@ public void validate(Metacard metacard) throws ValidationException {
     final Optional<MetacardValidationReport> report = validateMetacard(metacard);
 
     if (report.isPresent()) {
-      final List<String> errors =
-          report
-              .get()
-              .getMetacardValidationViolations()
-              .stream()
-              .filter(
-                  validationViolation ->
-                      validationViolation.getSeverity().equals(ValidationViolation.Severity.ERROR))
-              .map(ValidationViolation::getMessage)
-              .collect(Collectors.toList());
-      final List<String> warnings =
-          report
-              .get()
-              .getMetacardValidationViolations()
-              .stream()
-              .filter(
-                  validationViolation ->
-                      validationViolation
-                          .getSeverity()
-                          .equals(ValidationViolation.Severity.WARNING))
-              .map(ValidationViolation::getMessage)
-              .collect(Collectors.toList());
-
-      String message =
-          String.format("Duplicate data found in catalog for ID {%s}.", metacard.getId());
-      final ValidationExceptionImpl exception = new ValidationExceptionImpl(message);
-      exception.setErrors(errors);
-      exception.setWarnings(warnings);
-      throw exception;
+      throw createValidationException(metacard, report.get());
+    }
+  }
+
+  @Override
+  public Map<Integer, ValidationException> validateBatch(List<Metacard> metacards) {
+    Preconditions.checkArgument(metacards != null, "The metacards cannot be null.");
+
+    Map<Integer, Set<ValidationViolation>> violations = new HashMap<>();
+    if (ArrayUtils.isNotEmpty(warnOnDuplicateAttributes)) {
+      reportDuplicates(
+          metacards, warnOnDuplicateAttributes, ValidationViolation.Severity.WARNING, violations);
     }
+    if (ArrayUtils.isNotEmpty(errorOnDuplicateAttributes)) {
+      reportDuplicates(
+          metacards, errorOnDuplicateAttributes, ValidationViolation.Severity.ERROR, violations);
+    }
+
+    Map<Integer, ValidationException> exceptions = new HashMap<>();
+    violations.forEach(
+        (index, metacardViolations) ->
+            getReport(metacardViolations)
+                .ifPresent(
+                    report ->
+                        exceptions.put(
+                            index, createValidationException(metacards.get(index), report))));
+    return exceptions;
+  }
+
+  private ValidationExceptionImpl createValidationException(
+      Metacard metacard, MetacardValidationReport report) {
+    final List<String> errors =
+        report
+            .getMetacardValidationViolations()
+            .stream()
+            .filter(
+                validationViolation ->
+                    validationViolation.getSeverity().equals(ValidationViolation.Severity.ERROR))
+            .map(ValidationViolation::getMessage)
+            .collect(Collectors.toList());
+    final List<String> warnings =
+        report
+            .getMetacardValidationViolations()
+            .stream()
+            .filter(
+                validationViolation ->
+                    validationViolation.getSeverity().equals(ValidationViolation.Severity.WARNING))
+            .map(ValidationViolation::getMessage)
+            .collect(Collectors.toList());
+
+    String message =
+        String.format("Duplicate data found in catalog for ID {%s}.", metacard.getId());
+    final ValidationExceptionImpl exception = new ValidationExceptionImpl(message);
+    exception.setErrors(errors);
+    exception.setWarnings(warnings);
+    return exception;
   }
 
   private Set<ValidationViolation> reportDuplicates(final Metacard metacard) {
@@ -218,6 +262,125 @@ private ValidationViolation reportDuplicates(
     return violation;
   }
 
+  /**
+   * Looks up the attribute values of a batch of metacards in as few queries as possible. The
+   * results are matched back to the metacards by attribute value. Metacards are also reported as
+   * duplicates of the metacards before them in the batch, as if they had been ingested one at a
+   * time.
+   */
+  private void reportDuplicates(
+      List<Metacard> metacards,
+      String[] attributeNames,
+      ValidationViolation.Severity severity,
+      Map<Integer, Set<ValidationViolation>> violations) {
+    Map<Map.Entry<String, String>, Set<String>> batchDuplicates = new HashMap<>();
+
+    int start = 0;
+    while (start < metacards.size()) {
+      Set<Map.Entry<String, String>> queryValues = new HashSet<>();
+      int end = start;
+      while (end < metacards.size()
+          && (end == start || queryValues.size() < MAX_VALUES_PER_QUERY)) {
+        queryValues.addAll(getAttributeValues(metacards.get(end), attributeNames));
+        end++;
+      }
+
+      Map<Map.Entry<String, String>, Set<String>> catalogDuplicates =
+          queryDuplicates(queryValues, attributeNames, end - start);
+
+      for (int index = start; index < end; index++) {
+        Metacard metacard = metacards.get(index);
+        Set<Map.Entry<String, String>> values = getAttributeValues(metacard, attributeNames);
+
+        Set<String> duplicates = new HashSet<>();
+        for (Map.Entry<String, String> value : values) {
+          duplicates.addAll(catalogDuplicates.getOrDefault(value, new HashSet<>()));
+          duplicates.addAll(batchDuplicates.getOrDefault(value, new HashSet<>()));
+        }
+        duplicates.remove(metacard.getId());
+
+        if (!duplicates.isEmpty()) {
+          Set<String> uniqueAttributeNames =
+              values.stream().map(Map.Entry::getKey).collect(Collectors.toSet());
+          ValidationViolation violation =
+              createViolation(uniqueAttributeNames, duplicates, severity);
+          LOGGER.debug(violation.getMessage());
+          violations.computeIfAbsent(index, i -> new HashSet<>()).add(violation);
+        }
+
+        String label =
+            StringUtils.isNotBlank(metacard.getId())
+                ? metacard.getId()
+                : String.format("item %d of the request", index + 1);
+        values.forEach(
+            value -> batchDuplicates.computeIfAbsent(value, v -> new HashSet<>()).add(label));
+      }
+
+      start = end;
+    }
+  }
+
+  private Set<Map.Entry<String, String>> getAttributeValues(
+      Metacard metacard, String[] attributeNames) {
+    Set<Map.Entry<String, String>> values = new LinkedHashSet<>();
+    for (String attributeName : attributeNames) {
+      Attribute attribute = metacard.getAttribute(attributeName);
+      if (attribute != null) {
+        attribute
+            .getValues()
+            .stream()
+            .filter(Objects::nonNull)
+            .map(
+                value ->
+                    new AbstractMap.SimpleImmutableEntry<>(attributeName, value.toString().trim()))
+            .forEach(values::add);
+      }
+    }
+    return values;
+  }
+
+  /** @return the IDs of the catalog metacards that have each of the given attribute values */
+  private Map<Map.Entry<String, String>, Set<String>> queryDuplicates(
+      Set<Map.Entry<String, String>> values, String[] attributeNames, int metacardCount) {
+    Map<Map.Entry<String, String>, Set<String>> duplicates = new HashMap<>();
+    if (values.isEmpty()) {
+      return duplicates;
+    }
+
+    List<Filter> filters = new ArrayList<>();
+    for (Map.Entry<String, String> value : values) {
+      filters.add(filterBuilder.attribute(value.getKey()).equalTo().text(value.getValue()));
+    }
+
+    QueryImpl query = new QueryImpl(filterBuilder.anyOf(filters));
+    query.setRequestsTotalResultsCount(false);
+    QueryRequest request = new QueryRequestImpl(query);
+
+    LOGGER.debug("Checking {} metacards for duplicates with filter {}", metacardCount, query);
+
+    try {
+      // Bound the results the same way as querying for each metacard with the default page size
+      for (Result result :
+          ResultIterable.resultIterable(
+              catalogFramework, request, metacardCount * query.getPageSize())) {
+        Metacard metacard = result.getMetacard();
+        if (metacard == null || metacard.getId() == null) {
+          continue;
+        }
+
+        getAttributeValues(metacard, attributeNames)
+            .stream()
+            .filter(values::contains)
+            .forEach(
+                value ->
+                    duplicates.computeIfAbsent(value, v -> new HashSet<>()).add(metacard.getId()));
+      }
+    } catch (CatalogQueryException e) {
+      LOGGER.debug("Query failed ", e);
+    }
+    return duplicates;
+  }
+
   private Filter[] buildFilters(Set<Attribute> attributes) {
 
     return attributes
@@ -24,6 +24,7 @@
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +46,7 @@
 import ddf.catalog.validation.report.MetacardValidationReport;
 import ddf.catalog.validation.violation.ValidationViolation;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -244,4 +246,40 @@ public void testValidateMetacardWithMultiValuedAttribute()
               assertThat(violation.getMessage(), containsString(Metacard.TAGS));
             });
   }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValidateBatchNullInput() {
+    validator.validateBatch(null);
+  }
+
+  @Test
+  public void testValidateBatchQueriesOnceForWholeBatch() throws Exception {
+    validator.setWarnOnDuplicateAttributes(new String[] {Metacard.CHECKSUM});
+
+    MetacardImpl unique = new MetacardImpl();
+    unique.setId("unique");
+    unique.setAttribute(new AttributeImpl(Metacard.CHECKSUM, "other-checksum"));
+    MetacardImpl duplicateOfUnique = new MetacardImpl();
+    duplicateOfUnique.setAttribute(new AttributeImpl(Metacard.CHECKSUM, " other-checksum "));
+
+    Map<Integer, ValidationException> failures =
+        validator.validateBatch(Arrays.asList(testMetacard, unique, duplicateOfUnique));
+
+    assertThat(failures.keySet(), is(new HashSet<>(Arrays.asList(0, 2))));
+    assertThat(failures.get(0).getWarnings(), hasSize(1));
+    assertThat(failures.get(0).getWarnings().get(0), containsString(ID));
+    assertThat(failures.get(2).getWarnings(), hasSize(1));
+    assertThat(failures.get(2).getWarnings().get(0), containsString("unique"));
+    verify(mockFramework, times(1)).query(any(QueryRequest.class));
+  }
+
+  @Test
+  public void testValidateBatchIgnoresMetacardItself() throws Exception {
+    validator.setErrorOnDuplicateAttributes(new String[] {Metacard.CHECKSUM});
+
+    Map<Integer, ValidationException> failures =
+        validator.validateBatch(Collections.singletonList(matchingMetacard));
+
+    assertThat(failures.isEmpty(), is(true));
+  }
 }
@@ -15,22 +15,14 @@
 
 import ddf.metrics.collector.CollectorException;
 import ddf.metrics.collector.JmxCollector;
-import ddf.metrics.collector.MetricsUtil;
 import java.io.File;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
-import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import javax.management.AttributeNotFoundException;
-import javax.management.InstanceNotFoundException;
-import javax.management.MBeanException;
 import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
-import javax.management.ReflectionException;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.NumberUtils;
 import org.codice.ddf.configuration.AbsolutePathResolver;
@@ -40,7 +32,6 @@
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
-import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,8 +54,6 @@ public class RrdJmxCollector implements JmxCollector {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RrdJmxCollector.class);
 
-  private static final int MILLIS_PER_SECOND = 1000;
-
   private static final int FIVE_MINUTES_MILLIS = 300000;
 
   /**
@@ -139,9 +128,9 @@ public class RrdJmxCollector implements JmxCollector {
 
   private RrdDb rrdDb;
 
-  private Sample sample = null;
+  private ObjectName objectName;
 
-  private ScheduledThreadPoolExecutor executor;
+  private RrdMetricsSampler sampler = RrdMetricsSampler.getInstance();
 
   private long mbeanTimeoutMillis = FIVE_MINUTES_MILLIS;
 
@@ -290,6 +279,12 @@ void configureCollector() throws CollectorException, IOException {
               + "\nData Source type for the RRD file cannot be null - must be either DERIVE, COUNTER or GAUGE.");
     }
 
+    try {
+      objectName = new ObjectName(mbeanName);
+    } catch (MalformedObjectNameException e) {
+      throw new CollectorException("Invalid MBean name " + mbeanName);
+    }
+
     LOGGER.trace("rrdDataSourceType = {}", rrdDataSourceType);
     createRrdFile(metricName, rrdDataSourceName, DsType.valueOf(rrdDataSourceType));
 
@@ -304,15 +299,8 @@ void configureCollector() throws CollectorException, IOException {
   public void destroy() {
     LOGGER.trace("ENTERING: destroy() for metric {}", metricName);
 
-    // Shutdown the scheduled threaded executor that is polling the MBean attribute (metric)
-    if (executor != null) {
-      List<Runnable> tasks = executor.shutdownNow();
-      if (tasks != null) {
-        LOGGER.debug("Num tasks awaiting execution = {}", tasks.size());
-      } else {
-        LOGGER.debug("No tasks awaiting execution");
-      }
-    }
+    // Stop the shared sampler from polling the MBean attribute (metric)
+    sampler.unregister(this);
 
     // Close the RRD DB
     try {
@@ -483,106 +471,73 @@ private void createRrdFile(
   }
 
   /**
-   * Configures a scheduled threaded executor to poll the metric's MBean periodically and add a
-   * sample to the RRD file with the metric's current value.
+   * Registers this collector with the shared {@link RrdMetricsSampler}, which polls the metric's
+   * MBean periodically and adds a sample to the RRD file with the metric's current value.
    *
    * @throws CollectorException
    */
   public void updateSamples() throws CollectorException {
     LOGGER.trace("ENTERING: updateSamples");
 
-    if (executor == null) {
-      executor =
-          new ScheduledThreadPoolExecutor(
-              1, StandardThreadFactoryBuilder.newThreadFactory("rrdJmxCollectorThread"));
+    if (objectName == null || rrdDb == null) {
+      throw new CollectorException(
+          "Collector for MBean attribute " + mbeanAttributeName + " has not been configured");
     }
 
-    final Runnable updater =
-        new Runnable() {
-          public void run() {
-            Object attr = null;
-            try {
-              attr = localMBeanServer.getAttribute(new ObjectName(mbeanName), mbeanAttributeName);
-
-              LOGGER.trace("Sampling attribute {} from MBean {}", mbeanAttributeName, mbeanName);
-
-              // Cast the metric's sampled value to the appropriate data type
-              double val = 0;
-              if (attr instanceof Integer) {
-                val = (Integer) attr;
-              } else if (attr instanceof Long) {
-                val = ((Long) attr).intValue();
-              } else if (attr instanceof Float) {
-                val = ((Float) attr);
-              } else if (attr instanceof Double) {
-                val = ((Double) attr);
-              } else {
-                throw new IllegalArgumentException(
-                    "Unsupported type " + attr + " for attribute " + mbeanAttributeName);
-              }
-
-              LOGGER.trace("MBean attribute {} has value = {}", mbeanAttributeName, val);
-
-              // If first time this metric has been sampled, then need to create a
-              // sample in the RRD file
-              if (sample == null) {
-                sample = rrdDb.createSample();
-              }
-
-              try {
-                long now = System.currentTimeMillis() / MILLIS_PER_SECOND;
-                long lastUpdateTime = rrdDb.getLastUpdateTime();
-
-                // Add metric's sample to RRD file with current timestamp
-                if (now - rrdDb.getLastUpdateTime() >= minimumUpdateTimeDelta) {
-                  updateSample(now, val);
-                } else {
-                  LOGGER.debug(
-                      "Skipping sample update because time between updates is less than {} seconds",
-                      minimumUpdateTimeDelta);
-
-                  sampleSkipCount++;
-
-                  LOGGER.debug(
-                      "now = {},   lastUpdateTime = {}   (sampleSkipCount = {})",
-                      now,
-                      lastUpdateTime,
-                      sampleSkipCount);
-                }
-              } catch (IllegalArgumentException iae) {
-                LOGGER.info("Dropping sample of datasource {}", rrdDataSourceName, iae);
-              }
-            } catch (MalformedObjectNameException
-                | AttributeNotFoundException
-                | InstanceNotFoundException
-                | MBeanException
-                | ReflectionException e) {
-              LOGGER.info("Problems getting MBean attribute {}", mbeanAttributeName, e);
-            } catch (IOException e) {
-              LOGGER.info("Error updating RRD", e);
-            }
-          }
-        };
-
-    // Setup threaded scheduler to retrieve this MBean attribute's value
-    // at the specified sample rate
-    LOGGER.debug("Setup ScheduledThreadPoolExecutor for MBean {}", mbeanName);
-    executor.scheduleWithFixedDelay(updater, 0, sampleRate, TimeUnit.SECONDS);
+    LOGGER.debug("Registering MBean {} with the RRD metrics sampler", mbeanName);
+    sampler.register(this);
 
     LOGGER.trace("EXITING: updateSamples");
   }
 
-  private void updateSample(long now, double val) throws IOException {
+  /**
+   * Casts the metric's sampled value to the value stored in the RRD file.
+   *
+   * @throws IllegalArgumentException if the sampled value is not a supported numeric type
+   */
+  double toSampleValue(Object attr) {
+    if (attr instanceof Integer) {
+      return (Integer) attr;
+    } else if (attr instanceof Long) {
+      return ((Long) attr).intValue();
+    } else if (attr instanceof Float) {
+      return (Float) attr;
+    } else if (attr instanceof Double) {
+      return (Double) attr;
+    }
+
+    throw new IllegalArgumentException(
+        "Unsupported type " + attr + " for attribute " + mbeanAttributeName);
+  }
+
+  void skipSample(long now, long lastUpdateTime) {
+    LOGGER.debug(
+        "Skipping sample update because time between updates is less than {} seconds",
+        minimumUpdateTimeDelta);
+
+    sampleSkipCount++;
 
     LOGGER.debug(
-        "Sample time is [{}], updating metric [{}] with value [{}]",
-        MetricsUtil.getCalendarTime(now),
-        mbeanName,
-        val);
+        "now = {},   lastUpdateTime = {}   (sampleSkipCount = {})",
+        now,
+        lastUpdateTime,
+        sampleSkipCount);
+  }
 
-    sample.setTime(now);
-    sample.setValue(rrdDataSourceName, val);
-    sample.update();
+  ObjectName getObjectName() {
+    return objectName;
+  }
+
+  RrdDb getRrdDb() {
+    return rrdDb;
+  }
+
+  String getRrdDataSourceName() {
+    return rrdDataSourceName;
+  }
+
+  long getMinimumUpdateTimeDelta() {
+    return minimumUpdateTimeDelta;
   }
 
   /** @return local MBean server */
@@ -646,4 +601,8 @@ public void setMinimumUpdateTimeDelta(long minimumUpdateTimeDelta) {
   void setMbeanTimeoutMillis(long mbeanTimeoutMillis) {
     this.mbeanTimeoutMillis = mbeanTimeoutMillis;
   }
+
+  void setSampler(RrdMetricsSampler sampler) {
+    this.sampler = sampler;
+  }
 }
@@ -0,0 +1,355 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.metrics.collector.rrd4j;
+
+import ddf.metrics.collector.MetricsUtil;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Attribute;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.Sample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Samples the MBean attributes of every registered {@link RrdJmxCollector} from a single thread.
+ *
+ * <p>Collectors that share a sample rate are sampled together in one pass. Each pass reads all of
+ * the attributes of an MBean with a single {@link MBeanServer#getAttributes} call and writes the
+ * values destined for the same RRD file with a single {@link Sample#update()}, visiting the files
+ * in path order. The cost of each pass is published through {@link RrdMetricsSamplerMBean} so the
+ * overhead of metrics collection can itself be monitored.
+ *
+ * <p>The collector classes are embedded in each metrics bundle, so each bundle has its own sampler.
+ * The sampler's MBean is registered while at least one collector is registered, under {@code
+ * ddf.metrics.collector:name=Sampler,instance=<id>}, so that a refreshed bundle does not leave its
+ * old sampler registered.
+ */
+public class RrdMetricsSampler implements RrdMetricsSamplerMBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RrdMetricsSampler.class);
+
+  private static final String MBEAN_DOMAIN = "ddf.metrics.collector";
+
+  private static final int MILLIS_PER_SECOND = 1000;
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private static final RrdMetricsSampler INSTANCE =
+      new RrdMetricsSampler(ManagementFactory.getPlatformMBeanServer());
+
+  private final MBeanServer mBeanServer;
+
+  private final ScheduledThreadPoolExecutor executor;
+
+  /** Collectors grouped by their sample rate, in seconds. */
+  private final Map<Integer, SampleGroup> groups = new HashMap<>();
+
+  private final LongAdder sampleCount = new LongAdder();
+
+  private final LongAdder totalSampleNanos = new LongAdder();
+
+  private final LongAccumulator maxSampleNanos = new LongAccumulator(Math::max, 0);
+
+  private final AtomicLong lastSampleNanos = new AtomicLong();
+
+  private final LongAdder failedReadCount = new LongAdder();
+
+  private final LongAdder failedWriteCount = new LongAdder();
+
+  private ObjectName samplerName;
+
+  RrdMetricsSampler(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+
+    executor =
+        new ScheduledThreadPoolExecutor(
+            1, StandardThreadFactoryBuilder.newThreadFactory("rrdMetricsSamplerThread"));
+    executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+    executor.allowCoreThreadTimeOut(true);
+    executor.setRemoveOnCancelPolicy(true);
+  }
+
+  /** @return the sampler shared by all collectors */
+  public static RrdMetricsSampler getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Starts sampling the collector's MBean attribute at the collector's sample rate. The collector
+   * is sampled right away, and then together with the other collectors that have the same rate.
+   */
+  synchronized void register(RrdJmxCollector collector) {
+    if (groups.isEmpty()) {
+      registerMBean();
+    }
+
+    int sampleRate = collector.getSampleRate();
+    SampleGroup group = groups.get(sampleRate);
+    if (group == null) {
+      LOGGER.debug("Scheduling RRD metrics sampling every {} seconds", sampleRate);
+      group = new SampleGroup();
+      List<RrdJmxCollector> collectors = group.collectors;
+      group.future =
+          executor.scheduleWithFixedDelay(
+              () -> sample(collectors), sampleRate, sampleRate, TimeUnit.SECONDS);
+      groups.put(sampleRate, group);
+    }
+    group.collectors.add(collector);
+
+    executor.execute(() -> sample(Collections.singletonList(collector)));
+  }
+
+  /** Stops sampling the collector's MBean attribute. */
+  synchronized void unregister(RrdJmxCollector collector) {
+    Iterator<Map.Entry<Integer, SampleGroup>> iterator = groups.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Integer, SampleGroup> entry = iterator.next();
+      SampleGroup group = entry.getValue();
+      if (group.collectors.remove(collector) && group.collectors.isEmpty()) {
+        LOGGER.debug("No more collectors sampled every {} seconds", entry.getKey());
+        group.future.cancel(false);
+        iterator.remove();
+      }
+    }
+
+    if (groups.isEmpty()) {
+      unregisterMBean();
+    }
+  }
+
+  private void sample(List<RrdJmxCollector> collectors) {
+    long start = System.nanoTime();
+
+    Map<String, List<PendingValue>> valuesByFile = new TreeMap<>();
+    for (Map.Entry<ObjectName, List<RrdJmxCollector>> entry :
+        groupByMBean(collectors).entrySet()) {
+      readAttributes(entry.getKey(), entry.getValue(), valuesByFile);
+    }
+
+    for (List<PendingValue> values : valuesByFile.values()) {
+      writeValues(values);
+    }
+
+    long duration = System.nanoTime() - start;
+    lastSampleNanos.set(duration);
+    totalSampleNanos.add(duration);
+    maxSampleNanos.accumulate(duration);
+    sampleCount.increment();
+
+    LOGGER.trace(
+        "Sampled {} MBean attributes into {} RRD files in {} ms",
+        collectors.size(),
+        valuesByFile.size(),
+        duration / NANOS_PER_MILLI);
+  }
+
+  private Map<ObjectName, List<RrdJmxCollector>> groupByMBean(List<RrdJmxCollector> collectors) {
+    Map<ObjectName, List<RrdJmxCollector>> collectorsByMBean = new LinkedHashMap<>();
+    for (RrdJmxCollector collector : collectors) {
+      collectorsByMBean
+          .computeIfAbsent(collector.getObjectName(), name -> new ArrayList<>())
+          .add(collector);
+    }
+    return collectorsByMBean;
+  }
+
+  private void readAttributes(
+      ObjectName objectName,
+      List<RrdJmxCollector> collectors,
+      Map<String, List<PendingValue>> valuesByFile) {
+    Set<String> attributeNames = new LinkedHashSet<>();
+    collectors.forEach(collector -> attributeNames.add(collector.getMbeanAttributeName()));
+
+    Map<String, Object> attributes = new HashMap<>();
+    try {
+      for (Attribute attribute :
+          mBeanServer.getAttributes(objectName, attributeNames.toArray(new String[0])).asList()) {
+        attributes.put(attribute.getName(), attribute.getValue());
+      }
+    } catch (InstanceNotFoundException | ReflectionException e) {
+      LOGGER.info("Problems getting attributes {} of MBean {}", attributeNames, objectName, e);
+      failedReadCount.add(collectors.size());
+      return;
+    }
+
+    for (RrdJmxCollector collector : collectors) {
+      Object attr = attributes.get(collector.getMbeanAttributeName());
+      if (attr == null) {
+        LOGGER.info(
+            "Problems getting MBean attribute {} from MBean {}",
+            collector.getMbeanAttributeName(),
+            objectName);
+        failedReadCount.increment();
+        continue;
+      }
+
+      try {
+        double val = collector.toSampleValue(attr);
+        LOGGER.trace("MBean attribute {} has value = {}", collector.getMbeanAttributeName(), val);
+        valuesByFile
+            .computeIfAbsent(collector.getRrdPath(), path -> new ArrayList<>())
+            .add(new PendingValue(collector, val));
+      } catch (IllegalArgumentException e) {
+        LOGGER.info("Problems getting MBean attribute {}", collector.getMbeanAttributeName(), e);
+        failedReadCount.increment();
+      }
+    }
+  }
+
+  /** Adds all of the values destined for one RRD file in a single update. */
+  private void writeValues(List<PendingValue> values) {
+    RrdDb rrdDb = values.get(0).collector.getRrdDb();
+
+    try {
+      long now = System.currentTimeMillis() / MILLIS_PER_SECOND;
+      long lastUpdateTime = rrdDb.getLastUpdateTime();
+
+      Sample sample = rrdDb.createSample(now);
+      boolean hasValues = false;
+      for (PendingValue value : values) {
+        if (now - lastUpdateTime >= value.collector.getMinimumUpdateTimeDelta()) {
+          sample.setValue(value.collector.getRrdDataSourceName(), value.val);
+          hasValues = true;
+        } else {
+          value.collector.skipSample(now, lastUpdateTime);
+        }
+      }
+
+      if (hasValues) {
+        LOGGER.debug(
+            "Sample time is [{}], updating RRD file [{}] with {} values",
+            MetricsUtil.getCalendarTime(now),
+            rrdDb.getPath(),
+            values.size());
+        sample.update();
+      }
+    } catch (IllegalArgumentException e) {
+      LOGGER.info("Dropping sample for RRD file {}", rrdDb.getPath(), e);
+      failedWriteCount.increment();
+    } catch (IOException e) {
+      LOGGER.info("Error updating RRD", e);
+      failedWriteCount.increment();
+    }
+  }
+
+  private void registerMBean() {
+    try {
+      samplerName =
+          new ObjectName(
+              MBEAN_DOMAIN
+                  + ":name=Sampler,instance="
+                  + Integer.toHexString(System.identityHashCode(this)));
+      mBeanServer.registerMBean(this, samplerName);
+    } catch (MalformedObjectNameException
+        | InstanceAlreadyExistsException
+        | MBeanRegistrationException
+        | NotCompliantMBeanException e) {
+      LOGGER.info("Unable to register RRD metrics sampler MBean", e);
+      samplerName = null;
+    }
+  }
+
+  private void unregisterMBean() {
+    if (samplerName == null) {
+      return;
+    }
+
+    try {
+      mBeanServer.unregisterMBean(samplerName);
+    } catch (InstanceNotFoundException | MBeanRegistrationException e) {
+      LOGGER.debug("Unable to unregister RRD metrics sampler MBean {}", samplerName, e);
+    }
+    samplerName = null;
+  }
+
+  @Override
+  public synchronized int getCollectorCount() {
+    return groups.values().stream().mapToInt(group -> group.collectors.size()).sum();
+  }
+
+  @Override
+  public long getSampleCount() {
+    return sampleCount.sum();
+  }
+
+  @Override
+  public double getLastSampleMillis() {
+    return lastSampleNanos.get() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getMeanSampleMillis() {
+    long count = sampleCount.sum();
+    return count == 0 ? 0 : totalSampleNanos.sum() / NANOS_PER_MILLI / count;
+  }
+
+  @Override
+  public double getMaxSampleMillis() {
+    return maxSampleNanos.get() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public long getFailedReadCount() {
+    return failedReadCount.sum();
+  }
+
+  @Override
+  public long getFailedWriteCount() {
+    return failedWriteCount.sum();
+  }
+
+  private static class SampleGroup {
+    private final List<RrdJmxCollector> collectors = new CopyOnWriteArrayList<>();
+
+    private ScheduledFuture<?> future;
+  }
+
+  private static class PendingValue {
+    private final RrdJmxCollector collector;
+
+    private final double val;
+
+    PendingValue(RrdJmxCollector collector, double val) {
+      this.collector = collector;
+      this.val = val;
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.metrics.collector.rrd4j;
+
+/** Reports how much time the {@link RrdMetricsSampler} spends collecting metrics. */
+public interface RrdMetricsSamplerMBean {
+
+  /** @return number of collectors currently being sampled */
+  int getCollectorCount();
+
+  /** @return number of sampling passes completed */
+  long getSampleCount();
+
+  /** @return duration of the most recent sampling pass, in milliseconds */
+  double getLastSampleMillis();
+
+  /** @return mean duration of a sampling pass, in milliseconds */
+  double getMeanSampleMillis();
+
+  /** @return longest sampling pass, in milliseconds */
+  double getMaxSampleMillis();
+
+  /** @return number of MBean attribute reads that failed or returned no value */
+  long getFailedReadCount();
+
+  /** @return number of RRD file updates that failed */
+  long getFailedWriteCount();
+}
@@ -20,12 +20,24 @@
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import ddf.metrics.collector.CollectorException;
 import java.io.File;
 import java.io.IOException;
 import java.util.Calendar;
 import java.util.TimeZone;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
@@ -329,6 +341,51 @@ public void testManyUpdatesInRapidSuccession() throws Exception {
     assertThat(jmxCollector.getSampleSkipCount(), is(greaterThan(0L)));
   }
 
+  @Test
+  public void testAttributesOfOneMBeanAreReadTogether() throws Exception {
+    ObjectName runtime = new ObjectName("java.lang:type=Runtime");
+    AttributeList attributes = new AttributeList();
+    attributes.add(new Attribute("Uptime", 1000L));
+    attributes.add(new Attribute("StartTime", 5L));
+
+    MBeanServer mBeanServer = mock(MBeanServer.class);
+    when(mBeanServer.getAttributes(eq(runtime), any(String[].class))).thenReturn(attributes);
+    RrdMetricsSampler sampler = new RrdMetricsSampler(mBeanServer);
+
+    jmxCollector = createSampledCollector("Uptime", name.getMethodName() + "Uptime", sampler);
+    RrdJmxCollector startTimeCollector =
+        createSampledCollector("StartTime", name.getMethodName() + "StartTime", sampler);
+    assertThat(sampler.getCollectorCount(), is(2));
+
+    verify(mBeanServer, timeout(5000))
+        .getAttributes(runtime, new String[] {"Uptime", "StartTime"});
+    verify(mBeanServer, never()).getAttribute(any(ObjectName.class), anyString());
+
+    startTimeCollector.destroy();
+    assertThat(sampler.getCollectorCount(), is(1));
+    new File(startTimeCollector.getRrdPath()).delete();
+    rrdDb = new RrdDb(jmxCollector.getRrdPath());
+  }
+
+  @Test
+  public void testSamplerMBeanIsRegisteredWhileCollectorsAreRegistered() throws Exception {
+    ObjectName runtime = new ObjectName("java.lang:type=Runtime");
+    AttributeList attributes = new AttributeList();
+    attributes.add(new Attribute("Uptime", 1000L));
+
+    MBeanServer mBeanServer = mock(MBeanServer.class);
+    when(mBeanServer.getAttributes(eq(runtime), any(String[].class))).thenReturn(attributes);
+    RrdMetricsSampler sampler = new RrdMetricsSampler(mBeanServer);
+
+    RrdJmxCollector collector = createSampledCollector("Uptime", name.getMethodName(), sampler);
+    verify(mBeanServer).registerMBean(eq(sampler), any(ObjectName.class));
+    verify(mBeanServer, timeout(500)).getAttributes(runtime, new String[] {"Uptime"});
+
+    collector.destroy();
+    verify(mBeanServer).unregisterMBean(any(ObjectName.class));
+    rrdDb = new RrdDb(collector.getRrdPath());
+  }
+
   /** ************************************************************************************* */
   private void createJmxCollector(
       String mbeanAttributeName, String metricName, String dataSourceType, int sampleRate)
@@ -351,6 +408,25 @@ private void createJmxCollector(
     jmxCollector.configureCollector();
   }
 
+  private RrdJmxCollector createSampledCollector(
+      String mbeanAttributeName, String metricName, RrdMetricsSampler sampler) throws Exception {
+    RrdJmxCollector collector =
+        new RrdJmxCollector(
+            "java.lang:type=Runtime",
+            mbeanAttributeName,
+            metricName,
+            RrdJmxCollector.GAUGE_DATA_SOURCE_TYPE,
+            mbeanAttributeName.toLowerCase());
+    collector.setSampleRate(1);
+    collector.setMinimumUpdateTimeDelta(0);
+    collector.setMetricsDir(TEST_DIR);
+    collector.setSampler(sampler);
+
+    // Simulates what blueprint would do
+    collector.configureCollector();
+    return collector;
+  }
+
   private void collectData(int numRrdStepIterations) throws Exception {
     String rrdFilename = jmxCollector.getRrdPath();
     rrdDb = new RrdDb(rrdFilename);
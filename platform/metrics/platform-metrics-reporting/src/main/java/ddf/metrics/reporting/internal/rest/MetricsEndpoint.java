@@ -25,6 +25,7 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -39,6 +40,12 @@
 import java.util.TimeZone;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
+import javax.management.Attribute;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -86,6 +93,22 @@ public class MetricsEndpoint {
 
   private static final String JSON_MIME_TYPE = "application/json";
 
+  /**
+   * Matches the per-stage latency histograms the catalog framework publishes, which are named by
+   * their {@code stage} key. The catalog owns the domain, so it isn't repeated here.
+   */
+  static final String LATENCY_MBEANS = "ddf.metrics.*:stage=*";
+
+  private static final String[] LATENCY_ATTRIBUTES = {
+    "Count",
+    "Mean",
+    "50thPercentile",
+    "90thPercentile",
+    "99thPercentile",
+    "999thPercentile",
+    "Max"
+  };
+
   private static final String PNG_MIME_TYPE = "image/png";
 
   private static final String DATE_OFFSET_QUERY = "?dateOffset=";
@@ -129,6 +152,8 @@ public class MetricsEndpoint {
 
   private MetricsRetriever metricsRetriever = new RrdMetricsRetriever();
 
+  private MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
   /**
    * Retrieve data for the specified metric over the given time range. The URL to access this method
    * is of the form http://<host>:<port>/<metricName>.<outputFormat> So the desired metric filename
@@ -359,6 +384,39 @@ public Response getMetricsList(@Context UriInfo uriInfo) {
     return response;
   }
 
+  /**
+   * Get the latency distribution of each catalog operation stage recorded since startup, e.g., the
+   * whole query, federation, or an individual pre-query plugin.
+   *
+   * @return JSON-formatted response where each stage name maps to its invocation count and its
+   *     mean, maximum, and 50th/90th/99th/99.9th percentile latencies in milliseconds.
+   */
+  @GET
+  @Path("/latency")
+  @Produces({JSON_MIME_TYPE})
+  public Response getLatencies() {
+    Map<String, Map<String, Object>> latencies = new TreeMap<>();
+
+    try {
+      for (ObjectName objectName :
+          mBeanServer.queryNames(new ObjectName(LATENCY_MBEANS), null)) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Attribute attribute :
+            mBeanServer.getAttributes(objectName, LATENCY_ATTRIBUTES).asList()) {
+          values.put(attribute.getName(), attribute.getValue());
+        }
+        latencies.put(getStageName(objectName), values);
+      }
+    } catch (MalformedObjectNameException | InstanceNotFoundException | ReflectionException e) {
+      LOGGER.debug("Unable to read stage latencies from the MBean server", e);
+    }
+
+    String jsonText = JSONValue.toJSONString(latencies);
+    LOGGER.trace(jsonText);
+
+    return Response.ok(jsonText).build();
+  }
+
   /**
    * Retrieve data for the all metrics over the given time range. The URL to access this method is
    * of the form http://<host>:<port>/report.<outputFormat> The filename extension defines the
@@ -660,12 +718,24 @@ void setMetricsRetriever(MetricsRetriever metricsRetriever) {
     this.metricsRetriever = metricsRetriever;
   }
 
+  void setMBeanServer(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+  }
+
   public void setMetricsMaxThreshold(double metricsMaxThreshold) {
     LOGGER.debug(
         "Creating new RrdMetricsRetriever with metricsMaxThreshold = {}", metricsMaxThreshold);
     metricsRetriever = new RrdMetricsRetriever(metricsMaxThreshold);
   }
 
+  private String getStageName(ObjectName objectName) {
+    String stage = objectName.getKeyProperty("stage");
+    if (stage == null) {
+      return objectName.getCanonicalName();
+    }
+    return stage.startsWith("\"") ? ObjectName.unquote(stage) : stage;
+  }
+
   /**
    * Comparator used to sort metric time ranges by chronological order rather than the default
    * lexigraphical order.
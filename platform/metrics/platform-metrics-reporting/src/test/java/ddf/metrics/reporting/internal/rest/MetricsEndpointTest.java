@@ -21,8 +21,12 @@
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -35,12 +39,17 @@
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
@@ -88,6 +97,29 @@ public void testParseDate() {
     assertThat(time, equalTo(900000000L));
   }
 
+  @Test
+  public void testGetLatencies() throws Exception {
+    ObjectName queryStage =
+        new ObjectName("ddf.metrics.catalog.latency", "stage", ObjectName.quote("query"));
+    AttributeList attributes = new AttributeList();
+    attributes.add(new Attribute("Count", 10L));
+    attributes.add(new Attribute("50thPercentile", 2.5));
+
+    MBeanServer mBeanServer = mock(MBeanServer.class);
+    when(mBeanServer.queryNames(argThat(pattern -> pattern.apply(queryStage)), isNull()))
+        .thenReturn(Collections.singleton(queryStage));
+    when(mBeanServer.getAttributes(eq(queryStage), any(String[].class))).thenReturn(attributes);
+
+    MetricsEndpoint endpoint = getEndpoint();
+    endpoint.setMBeanServer(mBeanServer);
+    String latencies = (String) endpoint.getLatencies().getEntity();
+
+    JSONObject stages = (JSONObject) new JSONParser().parse(latencies);
+    JSONObject query = (JSONObject) stages.get("query");
+    assertThat(query.get("Count"), is(10L));
+    assertThat(query.get("50thPercentile"), is(2.5));
+  }
+
   @SuppressWarnings("rawtypes")
   @Test
   // @Ignore
@@ -33,6 +33,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
@@ -282,6 +283,28 @@ public InputStream decrypt(InputStream encryptedInputStream) throws CrypterExcep
     }
   }
 
+  /**
+   * Decrypts an encrypted channel using Tink. Unlike {@link #decrypt(InputStream)}, the returned
+   * channel supports random access and reports the plain size of the content once the first read
+   * has identified the key used to encrypt it.
+   *
+   * @param encryptedChannel The SeekableByteChannel to decrypt.
+   */
+  public SeekableByteChannel decrypt(SeekableByteChannel encryptedChannel)
+      throws CrypterException {
+    if (associatedData == null) {
+      throw new CrypterException("Associated data cannot be null.");
+    }
+    try {
+      if (encryptedChannel == null || encryptedChannel.size() < 1) {
+        throw new CrypterException("Encrypted channel cannot be null or empty.");
+      }
+      return streamingAead.newSeekableDecryptingChannel(encryptedChannel, associatedData);
+    } catch (GeneralSecurityException | IOException e) {
+      throw new CrypterException("Problem decrypting.", e);
+    }
+  }
+
   private int getAvailableBytesLessThanChunkSize(InputStream inputStream) throws IOException {
     int available = inputStream.available();
     return available > CHUNK_SIZE ? CHUNK_SIZE : available;
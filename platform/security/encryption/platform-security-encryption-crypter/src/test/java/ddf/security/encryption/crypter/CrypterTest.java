@@ -25,7 +25,15 @@
 import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -102,6 +110,30 @@ public void testEncryptDecryptStream() throws Exception {
     assertArrayEquals(plainBytes, decryptedBytes);
   }
 
+  @Test
+  public void testEncryptDecryptChannel() throws Exception {
+    final byte[] plainBytes = new byte[CHUNK_SIZE * 3];
+    new SecureRandom().nextBytes(plainBytes);
+    final Crypter crypter = new Crypter();
+    final Path encryptedFile = temporaryFolder.newFile().toPath();
+
+    try (InputStream encryptedInputStream =
+        crypter.encrypt(new ByteArrayInputStream(plainBytes))) {
+      Files.copy(encryptedInputStream, encryptedFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    try (SeekableByteChannel decryptedChannel =
+        crypter.decrypt(FileChannel.open(encryptedFile, StandardOpenOption.READ))) {
+      decryptedChannel.position(CHUNK_SIZE + 1);
+      final byte[] decryptedBytes =
+          ByteStreams.toByteArray(Channels.newInputStream(decryptedChannel));
+
+      assertArrayEquals(
+          Arrays.copyOfRange(plainBytes, CHUNK_SIZE + 1, plainBytes.length), decryptedBytes);
+      assertEquals(plainBytes.length, decryptedChannel.size());
+    }
+  }
+
   @Test(expected = CrypterException.class)
   public void testEncryptNull() {
     final Crypter crypter = new Crypter();
@@ -86,6 +86,13 @@ public AuthzRealm(String dirPath, Parser parser) throws PdpException {
     this.parser = parser;
   }
 
+  /** Releases the XACML PDP, if one was created. */
+  public void destroy() {
+    if (xacmlPdp != null) {
+      xacmlPdp.destroy();
+    }
+  }
+
   // this realm is for authorization only
   @Override
   protected AuthenticationInfo doGetAuthenticationInfo(AuthenticationToken token)
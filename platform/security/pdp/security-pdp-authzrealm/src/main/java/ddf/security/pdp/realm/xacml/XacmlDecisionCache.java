@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.security.pdp.realm.xacml;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import ddf.security.permission.KeyValueCollectionPermission;
+import ddf.security.permission.KeyValuePermission;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.Permission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of XACML decisions. A decision is keyed on everything that goes into the XACML
+ * request: the subject, its roles and attributes, the action, the resource's security markings
+ * and the environment attributes. Filtering a page of results therefore only calls the PDP once
+ * for each distinct combination of markings.
+ *
+ * <p>The cache is cleared whenever the XACML policies are reloaded. Decisions also expire after a
+ * fixed time.
+ */
+public class XacmlDecisionCache implements XacmlDecisionCacheMBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(XacmlDecisionCache.class);
+
+  static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  static final long DEFAULT_EXPIRATION_IN_SECONDS = 60;
+
+  private final Cache<DecisionKey, Boolean> decisions;
+
+  private ObjectName objectName;
+
+  public XacmlDecisionCache() {
+    this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRATION_IN_SECONDS);
+  }
+
+  public XacmlDecisionCache(long maximumSize, long expirationInSeconds) {
+    decisions =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expirationInSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the cached decision for the request, calling {@code pdp} to make it if there is none.
+   * A request that {@code pdp} fails to evaluate is denied and its failure is not cached.
+   */
+  public boolean isPermitted(
+      String subject,
+      AuthorizationInfo info,
+      KeyValueCollectionPermission permission,
+      List<String> environmentAttributes,
+      Callable<Boolean> pdp) {
+    DecisionKey key = new DecisionKey(subject, info, permission, environmentAttributes);
+    try {
+      return decisions.get(key, pdp);
+    } catch (ExecutionException e) {
+      LOGGER.debug("Unable to evaluate XACML decision.", e);
+      return false;
+    }
+  }
+
+  @Override
+  public long getHitCount() {
+    return decisions.stats().hitCount();
+  }
+
+  @Override
+  public long getMissCount() {
+    return decisions.stats().missCount();
+  }
+
+  @Override
+  public double getHitRate() {
+    return decisions.stats().hitRate();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return decisions.stats().evictionCount();
+  }
+
+  @Override
+  public long getSize() {
+    return decisions.size();
+  }
+
+  @Override
+  public void clear() {
+    decisions.invalidateAll();
+  }
+
+  /** Registers this cache's statistics, replacing the ones of a previously created cache. */
+  void registerMBean() {
+    try {
+      objectName =
+          new ObjectName(XacmlDecisionCache.class.getName() + ":service=decisioncache");
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      try {
+        mBeanServer.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException e) {
+        mBeanServer.unregisterMBean(objectName);
+        mBeanServer.registerMBean(this, objectName);
+      }
+      LOGGER.debug("Registered XACML Decision Cache MBean under object name: {}", objectName);
+    } catch (MalformedObjectNameException
+        | InstanceAlreadyExistsException
+        | InstanceNotFoundException
+        | MBeanRegistrationException
+        | NotCompliantMBeanException e) {
+      LOGGER.info("Could not register XACML Decision Cache MBean.", e);
+      objectName = null;
+    }
+  }
+
+  /** Unregisters this cache's statistics if they are registered. */
+  void unregisterMBean() {
+    if (objectName == null) {
+      return;
+    }
+
+    try {
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      if (mBeanServer.isRegistered(objectName)) {
+        mBeanServer.unregisterMBean(objectName);
+        LOGGER.debug("Unregistered XACML Decision Cache MBean {}", objectName);
+      }
+    } catch (InstanceNotFoundException | MBeanRegistrationException e) {
+      LOGGER.debug("Could not unregister XACML Decision Cache MBean.", e);
+    }
+    objectName = null;
+  }
+
+  private static final class DecisionKey {
+
+    private final String subject;
+
+    private final Set<String> roles;
+
+    private final Map<String, Set<String>> subjectAttributes;
+
+    private final String action;
+
+    private final Map<String, Set<String>> resourceAttributes;
+
+    private final Set<String> environmentAttributes;
+
+    private final int hashCode;
+
+    private DecisionKey(
+        String subject,
+        AuthorizationInfo info,
+        KeyValueCollectionPermission permission,
+        List<String> environmentAttributes) {
+      this.subject = subject;
+      this.roles = info.getRoles() == null ? new HashSet<>() : new HashSet<>(info.getRoles());
+      this.subjectAttributes = new HashMap<>();
+      if (info.getObjectPermissions() != null) {
+        for (Permission objectPermission : info.getObjectPermissions()) {
+          if (objectPermission instanceof KeyValuePermission) {
+            addValues(subjectAttributes, (KeyValuePermission) objectPermission);
+          }
+        }
+      }
+      this.action = permission.getAction();
+      this.resourceAttributes = new HashMap<>();
+      for (KeyValuePermission keyValuePermission : permission.getKeyValuePermissionList()) {
+        addValues(resourceAttributes, keyValuePermission);
+      }
+      this.environmentAttributes =
+          environmentAttributes == null ? new HashSet<>() : new HashSet<>(environmentAttributes);
+      this.hashCode =
+          Objects.hash(
+              subject,
+              roles,
+              subjectAttributes,
+              action,
+              resourceAttributes,
+              this.environmentAttributes);
+    }
+
+    private static void addValues(
+        Map<String, Set<String>> attributes, KeyValuePermission keyValuePermission) {
+      Collection<String> values = keyValuePermission.getValues();
+      if (values != null && !values.isEmpty()) {
+        attributes
+            .computeIfAbsent(keyValuePermission.getKey(), key -> new HashSet<>())
+            .addAll(values);
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DecisionKey that = (DecisionKey) o;
+      return hashCode == that.hashCode
+          && Objects.equals(subject, that.subject)
+          && Objects.equals(action, that.action)
+          && roles.equals(that.roles)
+          && subjectAttributes.equals(that.subjectAttributes)
+          && resourceAttributes.equals(that.resourceAttributes)
+          && environmentAttributes.equals(that.environmentAttributes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
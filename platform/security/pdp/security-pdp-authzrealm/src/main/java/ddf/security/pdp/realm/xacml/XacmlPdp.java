@@ -100,6 +100,8 @@ public class XacmlPdp {
 
   private SecurityLogger securityLogger;
 
+  private final XacmlDecisionCache decisionCache = new XacmlDecisionCache();
+
   /** Creates a general */
   public XacmlPdp(
       String dirPath,
@@ -109,8 +111,9 @@ public XacmlPdp(
       throws PdpException {
     super();
     this.securityLogger = securityLogger;
-    pdp = new XacmlClient(dirPath, parser, securityLogger);
+    pdp = new XacmlClient(dirPath, parser, securityLogger, decisionCache::clear);
     this.environmentAttributes = environmentAttributes;
+    decisionCache.registerMBean();
     LOGGER.debug("Creating new PDP-backed Authorizing Realm");
   }
 
@@ -144,11 +147,18 @@ public boolean isPermitted(
       return true;
     }
 
-    LOGGER.debug("Received authZ info, creating XACML request.");
-    RequestType curRequest = createXACMLRequest(primaryPrincipal, info, curPermission);
-    LOGGER.debug("Created XACML request, calling PDP.");
-
-    curResponse = isPermitted(curRequest);
+    curResponse =
+        decisionCache.isPermitted(
+            primaryPrincipal,
+            info,
+            curPermission,
+            environmentAttributes,
+            () -> {
+              LOGGER.debug("Received authZ info, creating XACML request.");
+              RequestType curRequest = createXACMLRequest(primaryPrincipal, info, curPermission);
+              LOGGER.debug("Created XACML request, calling PDP.");
+              return evaluate(curRequest);
+            });
     if (curResponse) {
       securityLogger.audit(
           "XACML permitted ["
@@ -162,6 +172,15 @@ public boolean isPermitted(
     return curResponse;
   }
 
+  /** Unregisters the decision cache's statistics. */
+  public void destroy() {
+    decisionCache.unregisterMBean();
+  }
+
+  XacmlDecisionCacheMBean getDecisionCache() {
+    return decisionCache;
+  }
+
   protected RequestType createXACMLRequest(
       String subject, AuthorizationInfo info, CollectionPermission permission) {
     LOGGER.debug(
@@ -249,16 +268,9 @@ protected RequestType createXACMLRequest(
 
   protected boolean isPermitted(RequestType xacmlRequest) {
     boolean permitted;
-    ResponseType xacmlResponse;
 
     try {
-      LOGGER.debug("Calling PDP to evaluate XACML request.");
-      xacmlResponse = pdp.evaluate(xacmlRequest);
-      LOGGER.debug("Received response from PDP.");
-      permitted =
-          xacmlResponse != null
-              && xacmlResponse.getResult().get(0).getDecision() == DecisionType.PERMIT;
-      LOGGER.debug("Permitted: {}", permitted);
+      permitted = evaluate(xacmlRequest);
     } catch (PdpException e) {
       LOGGER.debug(e.getMessage(), e);
       permitted = false;
@@ -267,6 +279,17 @@ protected boolean isPermitted(RequestType xacmlRequest) {
     return permitted;
   }
 
+  private boolean evaluate(RequestType xacmlRequest) throws PdpException {
+    LOGGER.debug("Calling PDP to evaluate XACML request.");
+    ResponseType xacmlResponse = pdp.evaluate(xacmlRequest);
+    LOGGER.debug("Received response from PDP.");
+    boolean permitted =
+        xacmlResponse != null
+            && xacmlResponse.getResult().get(0).getDecision() == DecisionType.PERMIT;
+    LOGGER.debug("Permitted: {}", permitted);
+    return permitted;
+  }
+
   private AttributesType createSubjectAttributes(String subject, AuthorizationInfo info) {
     AttributesType subjectAttributes = new AttributesType();
     subjectAttributes.setCategory(ACCESS_SUBJECT_CATEGORY);
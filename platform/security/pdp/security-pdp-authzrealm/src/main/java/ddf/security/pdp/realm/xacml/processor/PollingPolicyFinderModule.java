@@ -50,6 +50,8 @@ public class PollingPolicyFinderModule extends FileBasedPolicyFinderModule
 
   private SecurityLogger securityLogger;
 
+  private Runnable policyReloadListener = () -> {};
+
   /**
    * @param xacmlPolicyDirectories - to search for policies
    * @param pollingInterval - in seconds
@@ -76,6 +78,11 @@ private void initialize(long pollingInterval) {
     }
   }
 
+  /** @param policyReloadListener - called each time the policies have been reloaded */
+  public void setPolicyReloadListener(Runnable policyReloadListener) {
+    this.policyReloadListener = policyReloadListener;
+  }
+
   public void start() {
     try {
       monitor.start();
@@ -208,6 +215,7 @@ private FileFilter getXmlFileFilter() {
   public void reloadPolicies() {
     LOGGER.debug("Reloading XACML policies");
     this.loadPolicies();
+    policyReloadListener.run();
   }
 
   private class PrivilegedFileAlterationObserver extends FileAlterationObserver {
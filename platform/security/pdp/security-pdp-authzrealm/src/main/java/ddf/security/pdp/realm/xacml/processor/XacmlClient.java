@@ -15,6 +15,11 @@
 
 import com.connexta.arbitro.PDP;
 import com.connexta.arbitro.PDPConfig;
+import com.connexta.arbitro.ParsingException;
+import com.connexta.arbitro.ctx.AbstractRequestCtx;
+import com.connexta.arbitro.ctx.AbstractResult;
+import com.connexta.arbitro.ctx.RequestCtxFactory;
+import com.connexta.arbitro.ctx.ResponseCtx;
 import com.connexta.arbitro.finder.AttributeFinder;
 import com.connexta.arbitro.finder.AttributeFinderModule;
 import com.connexta.arbitro.finder.PolicyFinder;
@@ -23,11 +28,8 @@
 import com.connexta.arbitro.finder.impl.SelectorModule;
 import com.google.common.collect.ImmutableList;
 import ddf.security.audit.SecurityLogger;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.StringReader;
-import java.io.UnsupportedEncodingException;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
@@ -35,17 +37,12 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBElement;
-import javax.xml.bind.Marshaller;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMResult;
-import javax.xml.transform.sax.SAXSource;
+import javax.xml.parsers.ParserConfigurationException;
+import oasis.names.tc.xacml._3_0.core.schema.wd_17.DecisionType;
 import oasis.names.tc.xacml._3_0.core.schema.wd_17.ObjectFactory;
 import oasis.names.tc.xacml._3_0.core.schema.wd_17.RequestType;
 import oasis.names.tc.xacml._3_0.core.schema.wd_17.ResponseType;
+import oasis.names.tc.xacml._3_0.core.schema.wd_17.ResultType;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.parser.Parser;
@@ -54,11 +51,7 @@
 import org.codice.ddf.platform.util.XMLUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xml.sax.Attributes;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
-import org.xml.sax.XMLReader;
-import org.xml.sax.helpers.XMLFilterImpl;
+import org.w3c.dom.Document;
 
 /**
  * Implementation of a XACML Policy Decision Point (PDP). This class acts as a proxy to the real
@@ -67,12 +60,6 @@
 public class XacmlClient {
   private static final Logger LOGGER = LoggerFactory.getLogger(XacmlClient.class);
 
-  private static final String XACML30_NAMESPACE = "urn:oasis:names:tc:xacml:3.0:core:schema:wd-17";
-
-  private static final String XACML_PREFIX = "xacml";
-
-  private static JAXBContext jaxbContext;
-
   private static final long DEFAULT_POLLING_INTERVAL_IN_SECONDS = 60;
 
   private static final String NULL_DIRECTORY_EXCEPTION_MSG =
@@ -90,6 +77,8 @@ public class XacmlClient {
 
   private SecurityLogger securityLogger;
 
+  private final Runnable policyReloadListener;
+
   /**
    * Creates the proxy to the real XACML PDP.
    *
@@ -101,8 +90,27 @@ public class XacmlClient {
   public XacmlClient(
       String relativeXacmlPoliciesDirectoryPath, Parser parser, SecurityLogger securityLogger)
       throws PdpException {
+    this(relativeXacmlPoliciesDirectoryPath, parser, securityLogger, () -> {});
+  }
+
+  /**
+   * Creates the proxy to the real XACML PDP.
+   *
+   * @param relativeXacmlPoliciesDirectoryPath Relative directory path to the root of the DDF
+   *     installation.
+   * @param parser for marshal and unmarshal
+   * @param policyReloadListener called each time the XACML policies have been reloaded
+   * @throws PdpException
+   */
+  public XacmlClient(
+      String relativeXacmlPoliciesDirectoryPath,
+      Parser parser,
+      SecurityLogger securityLogger,
+      Runnable policyReloadListener)
+      throws PdpException {
     this.parser = parser;
     this.securityLogger = securityLogger;
+    this.policyReloadListener = policyReloadListener;
     if (StringUtils.isEmpty(relativeXacmlPoliciesDirectoryPath)) {
       throw new PdpException(NULL_DIRECTORY_EXCEPTION_MSG);
     }
@@ -149,20 +157,19 @@ private void initialize(File xacmlPoliciesDirectory) throws PdpException {
   /**
    * Evaluates the XACML request and returns a XACML response.
    *
+   * <p>The request is handed to the PDP as a DOM tree and the decisions are read straight from its
+   * response context, so no XML text is written or parsed on the way.
+   *
    * @param xacmlRequestType XACML request
    * @return XACML response
    * @throws PdpException
    */
   public ResponseType evaluate(RequestType xacmlRequestType) throws PdpException {
-    String xacmlRequest = this.marshal(xacmlRequestType);
-
-    String xacmlResponse = this.callPdp(xacmlRequest);
+    AbstractRequestCtx xacmlRequest = createRequestCtx(xacmlRequestType);
 
-    LOGGER.debug("\nXACML 3.0 Response from XACML PDP:\n {}", xacmlResponse);
+    ResponseCtx xacmlResponse = this.callPdp(xacmlRequest);
 
-    DOMResult domResult = addNamespaceAndPrefixes(xacmlResponse);
-
-    return unmarshal(domResult);
+    return createResponseType(xacmlResponse);
   }
 
   /** Creates the XACML PDP. */
@@ -202,6 +209,7 @@ private PolicyFinder createPolicyFinder() {
     PollingPolicyFinderModule policyFinderModule =
         new PollingPolicyFinderModule(
             xacmlPolicyDirectories, defaultPollingIntervalInSeconds, securityLogger);
+    policyFinderModule.setPolicyReloadListener(policyReloadListener);
     policyFinderModule.start();
     Set<PolicyFinderModule> policyFinderModules = new HashSet<>(1);
     policyFinderModules.add(policyFinderModule);
@@ -244,130 +252,82 @@ private void checkXacmlPoliciesDirectory(File xacmlPoliciesDirectory) throws Pdp
   /**
    * Calls the real XACML PDP to evaluate the XACML request.
    *
-   * @param xacmlRequest The XACML request as a string.
-   * @return The XACML response as a string.
+   * @param xacmlRequest The XACML request context.
+   * @return The XACML response context.
    */
-  private String callPdp(String xacmlRequest) {
+  private ResponseCtx callPdp(AbstractRequestCtx xacmlRequest) {
 
     return pdp.evaluate(xacmlRequest);
   }
 
   /**
-   * Adds namespaces and namespace prefixes to the XACML response returned by the XACML PDP. The
-   * XACML PDP returns a response with no namespaces, so we need to add them to unmarshal the
-   * response.
+   * Marshals the XACML request into a DOM tree and builds the PDP's request context from it.
    *
-   * @param xacmlResponse The XACML response as a string.
-   * @return DOM representation of the XACML response with namespaces and namespace prefixes.
+   * @param xacmlRequestType The XACML request to convert.
+   * @return The request context for the PDP.
    * @throws PdpException
    */
-  private DOMResult addNamespaceAndPrefixes(String xacmlResponse) throws PdpException {
-    XMLReader xmlReader = null;
-
-    try {
-      XMLReader xmlParser = XML_UTILS.getSecureXmlParser();
-      xmlReader =
-          new XMLFilterImpl(xmlParser) {
-            @Override
-            public void startElement(
-                String uri, String localName, String qName, Attributes attributes)
-                throws SAXException {
-              super.startElement(
-                  XACML30_NAMESPACE, localName, XACML_PREFIX + ":" + qName, attributes);
-            }
-
-            @Override
-            public void endElement(String uri, String localName, String qName) throws SAXException {
-              super.endElement(XACML30_NAMESPACE, localName, XACML_PREFIX + ":" + qName);
-            }
-          };
-    } catch (SAXException e) {
-      String message = "Unable to read XACML response:\n" + xacmlResponse;
-      LOGGER.info(message);
-      throw new PdpException(message, e);
-    }
-
-    DOMResult domResult;
-    ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-    Thread.currentThread().setContextClassLoader(XacmlClient.class.getClassLoader());
-    try {
-      TransformerFactory transformerFactory = XML_UTILS.getSecureXmlTransformerFactory();
-
-      domResult = new DOMResult();
-
-      Transformer transformer = transformerFactory.newTransformer();
-      transformer.transform(
-          new SAXSource(xmlReader, new InputSource(new StringReader(xacmlResponse))), domResult);
-    } catch (TransformerException e) {
-      String message = "Unable to transform XACML response:\n" + xacmlResponse;
-      LOGGER.info(message);
-      throw new PdpException(message, e);
-    } finally {
-      Thread.currentThread().setContextClassLoader(tccl);
-    }
-
-    return domResult;
-  }
-
-  /**
-   * Marshalls the XACML request to a string.
-   *
-   * @param xacmlRequestType The XACML request to marshal.
-   * @return A string representation of the XACML request.
-   */
-  private String marshal(RequestType xacmlRequestType) throws PdpException {
+  private AbstractRequestCtx createRequestCtx(RequestType xacmlRequestType) throws PdpException {
     if (null == parser) {
       throw new IllegalStateException("XMLParser must be configured.");
     }
-    String xacmlRequest = null;
+
+    Document document;
     try {
-      List<String> ctxPath = new ArrayList<>(1);
-      ctxPath.add(ResponseType.class.getPackage().getName());
+      document = XML_UTILS.getSecureDocumentBuilder(true).newDocument();
+      List<String> ctxPath = ImmutableList.of(ResponseType.class.getPackage().getName());
       ParserConfigurator configurator =
           parser.configureParser(ctxPath, XacmlClient.class.getClassLoader());
-      configurator.addProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-      ByteArrayOutputStream os = new ByteArrayOutputStream();
       ObjectFactory objectFactory = new ObjectFactory();
-      parser.marshal(configurator, objectFactory.createRequest(xacmlRequestType), os);
-      xacmlRequest = os.toString("UTF-8");
-    } catch (ParserException | UnsupportedEncodingException e) {
+      parser.marshal(configurator, objectFactory.createRequest(xacmlRequestType), document);
+    } catch (ParserException | ParserConfigurationException e) {
       String message = "Unable to marshal XACML request.";
       LOGGER.info(message, e);
       throw new PdpException(message, e);
     }
 
-    LOGGER.debug("\nXACML 3.0 Request:\n{}", xacmlRequest);
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("\nXACML 3.0 Request:\n{}", XML_UTILS.prettyFormat(document));
+    }
 
-    return xacmlRequest;
+    try {
+      return RequestCtxFactory.getFactory().getRequestCtx(document.getDocumentElement());
+    } catch (ParsingException e) {
+      String message = "Unable to read XACML request.";
+      LOGGER.info(message, e);
+      throw new PdpException(message, e);
+    }
   }
 
   /**
-   * Unmarshalls the XACML response.
+   * Copies the decisions out of the PDP's response context.
    *
-   * @param xacmlResponse The XACML response with all namespaces and namespace prefixes added.
+   * @param xacmlResponse The response context returned by the PDP.
    * @return The XACML response.
-   * @throws PdpException
    */
-  @SuppressWarnings("unchecked")
-  private ResponseType unmarshal(DOMResult xacmlResponse) throws PdpException {
-    List<String> ctxPath = ImmutableList.of(ResponseType.class.getPackage().getName());
-
-    if (null == parser) {
-      throw new IllegalStateException("XMLParser must be configured.");
+  private ResponseType createResponseType(ResponseCtx xacmlResponse) {
+    ResponseType xacmlResponseType = new ResponseType();
+    for (AbstractResult result : xacmlResponse.getResults()) {
+      ResultType resultType = new ResultType();
+      resultType.setDecision(toDecisionType(result.getDecision()));
+      xacmlResponseType.getResult().add(resultType);
     }
 
-    ParserConfigurator configurator =
-        parser.configureParser(ctxPath, XacmlClient.class.getClassLoader());
+    LOGGER.debug("XACML 3.0 decisions from XACML PDP: {}", xacmlResponseType.getResult().size());
 
-    try {
-      JAXBElement<ResponseType> xacmlResponseTypeElement =
-          parser.unmarshal(configurator, JAXBElement.class, xacmlResponse.getNode());
-      return xacmlResponseTypeElement.getValue();
+    return xacmlResponseType;
+  }
 
-    } catch (ParserException e) {
-      String message = "Unable to unmarshal XACML response.";
-      LOGGER.info(message);
-      throw new PdpException(message, e);
+  private DecisionType toDecisionType(int decision) {
+    switch (decision) {
+      case AbstractResult.DECISION_PERMIT:
+        return DecisionType.PERMIT;
+      case AbstractResult.DECISION_DENY:
+        return DecisionType.DENY;
+      case AbstractResult.DECISION_NOT_APPLICABLE:
+        return DecisionType.NOT_APPLICABLE;
+      default:
+        return DecisionType.INDETERMINATE;
     }
   }
 }
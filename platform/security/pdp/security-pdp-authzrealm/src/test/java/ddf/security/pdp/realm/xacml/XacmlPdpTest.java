@@ -30,6 +30,7 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -39,6 +40,7 @@
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import javax.management.ObjectName;
 import oasis.names.tc.xacml._3_0.core.schema.wd_17.AttributesType;
 import oasis.names.tc.xacml._3_0.core.schema.wd_17.RequestType;
 import org.apache.commons.io.IOUtils;
@@ -133,6 +135,7 @@ public void setup() throws PdpException, IOException {
 
   @After
   public void destroy() {
+    testRealm.destroy();
     temporaryFolder.delete();
   }
 
@@ -239,6 +242,47 @@ public void testResourceIsNotPermitted() {
     assertThat(testRealm.isPermitted(request), equalTo(false));
   }
 
+  @Test
+  public void testDecisionsAreCachedPerMarkingCombination() {
+    XacmlDecisionCacheMBean decisionCache = testRealm.getDecisionCache();
+    decisionCache.clear();
+
+    for (int i = 0; i < 10; i++) {
+      HashMap<String, List<String>> permitted = new HashMap<>();
+      permitted.put(RESOURCE_ACCESS, Arrays.asList(ACCESS_TYPE_A));
+      assertThat(
+          testRealm.isPermitted(
+              USER_NAME,
+              generateSubjectInfo(TEST_COUNTRY),
+              new KeyValueCollectionPermissionImpl(CollectionPermission.READ_ACTION, permitted)),
+          equalTo(true));
+
+      HashMap<String, List<String>> denied = new HashMap<>();
+      denied.put(RESOURCE_ACCESS, Arrays.asList(ACCESS_TYPE_A, ACCESS_TYPE_B, ACCESS_TYPE_C));
+      assertThat(
+          testRealm.isPermitted(
+              USER_NAME,
+              generateSubjectInfo(TEST_COUNTRY),
+              new KeyValueCollectionPermissionImpl(CollectionPermission.READ_ACTION, denied)),
+          equalTo(false));
+    }
+
+    assertThat(decisionCache.getMissCount(), is(2L));
+    assertThat(decisionCache.getHitCount(), is(18L));
+    assertThat(decisionCache.getSize(), is(2L));
+  }
+
+  @Test
+  public void testDestroyUnregistersDecisionCacheMBean() throws Exception {
+    ObjectName objectName =
+        new ObjectName(XacmlDecisionCache.class.getName() + ":service=decisioncache");
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName), is(true));
+
+    testRealm.destroy();
+
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName), is(false));
+  }
+
   @Test
   public void testParseAttributeTypeBoolean() {
     assertThat(testRealm.getXacmlDataType("true"), is(BOOLEAN_DATA_TYPE));
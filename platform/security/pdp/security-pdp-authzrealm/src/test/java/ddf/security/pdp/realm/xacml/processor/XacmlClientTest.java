@@ -16,6 +16,8 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
 import ddf.security.audit.SecurityLogger;
 import java.io.File;
@@ -377,6 +379,28 @@ public void testWrapperpoliciesdirectorypolicyadded() throws Exception {
     FileUtils.deleteDirectory(policyDir);
   }
 
+  @Test
+  public void testPolicyReloadListenerIsCalledWhenPolicyIsAdded() throws Exception {
+    File policyDir = folder.newFolder("reloadDir");
+    Runnable policyReloadListener = mock(Runnable.class);
+
+    XacmlClient.defaultPollingIntervalInSeconds = 1;
+    new XacmlClient(
+        policyDir.getCanonicalPath(),
+        new XmlParser(),
+        mock(SecurityLogger.class),
+        policyReloadListener);
+
+    File srcFile =
+        new File(
+            projectHome + File.separator + RELATIVE_POLICIES_DIR + File.separator + POLICY_FILE);
+    FileUtils.copyFileToDirectory(srcFile, policyDir);
+
+    verify(policyReloadListener, timeout(5000)).run();
+
+    FileUtils.deleteDirectory(policyDir);
+  }
+
   @Test(expected = IllegalStateException.class)
   public void testIllegalStateException() throws Exception {
     LOGGER.debug("\n\n\n##### testExecption");